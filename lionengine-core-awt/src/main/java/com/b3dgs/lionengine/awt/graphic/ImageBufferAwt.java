@@ -17,6 +17,7 @@
  */
 package com.b3dgs.lionengine.awt.graphic;
 
+import java.awt.GraphicsEnvironment;
 import java.awt.image.BufferedImage;
 
 import com.b3dgs.lionengine.Check;
@@ -30,25 +31,49 @@ import com.b3dgs.lionengine.graphic.Transparency;
 
 /**
  * Image buffer implementation.
+ * <p>
+ * Direct pixels access is only supported by {@link BufferedImage#TYPE_INT_ARGB} images, and only enabled by default
+ * in headless environment, where images are never hardware accelerated. Other offscreen images may opt in with
+ * {@link #ImageBufferAwt(BufferedImage, boolean)}, as retrieving their data prevents them from being accelerated.
+ * Data are retrieved on first {@link #getPixels()} call only.
+ * </p>
  */
 final class ImageBufferAwt implements ImageBuffer
 {
     /** Buffered image. */
     private final BufferedImage bufferedImage;
+    /** Direct pixels access allowed flag. */
+    private final boolean direct;
+    /** Direct pixels access (<code>null</code> if not retrieved or not supported). */
+    private volatile int[] pixels;
 
     /**
-     * Internal constructor.
+     * Internal constructor. Direct pixels access is enabled in headless environment only.
      * 
      * @param bufferedImage The buffered image (must not be <code>null</code>).
      * @throws LionEngineException If invalid argument.
      */
     ImageBufferAwt(BufferedImage bufferedImage)
+    {
+        this(bufferedImage, GraphicsEnvironment.isHeadless());
+    }
+
+    /**
+     * Internal constructor.
+     * 
+     * @param bufferedImage The buffered image (must not be <code>null</code>).
+     * @param direct <code>true</code> to allow direct pixels access (disables hardware acceleration once accessed),
+     *            <code>false</code> to keep image accelerated.
+     * @throws LionEngineException If invalid argument.
+     */
+    ImageBufferAwt(BufferedImage bufferedImage, boolean direct)
     {
         super();
 
         Check.notNull(bufferedImage);
 
         this.bufferedImage = bufferedImage;
+        this.direct = direct && bufferedImage.getType() == BufferedImage.TYPE_INT_ARGB;
     }
 
     /*
@@ -76,7 +101,15 @@ final class ImageBufferAwt implements ImageBuffer
     @Override
     public void setRgb(int x, int y, int rgb)
     {
-        bufferedImage.setRGB(x, y, rgb);
+        final int[] data = pixels;
+        if (data != null)
+        {
+            data[x + y * bufferedImage.getWidth()] = rgb;
+        }
+        else
+        {
+            bufferedImage.setRGB(x, y, rgb);
+        }
     }
 
     @Override
@@ -88,7 +121,16 @@ final class ImageBufferAwt implements ImageBuffer
     @Override
     public int getRgb(int x, int y)
     {
-        final int pixel = bufferedImage.getRGB(x, y);
+        final int[] data = pixels;
+        final int pixel;
+        if (data != null)
+        {
+            pixel = data[x + y * bufferedImage.getWidth()];
+        }
+        else
+        {
+            pixel = bufferedImage.getRGB(x, y);
+        }
         if (UtilConversion.mask(pixel >> Constant.BYTE_4) == 0)
         {
             return ColorRgba.TRANSPARENT.getRgba();
@@ -102,6 +144,16 @@ final class ImageBufferAwt implements ImageBuffer
         return bufferedImage.getRGB(startX, startY, w, h, rgbArray, offset, scansize);
     }
 
+    @Override
+    public int[] getPixels()
+    {
+        if (pixels == null && direct)
+        {
+            pixels = ToolsAwt.getImageData(bufferedImage);
+        }
+        return pixels;
+    }
+
     @Override
     public int getWidth()
     {
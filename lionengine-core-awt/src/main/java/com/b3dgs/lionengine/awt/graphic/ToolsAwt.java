@@ -56,10 +56,23 @@ public final class ToolsAwt
 {
     /** Graphics environment. */
     private static final GraphicsEnvironment ENV = GraphicsEnvironment.getLocalGraphicsEnvironment();
-    /** Graphics device. */
-    private static final GraphicsDevice DEV = ENV.getDefaultScreenDevice();
-    /** Graphics configuration. */
-    private static final GraphicsConfiguration CONFIG = DEV.getDefaultConfiguration();
+    /** Graphics configuration (<code>null</code> if headless). */
+    private static final GraphicsConfiguration CONFIG = getDefaultConfiguration();
+
+    /**
+     * Get the default screen configuration.
+     * 
+     * @return The default configuration, <code>null</code> if headless.
+     */
+    private static GraphicsConfiguration getDefaultConfiguration()
+    {
+        if (GraphicsEnvironment.isHeadless())
+        {
+            return null;
+        }
+        final GraphicsDevice dev = ENV.getDefaultScreenDevice();
+        return dev.getDefaultConfiguration();
+    }
 
     /**
      * Get the image transparency equivalence.
@@ -93,7 +106,8 @@ public final class ToolsAwt
     }
 
     /**
-     * Create an image.
+     * Create an image. Headless environment uses {@link BufferedImage#TYPE_INT_ARGB} images, or
+     * {@link BufferedImage#TYPE_INT_RGB} if opaque.
      * 
      * @param width The image width (must be strictly positive).
      * @param height The image height (must be strictly positive).
@@ -106,6 +120,19 @@ public final class ToolsAwt
         Check.superiorStrict(width, 0);
         Check.superiorStrict(height, 0);
 
+        if (CONFIG == null)
+        {
+            final int type;
+            if (java.awt.Transparency.OPAQUE == transparency)
+            {
+                type = BufferedImage.TYPE_INT_RGB;
+            }
+            else
+            {
+                type = BufferedImage.TYPE_INT_ARGB;
+            }
+            return new BufferedImage(width, height, type);
+        }
         return CONFIG.createCompatibleImage(width, height, transparency);
     }
 
@@ -137,6 +164,20 @@ public final class ToolsAwt
         return new ImageBufferAwt(image);
     }
 
+    /**
+     * Create an image with explicit direct pixels access. Should only be enabled for offscreen images, as accessing
+     * their pixels prevents them from being hardware accelerated.
+     * 
+     * @param image The image.
+     * @param direct <code>true</code> to allow direct pixels access on {@link BufferedImage#TYPE_INT_ARGB} images,
+     *            <code>false</code> to keep image accelerated.
+     * @return The image.
+     */
+    public static ImageBuffer getImageBuffer(BufferedImage image, boolean direct)
+    {
+        return new ImageBufferAwt(image, direct);
+    }
+
     /**
      * Save image to output stream.
      * 
@@ -187,22 +228,19 @@ public final class ToolsAwt
      */
     public static BufferedImage applyMask(BufferedImage image, int rgba)
     {
-        final BufferedImage mask = copyImage(image);
-        final int height = mask.getHeight();
-        final int width = mask.getWidth();
-
-        for (int y = 0; y < height; y++)
+        final int width = image.getWidth();
+        final int height = image.getHeight();
+        final int[] pixels = image.getRGB(0, 0, width, height, new int[width * height], 0, width);
+        final int flag = 0x00_FF_FF_FF;
+        for (int i = 0; i < pixels.length; i++)
         {
-            for (int x = 0; x < width; x++)
+            if (pixels[i] == rgba)
             {
-                final int col = mask.getRGB(x, y);
-                final int flag = 0x00_FF_FF_FF;
-                if (col == rgba)
-                {
-                    mask.setRGB(x, y, col & flag);
-                }
+                pixels[i] &= flag;
             }
         }
+        final BufferedImage mask = createImage(width, height, image.getTransparency());
+        mask.setRGB(0, 0, width, height, pixels, 0, width);
         return mask;
     }
 
@@ -345,14 +383,15 @@ public final class ToolsAwt
      */
     public static BufferedImage getRasterBuffer(BufferedImage image, double fr, double fg, double fb)
     {
-        final BufferedImage raster = createImage(image.getWidth(), image.getHeight(), image.getTransparency());
-        for (int i = 0; i < raster.getWidth(); i++)
+        final int width = image.getWidth();
+        final int height = image.getHeight();
+        final int[] pixels = image.getRGB(0, 0, width, height, new int[width * height], 0, width);
+        for (int i = 0; i < pixels.length; i++)
         {
-            for (int j = 0; j < raster.getHeight(); j++)
-            {
-                raster.setRGB(i, j, UtilColor.multiplyRgb(image.getRGB(i, j), fr, fg, fb));
-            }
+            pixels[i] = UtilColor.multiplyRgb(pixels[i], fr, fg, fb);
         }
+        final BufferedImage raster = createImage(width, height, image.getTransparency());
+        raster.setRGB(0, 0, width, height, pixels, 0, width);
         return raster;
     }
 
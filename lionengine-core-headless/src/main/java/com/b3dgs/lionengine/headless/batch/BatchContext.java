@@ -0,0 +1,144 @@
+/*
+ * Copyright (C) 2013-2018 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package com.b3dgs.lionengine.headless.batch;
+
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.Config;
+import com.b3dgs.lionengine.Constant;
+import com.b3dgs.lionengine.InputDevice;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.graphic.Screen;
+import com.b3dgs.lionengine.graphic.engine.Frame;
+import com.b3dgs.lionengine.graphic.engine.Loop;
+import com.b3dgs.lionengine.graphic.engine.LoopContext;
+
+/**
+ * Batch context, imposing a fixed time step loop to all sequences, without render nor waiting, until the frames limit
+ * is reached.
+ */
+final class BatchContext implements LoopContext
+{
+    /** Screen reference. */
+    private final Screen screen;
+    /** Maximum frames. */
+    private final int maxFrames;
+    /** Simulated frames. */
+    private long frames;
+
+    /**
+     * Create context.
+     * 
+     * @param screen The screen reference (must not be <code>null</code>).
+     * @param maxFrames The maximum frames to simulate.
+     * @throws LionEngineException If invalid argument.
+     */
+    BatchContext(Screen screen, int maxFrames)
+    {
+        super();
+
+        Check.notNull(screen);
+
+        this.screen = screen;
+        this.maxFrames = maxFrames;
+    }
+
+    /**
+     * Get the simulated frames.
+     * 
+     * @return The simulated frames.
+     */
+    long getFrames()
+    {
+        return frames;
+    }
+
+    /**
+     * Check if frames limit has been reached.
+     * 
+     * @return <code>true</code> if reached, <code>false</code> else.
+     */
+    boolean isExhausted()
+    {
+        return frames >= maxFrames;
+    }
+
+    /*
+     * LoopContext
+     */
+
+    @Override
+    public Loop createLoop()
+    {
+        return new Loop()
+        {
+            /** Running flag. */
+            private boolean isRunning;
+
+            @Override
+            public void start(Screen output, Frame frame)
+            {
+                isRunning = !isExhausted();
+                while (isRunning)
+                {
+                    frame.update(Constant.EXTRP);
+                    frames++;
+                    if (isExhausted())
+                    {
+                        isRunning = false;
+                    }
+                }
+            }
+
+            @Override
+            public void stop()
+            {
+                isRunning = false;
+            }
+
+            @Override
+            public void notifyRateChanged(int rate)
+            {
+                // Fixed time step
+            }
+        };
+    }
+
+    @Override
+    public int getX()
+    {
+        return screen.getX();
+    }
+
+    @Override
+    public int getY()
+    {
+        return screen.getY();
+    }
+
+    @Override
+    public Config getConfig()
+    {
+        return screen.getConfig();
+    }
+
+    @Override
+    public <T extends InputDevice> T getInputDevice(Class<T> type)
+    {
+        return screen.getInputDevice(type);
+    }
+}
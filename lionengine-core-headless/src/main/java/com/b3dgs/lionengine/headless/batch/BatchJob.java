@@ -0,0 +1,136 @@
+/*
+ * Copyright (C) 2013-2018 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package com.b3dgs.lionengine.headless.batch;
+
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.Config;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.graphic.engine.Sequencable;
+
+/**
+ * Batch job definition, describing a simulation to run with {@link BatchRunner}.
+ */
+public final class BatchJob
+{
+    /** Job name. */
+    private final String name;
+    /** Screen configuration. */
+    private final Config config;
+    /** Random seed. */
+    private final long seed;
+    /** Maximum frames to simulate. */
+    private final int maxFrames;
+    /** First sequence. */
+    private final Class<? extends Sequencable> sequence;
+    /** Sequence arguments. */
+    private final Object[] arguments;
+
+    /**
+     * Create job.
+     * 
+     * @param name The job name (must not be <code>null</code>).
+     * @param config The screen configuration (must not be <code>null</code>).
+     * @param seed The random seed, used by {@link com.b3dgs.lionengine.UtilRandom} during simulation.
+     * @param maxFrames The maximum frames to simulate, simulation is stopped once reached (strictly positive).
+     * @param sequence The first sequence to run (must not be <code>null</code>).
+     * @param arguments The sequence arguments list if needed by its constructor.
+     * @throws LionEngineException If invalid arguments.
+     */
+    public BatchJob(String name,
+                    Config config,
+                    long seed,
+                    int maxFrames,
+                    Class<? extends Sequencable> sequence,
+                    Object... arguments)
+    {
+        super();
+
+        Check.notNull(name);
+        Check.notNull(config);
+        Check.superiorStrict(maxFrames, 0);
+        Check.notNull(sequence);
+        Check.notNull(arguments);
+
+        this.name = name;
+        this.config = config;
+        this.seed = seed;
+        this.maxFrames = maxFrames;
+        this.sequence = sequence;
+        this.arguments = arguments.clone();
+    }
+
+    /**
+     * Get the job name.
+     * 
+     * @return The job name.
+     */
+    public String getName()
+    {
+        return name;
+    }
+
+    /**
+     * Get the screen configuration.
+     * 
+     * @return The screen configuration.
+     */
+    public Config getConfig()
+    {
+        return config;
+    }
+
+    /**
+     * Get the random seed.
+     * 
+     * @return The random seed.
+     */
+    public long getSeed()
+    {
+        return seed;
+    }
+
+    /**
+     * Get the maximum frames to simulate.
+     * 
+     * @return The maximum frames.
+     */
+    public int getMaxFrames()
+    {
+        return maxFrames;
+    }
+
+    /**
+     * Get the first sequence.
+     * 
+     * @return The first sequence.
+     */
+    public Class<? extends Sequencable> getSequence()
+    {
+        return sequence;
+    }
+
+    /**
+     * Get the sequence arguments.
+     * 
+     * @return The sequence arguments.
+     */
+    public Object[] getArguments()
+    {
+        return arguments.clone();
+    }
+}
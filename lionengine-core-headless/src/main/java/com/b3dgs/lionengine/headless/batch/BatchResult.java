@@ -0,0 +1,153 @@
+/*
+ * Copyright (C) 2013-2018 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package com.b3dgs.lionengine.headless.batch;
+
+import java.util.Locale;
+import java.util.Optional;
+
+import com.b3dgs.lionengine.Constant;
+
+/**
+ * Batch job result, with simulation statistics.
+ */
+public final class BatchResult
+{
+    /** Result format. */
+    private static final String FORMAT = "%s seed=%d frames=%d sequences=%d time=%.1fms fps=%.0f%s";
+    /** Error format. */
+    private static final String FORMAT_ERROR = " error=";
+
+    /** Job reference. */
+    private final BatchJob job;
+    /** Simulated frames. */
+    private final long frames;
+    /** Run sequences. */
+    private final int sequences;
+    /** Simulation duration in nano. */
+    private final long durationNano;
+    /** Simulation error. */
+    private final Optional<Throwable> error;
+
+    /**
+     * Create result.
+     * 
+     * @param job The job reference.
+     * @param frames The simulated frames.
+     * @param sequences The run sequences.
+     * @param durationNano The simulation duration in nano.
+     * @param error The simulation error (<code>null</code> if none).
+     */
+    BatchResult(BatchJob job, long frames, int sequences, long durationNano, Throwable error)
+    {
+        super();
+
+        this.job = job;
+        this.frames = frames;
+        this.sequences = sequences;
+        this.durationNano = durationNano;
+        this.error = Optional.ofNullable(error);
+    }
+
+    /**
+     * Get the job reference.
+     * 
+     * @return The job reference.
+     */
+    public BatchJob getJob()
+    {
+        return job;
+    }
+
+    /**
+     * Get the simulated frames.
+     * 
+     * @return The simulated frames.
+     */
+    public long getFrames()
+    {
+        return frames;
+    }
+
+    /**
+     * Get the number of run sequences.
+     * 
+     * @return The run sequences.
+     */
+    public int getSequences()
+    {
+        return sequences;
+    }
+
+    /**
+     * Get the simulation duration.
+     * 
+     * @return The simulation duration in nano.
+     */
+    public long getDuration()
+    {
+        return durationNano;
+    }
+
+    /**
+     * Get the simulated frames per second of real time.
+     * 
+     * @return The simulation speed.
+     */
+    public double getFramesPerSecond()
+    {
+        return frames * (double) Constant.ONE_SECOND_IN_NANO / Math.max(1L, durationNano);
+    }
+
+    /**
+     * Check if maximum frames have been reached before sequences end.
+     * 
+     * @return <code>true</code> if stopped on frames limit, <code>false</code> if ended by sequences.
+     */
+    public boolean isExhausted()
+    {
+        return frames >= job.getMaxFrames();
+    }
+
+    /**
+     * Get the simulation error.
+     * 
+     * @return The simulation error if failed.
+     */
+    public Optional<Throwable> getError()
+    {
+        return error;
+    }
+
+    /*
+     * Object
+     */
+
+    @Override
+    public String toString()
+    {
+        return String.format(Locale.ENGLISH,
+                             FORMAT,
+                             job.getName(),
+                             Long.valueOf(job.getSeed()),
+                             Long.valueOf(frames),
+                             Integer.valueOf(sequences),
+                             Double.valueOf(durationNano / Constant.NANO_TO_MILLI),
+                             Double.valueOf(getFramesPerSecond()),
+                             error.map(e -> FORMAT_ERROR + e.getMessage()).orElse(Constant.EMPTY_STRING));
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright (C) 2013-2018 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package com.b3dgs.lionengine.headless.batch;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.UtilRandom;
+import com.b3dgs.lionengine.Verbose;
+import com.b3dgs.lionengine.graphic.Graphics;
+import com.b3dgs.lionengine.graphic.Screen;
+import com.b3dgs.lionengine.graphic.engine.Sequencable;
+import com.b3dgs.lionengine.graphic.engine.UtilSequence;
+
+/**
+ * Batch runner, simulating many {@link BatchJob} concurrently on a thread pool, faster than real time.
+ * <p>
+ * Each job runs on its own headless screen and context, with a fixed time step and without render nor waiting. Its
+ * sequences own their services as usual, and {@link UtilRandom} uses a random source seeded by the job during
+ * simulation. Engine must have been started with {@link com.b3dgs.lionengine.headless.graphic.EngineHeadless}.
+ * </p>
+ * 
+ * <pre>
+ * final BatchRunner runner = new BatchRunner(4);
+ * final List&lt;BatchResult&gt; results = runner.run(jobs, result -&gt; Verbose.info(result.toString()));
+ * runner.shutdown();
+ * </pre>
+ */
+public final class BatchRunner
+{
+    /** Thread name. */
+    private static final String THREAD_NAME = "BatchRunner-";
+    /** Job started. */
+    private static final String JOB_START = "Starting batch job: ";
+    /** Interrupted error. */
+    static final String ERROR_INTERRUPTED = "Batch interrupted !";
+
+    /**
+     * Run the job on current thread.
+     * 
+     * @param job The job to run.
+     * @return The job result.
+     */
+    private static BatchResult execute(BatchJob job)
+    {
+        Verbose.info(JOB_START, job.getName());
+
+        final long start = System.nanoTime();
+        final Screen screen = Graphics.createScreen(job.getConfig());
+        final BatchContext context = new BatchContext(screen, job.getMaxFrames());
+        int sequences = 0;
+        Throwable error = null;
+
+        UtilRandom.setThreadRandom(new Random(job.getSeed()));
+        try
+        {
+            screen.start();
+            screen.awaitReady();
+
+            Sequencable next = UtilSequence.create(job.getSequence(), context, job.getArguments());
+            while (next != null)
+            {
+                final Sequencable sequence = next;
+                sequence.start(screen);
+                sequences++;
+
+                next = sequence.getNextSequence();
+                if (context.isExhausted())
+                {
+                    next = null;
+                }
+                sequence.onTerminated(next != null);
+            }
+        }
+        catch (final RuntimeException exception) // CHECKSTYLE IGNORE LINE: IllegalCatch
+        {
+            error = exception;
+            Verbose.exception(exception);
+        }
+        finally
+        {
+            UtilRandom.setThreadRandom(null);
+            screen.dispose();
+        }
+        return new BatchResult(job, context.getFrames(), sequences, System.nanoTime() - start, error);
+    }
+
+    /** Jobs executor. */
+    private final ExecutorService executor;
+
+    /**
+     * Create runner.
+     * 
+     * @param threads The number of jobs simulated concurrently (strictly positive).
+     * @throws LionEngineException If invalid argument.
+     */
+    public BatchRunner(int threads)
+    {
+        super();
+
+        Check.superiorStrict(threads, 0);
+
+        final AtomicInteger count = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(threads, runnable ->
+        {
+            final Thread thread = new Thread(runnable, THREAD_NAME + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Submit a job, simulated as soon as a thread is available.
+     * 
+     * @param job The job to run (must not be <code>null</code>).
+     * @param listener The completion listener (must not be <code>null</code>).
+     * @return The job result future.
+     * @throws LionEngineException If invalid arguments.
+     */
+    public Future<BatchResult> submit(BatchJob job, BatchListener listener)
+    {
+        Check.notNull(job);
+        Check.notNull(listener);
+
+        return executor.submit(() ->
+        {
+            final BatchResult result = execute(job);
+            listener.notifyCompleted(result);
+            return result;
+        });
+    }
+
+    /**
+     * Run all jobs and wait for their completion.
+     * 
+     * @param jobs The jobs to run (must not be <code>null</code>).
+     * @param listener The completion listener, notified for each job (must not be <code>null</code>).
+     * @return The jobs results, in jobs order.
+     * @throws LionEngineException If invalid arguments or interrupted.
+     */
+    public List<BatchResult> run(Collection<BatchJob> jobs, BatchListener listener)
+    {
+        Check.notNull(jobs);
+
+        final List<Future<BatchResult>> futures = new ArrayList<>(jobs.size());
+        for (final BatchJob job : jobs)
+        {
+            futures.add(submit(job, listener));
+        }
+
+        final List<BatchResult> results = new ArrayList<>(futures.size());
+        try
+        {
+            for (final Future<BatchResult> future : futures)
+            {
+                results.add(future.get());
+            }
+        }
+        catch (final InterruptedException exception)
+        {
+            Thread.currentThread().interrupt();
+            throw new LionEngineException(exception, ERROR_INTERRUPTED);
+        }
+        catch (final ExecutionException exception)
+        {
+            throw new LionEngineException(exception.getCause());
+        }
+        return results;
+    }
+
+    /**
+     * Stop accepting jobs and wait for running ones.
+     * 
+     * @param timeoutMilli The maximum wait time in milli.
+     * @return <code>true</code> if all jobs ended, <code>false</code> if timeout elapsed.
+     * @throws LionEngineException If interrupted.
+     */
+    public boolean shutdown(long timeoutMilli)
+    {
+        executor.shutdown();
+        try
+        {
+            return executor.awaitTermination(timeoutMilli, TimeUnit.MILLISECONDS);
+        }
+        catch (final InterruptedException exception)
+        {
+            Thread.currentThread().interrupt();
+            throw new LionEngineException(exception, ERROR_INTERRUPTED);
+        }
+    }
+}
@@ -136,7 +136,7 @@ public final class FactoryGraphicHeadless implements FactoryGraphic
     {
         Check.notNull(image);
 
-        return new ImageBufferHeadless((ImageBufferHeadless) image);
+        return new ImageBufferHeadless(image.<ImageBufferHeadless> getSurface());
     }
 
     @Override
@@ -145,7 +145,7 @@ public final class FactoryGraphicHeadless implements FactoryGraphic
         Check.notNull(image);
         Check.notNull(maskColor);
 
-        final ImageBuffer mask = new ImageBufferHeadless((ImageBufferHeadless) image);
+        final ImageBuffer mask = new ImageBufferHeadless(image.<ImageBufferHeadless> getSurface());
         final int height = mask.getHeight();
         final int width = mask.getWidth();
         final int rgba = maskColor.getRgba();
@@ -198,7 +198,7 @@ public final class FactoryGraphicHeadless implements FactoryGraphic
     {
         Check.notNull(image);
 
-        final ImageBuffer flip = new ImageBufferHeadless((ImageBufferHeadless) image);
+        final ImageBuffer flip = new ImageBufferHeadless(image.<ImageBufferHeadless> getSurface());
         final int height = flip.getHeight();
         final int width = flip.getWidth();
 
@@ -218,7 +218,7 @@ public final class FactoryGraphicHeadless implements FactoryGraphic
     {
         Check.notNull(image);
 
-        final ImageBuffer flip = new ImageBufferHeadless((ImageBufferHeadless) image);
+        final ImageBuffer flip = new ImageBufferHeadless(image.<ImageBufferHeadless> getSurface());
         final int height = flip.getHeight();
         final int width = flip.getWidth();
 
@@ -254,6 +254,6 @@ public final class FactoryGraphicHeadless implements FactoryGraphic
     {
         Check.notNull(image);
 
-        return new ImageBufferHeadless((ImageBufferHeadless) image);
+        return new ImageBufferHeadless(image.<ImageBufferHeadless> getSurface());
     }
 }
@@ -180,6 +180,12 @@ final class ImageBufferHeadless implements ImageBuffer
         return pixels;
     }
 
+    @Override
+    public int[] getPixels()
+    {
+        return buffer;
+    }
+
     @Override
     public int getWidth()
     {
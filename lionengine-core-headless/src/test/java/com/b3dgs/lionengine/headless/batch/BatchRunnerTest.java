@@ -0,0 +1,158 @@
+/*
+ * Copyright (C) 2013-2018 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package com.b3dgs.lionengine.headless.batch;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertFalse;
+import static com.b3dgs.lionengine.UtilAssert.assertNotEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertThrows;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.b3dgs.lionengine.Config;
+import com.b3dgs.lionengine.Engine;
+import com.b3dgs.lionengine.Resolution;
+import com.b3dgs.lionengine.Version;
+import com.b3dgs.lionengine.headless.graphic.EngineHeadless;
+
+/**
+ * Test {@link BatchRunner}.
+ */
+public final class BatchRunnerTest
+{
+    /** Test config. */
+    private static final Config CONFIG = new Config(new Resolution(320, 240, 60), 16, true);
+
+    /**
+     * Prepare test.
+     */
+    @BeforeAll
+    public static void beforeTests()
+    {
+        EngineHeadless.start(BatchRunnerTest.class.getName(), Version.DEFAULT);
+    }
+
+    /**
+     * Clean up test.
+     */
+    @AfterAll
+    public static void afterTests()
+    {
+        Engine.terminate();
+    }
+
+    /**
+     * Test concurrent jobs are reproducible with their seed.
+     */
+    @Test
+    public void testRun()
+    {
+        final BatchRunner runner = new BatchRunner(4);
+        final List<BatchJob> jobs = new ArrayList<>();
+        final List<AtomicLong> sums = new ArrayList<>();
+        for (int i = 0; i < 8; i++)
+        {
+            final AtomicLong sum = new AtomicLong();
+            sums.add(sum);
+            jobs.add(new BatchJob("job" + i, CONFIG, i % 4, 1000, SequenceBatchMock.class, sum, Integer.valueOf(-1)));
+        }
+        final AtomicInteger completed = new AtomicInteger();
+        final List<BatchResult> results = runner.run(jobs, result -> completed.incrementAndGet());
+
+        assertEquals(8, completed.get());
+        for (int i = 0; i < 8; i++)
+        {
+            final BatchResult result = results.get(i);
+
+            assertEquals(jobs.get(i), result.getJob());
+            assertEquals(1000L, result.getFrames());
+            assertEquals(1, result.getSequences());
+            assertTrue(result.isExhausted());
+            assertFalse(result.getError().isPresent());
+            assertTrue(result.getFramesPerSecond() > 0.0);
+        }
+        for (int i = 0; i < 4; i++)
+        {
+            assertEquals(sums.get(i).get(), sums.get(i + 4).get());
+        }
+        assertNotEquals(sums.get(0).get(), sums.get(1).get());
+        assertTrue(runner.shutdown(1000L));
+    }
+
+    /**
+     * Test sequence ending before frames limit.
+     */
+    @Test
+    public void testSequenceEnd()
+    {
+        final BatchRunner runner = new BatchRunner(1);
+        final BatchJob job = new BatchJob("end",
+                                          CONFIG,
+                                          0L,
+                                          1000,
+                                          SequenceBatchMock.class,
+                                          new AtomicLong(),
+                                          Integer.valueOf(10));
+        final List<BatchResult> results = new ArrayList<>();
+        runner.run(Arrays.asList(job), results::add);
+
+        assertEquals(1, results.size());
+        assertEquals(10L, results.get(0).getFrames());
+        assertFalse(results.get(0).isExhausted());
+        assertTrue(runner.shutdown(1000L));
+    }
+
+    /**
+     * Test job failure.
+     */
+    @Test
+    public void testError()
+    {
+        final BatchRunner runner = new BatchRunner(1);
+        final BatchJob job = new BatchJob("error", CONFIG, 0L, 10, SequenceBatchMock.class);
+        final BatchResult result = runner.run(Arrays.asList(job), r ->
+        {
+            // Nothing
+        }).get(0);
+
+        assertTrue(result.getError().isPresent());
+        assertEquals(0L, result.getFrames());
+        assertTrue(result.toString().contains("error="));
+        assertTrue(runner.shutdown(1000L));
+    }
+
+    /**
+     * Test invalid arguments.
+     */
+    @Test
+    public void testInvalid()
+    {
+        assertThrows(() -> new BatchRunner(0), "Invalid argument: 0 is not strictly superior to 0");
+        assertThrows(() -> new BatchJob("job", CONFIG, 0L, 0, SequenceBatchMock.class),
+                     "Invalid argument: 0 is not strictly superior to 0");
+    }
+}
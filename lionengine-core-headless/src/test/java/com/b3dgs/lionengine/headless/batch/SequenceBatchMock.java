@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2013-2018 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package com.b3dgs.lionengine.headless.batch;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.b3dgs.lionengine.Context;
+import com.b3dgs.lionengine.UtilRandom;
+import com.b3dgs.lionengine.graphic.Graphic;
+import com.b3dgs.lionengine.graphic.engine.LoopFrameSkipping;
+import com.b3dgs.lionengine.graphic.engine.Sequence;
+
+/**
+ * Batch sequence mock, accumulating random values, ending after a number of updates if positive.
+ */
+final class SequenceBatchMock extends Sequence
+{
+    /** Accumulated random values. */
+    private final AtomicLong sum;
+    /** Updates before end (negative for never). */
+    private final Integer updates;
+    /** Current updates. */
+    private int count;
+
+    /**
+     * Constructor.
+     * 
+     * @param context The context reference.
+     * @param sum The accumulated random values.
+     * @param updates The updates before end (negative for never).
+     */
+    SequenceBatchMock(Context context, AtomicLong sum, Integer updates)
+    {
+        super(context, context.getConfig().getOutput(), new LoopFrameSkipping());
+
+        this.sum = sum;
+        this.updates = updates;
+    }
+
+    @Override
+    public void load()
+    {
+        // Mock
+    }
+
+    @Override
+    public void update(double extrp)
+    {
+        sum.addAndGet(UtilRandom.getRandomInteger(100));
+        count++;
+        if (count == updates.intValue())
+        {
+            end();
+        }
+    }
+
+    @Override
+    public void render(Graphic g)
+    {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -20,6 +20,7 @@ package com.b3dgs.lionengine.headless.graphic;
 import static com.b3dgs.lionengine.UtilAssert.assertArrayEquals;
 import static com.b3dgs.lionengine.UtilAssert.assertEquals;
 import static com.b3dgs.lionengine.UtilAssert.assertNotNull;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
 
 import java.util.Arrays;
 
@@ -124,6 +125,32 @@ public final class ImageBufferHeadlessTest
         assertArrayEquals(expected, image.getRgb(1, 1, 1, 1, null, 0, 9));
     }
 
+    /**
+     * Test direct pixels access.
+     */
+    @Test
+    public void testPixels()
+    {
+        final ImageBufferHeadless image = new ImageBufferHeadless(3, 2, Transparency.BITMASK);
+        final int[] pixels = image.getPixels();
+
+        assertEquals(3 * 2, pixels.length);
+
+        image.fill(1, 1, 2, 1, ColorRgba.BLUE.getRgba());
+
+        assertEquals(ColorRgba.BLUE.getRgba(), pixels[4]);
+        assertEquals(ColorRgba.BLUE.getRgba(), pixels[5]);
+
+        pixels[0] = ColorRgba.RED.getRgba();
+
+        assertEquals(ColorRgba.RED.getRgba(), image.getRgb(0, 0));
+
+        final ImageBufferHeadless copy = new ImageBufferHeadless(3, 2, Transparency.BITMASK);
+        copy.copy(image, 0, 0, 3, 2, 0, 0);
+
+        assertTrue(copy.compare(0, 0, image, 0, 0, 3, 2));
+    }
+
     /**
      * Test image transparency
      */
@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2013-2018 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package com.b3dgs.lionengine;
+
+/**
+ * Media factory reading resources from a {@link MediaPack}. Resources not found in pack, and all writes, go to the
+ * default media implementation.
+ * 
+ * <pre>
+ * MediaPack.write(new File(&quot;resources&quot;), new File(&quot;resources.pack&quot;));
+ * Medias.setFactoryMedia(new FactoryMediaPack(new MediaPack(new File(&quot;resources.pack&quot;))));
+ * </pre>
+ * <p>
+ * This class is Thread-Safe.
+ * </p>
+ */
+public class FactoryMediaPack implements FactoryMedia
+{
+    /** Pack reference. */
+    private final MediaPack pack;
+    /** Default factory. */
+    private final FactoryMedia factory = new FactoryMediaDefault();
+
+    /**
+     * Create factory.
+     * 
+     * @param pack The pack reference (must not be <code>null</code>).
+     * @throws LionEngineException If invalid argument.
+     */
+    public FactoryMediaPack(MediaPack pack)
+    {
+        super();
+
+        Check.notNull(pack);
+
+        this.pack = pack;
+    }
+
+    /**
+     * Get the pack.
+     * 
+     * @return The pack reference.
+     */
+    public MediaPack getPack()
+    {
+        return pack;
+    }
+
+    /*
+     * FactoryMedia
+     */
+
+    @Override
+    public Media create(String separator, String resourcesDir, String... path)
+    {
+        return new MediaPacked(pack, factory.create(separator, resourcesDir, path), separator);
+    }
+
+    @Override
+    public Media create(String separator, Class<?> loader, String... path)
+    {
+        return new MediaPacked(pack, factory.create(separator, loader, path), separator);
+    }
+}
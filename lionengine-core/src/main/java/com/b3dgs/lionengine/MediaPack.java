@@ -0,0 +1,607 @@
+/*
+ * Copyright (C) 2013-2018 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package com.b3dgs.lionengine;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Single file resources pack, memory mapped once and read without any index parsing.
+ * <p>
+ * File layout (big endian):
+ * </p>
+ * <ul>
+ * <li>header: magic, version, entries count, paths table length (4 <code>int</code>)</li>
+ * <li>entries sorted by path bytes: path offset, path length (<code>int</code>), data offset, data length
+ * (<code>long</code>)</li>
+ * <li>paths table: <code>UTF-8</code> paths using <code>/</code> separator, relative to pack root</li>
+ * <li>data: files content</li>
+ * </ul>
+ * <p>
+ * Lookup is a binary search on the mapped entries, file content is a read only slice of the mapped data, and
+ * directories are deduced from sorted paths. Entries are validated once on opening (bounds and order), a corrupted
+ * pack is rejected. Index (header, entries and paths) is limited to 2GB, files content is not, but a single file
+ * larger than 2GB cannot be read.
+ * </p>
+ * <p>
+ * This class is Thread-Safe.
+ * </p>
+ */
+public final class MediaPack implements Closeable
+{
+    /** Pack separator. */
+    public static final String SEPARATOR = Constant.SLASH;
+    /** Pack magic number. */
+    static final int MAGIC = 0x4C45_504B;
+    /** Pack version. */
+    static final int VERSION = 1;
+    /** Invalid pack error. */
+    static final String ERROR_PACK = "Invalid media pack: ";
+    /** Too large entry error. */
+    static final String ERROR_ENTRY_SIZE = "Media pack entry too large: ";
+    /** Header size in bytes. */
+    private static final int HEADER = 16;
+    /** Entry size in bytes. */
+    private static final int ENTRY = 24;
+    /** Data segment size in bytes. */
+    private static final long SEGMENT = 1L << 30;
+    /** Separator byte. */
+    private static final byte SLASH = (byte) '/';
+    /** Pack opened info. */
+    private static final String INFO_OPENED = "Media pack opened: ";
+    /** Pack written info. */
+    private static final String INFO_WRITTEN = "Media pack written: ";
+
+    /**
+     * Write a pack with all files of a folder, recursively.
+     * 
+     * @param folder The folder to pack (must not be <code>null</code>).
+     * @param pack The pack file to write (must not be <code>null</code>).
+     * @throws LionEngineException If invalid arguments or unable to write pack.
+     */
+    public static void write(File folder, File pack)
+    {
+        Check.notNull(folder);
+        Check.notNull(pack);
+
+        if (!folder.isDirectory())
+        {
+            throw new LionEngineException(MediaDefault.ERROR_PATH_DIR + folder.getPath());
+        }
+        final List<File> files = new ArrayList<>();
+        final List<byte[]> paths = new ArrayList<>();
+        collect(folder, Constant.EMPTY_STRING, files, paths);
+
+        final Integer[] order = new Integer[files.size()];
+        for (int i = 0; i < order.length; i++)
+        {
+            order[i] = Integer.valueOf(i);
+        }
+        Arrays.sort(order, (a, b) -> compare(paths.get(a.intValue()), paths.get(b.intValue())));
+
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(pack))))
+        {
+            long stringsLength = 0L;
+            for (final byte[] path : paths)
+            {
+                stringsLength += path.length;
+            }
+            if (HEADER + (long) ENTRY * order.length + stringsLength > Integer.MAX_VALUE)
+            {
+                throw new IOException("Pack index too large");
+            }
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeInt(order.length);
+            output.writeInt((int) stringsLength);
+
+            int pathOffset = 0;
+            long dataOffset = HEADER + (long) ENTRY * order.length + stringsLength;
+            for (final Integer index : order)
+            {
+                final byte[] path = paths.get(index.intValue());
+                final long length = files.get(index.intValue()).length();
+                output.writeInt(pathOffset);
+                output.writeInt(path.length);
+                output.writeLong(dataOffset);
+                output.writeLong(length);
+                pathOffset += path.length;
+                dataOffset += length;
+            }
+            for (final Integer index : order)
+            {
+                output.write(paths.get(index.intValue()));
+            }
+            for (final Integer index : order)
+            {
+                try (InputStream input = new FileInputStream(files.get(index.intValue())))
+                {
+                    UtilStream.copy(input, output);
+                }
+            }
+        }
+        catch (final IOException exception)
+        {
+            throw new LionEngineException(exception, ERROR_PACK + pack.getPath());
+        }
+        Verbose.info(INFO_WRITTEN, pack.getPath(), " (", String.valueOf(order.length), " files)");
+    }
+
+    /**
+     * Collect files recursively.
+     * 
+     * @param folder The current folder.
+     * @param prefix The current path prefix.
+     * @param files The collected files.
+     * @param paths The collected paths.
+     */
+    private static void collect(File folder, String prefix, Collection<File> files, Collection<byte[]> paths)
+    {
+        final File[] children = folder.listFiles();
+        if (children != null)
+        {
+            for (final File child : children)
+            {
+                final String path = prefix + child.getName();
+                if (child.isDirectory())
+                {
+                    collect(child, path + SEPARATOR, files, paths);
+                }
+                else
+                {
+                    files.add(child);
+                    paths.add(path.getBytes(StandardCharsets.UTF_8));
+                }
+            }
+        }
+    }
+
+    /**
+     * Compare paths bytes, unsigned lexicographic order.
+     * 
+     * @param a The first path.
+     * @param b The second path.
+     * @return The comparison result.
+     */
+    private static int compare(byte[] a, byte[] b)
+    {
+        final int length = Math.min(a.length, b.length);
+        for (int i = 0; i < length; i++)
+        {
+            final int diff = (a[i] & 0xFF) - (b[i] & 0xFF);
+            if (diff != 0)
+            {
+                return diff;
+            }
+        }
+        return a.length - b.length;
+    }
+
+    /**
+     * Get directory prefix bytes.
+     * 
+     * @param path The directory path.
+     * @return The prefix bytes, with trailing separator, empty for root.
+     */
+    private static byte[] getPrefix(String path)
+    {
+        if (path.isEmpty() || path.endsWith(SEPARATOR))
+        {
+            return path.getBytes(StandardCharsets.UTF_8);
+        }
+        return (path + SEPARATOR).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /** Pack file. */
+    private final File file;
+    /** Pack channel. */
+    private final FileChannel channel;
+    /** Mapped index (header, entries and paths). */
+    private final ByteBuffer index;
+    /** Mapped data segments, lazily mapped. */
+    private final MappedByteBuffer[] segments;
+    /** Entries count. */
+    private final int count;
+    /** Paths table offset. */
+    private final int strings;
+    /** Data offset. */
+    private final long data;
+
+    /**
+     * Open pack file.
+     * 
+     * @param file The pack file (must not be <code>null</code>).
+     * @throws LionEngineException If invalid argument or not a valid pack.
+     */
+    public MediaPack(File file)
+    {
+        super();
+
+        Check.notNull(file);
+
+        this.file = file;
+        try
+        {
+            channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        }
+        catch (final IOException exception)
+        {
+            throw new LionEngineException(exception, ERROR_PACK + file.getPath());
+        }
+        try
+        {
+            final long size = channel.size();
+            final ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0L, Math.min(HEADER, size));
+            if (header.limit() < HEADER || header.getInt(0) != MAGIC || header.getInt(4) != VERSION)
+            {
+                throw new IOException("Invalid header");
+            }
+            count = header.getInt(8);
+            final int stringsLength = header.getInt(12);
+            data = HEADER + (long) ENTRY * count + stringsLength;
+            if (count < 0 || stringsLength < 0 || data > Math.min(size, Integer.MAX_VALUE))
+            {
+                throw new IOException("Invalid index length");
+            }
+            strings = HEADER + ENTRY * count;
+            index = channel.map(FileChannel.MapMode.READ_ONLY, 0L, data);
+            segments = new MappedByteBuffer[(int) ((size - data) / SEGMENT) + 1];
+            validate(size);
+        }
+        catch (final IOException exception)
+        {
+            close(channel);
+            throw new LionEngineException(exception, ERROR_PACK + file.getPath());
+        }
+        Verbose.info(INFO_OPENED, file.getPath(), " (", String.valueOf(count), " files)");
+    }
+
+    /**
+     * Get file content as a read only buffer, sharing the mapped memory.
+     * 
+     * @param path The file path, using {@link #SEPARATOR} (must not be <code>null</code>).
+     * @return The file content if found.
+     * @throws LionEngineException If unable to map content.
+     */
+    public Optional<ByteBuffer> get(String path)
+    {
+        final int entry = find(path);
+        if (entry < 0)
+        {
+            return Optional.empty();
+        }
+        final int offset = HEADER + entry * ENTRY;
+        final long start = index.getLong(offset + 8) - data;
+        final long length = index.getLong(offset + 16);
+        if (length > Integer.MAX_VALUE)
+        {
+            throw new LionEngineException(ERROR_ENTRY_SIZE + path);
+        }
+        final int segment = (int) (start / SEGMENT);
+        final long local = start - segment * SEGMENT;
+        if (local + length <= SEGMENT)
+        {
+            final ByteBuffer buffer = getSegment(segment).duplicate();
+            buffer.position((int) local);
+            buffer.limit((int) (local + length));
+            return Optional.of(buffer.slice());
+        }
+        try
+        {
+            return Optional.of(channel.map(FileChannel.MapMode.READ_ONLY, data + start, length));
+        }
+        catch (final IOException exception)
+        {
+            throw new LionEngineException(exception, ERROR_PACK + file.getPath());
+        }
+    }
+
+    /**
+     * Check if pack contains file.
+     * 
+     * @param path The file path, using {@link #SEPARATOR} (must not be <code>null</code>).
+     * @return <code>true</code> if file found, <code>false</code> else.
+     */
+    public boolean contains(String path)
+    {
+        return find(path) > -1;
+    }
+
+    /**
+     * Check if path is a directory, containing at least one file.
+     * 
+     * @param path The directory path, using {@link #SEPARATOR}, empty for root (must not be <code>null</code>).
+     * @return <code>true</code> if directory found, <code>false</code> else.
+     */
+    public boolean isDirectory(String path)
+    {
+        final byte[] prefix = getPrefix(path);
+        final int entry = lowerBound(prefix);
+        return entry < count && startsWith(entry, prefix);
+    }
+
+    /**
+     * List direct children of a directory.
+     * 
+     * @param path The directory path, using {@link #SEPARATOR}, empty for root (must not be <code>null</code>).
+     * @return The children paths, files and directories, in sorted order.
+     */
+    public List<String> list(String path)
+    {
+        final byte[] prefix = getPrefix(path);
+        final List<String> children = new ArrayList<>();
+        String last = null;
+        for (int entry = lowerBound(prefix); entry < count && startsWith(entry, prefix); entry++)
+        {
+            final byte[] current = getPath(entry);
+            int end = current.length;
+            for (int i = prefix.length; i < current.length; i++)
+            {
+                if (current[i] == SLASH)
+                {
+                    end = i;
+                    break;
+                }
+            }
+            final String child = new String(current, 0, end, StandardCharsets.UTF_8);
+            if (!child.equals(last))
+            {
+                children.add(child);
+                last = child;
+            }
+        }
+        Collections.sort(children);
+        return children;
+    }
+
+    /**
+     * Get the number of files.
+     * 
+     * @return The files number.
+     */
+    public int getSize()
+    {
+        return count;
+    }
+
+    /**
+     * Get the pack file.
+     * 
+     * @return The pack file.
+     */
+    public File getFile()
+    {
+        return file;
+    }
+
+    /*
+     * Closeable
+     */
+
+    /**
+     * Close pack file. Already returned buffers stay valid.
+     * 
+     * @throws IOException If unable to close pack.
+     */
+    @Override
+    public void close() throws IOException
+    {
+        channel.close();
+    }
+
+    /**
+     * Close channel after an opening failure.
+     * 
+     * @param channel The channel to close.
+     */
+    private static void close(FileChannel channel)
+    {
+        try
+        {
+            channel.close();
+        }
+        catch (final IOException exception)
+        {
+            Verbose.exception(exception);
+        }
+    }
+
+    /**
+     * Validate entries: paths inside paths table and strictly sorted, content inside data.
+     * 
+     * @param size The pack size.
+     * @throws IOException If an entry is invalid.
+     */
+    private void validate(long size) throws IOException
+    {
+        final long stringsLength = data - strings;
+        for (int entry = 0; entry < count; entry++)
+        {
+            final int offset = HEADER + entry * ENTRY;
+            final long pathOffset = index.getInt(offset);
+            final long pathLength = index.getInt(offset + 4);
+            final long start = index.getLong(offset + 8);
+            final long length = index.getLong(offset + 16);
+            if (pathOffset < 0L || pathLength < 0L || pathOffset + pathLength > stringsLength)
+            {
+                throw new IOException("Invalid entry path: " + entry);
+            }
+            if (start < data || length < 0L || length > size - start)
+            {
+                throw new IOException("Invalid entry content: " + entry);
+            }
+            if (entry > 0 && compare(entry, getPath(entry - 1)) <= 0)
+            {
+                throw new IOException("Unsorted entry: " + entry);
+            }
+        }
+    }
+
+    /**
+     * Get the mapped data segment.
+     * 
+     * @param segment The segment index.
+     * @return The mapped segment.
+     * @throws LionEngineException If unable to map segment.
+     */
+    private synchronized MappedByteBuffer getSegment(int segment)
+    {
+        if (segments[segment] == null)
+        {
+            try
+            {
+                final long start = data + segment * SEGMENT;
+                segments[segment] = channel.map(FileChannel.MapMode.READ_ONLY,
+                                                start,
+                                                Math.min(SEGMENT, channel.size() - start));
+            }
+            catch (final IOException exception)
+            {
+                throw new LionEngineException(exception, ERROR_PACK + file.getPath());
+            }
+        }
+        return segments[segment];
+    }
+
+    /**
+     * Find entry index of path.
+     * 
+     * @param path The path.
+     * @return The entry index, <code>-1</code> if not found.
+     */
+    private int find(String path)
+    {
+        final byte[] key = path.getBytes(StandardCharsets.UTF_8);
+        final int entry = lowerBound(key);
+        if (entry < count && compare(entry, key) == 0)
+        {
+            return entry;
+        }
+        return -1;
+    }
+
+    /**
+     * Get the first entry not lower than key.
+     * 
+     * @param key The key bytes.
+     * @return The entry index, <code>count</code> if all entries are lower.
+     */
+    private int lowerBound(byte[] key)
+    {
+        int low = 0;
+        int high = count;
+        while (low < high)
+        {
+            final int middle = (low + high) >>> 1;
+            if (compare(middle, key) < 0)
+            {
+                low = middle + 1;
+            }
+            else
+            {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Compare entry path with key, unsigned lexicographic order.
+     * 
+     * @param entry The entry index.
+     * @param key The key bytes.
+     * @return The comparison result.
+     */
+    private int compare(int entry, byte[] key)
+    {
+        final int offset = HEADER + entry * ENTRY;
+        final int start = strings + index.getInt(offset);
+        final int length = index.getInt(offset + 4);
+        final int min = Math.min(length, key.length);
+        for (int i = 0; i < min; i++)
+        {
+            final int diff = (index.get(start + i) & 0xFF) - (key[i] & 0xFF);
+            if (diff != 0)
+            {
+                return diff;
+            }
+        }
+        return length - key.length;
+    }
+
+    /**
+     * Check if entry path starts with prefix.
+     * 
+     * @param entry The entry index.
+     * @param prefix The prefix bytes.
+     * @return <code>true</code> if starts with prefix, <code>false</code> else.
+     */
+    private boolean startsWith(int entry, byte[] prefix)
+    {
+        final int offset = HEADER + entry * ENTRY;
+        final int start = strings + index.getInt(offset);
+        final int length = index.getInt(offset + 4);
+        if (length < prefix.length)
+        {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++)
+        {
+            if (index.get(start + i) != prefix[i])
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get entry path bytes.
+     * 
+     * @param entry The entry index.
+     * @return The path bytes.
+     */
+    private byte[] getPath(int entry)
+    {
+        final int offset = HEADER + entry * ENTRY;
+        final int start = strings + index.getInt(offset);
+        final byte[] path = new byte[index.getInt(offset + 4)];
+        for (int i = 0; i < path.length; i++)
+        {
+            path[i] = index.get(start + i);
+        }
+        return path;
+    }
+}
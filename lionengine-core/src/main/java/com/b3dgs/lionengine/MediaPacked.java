@@ -0,0 +1,167 @@
+/*
+ * Copyright (C) 2013-2018 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package com.b3dgs.lionengine;
+
+import java.io.File;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Media read from a {@link MediaPack} when packed, from its default media else.
+ * <p>
+ * This class is Thread-Safe.
+ * </p>
+ */
+final class MediaPacked implements Media
+{
+    /** Pack reference. */
+    private final MediaPack pack;
+    /** Default media, used when not packed and for writing. */
+    private final Media media;
+    /** Separator. */
+    private final String separator;
+    /** Path in pack. */
+    private final String packPath;
+
+    /**
+     * Create media.
+     * 
+     * @param pack The pack reference (must not be <code>null</code>).
+     * @param media The default media (must not be <code>null</code>).
+     * @param separator The separator used (must not be <code>null</code>).
+     * @throws LionEngineException If invalid arguments.
+     */
+    MediaPacked(MediaPack pack, Media media, String separator)
+    {
+        super();
+
+        Check.notNull(pack);
+        Check.notNull(media);
+        Check.notNull(separator);
+
+        this.pack = pack;
+        this.media = media;
+        this.separator = separator;
+        packPath = media.getPath().replace(separator, MediaPack.SEPARATOR);
+    }
+
+    /*
+     * Media
+     */
+
+    @Override
+    public String getName()
+    {
+        return media.getName();
+    }
+
+    @Override
+    public String getPath()
+    {
+        return media.getPath();
+    }
+
+    @Override
+    public String getParentPath()
+    {
+        return media.getParentPath();
+    }
+
+    @Override
+    public File getFile()
+    {
+        return media.getFile();
+    }
+
+    @Override
+    public Collection<Media> getMedias()
+    {
+        if (pack.isDirectory(packPath))
+        {
+            final List<String> children = pack.list(packPath);
+            final List<Media> medias = new ArrayList<>(children.size());
+            for (final String child : children)
+            {
+                medias.add(Medias.create(child.replace(MediaPack.SEPARATOR, separator)));
+            }
+            return medias;
+        }
+        return media.getMedias();
+    }
+
+    @Override
+    public InputStream getInputStream()
+    {
+        final Optional<InputStream> input = pack.get(packPath).map(ByteBufferInputStream::new);
+        if (input.isPresent())
+        {
+            return input.get();
+        }
+        return media.getInputStream();
+    }
+
+    @Override
+    public OutputStream getOutputStream()
+    {
+        return media.getOutputStream();
+    }
+
+    @Override
+    public boolean exists()
+    {
+        return pack.contains(packPath) || pack.isDirectory(packPath) || media.exists();
+    }
+
+    /*
+     * Object
+     */
+
+    @Override
+    public int hashCode()
+    {
+        final int prime = 31;
+        int result = 1;
+        result = prime * result + media.getPath().hashCode();
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object object)
+    {
+        if (this == object)
+        {
+            return true;
+        }
+        if (object == null || object.getClass() != getClass())
+        {
+            return false;
+        }
+        final MediaPacked other = (MediaPacked) object;
+        return media.getPath().equals(other.media.getPath());
+    }
+
+    @Override
+    public String toString()
+    {
+        return getPath();
+    }
+}
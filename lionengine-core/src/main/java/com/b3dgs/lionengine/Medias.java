@@ -139,7 +139,7 @@ public final class Medias
         Check.notNull(extension);
         Check.notNull(folder);
 
-        if (!loader.isPresent())
+        if (!loader.isPresent() || factoryMedia instanceof FactoryMediaPack)
         {
             return getFilesByExtension(folder, extension);
         }
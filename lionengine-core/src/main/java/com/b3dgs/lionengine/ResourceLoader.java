@@ -17,10 +17,22 @@
  */
 package com.b3dgs.lionengine;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Aimed to load resources asynchronously from the main thread, in order to improve transition time between two parts.
@@ -29,7 +41,15 @@ import java.util.concurrent.atomic.AtomicBoolean;
  * process.
  * </p>
  * <p>
- * Call {@link #await()} where resources must be loaded, and access to them with {@link #get()}.
+ * Independent resources are loaded in parallel on a work stealing pool. Order between resources can be declared with
+ * {@link #addDependency(Enum, Enum)} (a resource is loaded only once all its dependencies are loaded). Ready resources
+ * are dispatched by {@link ResourcePriority}, then by insertion order. Dependencies of a
+ * {@link ResourcePriority#FIRST_FRAME} resource inherit its priority.
+ * </p>
+ * <p>
+ * Call {@link #await()} where resources must be loaded, and access to them with {@link #get()}. Use
+ * {@link #await(ResourcePriority)} to only wait for the first frame resources. Progress and load durations can be
+ * followed with {@link ResourceLoaderListener}, and pending resources can be skipped with {@link #cancel()}.
  * </p>
  * <p>
  * This class is Thread-Safe.
@@ -47,22 +67,85 @@ public final class ResourceLoader<T extends Enum<T>>
     static final String ERROR_NOT_FINISHED = "Resource loader has not finished !";
     /** Error load skipped. */
     static final String ERROR_SKIPPED = "Resource loader interrupted !";
+    /** Error load canceled. */
+    static final String ERROR_CANCELED = "Resource loader canceled !";
+    /** Error load failed. */
+    static final String ERROR_FAILED = "Resource loader failed !";
+    /** Error unknown dependency. */
+    static final String ERROR_DEPENDENCY = "Unknown resource dependency: ";
+    /** Error dependency cycle. */
+    static final String ERROR_CYCLE = "Resource dependencies cycle detected !";
 
     /** Handled resources. */
-    private final Map<T, Resource> resources = new HashMap<>();
+    private final Map<T, Resource> resources = new LinkedHashMap<>();
+    /** Resources priority. */
+    private final Map<T, ResourcePriority> priorities = new HashMap<>();
+    /** Resources dependencies. */
+    private final Map<T, Set<T>> dependencies = new HashMap<>();
+    /** Progress listeners. */
+    private final List<ResourceLoaderListener<T>> listeners = new CopyOnWriteArrayList<>();
+    /** Loaded resources durations in nano seconds. */
+    private final Map<T, Long> durations = new HashMap<>();
+    /** Ready resources, by priority then insertion order. */
+    private final Queue<Node<T>> ready = new PriorityQueue<>();
+    /** Remaining resources count by priority. */
+    private final int[] remaining = new int[ResourcePriority.values().length];
+    /** Loaded resources count. */
+    private final AtomicInteger loaded = new AtomicInteger();
     /** Done. */
     private final AtomicBoolean done = new AtomicBoolean(false);
     /** Started. */
     private final AtomicBoolean started = new AtomicBoolean(false);
-    /** Thread used. */
-    private final ResourceLoaderThread thread = new ResourceLoaderThread(resources);
+    /** Load state lock. */
+    private final Object lock = new Object();
+    /** Maximum parallel loads. */
+    private final int threads;
+    /** Total resources count, set on start. */
+    private volatile int total;
+    /** Loading pool, <code>null</code> if not started. */
+    private ForkJoinPool pool;
+    /** Currently loading resources. */
+    private int running;
+    /** Terminated flag (loaded, canceled or failed). */
+    private boolean terminated;
+    /** Canceled flag. */
+    private boolean canceled;
+    /** First load error, <code>null</code> if none. */
+    private RuntimeException error;
 
     /**
-     * Create the resource loader.
+     * Create the resource loader, using one thread per available processor.
      */
     public ResourceLoader()
+    {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Create the resource loader.
+     * 
+     * @param threads The maximum number of resources loaded in parallel (must be strictly positive).
+     * @throws LionEngineException If invalid argument.
+     */
+    public ResourceLoader(int threads)
     {
         super();
+
+        Check.superiorStrict(threads, 0);
+
+        this.threads = threads;
+    }
+
+    /**
+     * Add a resource to load, needed for the first frame. Must be called before {@link #start()}.
+     * 
+     * @param key The associated key (must not be <code>null</code>).
+     * @param resource The resource to load (must not be <code>null</code>).
+     * @throws LionEngineException If invalid arguments or loader has already been started.
+     */
+    public void add(T key, Resource resource)
+    {
+        add(key, resource, ResourcePriority.FIRST_FRAME);
     }
 
     /**
@@ -70,24 +153,60 @@ public final class ResourceLoader<T extends Enum<T>>
      * 
      * @param key The associated key (must not be <code>null</code>).
      * @param resource The resource to load (must not be <code>null</code>).
+     * @param priority The resource priority (must not be <code>null</code>).
      * @throws LionEngineException If invalid arguments or loader has already been started.
      */
-    public synchronized void add(T key, Resource resource)
+    public synchronized void add(T key, Resource resource, ResourcePriority priority)
     {
         Check.notNull(key);
         Check.notNull(resource);
+        Check.notNull(priority);
 
         if (started.get())
         {
             throw new LionEngineException(ERROR_STARTED);
         }
         resources.put(key, resource);
+        priorities.put(key, priority);
+    }
+
+    /**
+     * Declare that a resource must be loaded after another one. Must be called before {@link #start()}. Both keys
+     * must have been added when loader is started.
+     * 
+     * @param key The dependent resource key (must not be <code>null</code>).
+     * @param dependency The resource key to load before (must not be <code>null</code>).
+     * @throws LionEngineException If invalid arguments or loader has already been started.
+     */
+    public synchronized void addDependency(T key, T dependency)
+    {
+        Check.notNull(key);
+        Check.notNull(dependency);
+
+        if (started.get())
+        {
+            throw new LionEngineException(ERROR_STARTED);
+        }
+        dependencies.computeIfAbsent(key, k -> new LinkedHashSet<>()).add(dependency);
+    }
+
+    /**
+     * Add a progress listener.
+     * 
+     * @param listener The listener to add (must not be <code>null</code>).
+     * @throws LionEngineException If invalid argument.
+     */
+    public void addListener(ResourceLoaderListener<T> listener)
+    {
+        Check.notNull(listener);
+
+        listeners.add(listener);
     }
 
     /**
      * Start to load resources in a separate thread.
      * 
-     * @throws LionEngineException If loader has already been started.
+     * @throws LionEngineException If loader has already been started, or invalid dependencies.
      */
     public synchronized void start()
     {
@@ -95,33 +214,88 @@ public final class ResourceLoader<T extends Enum<T>>
         {
             throw new LionEngineException(ERROR_STARTED);
         }
+        final Map<T, Node<T>> nodes = createNodes();
+        total = nodes.size();
         started.set(true);
-        thread.start();
+
+        synchronized (lock)
+        {
+            for (final Node<T> node : nodes.values())
+            {
+                remaining[node.priority.ordinal()]++;
+                if (node.pending == 0)
+                {
+                    ready.add(node);
+                }
+            }
+            pool = new ForkJoinPool(threads);
+            dispatch();
+        }
     }
 
     /**
      * Wait for load to finish. Can be called only if {@link #start()} were performed somewhere before.
      * 
-     * @throws LionEngineException If loading skipped or loader has not been started.
+     * @throws LionEngineException If loading skipped, canceled, failed or loader has not been started.
      */
-    public synchronized void await()
+    public void await()
     {
+        await(ResourcePriority.BACKGROUND);
+    }
+
+    /**
+     * Wait for resources of the specified priority and higher to be loaded. Can be called only if {@link #start()}
+     * were performed somewhere before.
+     * 
+     * @param priority The lowest priority to wait for (must not be <code>null</code>).
+     * @throws LionEngineException If loading skipped, canceled, failed or loader has not been started.
+     */
+    public void await(ResourcePriority priority)
+    {
+        Check.notNull(priority);
+
         if (!started.get())
         {
             throw new LionEngineException(ERROR_NOT_STARTED);
         }
-        try
+        synchronized (lock)
         {
-            thread.join();
+            try
+            {
+                while (!terminated && !isLoaded(priority))
+                {
+                    lock.wait();
+                }
+            }
+            catch (final InterruptedException exception)
+            {
+                Thread.currentThread().interrupt();
+                throw new LionEngineException(exception, ERROR_SKIPPED);
+            }
+            if (error != null)
+            {
+                throw new LionEngineException(error, ERROR_FAILED);
+            }
+            if (!isLoaded(priority))
+            {
+                throw new LionEngineException(ERROR_CANCELED);
+            }
         }
-        catch (final InterruptedException exception)
-        {
-            Thread.currentThread().interrupt();
-            throw new LionEngineException(exception, ERROR_SKIPPED);
-        }
-        finally
+    }
+
+    /**
+     * Cancel loading. Resources being loaded are finished, pending ones are skipped.
+     */
+    public void cancel()
+    {
+        synchronized (lock)
         {
-            done.set(true);
+            canceled = true;
+            if (pool != null)
+            {
+                dispatch();
+            }
+            lock.notifyAll();
         }
     }
 
@@ -140,6 +314,39 @@ public final class ResourceLoader<T extends Enum<T>>
         return Collections.unmodifiableMap(resources);
     }
 
+    /**
+     * Get the load duration of each loaded resource.
+     * 
+     * @return The loaded resources duration in nano seconds.
+     */
+    public Map<T, Long> getDurations()
+    {
+        synchronized (lock)
+        {
+            return Collections.unmodifiableMap(new HashMap<>(durations));
+        }
+    }
+
+    /**
+     * Get the number of loaded resources.
+     * 
+     * @return The loaded resources count.
+     */
+    public int getLoaded()
+    {
+        return loaded.get();
+    }
+
+    /**
+     * Get the total number of resources.
+     * 
+     * @return The resources count.
+     */
+    public synchronized int getTotal()
+    {
+        return resources.size();
+    }
+
     /**
      * Check if loading is finished.
      * 
@@ -151,33 +358,267 @@ public final class ResourceLoader<T extends Enum<T>>
     }
 
     /**
-     * Resource loader thread.
+     * Check if loading has been canceled (explicitly or after a resource failure).
+     * 
+     * @return <code>true</code> if canceled, <code>false</code> else.
+     */
+    public boolean isCanceled()
+    {
+        synchronized (lock)
+        {
+            return canceled;
+        }
+    }
+
+    /**
+     * Create the resources graph, with inherited priorities.
+     * 
+     * @return The resources nodes in insertion order.
+     * @throws LionEngineException If unknown dependency or dependencies cycle.
+     */
+    private Map<T, Node<T>> createNodes()
+    {
+        final Map<T, Node<T>> nodes = new LinkedHashMap<>();
+        int order = 0;
+        for (final Map.Entry<T, Resource> entry : resources.entrySet())
+        {
+            final T key = entry.getKey();
+            nodes.put(key, new Node<>(key, entry.getValue(), priorities.get(key), order));
+            order++;
+        }
+        for (final Map.Entry<T, Set<T>> entry : dependencies.entrySet())
+        {
+            final Node<T> node = nodes.get(entry.getKey());
+            if (node == null)
+            {
+                throw new LionEngineException(ERROR_DEPENDENCY + entry.getKey());
+            }
+            for (final T key : entry.getValue())
+            {
+                final Node<T> dependency = nodes.get(key);
+                if (dependency == null)
+                {
+                    throw new LionEngineException(ERROR_DEPENDENCY + key);
+                }
+                dependency.dependents.add(node);
+                node.dependencies.add(dependency);
+                node.pending++;
+            }
+        }
+        checkCycle(nodes);
+
+        final Deque<Node<T>> promote = new ArrayDeque<>();
+        for (final Node<T> node : nodes.values())
+        {
+            if (ResourcePriority.FIRST_FRAME == node.priority)
+            {
+                promote.push(node);
+            }
+        }
+        while (!promote.isEmpty())
+        {
+            for (final Node<T> dependency : promote.pop().dependencies)
+            {
+                if (ResourcePriority.FIRST_FRAME != dependency.priority)
+                {
+                    dependency.priority = ResourcePriority.FIRST_FRAME;
+                    promote.push(dependency);
+                }
+            }
+        }
+        return nodes;
+    }
+
+    /**
+     * Check that dependencies are acyclic by simulating a topological traversal.
+     * 
+     * @param nodes The resources nodes.
+     * @throws LionEngineException If dependencies cycle.
+     */
+    private void checkCycle(Map<T, Node<T>> nodes)
+    {
+        final Map<Node<T>, Integer> pending = new HashMap<>();
+        final Deque<Node<T>> free = new ArrayDeque<>();
+        for (final Node<T> node : nodes.values())
+        {
+            pending.put(node, Integer.valueOf(node.pending));
+            if (node.pending == 0)
+            {
+                free.push(node);
+            }
+        }
+        int visited = 0;
+        while (!free.isEmpty())
+        {
+            visited++;
+            for (final Node<T> dependent : free.pop().dependents)
+            {
+                final int count = pending.get(dependent).intValue() - 1;
+                pending.put(dependent, Integer.valueOf(count));
+                if (count == 0)
+                {
+                    free.push(dependent);
+                }
+            }
+        }
+        if (visited < nodes.size())
+        {
+            throw new LionEngineException(ERROR_CYCLE);
+        }
+    }
+
+    /**
+     * Check if all resources of the specified priority and higher are loaded. Must be called under lock.
+     * 
+     * @param priority The lowest priority to check.
+     * @return <code>true</code> if loaded, <code>false</code> else.
+     */
+    private boolean isLoaded(ResourcePriority priority)
+    {
+        for (int i = 0; i <= priority.ordinal(); i++)
+        {
+            if (remaining[i] > 0)
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Submit ready resources to the pool, and terminate if nothing remains to load. Must be called under lock.
+     */
+    private void dispatch()
+    {
+        while (!canceled && running < threads && !ready.isEmpty())
+        {
+            final Node<T> node = ready.poll();
+            running++;
+            pool.execute(() -> load(node));
+        }
+        if (!terminated && running == 0 && (canceled || ready.isEmpty()))
+        {
+            terminated = true;
+            done.set(!canceled && isLoaded(ResourcePriority.BACKGROUND));
+            pool.shutdown();
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * Load resource and release its dependents. Running count is always released, even if resource or a listener
+     * failed, so loading cannot hang. A failure cancels loading.
+     * 
+     * @param node The resource node to load.
+     */
+    private void load(Node<T> node)
+    {
+        final long start = System.nanoTime();
+        RuntimeException failure = null;
+        boolean success = false;
+        long duration = 0L;
+        try
+        {
+            node.resource.load();
+            duration = System.nanoTime() - start;
+            success = true;
+
+            final int count = loaded.incrementAndGet();
+            for (final ResourceLoaderListener<T> listener : listeners)
+            {
+                listener.notifyResourceLoaded(node.key, node.resource, duration, count, total);
+            }
+        }
+        catch (final RuntimeException exception)
+        {
+            failure = exception;
+        }
+        finally
+        {
+            synchronized (lock)
+            {
+                running--;
+                if (success)
+                {
+                    durations.put(node.key, Long.valueOf(duration));
+                    remaining[node.priority.ordinal()]--;
+                    for (final Node<T> dependent : node.dependents)
+                    {
+                        dependent.pending--;
+                        if (dependent.pending == 0)
+                        {
+                            ready.add(dependent);
+                        }
+                    }
+                }
+                if (failure != null && error == null)
+                {
+                    Verbose.exception(failure);
+                    error = failure;
+                }
+                if (!success || failure != null)
+                {
+                    canceled = true;
+                }
+                dispatch();
+                lock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Resource node in dependencies graph.
+     * 
+     * @param <T> The resource enum type.
      */
-    private static final class ResourceLoaderThread extends Thread
+    private static final class Node<T> implements Comparable<Node<T>>
     {
-        /** Handled resources. */
-        private final Map<?, Resource> resources;
+        /** Resources depending on this one. */
+        private final List<Node<T>> dependents = new ArrayList<>();
+        /** Resources this one depends on. */
+        private final List<Node<T>> dependencies = new ArrayList<>();
+        /** Resource key. */
+        private final T key;
+        /** Resource reference. */
+        private final Resource resource;
+        /** Insertion order. */
+        private final int order;
+        /** Effective priority. */
+        private ResourcePriority priority;
+        /** Remaining dependencies to load. */
+        private int pending;
 
         /**
-         * Create the resource loader.
+         * Create node.
          * 
-         * @param resources The resources to load (must not be <code>null</code>).
+         * @param key The resource key.
+         * @param resource The resource reference.
+         * @param priority The declared priority.
+         * @param order The insertion order.
          */
-        ResourceLoaderThread(Map<?, Resource> resources)
+        Node(T key, Resource resource, ResourcePriority priority, int order)
         {
-            super(ResourceLoaderThread.class.getName());
+            super();
 
-            this.resources = resources;
+            this.key = key;
+            this.resource = resource;
+            this.priority = priority;
+            this.order = order;
         }
 
         /*
-         * Thread
+         * Comparable
          */
 
         @Override
-        public void run()
+        public int compareTo(Node<T> other)
         {
-            resources.values().forEach(Resource::load);
+            final int value = priority.compareTo(other.priority);
+            if (value != 0)
+            {
+                return value;
+            }
+            return Integer.compare(order, other.order);
         }
     }
 }
@@ -0,0 +1,41 @@
+/*
+ * Copyright (C) 2013-2018 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package com.b3dgs.lionengine;
+
+/**
+ * Listen to {@link ResourceLoader} progress.
+ * <p>
+ * Notifications are performed from loader threads.
+ * </p>
+ * 
+ * @param <T> The resource enum type.
+ */
+@FunctionalInterface
+public interface ResourceLoaderListener<T extends Enum<T>>
+{
+    /**
+     * Notify a resource has been loaded.
+     * 
+     * @param key The loaded resource key.
+     * @param resource The loaded resource.
+     * @param duration The load duration in nano seconds.
+     * @param loaded The number of loaded resources.
+     * @param total The total number of resources.
+     */
+    void notifyResourceLoaded(T key, Resource resource, long duration, int loaded, int total);
+}
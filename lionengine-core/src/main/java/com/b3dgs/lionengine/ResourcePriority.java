@@ -0,0 +1,32 @@
+/*
+ * Copyright (C) 2013-2018 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package com.b3dgs.lionengine;
+
+/**
+ * Resource loading priority, used by {@link ResourceLoader} to order independent resources.
+ * <p>
+ * Resources required by a {@link #FIRST_FRAME} resource inherit its priority.
+ * </p>
+ */
+public enum ResourcePriority
+{
+    /** Resource needed to render the first frame, loaded first. */
+    FIRST_FRAME,
+    /** Resource loaded in background once first frame resources are dispatched. */
+    BACKGROUND;
+}
@@ -21,20 +21,43 @@ import java.util.Random;
 
 /**
  * Random utility class implementation.
+ * <p>
+ * A random source can be set for the current thread with {@link #setThreadRandom(Random)}, in order to have
+ * independent and reproducible sequences when running several simulations concurrently.
+ * </p>
  */
 public final class UtilRandom
 {
     /** The random utility instance. */
     private static final Random RANDOM = new java.security.SecureRandom();
+    /** The thread random source, used instead of global one if defined. */
+    private static final ThreadLocal<Random> THREAD_RANDOM = new ThreadLocal<>();
 
     /**
-     * Set the seed.
+     * Set the seed of the current random source.
      * 
      * @param seed The seed value.
      */
     public static void setSeed(long seed)
     {
-        RANDOM.setSeed(seed);
+        getRandom().setSeed(seed);
+    }
+
+    /**
+     * Set the random source of the current thread.
+     * 
+     * @param random The random source (<code>null</code> to use global random source).
+     */
+    public static void setThreadRandom(Random random)
+    {
+        if (random == null)
+        {
+            THREAD_RANDOM.remove();
+        }
+        else
+        {
+            THREAD_RANDOM.set(random);
+        }
     }
 
     /**
@@ -44,7 +67,7 @@ public final class UtilRandom
      */
     public static int getRandomInteger()
     {
-        return RANDOM.nextInt();
+        return getRandom().nextInt();
     }
 
     /**
@@ -83,7 +106,7 @@ public final class UtilRandom
     {
         Check.inferiorOrEqual(min, max);
 
-        return min + RANDOM.nextInt(max + 1 - min);
+        return min + getRandom().nextInt(max + 1 - min);
     }
 
     /**
@@ -93,7 +116,7 @@ public final class UtilRandom
      */
     public static boolean getRandomBoolean()
     {
-        return RANDOM.nextBoolean();
+        return getRandom().nextBoolean();
     }
 
     /**
@@ -103,7 +126,22 @@ public final class UtilRandom
      */
     public static double getRandomDouble()
     {
-        return RANDOM.nextDouble();
+        return getRandom().nextDouble();
+    }
+
+    /**
+     * Get the current random source.
+     * 
+     * @return The thread random source if defined, global one else.
+     */
+    private static Random getRandom()
+    {
+        final Random random = THREAD_RANDOM.get();
+        if (random == null)
+        {
+            return RANDOM;
+        }
+        return random;
     }
 
     /**
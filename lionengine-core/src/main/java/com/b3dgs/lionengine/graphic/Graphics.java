@@ -17,10 +17,22 @@
  */
 package com.b3dgs.lionengine.graphic;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import com.b3dgs.lionengine.Check;
 import com.b3dgs.lionengine.Config;
 import com.b3dgs.lionengine.Constant;
 import com.b3dgs.lionengine.LionEngineException;
 import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.UtilStream;
+import com.b3dgs.lionengine.graphic.drawable.ImageInfo;
 
 /**
  * Implementation provider for the {@link FactoryGraphic}.
@@ -30,19 +42,32 @@ import com.b3dgs.lionengine.Media;
  */
 public final class Graphics
 {
+    /** Shared images cache. */
+    private static final ImageCache CACHE = new ImageCache();
     /** Factory graphic implementation. */
     private static volatile FactoryGraphic factoryGraphic;
 
     /**
-     * Set the graphic factory used.
+     * Set the graphic factory used. Clears the {@link #getImageCache()}.
      * 
      * @param factoryGraphic The graphic factory used.
      */
     public static void setFactoryGraphic(FactoryGraphic factoryGraphic)
     {
+        CACHE.clear();
         Graphics.factoryGraphic = factoryGraphic;
     }
 
+    /**
+     * Get the shared images cache.
+     * 
+     * @return The images cache.
+     */
+    public static ImageCache getImageCache()
+    {
+        return CACHE;
+    }
+
     /**
      * Create a screen.
      * 
@@ -140,6 +165,58 @@ public final class Graphics
         return factoryGraphic.getImageBuffer(media);
     }
 
+    /**
+     * Get image buffers from image files, decoded in parallel. Each file is read once, its header is cached by
+     * {@link ImageInfo} and its content decoded from memory.
+     * 
+     * @param medias The image medias (must not be <code>null</code>).
+     * @return The created image buffers, in medias order.
+     * @throws LionEngineException If an error occurred when reading an image (all decodes are awaited and the
+     *             decoded images disposed).
+     */
+    public static List<ImageBuffer> getImageBuffers(Collection<Media> medias)
+    {
+        Check.notNull(medias);
+
+        final List<CompletableFuture<ImageBuffer>> tasks = new ArrayList<>(medias.size());
+        for (final Media media : medias)
+        {
+            tasks.add(CompletableFuture.supplyAsync(() -> decode(media)));
+        }
+        try
+        {
+            CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[tasks.size()])).join();
+        }
+        catch (final CompletionException exception)
+        {
+            // All tasks are completed here, dispose the ones which succeeded
+            for (final CompletableFuture<ImageBuffer> task : tasks)
+            {
+                if (!task.isCompletedExceptionally())
+                {
+                    task.join().dispose();
+                }
+            }
+            final Throwable cause = exception.getCause();
+            if (cause instanceof LionEngineException)
+            {
+                throw (LionEngineException) cause;
+            }
+            if (cause instanceof Error)
+            {
+                throw (Error) cause;
+            }
+            throw new LionEngineException(cause);
+        }
+
+        final List<ImageBuffer> buffers = new ArrayList<>(tasks.size());
+        for (final CompletableFuture<ImageBuffer> task : tasks)
+        {
+            buffers.add(task.join());
+        }
+        return buffers;
+    }
+
     /**
      * Get an image buffer from an image buffer.
      * 
@@ -257,6 +334,33 @@ public final class Graphics
         return factoryGraphic.getRasterBuffer(img, fr, fg, fb);
     }
 
+    /**
+     * Read image file once, cache its header and decode it from memory.
+     * 
+     * @param media The image media.
+     * @return The created image buffer.
+     * @throws LionEngineException If an error occurred when reading the image.
+     */
+    private static ImageBuffer decode(Media media)
+    {
+        Check.notNull(media);
+
+        final byte[] data;
+        try (InputStream input = media.getInputStream();
+             ByteArrayOutputStream output = new ByteArrayOutputStream())
+        {
+            UtilStream.copy(input, output);
+            data = output.toByteArray();
+        }
+        catch (final IOException exception)
+        {
+            throw new LionEngineException(exception, media);
+        }
+        final MediaMemory memory = new MediaMemory(media, data);
+        ImageInfo.get(memory, memory.getInputStream());
+        return factoryGraphic.getImageBuffer(memory);
+    }
+
     /**
      * Private constructor.
      */
@@ -89,4 +89,96 @@ public interface ImageBuffer extends ImageSurface
      * @return array of RGB pixels.
      */
     int[] getRgb(int startX, int startY, int w, int h, int[] rgbArray, int offset, int scansize);
+
+    /**
+     * Get direct access to the image pixels, if supported by implementation.
+     * <p>
+     * Pixels are stored line by line as ARGB values, with {@link #getWidth()} as scanline stride. Any change on array
+     * is directly applied on image. Only provided by offscreen implementations, as accessing raw data of an
+     * accelerated image would prevent it from being hardware accelerated.
+     * </p>
+     * 
+     * @return The pixels array, <code>null</code> if direct access is not supported.
+     */
+    default int[] getPixels()
+    {
+        return null;
+    }
+
+    /**
+     * Compare a region with another image region. Fully transparent pixels are considered equal whatever their color.
+     * 
+     * @param x The horizontal location on this image.
+     * @param y The vertical location on this image.
+     * @param other The other image (must not be <code>null</code>).
+     * @param ox The horizontal location on other image.
+     * @param oy The vertical location on other image.
+     * @param w The region width.
+     * @param h The region height.
+     * @return <code>true</code> if all pixels are equal, <code>false</code> else.
+     * @throws LionEngineException If invalid arguments or region outside images.
+     */
+    default boolean compare(int x, int y, ImageBuffer other, int ox, int oy, int w, int h)
+    {
+        return ImagePixels.compare(this, x, y, other, ox, oy, w, h);
+    }
+
+    /**
+     * Fill a region with a color.
+     * 
+     * @param x The horizontal location.
+     * @param y The vertical location.
+     * @param w The region width.
+     * @param h The region height.
+     * @param rgb The fill color.
+     * @throws LionEngineException If region outside image.
+     */
+    default void fill(int x, int y, int w, int h, int rgb)
+    {
+        ImagePixels.fill(this, x, y, w, h, rgb);
+    }
+
+    /**
+     * Copy a region of another image into this image.
+     * 
+     * @param source The source image (must not be <code>null</code>).
+     * @param sx The horizontal location on source.
+     * @param sy The vertical location on source.
+     * @param w The region width.
+     * @param h The region height.
+     * @param dx The horizontal location on this image.
+     * @param dy The vertical location on this image.
+     * @throws LionEngineException If invalid arguments or region outside images.
+     */
+    default void copy(ImageBuffer source, int sx, int sy, int w, int h, int dx, int dy)
+    {
+        ImagePixels.copy(source, sx, sy, w, h, this, dx, dy);
+    }
+
+    /**
+     * Make transparent all pixels matching the color, by clearing their alpha. Image is modified in place, so a cached
+     * image must be copied first with {@link ImageCache#getWritable(ImageBuffer)}.
+     * 
+     * @param rgb The masked color.
+     * @throws LionEngineException If image is shared by the {@link ImageCache}.
+     */
+    default void applyMask(int rgb)
+    {
+        ImagePixels.applyMask(this, rgb);
+    }
+
+    /**
+     * Multiply color channels of all pixels. Image is modified in place, so a cached image must be copied first with
+     * {@link ImageCache#getWritable(ImageBuffer)}.
+     * 
+     * @param fr The red factor.
+     * @param fg The green factor.
+     * @param fb The blue factor.
+     * @throws LionEngineException If image is shared by the {@link ImageCache}.
+     * @see UtilColor#multiplyRgb(int, double, double, double)
+     */
+    default void multiply(double fr, double fg, double fb)
+    {
+        ImagePixels.multiply(this, fr, fg, fb);
+    }
 }
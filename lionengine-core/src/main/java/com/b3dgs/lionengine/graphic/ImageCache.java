@@ -0,0 +1,605 @@
+/*
+ * Copyright (C) 2013-2018 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package com.b3dgs.lionengine.graphic;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.graphic.atlas.Atlas;
+
+/**
+ * Reference counted image cache, sharing images by {@link ImageKey}.
+ * <p>
+ * Each {@link #acquire(ImageKey)} must be paired with a {@link #release(ImageBuffer)}. Released images are kept for
+ * later reuse, and disposed in least recently used order when cache size exceeds its budget. Images in use are never
+ * evicted.
+ * </p>
+ * <p>
+ * Cached images are shared by all users of the same key, and must be considered as immutable: they must not be
+ * modified nor disposed directly. In place operations such as {@link ImageBuffer#applyMask(int)} or
+ * {@link ImageBuffer#multiply(double, double, double)} reject cached images, a private copy must be taken first with
+ * {@link #getWritable(ImageBuffer)}.
+ * </p>
+ * <p>
+ * When an {@link Atlas} is set, source images packed in it are served as regions of the atlas pages.
+ * </p>
+ * <p>
+ * This class is Thread-Safe. Images are created outside of the cache lock, so a slow decoding does not block other
+ * keys. Concurrent acquires of the same missing key wait for the first one to create it. An image still being created
+ * or preloaded when {@link #clear()} is called is not added to the cache.
+ * </p>
+ */
+public final class ImageCache
+{
+    /** Default budget in bytes. */
+    public static final long DEFAULT_BUDGET = 64L * 1024L * 1024L;
+    /** Bytes per pixel estimation. */
+    private static final int BYTES_PER_PIXEL = 4;
+
+    /**
+     * Get image size estimation in bytes.
+     * 
+     * @param image The image reference.
+     * @return The estimated size in bytes.
+     */
+    private static long getBytes(ImageBuffer image)
+    {
+        return (long) image.getWidth() * image.getHeight() * BYTES_PER_PIXEL;
+    }
+
+    /**
+     * Cache entry.
+     */
+    private static final class Entry
+    {
+        /** Entry key. */
+        private final ImageKey key;
+        /** Entry image. */
+        private final ImageBuffer image;
+        /** Image size in bytes. */
+        private final long bytes;
+        /** References count. */
+        private int references;
+
+        /**
+         * Create entry.
+         * 
+         * @param key The entry key.
+         * @param image The entry image.
+         */
+        Entry(ImageKey key, ImageBuffer image)
+        {
+            super();
+
+            this.key = key;
+            this.image = image;
+            bytes = getBytes(image);
+        }
+    }
+
+    /** Entries by key. */
+    private final Map<ImageKey, Entry> entries = new HashMap<>();
+    /** Entries by image. */
+    private final Map<ImageBuffer, Entry> images = new IdentityHashMap<>();
+    /** Unused entries, in least recently used order. */
+    private final Map<ImageKey, Entry> unused = new LinkedHashMap<>();
+    /** Images being created by key. */
+    private final Map<ImageKey, CompletableFuture<ImageBuffer>> loading = new HashMap<>();
+    /** Atlas serving source images (<code>null</code> if none). */
+    private Atlas atlas;
+    /** Budget in bytes. */
+    private long budget = DEFAULT_BUDGET;
+    /** Current size in bytes. */
+    private long bytes;
+    /** Hits count. */
+    private long hits;
+    /** Misses count. */
+    private long misses;
+    /** Evictions count. */
+    private long evictions;
+    /** Clear count, invalidating pending preloads. */
+    private long generation;
+
+    /**
+     * Create cache.
+     */
+    public ImageCache()
+    {
+        super();
+    }
+
+    /**
+     * Acquire source image of media, loading it if not cached.
+     * 
+     * @param media The image media (must not be <code>null</code>).
+     * @return The shared image.
+     * @throws LionEngineException If invalid argument or unable to load image.
+     */
+    public ImageBuffer acquire(Media media)
+    {
+        return acquire(ImageKey.of(media));
+    }
+
+    /**
+     * Acquire image, creating it from its parent image if not cached.
+     * 
+     * @param key The image key (must not be <code>null</code>).
+     * @return The shared image.
+     * @throws LionEngineException If invalid argument or unable to load image.
+     */
+    public ImageBuffer acquire(ImageKey key)
+    {
+        Check.notNull(key);
+
+        while (true)
+        {
+            final CompletableFuture<ImageBuffer> pending;
+            final boolean owner;
+            final Atlas current;
+            synchronized (this)
+            {
+                final Entry entry = entries.get(key);
+                if (entry != null)
+                {
+                    hits++;
+                    unused.remove(key);
+                    entry.references++;
+                    evict();
+                    return entry.image;
+                }
+                final CompletableFuture<ImageBuffer> other = loading.get(key);
+                owner = other == null;
+                if (owner)
+                {
+                    misses++;
+                    pending = new CompletableFuture<>();
+                    loading.put(key, pending);
+                }
+                else
+                {
+                    pending = other;
+                }
+                current = atlas;
+            }
+            if (owner)
+            {
+                return load(key, pending, current);
+            }
+            await(pending);
+        }
+    }
+
+    /**
+     * Load source images of medias not already cached, decoding them in parallel with
+     * {@link Graphics#getImageBuffers(Collection)}. Loaded images are kept as unused, ready for a later
+     * {@link #acquire(Media)}, and may be evicted if they exceed the budget.
+     * 
+     * @param medias The image medias (must not be <code>null</code>).
+     * @throws LionEngineException If invalid argument or unable to load an image.
+     */
+    public void preload(Collection<Media> medias)
+    {
+        Check.notNull(medias);
+
+        final List<Media> missing = new ArrayList<>();
+        final long started;
+        synchronized (this)
+        {
+            started = generation;
+            for (final Media media : medias)
+            {
+                final ImageKey key = ImageKey.of(media);
+                if (!entries.containsKey(key)
+                    && !loading.containsKey(key)
+                    && (atlas == null || !atlas.contains(media))
+                    && !missing.contains(media))
+                {
+                    missing.add(media);
+                }
+            }
+        }
+
+        final List<ImageBuffer> decoded = Graphics.getImageBuffers(missing);
+        synchronized (this)
+        {
+            for (int i = 0; i < decoded.size(); i++)
+            {
+                final ImageKey key = ImageKey.of(missing.get(i));
+                final ImageBuffer image = decoded.get(i);
+                if (generation != started || entries.containsKey(key) || loading.containsKey(key))
+                {
+                    image.dispose();
+                }
+                else
+                {
+                    misses++;
+                    final Entry entry = new Entry(key, image);
+                    entries.put(key, entry);
+                    images.put(image, entry);
+                    unused.put(key, entry);
+                    bytes += entry.bytes;
+                }
+            }
+            evict();
+        }
+    }
+
+    /**
+     * Add a reference to an image if cached. Does nothing if image is not cached.
+     * 
+     * @param image The image reference.
+     * @return <code>true</code> if cached and retained, <code>false</code> else.
+     */
+    public synchronized boolean retain(ImageBuffer image)
+    {
+        final Entry entry = images.get(image);
+        if (entry == null)
+        {
+            return false;
+        }
+        if (entry.references == 0)
+        {
+            unused.remove(entry.key);
+        }
+        entry.references++;
+        return true;
+    }
+
+    /**
+     * Release a reference to an image if cached. Does nothing if image is not cached.
+     * 
+     * @param image The image reference.
+     * @return <code>true</code> if cached and released, <code>false</code> else.
+     */
+    public synchronized boolean release(ImageBuffer image)
+    {
+        final Entry entry = images.get(image);
+        if (entry == null)
+        {
+            return false;
+        }
+        if (entry.references > 0)
+        {
+            entry.references--;
+            if (entry.references == 0)
+            {
+                unused.put(entry.key, entry);
+                evict();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get an image which can be modified in place: a private copy if image is cached, else the image itself. The copy
+     * is owned by the caller, which has to dispose it, and the cached image reference must still be released.
+     * 
+     * @param image The image reference (must not be <code>null</code>).
+     * @return The image to modify.
+     * @throws LionEngineException If invalid argument.
+     */
+    public ImageBuffer getWritable(ImageBuffer image)
+    {
+        Check.notNull(image);
+
+        if (isCached(image))
+        {
+            return Graphics.getImageBuffer(image);
+        }
+        return image;
+    }
+
+    /**
+     * Check if image is a cached shared image.
+     * 
+     * @param image The image reference.
+     * @return <code>true</code> if cached, <code>false</code> else.
+     */
+    public synchronized boolean isCached(ImageBuffer image)
+    {
+        return images.containsKey(image);
+    }
+
+    /**
+     * Get the key of a cached image.
+     * 
+     * @param image The image reference.
+     * @return The image key if cached.
+     */
+    public synchronized Optional<ImageKey> getKey(ImageBuffer image)
+    {
+        return Optional.ofNullable(images.get(image)).map(entry -> entry.key);
+    }
+
+    /**
+     * Set the cache budget. Unused images are evicted while cache size is above budget.
+     * 
+     * @param budget The budget in bytes (positive).
+     * @throws LionEngineException If invalid argument.
+     */
+    public synchronized void setBudget(long budget)
+    {
+        Check.superiorOrEqual(budget, 0);
+
+        this.budget = budget;
+        evict();
+    }
+
+    /**
+     * Set the atlas serving source images. Must be set before loading images, as already cached images are kept.
+     * 
+     * @param atlas The atlas reference (<code>null</code> to disable).
+     */
+    public synchronized void setAtlas(Atlas atlas)
+    {
+        this.atlas = atlas;
+    }
+
+    /**
+     * Get the atlas serving source images.
+     * 
+     * @return The atlas reference.
+     */
+    public synchronized Optional<Atlas> getAtlas()
+    {
+        return Optional.ofNullable(atlas);
+    }
+
+    /**
+     * Remove all images, disposing unused ones. Images in use are not disposed but no longer shared. Images still
+     * being created are given to their requesters without being cached, and preloaded ones are disposed.
+     */
+    public synchronized void clear()
+    {
+        for (final Entry entry : unused.values())
+        {
+            entry.image.dispose();
+        }
+        unused.clear();
+        entries.clear();
+        images.clear();
+        loading.clear();
+        bytes = 0L;
+        generation++;
+    }
+
+    /**
+     * Get the budget.
+     * 
+     * @return The budget in bytes.
+     */
+    public synchronized long getBudget()
+    {
+        return budget;
+    }
+
+    /**
+     * Get the current cache size.
+     * 
+     * @return The cached images size in bytes.
+     */
+    public synchronized long getBytes()
+    {
+        return bytes;
+    }
+
+    /**
+     * Get the number of cached images.
+     * 
+     * @return The cached images count.
+     */
+    public synchronized int getSize()
+    {
+        return entries.size();
+    }
+
+    /**
+     * Get the number of cached images not in use.
+     * 
+     * @return The unused images count.
+     */
+    public synchronized int getUnused()
+    {
+        return unused.size();
+    }
+
+    /**
+     * Get the number of acquire served from cache.
+     * 
+     * @return The hits count.
+     */
+    public synchronized long getHits()
+    {
+        return hits;
+    }
+
+    /**
+     * Get the number of acquire which required image creation.
+     * 
+     * @return The misses count.
+     */
+    public synchronized long getMisses()
+    {
+        return misses;
+    }
+
+    /**
+     * Get the number of evicted images.
+     * 
+     * @return The evictions count.
+     */
+    public synchronized long getEvictions()
+    {
+        return evictions;
+    }
+
+    /**
+     * Wait for an image created by another thread.
+     * 
+     * @param pending The image being created.
+     * @throws LionEngineException If image creation failed.
+     */
+    private static void await(CompletableFuture<ImageBuffer> pending)
+    {
+        try
+        {
+            pending.join();
+        }
+        catch (final CompletionException exception)
+        {
+            if (exception.getCause() instanceof LionEngineException)
+            {
+                throw (LionEngineException) exception.getCause();
+            }
+            throw new LionEngineException(exception.getCause());
+        }
+    }
+
+    /**
+     * Create image outside of cache lock, then add it as acquired. Waiting threads are notified of the result.
+     * 
+     * @param key The image key.
+     * @param pending The image being created.
+     * @param current The atlas used when creation started.
+     * @return The created image.
+     * @throws LionEngineException If unable to create image.
+     */
+    private ImageBuffer load(ImageKey key, CompletableFuture<ImageBuffer> pending, Atlas current)
+    {
+        final ImageBuffer image;
+        try
+        {
+            image = create(key, current);
+        }
+        catch (final RuntimeException exception)
+        {
+            synchronized (this)
+            {
+                loading.remove(key, pending);
+            }
+            pending.completeExceptionally(exception);
+            throw exception;
+        }
+        synchronized (this)
+        {
+            if (loading.get(key) != pending)
+            {
+                // Cleared while loading, image is not shared
+                pending.complete(image);
+                return image;
+            }
+            loading.remove(key);
+            final Entry entry = new Entry(key, image);
+            entry.references++;
+            entries.put(key, entry);
+            images.put(image, entry);
+            bytes += entry.bytes;
+            evict();
+        }
+        pending.complete(image);
+        return image;
+    }
+
+    /**
+     * Create image from its key.
+     * 
+     * @param key The image key.
+     * @param current The atlas serving source images (<code>null</code> if none).
+     * @return The created image.
+     */
+    private ImageBuffer create(ImageKey key, Atlas current)
+    {
+        if (key.isSource())
+        {
+            if (current != null)
+            {
+                final Optional<ImageBuffer> region = current.getImage(key.getMedia());
+                if (region.isPresent())
+                {
+                    return region.get();
+                }
+            }
+            return Graphics.getImageBuffer(key.getMedia());
+        }
+        final ImageBuffer parent = acquire(key.getParent());
+        try
+        {
+            return key.apply(parent);
+        }
+        finally
+        {
+            release(parent);
+        }
+    }
+
+    /**
+     * Evict least recently used unused images while above budget.
+     */
+    private void evict()
+    {
+        final Iterator<Entry> iterator = unused.values().iterator();
+        while (bytes > budget && iterator.hasNext())
+        {
+            final Entry entry = iterator.next();
+            iterator.remove();
+            entries.remove(entry.key);
+            images.remove(entry.image);
+            bytes -= entry.bytes;
+            evictions++;
+            entry.image.dispose();
+        }
+    }
+
+    /*
+     * Object
+     */
+
+    @Override
+    public synchronized String toString()
+    {
+        return new StringBuilder().append(getClass().getSimpleName())
+                                  .append(" [size=")
+                                  .append(entries.size())
+                                  .append(", unused=")
+                                  .append(unused.size())
+                                  .append(", bytes=")
+                                  .append(bytes)
+                                  .append(", budget=")
+                                  .append(budget)
+                                  .append(", hits=")
+                                  .append(hits)
+                                  .append(", misses=")
+                                  .append(misses)
+                                  .append(", evictions=")
+                                  .append(evictions)
+                                  .append(']')
+                                  .toString();
+    }
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright (C) 2013-2018 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package com.b3dgs.lionengine.graphic;
+
+import java.util.Objects;
+import java.util.function.UnaryOperator;
+
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Mirror;
+
+/**
+ * Image key, identifying an image by its media and the transformations applied to it, in order.
+ * <p>
+ * Used by {@link ImageCache} to share images:
+ * </p>
+ * 
+ * <pre>
+ * final ImageKey key = ImageKey.of(media).mask(ColorRgba.PURPLE).stretch(64, 64);
+ * final ImageBuffer buffer = Graphics.getImageCache().acquire(key);
+ * ...
+ * Graphics.getImageCache().release(buffer);
+ * </pre>
+ */
+public final class ImageKey
+{
+    /** Operation separator. */
+    private static final String SEPARATOR = "|";
+    /** Mask operation. */
+    private static final String MASK = "mask:";
+    /** Mirror operation. */
+    private static final String MIRROR = "mirror:";
+    /** Stretch operation. */
+    private static final String STRETCH = "stretch:";
+    /** Raster operation. */
+    private static final String RASTER = "raster:";
+    /** Values separator. */
+    private static final String VALUES = ",";
+
+    /**
+     * Create key of source image.
+     * 
+     * @param media The image media (must not be <code>null</code>).
+     * @return The source key.
+     * @throws LionEngineException If invalid argument.
+     */
+    public static ImageKey of(Media media)
+    {
+        Check.notNull(media);
+
+        return new ImageKey(media, null, null, null);
+    }
+
+    /** Image media. */
+    private final Media media;
+    /** Parent key (<code>null</code> if source). */
+    private final ImageKey parent;
+    /** Operation description (<code>null</code> if source). */
+    private final String operation;
+    /** Operation applied on parent image (<code>null</code> if source). */
+    private final UnaryOperator<ImageBuffer> transform;
+    /** Cached hash code. */
+    private final int hash;
+
+    /**
+     * Create key.
+     * 
+     * @param media The image media.
+     * @param parent The parent key (<code>null</code> if source).
+     * @param operation The operation description (<code>null</code> if source).
+     * @param transform The operation applied on parent image (<code>null</code> if source).
+     */
+    private ImageKey(Media media, ImageKey parent, String operation, UnaryOperator<ImageBuffer> transform)
+    {
+        super();
+
+        this.media = media;
+        this.parent = parent;
+        this.operation = operation;
+        this.transform = transform;
+        hash = Objects.hash(media, parent, operation);
+    }
+
+    /**
+     * Create key with a mask applied.
+     * 
+     * @param color The mask color (must not be <code>null</code>).
+     * @return The masked image key.
+     * @throws LionEngineException If invalid argument.
+     * @see Graphics#applyMask(ImageBuffer, ColorRgba)
+     */
+    public ImageKey mask(ColorRgba color)
+    {
+        Check.notNull(color);
+
+        return new ImageKey(media, this, MASK + color.getRgba(), image -> Graphics.applyMask(image, color));
+    }
+
+    /**
+     * Create key with a mirror applied.
+     * 
+     * @param mirror The mirror to apply (must not be <code>null</code>).
+     * @return The mirrored image key (current key if {@link Mirror#NONE}).
+     * @throws LionEngineException If invalid argument.
+     * @see Graphics#flipHorizontal(ImageBuffer)
+     * @see Graphics#flipVertical(ImageBuffer)
+     */
+    public ImageKey mirror(Mirror mirror)
+    {
+        Check.notNull(mirror);
+
+        if (Mirror.HORIZONTAL == mirror)
+        {
+            return new ImageKey(media, this, MIRROR + mirror.name(), Graphics::flipHorizontal);
+        }
+        else if (Mirror.VERTICAL == mirror)
+        {
+            return new ImageKey(media, this, MIRROR + mirror.name(), Graphics::flipVertical);
+        }
+        return this;
+    }
+
+    /**
+     * Create key with a stretch applied.
+     * 
+     * @param width The new width (strictly positive).
+     * @param height The new height (strictly positive).
+     * @return The stretched image key.
+     * @throws LionEngineException If invalid arguments.
+     * @see Graphics#resize(ImageBuffer, int, int)
+     */
+    public ImageKey stretch(int width, int height)
+    {
+        Check.superiorStrict(width, 0);
+        Check.superiorStrict(height, 0);
+
+        return new ImageKey(media,
+                            this,
+                            STRETCH + width + VALUES + height,
+                            image -> Graphics.resize(image, width, height));
+    }
+
+    /**
+     * Create key with a raster applied.
+     * 
+     * @param index The raster index.
+     * @param fr The red factor.
+     * @param fg The green factor.
+     * @param fb The blue factor.
+     * @return The rastered image key.
+     * @see Graphics#getRasterBuffer(ImageBuffer, double, double, double)
+     */
+    public ImageKey raster(int index, double fr, double fg, double fb)
+    {
+        return new ImageKey(media,
+                            this,
+                            RASTER + index + VALUES + fr + VALUES + fg + VALUES + fb,
+                            image -> Graphics.getRasterBuffer(image, fr, fg, fb));
+    }
+
+    /**
+     * Get the image media.
+     * 
+     * @return The image media.
+     */
+    public Media getMedia()
+    {
+        return media;
+    }
+
+    /**
+     * Get the parent key.
+     * 
+     * @return The parent key (<code>null</code> if source).
+     */
+    public ImageKey getParent()
+    {
+        return parent;
+    }
+
+    /**
+     * Check if key represents the source image, without transformation.
+     * 
+     * @return <code>true</code> if source, <code>false</code> if transformed.
+     */
+    public boolean isSource()
+    {
+        return parent == null;
+    }
+
+    /**
+     * Create the image from its parent image.
+     * 
+     * @param image The parent image.
+     * @return The transformed image.
+     */
+    ImageBuffer apply(ImageBuffer image)
+    {
+        return transform.apply(image);
+    }
+
+    /*
+     * Object
+     */
+
+    @Override
+    public int hashCode()
+    {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object object)
+    {
+        if (this == object)
+        {
+            return true;
+        }
+        if (object == null || object.getClass() != getClass())
+        {
+            return false;
+        }
+        final ImageKey other = (ImageKey) object;
+        return hash == other.hash
+               && media.equals(other.media)
+               && Objects.equals(operation, other.operation)
+               && Objects.equals(parent, other.parent);
+    }
+
+    @Override
+    public String toString()
+    {
+        if (parent == null)
+        {
+            return media.getPath();
+        }
+        return parent.toString() + SEPARATOR + operation;
+    }
+}
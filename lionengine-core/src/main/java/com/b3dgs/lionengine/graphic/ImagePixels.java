@@ -0,0 +1,344 @@
+/*
+ * Copyright (C) 2013-2018 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package com.b3dgs.lionengine.graphic;
+
+import java.util.Arrays;
+
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.Constant;
+import com.b3dgs.lionengine.LionEngineException;
+
+/**
+ * Bulk pixels operations on image buffers.
+ * <p>
+ * Buffers providing {@link ImageBuffer#getPixels()} are processed on their raw array, others are processed on a
+ * temporary array, read and written back with a single bulk
+ * {@link ImageBuffer#getRgb(int, int, int, int, int[], int, int)} and
+ * {@link ImageBuffer#setRgb(int, int, int, int, int[], int, int)}.
+ * </p>
+ * <p>
+ * This class is Thread-Safe.
+ * </p>
+ */
+final class ImagePixels
+{
+    /** Shared image error. */
+    static final String ERROR_SHARED = "Cached image is shared, copy it before modifying it !";
+    /** Color mask without alpha. */
+    private static final int MASK_RGB = 0x00_FF_FF_FF;
+
+    /**
+     * Check that buffer can be modified in place.
+     * 
+     * @param buffer The buffer to modify.
+     * @throws LionEngineException If buffer is shared by the image cache.
+     */
+    private static void checkWritable(ImageBuffer buffer)
+    {
+        if (Graphics.getImageCache().isCached(buffer))
+        {
+            throw new LionEngineException(ERROR_SHARED);
+        }
+    }
+
+    /**
+     * Check if pixels are equal. Fully transparent pixels are all considered equal, whatever their color, as
+     * {@link ImageBuffer#getRgb(int, int)} implementations report them as {@link ColorRgba#TRANSPARENT}.
+     * 
+     * @param a The first pixel.
+     * @param b The second pixel.
+     * @return <code>true</code> if equal, <code>false</code> else.
+     */
+    static boolean equals(int a, int b)
+    {
+        return a == b || a >>> Constant.BYTE_4 == 0 && b >>> Constant.BYTE_4 == 0;
+    }
+
+    /**
+     * Compare two regions.
+     * 
+     * @param a The first buffer (must not be <code>null</code>).
+     * @param xa The first horizontal location.
+     * @param ya The first vertical location.
+     * @param b The second buffer (must not be <code>null</code>).
+     * @param xb The second horizontal location.
+     * @param yb The second vertical location.
+     * @param width The region width.
+     * @param height The region height.
+     * @return <code>true</code> if all pixels are equal, <code>false</code> else.
+     * @throws LionEngineException If invalid arguments.
+     */
+    static boolean compare(ImageBuffer a, int xa, int ya, ImageBuffer b, int xb, int yb, int width, int height)
+    {
+        Check.notNull(b);
+        checkRegion(a, xa, ya, width, height);
+        checkRegion(b, xb, yb, width, height);
+
+        final int[] pixelsA = a.getPixels();
+        final int[] pixelsB = b.getPixels();
+        if (pixelsA != null && pixelsB != null)
+        {
+            final int scanA = a.getWidth();
+            final int scanB = b.getWidth();
+            return compare(pixelsA, xa + ya * scanA, scanA, pixelsB, xb + yb * scanB, scanB, width, height);
+        }
+        final int[] dataA = a.getRgb(xa, ya, width, height, new int[width * height], 0, width);
+        final int[] dataB = b.getRgb(xb, yb, width, height, new int[width * height], 0, width);
+        return compare(dataA, 0, width, dataB, 0, width, width, height);
+    }
+
+    /**
+     * Fill a region with a color.
+     * 
+     * @param buffer The buffer to fill.
+     * @param x The horizontal location.
+     * @param y The vertical location.
+     * @param width The region width.
+     * @param height The region height.
+     * @param rgb The fill color.
+     * @throws LionEngineException If invalid arguments.
+     */
+    static void fill(ImageBuffer buffer, int x, int y, int width, int height, int rgb)
+    {
+        checkRegion(buffer, x, y, width, height);
+
+        final int[] pixels = buffer.getPixels();
+        if (pixels != null)
+        {
+            final int scan = buffer.getWidth();
+            for (int j = 0; j < height; j++)
+            {
+                final int start = x + (y + j) * scan;
+                Arrays.fill(pixels, start, start + width, rgb);
+            }
+        }
+        else
+        {
+            final int[] data = new int[width * height];
+            Arrays.fill(data, rgb);
+            buffer.setRgb(x, y, width, height, data, 0, width);
+        }
+    }
+
+    /**
+     * Copy a region from a source buffer.
+     * 
+     * @param source The source buffer (must not be <code>null</code>).
+     * @param sx The source horizontal location.
+     * @param sy The source vertical location.
+     * @param width The region width.
+     * @param height The region height.
+     * @param destination The destination buffer.
+     * @param dx The destination horizontal location.
+     * @param dy The destination vertical location.
+     * @throws LionEngineException If invalid arguments.
+     */
+    static void copy(ImageBuffer source,
+                     int sx,
+                     int sy,
+                     int width,
+                     int height,
+                     ImageBuffer destination,
+                     int dx,
+                     int dy)
+    {
+        Check.notNull(source);
+        checkRegion(source, sx, sy, width, height);
+        checkRegion(destination, dx, dy, width, height);
+
+        final int[] src = source.getPixels();
+        final int[] dst = destination.getPixels();
+        if (src != null && dst != null)
+        {
+            final int srcScan = source.getWidth();
+            final int dstScan = destination.getWidth();
+            for (int j = 0; j < height; j++)
+            {
+                System.arraycopy(src, sx + (sy + j) * srcScan, dst, dx + (dy + j) * dstScan, width);
+            }
+        }
+        else
+        {
+            final int[] data = source.getRgb(sx, sy, width, height, new int[width * height], 0, width);
+            destination.setRgb(dx, dy, width, height, data, 0, width);
+        }
+    }
+
+    /**
+     * Clear alpha of all pixels matching color.
+     * 
+     * @param buffer The buffer to mask.
+     * @param rgb The masked color.
+     * @throws LionEngineException If buffer is shared by the image cache.
+     */
+    static void applyMask(ImageBuffer buffer, int rgb)
+    {
+        checkWritable(buffer);
+
+        final int width = buffer.getWidth();
+        final int height = buffer.getHeight();
+        final int[] pixels = buffer.getPixels();
+        if (pixels != null)
+        {
+            mask(pixels, 0, width * height, rgb);
+        }
+        else
+        {
+            final int[] data = buffer.getRgb(0, 0, width, height, new int[width * height], 0, width);
+            if (mask(data, 0, data.length, rgb))
+            {
+                buffer.setRgb(0, 0, width, height, data, 0, width);
+            }
+        }
+    }
+
+    /**
+     * Multiply all pixels color channels.
+     * 
+     * @param buffer The buffer to multiply.
+     * @param fr The red factor.
+     * @param fg The green factor.
+     * @param fb The blue factor.
+     * @throws LionEngineException If buffer is shared by the image cache.
+     * @see UtilColor#multiplyRgb(int, double, double, double)
+     */
+    static void multiply(ImageBuffer buffer, double fr, double fg, double fb)
+    {
+        checkWritable(buffer);
+
+        final int width = buffer.getWidth();
+        final int height = buffer.getHeight();
+        final int[] pixels = buffer.getPixels();
+        if (pixels != null)
+        {
+            multiply(pixels, 0, width * height, fr, fg, fb);
+        }
+        else
+        {
+            final int[] data = buffer.getRgb(0, 0, width, height, new int[width * height], 0, width);
+            multiply(data, 0, data.length, fr, fg, fb);
+            buffer.setRgb(0, 0, width, height, data, 0, width);
+        }
+    }
+
+    /**
+     * Compare two raw regions.
+     * 
+     * @param a The first pixels.
+     * @param offsetA The first region offset.
+     * @param scanA The first scanline stride.
+     * @param b The second pixels.
+     * @param offsetB The second region offset.
+     * @param scanB The second scanline stride.
+     * @param width The region width.
+     * @param height The region height.
+     * @return <code>true</code> if all pixels are equal, <code>false</code> else.
+     */
+    private static boolean compare(int[] a,
+                                   int offsetA,
+                                   int scanA,
+                                   int[] b,
+                                   int offsetB,
+                                   int scanB,
+                                   int width,
+                                   int height)
+    {
+        for (int y = 0; y < height; y++)
+        {
+            final int lineA = offsetA + y * scanA;
+            final int lineB = offsetB + y * scanB;
+            for (int x = 0; x < width; x++)
+            {
+                if (!equals(a[lineA + x], b[lineB + x]))
+                {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Clear alpha of raw pixels matching color.
+     * 
+     * @param pixels The pixels.
+     * @param offset The first pixel index.
+     * @param length The number of pixels.
+     * @param rgb The masked color.
+     * @return <code>true</code> if at least one pixel has been masked, <code>false</code> else.
+     */
+    private static boolean mask(int[] pixels, int offset, int length, int rgb)
+    {
+        boolean masked = false;
+        for (int i = offset; i < offset + length; i++)
+        {
+            if (pixels[i] == rgb)
+            {
+                pixels[i] &= MASK_RGB;
+                masked = true;
+            }
+        }
+        return masked;
+    }
+
+    /**
+     * Multiply raw pixels color channels.
+     * 
+     * @param pixels The pixels.
+     * @param offset The first pixel index.
+     * @param length The number of pixels.
+     * @param fr The red factor.
+     * @param fg The green factor.
+     * @param fb The blue factor.
+     */
+    private static void multiply(int[] pixels, int offset, int length, double fr, double fg, double fb)
+    {
+        for (int i = offset; i < offset + length; i++)
+        {
+            pixels[i] = UtilColor.multiplyRgb(pixels[i], fr, fg, fb);
+        }
+    }
+
+    /**
+     * Check region is inside buffer.
+     * 
+     * @param buffer The buffer reference.
+     * @param x The horizontal location.
+     * @param y The vertical location.
+     * @param width The region width.
+     * @param height The region height.
+     * @throws LionEngineException If region outside buffer.
+     */
+    private static void checkRegion(ImageBuffer buffer, int x, int y, int width, int height)
+    {
+        Check.superiorOrEqual(x, 0);
+        Check.superiorOrEqual(y, 0);
+        Check.superiorOrEqual(width, 0);
+        Check.superiorOrEqual(height, 0);
+        Check.inferiorOrEqual(x + width, buffer.getWidth());
+        Check.inferiorOrEqual(y + height, buffer.getHeight());
+    }
+
+    /**
+     * Private constructor.
+     */
+    private ImagePixels()
+    {
+        throw new LionEngineException(LionEngineException.ERROR_PRIVATE_CONSTRUCTOR);
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2013-2018 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package com.b3dgs.lionengine.graphic;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Collection;
+
+import com.b3dgs.lionengine.Media;
+
+/**
+ * Media serving an already read content, delegating everything else to its original media.
+ */
+final class MediaMemory implements Media
+{
+    /** Original media. */
+    private final Media media;
+    /** Media content. */
+    private final byte[] data;
+
+    /**
+     * Create media.
+     * 
+     * @param media The original media.
+     * @param data The media content.
+     */
+    MediaMemory(Media media, byte[] data)
+    {
+        super();
+
+        this.media = media;
+        this.data = data;
+    }
+
+    /*
+     * Media
+     */
+
+    @Override
+    public String getName()
+    {
+        return media.getName();
+    }
+
+    @Override
+    public String getPath()
+    {
+        return media.getPath();
+    }
+
+    @Override
+    public String getParentPath()
+    {
+        return media.getParentPath();
+    }
+
+    @Override
+    public File getFile()
+    {
+        return media.getFile();
+    }
+
+    @Override
+    public Collection<Media> getMedias()
+    {
+        return media.getMedias();
+    }
+
+    @Override
+    public InputStream getInputStream()
+    {
+        return new ByteArrayInputStream(data);
+    }
+
+    @Override
+    public OutputStream getOutputStream()
+    {
+        return media.getOutputStream();
+    }
+
+    @Override
+    public boolean exists()
+    {
+        return media.exists();
+    }
+
+    /*
+     * Object
+     */
+
+    @Override
+    public String toString()
+    {
+        return media.toString();
+    }
+}
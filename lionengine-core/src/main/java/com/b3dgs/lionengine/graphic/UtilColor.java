@@ -120,20 +120,23 @@ public final class UtilColor
     {
         Check.notNull(surface);
 
+        final int[] data = surface.getRgb(sx, sy, width, height, new int[width * height], 0, width);
+
         int r = 0;
         int g = 0;
         int b = 0;
         int count = 0;
-        for (int x = 0; x < width; x++)
+        for (int y = 0; y < height; y++)
         {
-            for (int y = 0; y < height; y++)
+            final int line = y * width;
+            for (int x = 0; x < width; x++)
             {
-                final ColorRgba color = new ColorRgba(surface.getRgb(sx + x, sy + y));
-                if (color.getAlpha() > 0)
+                final int rgb = data[line + x];
+                if (rgb >>> Constant.BYTE_4 > 0)
                 {
-                    r += color.getRed();
-                    g += color.getGreen();
-                    b += color.getBlue();
+                    r += rgb >> Constant.BYTE_3 & 0xFF;
+                    g += rgb >> Constant.BYTE_2 & 0xFF;
+                    b += rgb >> Constant.BYTE_1 & 0xFF;
                     count++;
                 }
             }
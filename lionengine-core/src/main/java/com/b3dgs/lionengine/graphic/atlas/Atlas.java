@@ -0,0 +1,344 @@
+/*
+ * Copyright (C) 2013-2018 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package com.b3dgs.lionengine.graphic.atlas;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.Constant;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Medias;
+import com.b3dgs.lionengine.Xml;
+import com.b3dgs.lionengine.graphic.Graphics;
+import com.b3dgs.lionengine.graphic.ImageBuffer;
+import com.b3dgs.lionengine.graphic.drawable.ImageHeader;
+import com.b3dgs.lionengine.graphic.drawable.ImageInfo;
+
+/**
+ * Texture atlas, storing many images in a few large pages, each image being located by its {@link AtlasRegion}.
+ * <p>
+ * Register it with {@link com.b3dgs.lionengine.graphic.ImageCache#setAtlas(Atlas)} before loading images, so sprites
+ * and setups loading a packed media transparently draw from the shared page.
+ * </p>
+ * <p>
+ * Can be saved and loaded back, avoiding packing at each startup. The index is an xml file, pages are stored as png
+ * files next to it:
+ * </p>
+ * 
+ * <pre>
+ * &lt;lionengine:atlas&gt;
+ *    &lt;lionengine:page file="atlas_0.png"/&gt;
+ *    &lt;lionengine:region media="sprite.png" page="0" x="0" y="0" width="32" height="32" modified="0"/&gt;
+ * &lt;/lionengine:atlas&gt;
+ * </pre>
+ * <p>
+ * Each region keeps the source image modification time, so a persisted atlas can be checked with
+ * {@link #isOutdated(Media)} against its sources.
+ * </p>
+ */
+public final class Atlas
+{
+    /** Atlas node name. */
+    public static final String NODE_ATLAS = Constant.XML_PREFIX + "atlas";
+    /** Page node name. */
+    public static final String NODE_PAGE = Constant.XML_PREFIX + "page";
+    /** Region node name. */
+    public static final String NODE_REGION = Constant.XML_PREFIX + "region";
+    /** Page file attribute. */
+    public static final String ATT_FILE = "file";
+    /** Region media attribute. */
+    public static final String ATT_MEDIA = "media";
+    /** Region page attribute. */
+    public static final String ATT_PAGE = "page";
+    /** Region horizontal location attribute. */
+    public static final String ATT_X = "x";
+    /** Region vertical location attribute. */
+    public static final String ATT_Y = "y";
+    /** Region width attribute. */
+    public static final String ATT_WIDTH = "width";
+    /** Region height attribute. */
+    public static final String ATT_HEIGHT = "height";
+    /** Region source modification time attribute. */
+    public static final String ATT_MODIFIED = "modified";
+    /** Page file extension. */
+    private static final String EXTENSION = ".png";
+    /** Invalid page error. */
+    private static final String ERROR_PAGE = "Invalid atlas page: ";
+
+    /**
+     * Load atlas from its index.
+     * 
+     * @param index The atlas index (must not be <code>null</code>).
+     * @return The loaded atlas.
+     * @throws LionEngineException If invalid argument or unable to read atlas.
+     */
+    public static Atlas load(Media index)
+    {
+        Check.notNull(index);
+
+        final Xml root = new Xml(index);
+        final String prefix = getPrefix(index);
+
+        final List<ImageBuffer> pages = new ArrayList<>();
+        for (final Xml node : root.getChildren(NODE_PAGE))
+        {
+            final ImageBuffer page = Graphics.getImageBuffer(Medias.create(prefix + node.readString(ATT_FILE)));
+            page.prepare();
+            pages.add(page);
+        }
+
+        final Map<String, AtlasRegion> regions = new HashMap<>();
+        final Map<String, Long> modified = new HashMap<>();
+        for (final Xml node : root.getChildren(NODE_REGION))
+        {
+            final AtlasRegion region = new AtlasRegion(node.readInteger(ATT_PAGE),
+                                                       node.readInteger(ATT_X),
+                                                       node.readInteger(ATT_Y),
+                                                       node.readInteger(ATT_WIDTH),
+                                                       node.readInteger(ATT_HEIGHT));
+            if (region.getPage() >= pages.size())
+            {
+                throw new LionEngineException(index, ERROR_PAGE + region.getPage());
+            }
+            final String media = node.readString(ATT_MEDIA);
+            regions.put(media, region);
+            modified.put(media, Long.valueOf(node.readLong(0L, ATT_MODIFIED)));
+        }
+        return new Atlas(pages, regions, modified);
+    }
+
+    /**
+     * Get the source image modification time.
+     * 
+     * @param media The image media.
+     * @return The modification time, <code>0</code> if not a file (such as a jar resource).
+     */
+    static long getModified(Media media)
+    {
+        try
+        {
+            return media.getFile().lastModified();
+        }
+        catch (@SuppressWarnings("unused") final LionEngineException exception)
+        {
+            return 0L;
+        }
+    }
+
+    /**
+     * Get the path prefix of media, used to resolve relative files.
+     * 
+     * @param media The media reference.
+     * @return The path prefix, including last separator.
+     */
+    private static String getPrefix(Media media)
+    {
+        final String path = media.getPath();
+        if (path.lastIndexOf(Medias.getSeparator()) > -1)
+        {
+            return path.substring(0, path.lastIndexOf(Medias.getSeparator()) + 1);
+        }
+        return path.substring(0, path.lastIndexOf(File.separator) + 1);
+    }
+
+    /** Pages. */
+    private final List<ImageBuffer> pages;
+    /** Regions by media path. */
+    private final Map<String, AtlasRegion> regions;
+    /** Source images modification time by media path. */
+    private final Map<String, Long> modified;
+
+    /**
+     * Create atlas.
+     * 
+     * @param pages The pages (must not be <code>null</code>).
+     * @param regions The regions by media path (must not be <code>null</code>).
+     * @param modified The source images modification time by media path (must not be <code>null</code>).
+     * @throws LionEngineException If invalid arguments.
+     */
+    Atlas(List<ImageBuffer> pages, Map<String, AtlasRegion> regions, Map<String, Long> modified)
+    {
+        super();
+
+        Check.notNull(pages);
+        Check.notNull(regions);
+        Check.notNull(modified);
+
+        this.pages = new ArrayList<>(pages);
+        this.regions = new HashMap<>(regions);
+        this.modified = new HashMap<>(modified);
+    }
+
+    /**
+     * Get the source image modification time when packed.
+     * 
+     * @param path The media path.
+     * @return The modification time, <code>0</code> if unknown.
+     */
+    private long getPackedModified(String path)
+    {
+        final Long time = modified.get(path);
+        if (time == null)
+        {
+            return 0L;
+        }
+        return time.longValue();
+    }
+
+    /**
+     * Save atlas index and pages. Pages are saved next to index, with index name and page number.
+     * 
+     * @param index The atlas index (must not be <code>null</code>).
+     * @throws LionEngineException If invalid argument or unable to save atlas.
+     */
+    public void save(Media index)
+    {
+        Check.notNull(index);
+
+        final String name = index.getName();
+        final int dot = name.lastIndexOf(Constant.DOT);
+        final String base;
+        if (dot > -1)
+        {
+            base = name.substring(0, dot);
+        }
+        else
+        {
+            base = name;
+        }
+        final String prefix = getPrefix(index);
+
+        final Xml root = new Xml(NODE_ATLAS);
+        final int count = pages.size();
+        for (int i = 0; i < count; i++)
+        {
+            final String file = base + Constant.UNDERSCORE + i + EXTENSION;
+            Graphics.saveImage(pages.get(i), Medias.create(prefix + file));
+            root.createChild(NODE_PAGE).writeString(ATT_FILE, file);
+        }
+        for (final Map.Entry<String, AtlasRegion> entry : new TreeMap<>(regions).entrySet())
+        {
+            final AtlasRegion region = entry.getValue();
+            final Xml node = root.createChild(NODE_REGION);
+            node.writeString(ATT_MEDIA, entry.getKey());
+            node.writeInteger(ATT_PAGE, region.getPage());
+            node.writeInteger(ATT_X, region.getX());
+            node.writeInteger(ATT_Y, region.getY());
+            node.writeInteger(ATT_WIDTH, region.getWidth());
+            node.writeInteger(ATT_HEIGHT, region.getHeight());
+            node.writeLong(ATT_MODIFIED, getPackedModified(entry.getKey()));
+        }
+        root.save(index);
+    }
+
+    /**
+     * Dispose pages. Atlas must not be used anymore.
+     */
+    public void dispose()
+    {
+        for (final ImageBuffer page : pages)
+        {
+            page.dispose();
+        }
+        pages.clear();
+        regions.clear();
+        modified.clear();
+    }
+
+    /**
+     * Check if media is packed.
+     * 
+     * @param media The media reference.
+     * @return <code>true</code> if packed, <code>false</code> else.
+     */
+    public boolean contains(Media media)
+    {
+        return regions.containsKey(media.getPath());
+    }
+
+    /**
+     * Check if media is not packed, or if its source image changed since packing (size or modification time).
+     * Only reads the image header.
+     * 
+     * @param media The media reference.
+     * @return <code>true</code> if atlas must be rebuilt for this media, <code>false</code> if up to date.
+     * @throws LionEngineException If unable to read image header.
+     */
+    public boolean isOutdated(Media media)
+    {
+        final AtlasRegion region = regions.get(media.getPath());
+        if (region == null)
+        {
+            return true;
+        }
+        final ImageHeader header = ImageInfo.get(media);
+        return region.getWidth() != header.getWidth()
+               || region.getHeight() != header.getHeight()
+               || getModified(media) != getPackedModified(media.getPath());
+    }
+
+    /**
+     * Get media region.
+     * 
+     * @param media The media reference.
+     * @return The media region if packed.
+     */
+    public Optional<AtlasRegion> getRegion(Media media)
+    {
+        return Optional.ofNullable(regions.get(media.getPath()));
+    }
+
+    /**
+     * Get media image as a region of its page.
+     * 
+     * @param media The media reference.
+     * @return The media image if packed.
+     */
+    public Optional<ImageBuffer> getImage(Media media)
+    {
+        return getRegion(media).map(region -> new ImageBufferRegion(pages.get(region.getPage()), region));
+    }
+
+    /**
+     * Get the pages.
+     * 
+     * @return The pages.
+     */
+    public List<ImageBuffer> getPages()
+    {
+        return Collections.unmodifiableList(pages);
+    }
+
+    /**
+     * Get the regions.
+     * 
+     * @return The regions by media path.
+     */
+    public Map<String, AtlasRegion> getRegions()
+    {
+        return Collections.unmodifiableMap(regions);
+    }
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright (C) 2013-2018 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package com.b3dgs.lionengine.graphic.atlas;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Verbose;
+import com.b3dgs.lionengine.graphic.ColorRgba;
+import com.b3dgs.lionengine.graphic.Graphics;
+import com.b3dgs.lionengine.graphic.ImageBuffer;
+import com.b3dgs.lionengine.graphic.drawable.ImageHeader;
+import com.b3dgs.lionengine.graphic.drawable.ImageInfo;
+
+/**
+ * Build an {@link Atlas} from a set of image medias.
+ * <p>
+ * Image sizes are read from headers only, packed with {@link AtlasPacker} from the tallest to the smallest, then each
+ * image is decoded once and copied to its page. Pages are cropped to their used area.
+ * </p>
+ * 
+ * <pre>
+ * final AtlasBuilder builder = new AtlasBuilder(1024, 1024, 1);
+ * builder.add(Medias.create(&quot;sprite.png&quot;));
+ * final Atlas atlas = builder.build();
+ * Graphics.getImageCache().setAtlas(atlas);
+ * </pre>
+ */
+public final class AtlasBuilder
+{
+    /** Packed info. */
+    private static final String INFO_PACKED = "Atlas packed: ";
+
+    /**
+     * Image to pack.
+     */
+    private static final class Entry
+    {
+        /** Image media. */
+        private final Media media;
+        /** Image header. */
+        private final ImageHeader header;
+
+        /**
+         * Create entry.
+         * 
+         * @param media The image media.
+         * @param header The image header.
+         */
+        Entry(Media media, ImageHeader header)
+        {
+            super();
+
+            this.media = media;
+            this.header = header;
+        }
+    }
+
+    /** Medias to pack. */
+    private final Set<Media> medias = new LinkedHashSet<>();
+    /** Page width. */
+    private final int pageWidth;
+    /** Page height. */
+    private final int pageHeight;
+    /** Padding between images. */
+    private final int padding;
+
+    /**
+     * Create builder.
+     * 
+     * @param pageWidth The maximum page width (strictly positive).
+     * @param pageHeight The maximum page height (strictly positive).
+     * @param padding The padding between images (positive).
+     * @throws LionEngineException If invalid arguments.
+     */
+    public AtlasBuilder(int pageWidth, int pageHeight, int padding)
+    {
+        super();
+
+        Check.superiorStrict(pageWidth, 0);
+        Check.superiorStrict(pageHeight, 0);
+        Check.superiorOrEqual(padding, 0);
+
+        this.pageWidth = pageWidth;
+        this.pageHeight = pageHeight;
+        this.padding = padding;
+    }
+
+    /**
+     * Add image to pack. Duplicates are ignored.
+     * 
+     * @param media The image media (must not be <code>null</code>).
+     * @throws LionEngineException If invalid argument.
+     */
+    public void add(Media media)
+    {
+        Check.notNull(media);
+
+        medias.add(media);
+    }
+
+    /**
+     * Add images to pack. Duplicates are ignored.
+     * 
+     * @param medias The images media (must not be <code>null</code>).
+     * @throws LionEngineException If invalid argument.
+     */
+    public void add(Collection<Media> medias)
+    {
+        Check.notNull(medias);
+
+        for (final Media media : medias)
+        {
+            add(media);
+        }
+    }
+
+    /**
+     * Build atlas from added images.
+     * 
+     * @return The built atlas.
+     * @throws LionEngineException If unable to read an image or image larger than page.
+     */
+    public Atlas build()
+    {
+        final List<Entry> entries = new ArrayList<>(medias.size());
+        for (final Media media : medias)
+        {
+            entries.add(new Entry(media, ImageInfo.get(media)));
+        }
+        entries.sort(Comparator.comparingInt((Entry entry) -> -entry.header.getHeight())
+                               .thenComparingInt(entry -> -entry.header.getWidth())
+                               .thenComparing(entry -> entry.media.getPath()));
+
+        final AtlasPacker packer = new AtlasPacker(pageWidth, pageHeight, padding);
+        final Map<String, AtlasRegion> regions = new HashMap<>();
+        final Map<String, Long> modified = new HashMap<>();
+        final List<int[]> extents = new ArrayList<>();
+        for (final Entry entry : entries)
+        {
+            final AtlasRegion region;
+            try
+            {
+                region = packer.pack(entry.header.getWidth(), entry.header.getHeight());
+            }
+            catch (final LionEngineException exception)
+            {
+                throw new LionEngineException(exception, entry.media, exception.getMessage());
+            }
+            if (region.getPage() == extents.size())
+            {
+                extents.add(new int[2]);
+            }
+            final int[] extent = extents.get(region.getPage());
+            extent[0] = Math.max(extent[0], region.getX() + region.getWidth());
+            extent[1] = Math.max(extent[1], region.getY() + region.getHeight());
+            regions.put(entry.media.getPath(), region);
+            modified.put(entry.media.getPath(), Long.valueOf(Atlas.getModified(entry.media)));
+        }
+
+        final List<ImageBuffer> pages = new ArrayList<>(extents.size());
+        for (final int[] extent : extents)
+        {
+            pages.add(Graphics.createImageBuffer(extent[0], extent[1], ColorRgba.TRANSPARENT));
+        }
+        for (final Entry entry : entries)
+        {
+            copy(entry.media, regions.get(entry.media.getPath()), pages);
+        }
+        for (final ImageBuffer page : pages)
+        {
+            page.prepare();
+        }
+
+        Verbose.info(INFO_PACKED,
+                     String.valueOf(entries.size()),
+                     " images in ",
+                     String.valueOf(pages.size()),
+                     " pages (",
+                     String.valueOf(Math.round(packer.getOccupancy() * 100.0)),
+                     "% occupancy)");
+
+        return new Atlas(pages, regions, modified);
+    }
+
+    /**
+     * Decode image and copy it to its page region.
+     * 
+     * @param media The image media.
+     * @param region The image region.
+     * @param pages The pages.
+     */
+    private static void copy(Media media, AtlasRegion region, List<ImageBuffer> pages)
+    {
+        final ImageBuffer image = Graphics.getImageBuffer(media);
+        try
+        {
+            final int width = region.getWidth();
+            final int height = region.getHeight();
+            final int[] rgb = image.getRgb(0, 0, width, height, new int[width * height], 0, width);
+            pages.get(region.getPage()).setRgb(region.getX(), region.getY(), width, height, rgb, 0, width);
+        }
+        finally
+        {
+            image.dispose();
+        }
+    }
+}
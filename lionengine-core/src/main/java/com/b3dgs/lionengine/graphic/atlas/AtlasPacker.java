@@ -0,0 +1,309 @@
+/*
+ * Copyright (C) 2013-2018 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package com.b3dgs.lionengine.graphic.atlas;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.LionEngineException;
+
+/**
+ * Rectangle bin packer, based on the MaxRects algorithm with best short side fit heuristic.
+ * <p>
+ * Each page keeps the list of maximal free rectangles. A placed rectangle goes to the free rectangle leaving the
+ * smallest remaining side, which is then split and pruned. A new page is opened when no page can hold the rectangle.
+ * </p>
+ * <p>
+ * Results are deterministic for the same insertion order.
+ * </p>
+ */
+public final class AtlasPacker
+{
+    /** Too large error. */
+    static final String ERROR_TOO_LARGE = "Rectangle does not fit in page: ";
+
+    /**
+     * Free rectangle.
+     */
+    private static final class Free
+    {
+        /** Horizontal location. */
+        private final int x;
+        /** Vertical location. */
+        private final int y;
+        /** Width. */
+        private final int width;
+        /** Height. */
+        private final int height;
+
+        /**
+         * Create free rectangle.
+         * 
+         * @param x The horizontal location.
+         * @param y The vertical location.
+         * @param width The width.
+         * @param height The height.
+         */
+        Free(int x, int y, int width, int height)
+        {
+            super();
+
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+        }
+
+        /**
+         * Check if contains the other rectangle.
+         * 
+         * @param other The other rectangle.
+         * @return <code>true</code> if contained, <code>false</code> else.
+         */
+        boolean contains(Free other)
+        {
+            return other.x >= x
+                   && other.y >= y
+                   && other.x + other.width <= x + width
+                   && other.y + other.height <= y + height;
+        }
+
+        /**
+         * Check if intersects the other rectangle.
+         * 
+         * @param other The other rectangle.
+         * @return <code>true</code> if intersects, <code>false</code> else.
+         */
+        boolean intersects(Free other)
+        {
+            return other.x < x + width
+                   && other.x + other.width > x
+                   && other.y < y + height
+                   && other.y + other.height > y;
+        }
+    }
+
+    /** Free rectangles per page. */
+    private final List<List<Free>> pages = new ArrayList<>();
+    /** Page width. */
+    private final int pageWidth;
+    /** Page height. */
+    private final int pageHeight;
+    /** Padding between rectangles. */
+    private final int padding;
+    /** Used area. */
+    private long used;
+
+    /**
+     * Create packer.
+     * 
+     * @param pageWidth The page width (strictly positive).
+     * @param pageHeight The page height (strictly positive).
+     * @param padding The padding between rectangles (positive).
+     * @throws LionEngineException If invalid arguments.
+     */
+    public AtlasPacker(int pageWidth, int pageHeight, int padding)
+    {
+        super();
+
+        Check.superiorStrict(pageWidth, 0);
+        Check.superiorStrict(pageHeight, 0);
+        Check.superiorOrEqual(padding, 0);
+
+        this.pageWidth = pageWidth;
+        this.pageHeight = pageHeight;
+        this.padding = padding;
+    }
+
+    /**
+     * Place a rectangle on the first page able to hold it, opening a new page if needed.
+     * 
+     * @param width The rectangle width (strictly positive).
+     * @param height The rectangle height (strictly positive).
+     * @return The placed region.
+     * @throws LionEngineException If invalid arguments or rectangle larger than page.
+     */
+    public AtlasRegion pack(int width, int height)
+    {
+        Check.superiorStrict(width, 0);
+        Check.superiorStrict(height, 0);
+
+        if (width > pageWidth || height > pageHeight)
+        {
+            throw new LionEngineException(ERROR_TOO_LARGE + width + "x" + height);
+        }
+        final int w = Math.min(width + padding, pageWidth);
+        final int h = Math.min(height + padding, pageHeight);
+
+        final int count = pages.size();
+        for (int page = 0; page < count; page++)
+        {
+            final List<Free> frees = pages.get(page);
+            final Free best = find(frees, w, h);
+            if (best != null)
+            {
+                return place(page, frees, best, width, height, w, h);
+            }
+        }
+
+        final List<Free> frees = new ArrayList<>();
+        frees.add(new Free(0, 0, pageWidth, pageHeight));
+        pages.add(frees);
+
+        return place(count, frees, frees.get(0), width, height, w, h);
+    }
+
+    /**
+     * Get the number of opened pages.
+     * 
+     * @return The pages number.
+     */
+    public int getPages()
+    {
+        return pages.size();
+    }
+
+    /**
+     * Get the ratio of used area over opened pages area.
+     * 
+     * @return The occupancy in <code>[0, 1]</code>.
+     */
+    public double getOccupancy()
+    {
+        if (pages.isEmpty())
+        {
+            return 0.0;
+        }
+        return used / ((double) pageWidth * pageHeight * pages.size());
+    }
+
+    /**
+     * Find the best free rectangle able to hold size.
+     * 
+     * @param frees The free rectangles.
+     * @param w The width with padding.
+     * @param h The height with padding.
+     * @return The best free rectangle, <code>null</code> if none.
+     */
+    private static Free find(List<Free> frees, int w, int h)
+    {
+        Free best = null;
+        int bestShort = Integer.MAX_VALUE;
+        int bestLong = Integer.MAX_VALUE;
+        for (final Free free : frees)
+        {
+            if (free.width >= w && free.height >= h)
+            {
+                final int leftoverX = free.width - w;
+                final int leftoverY = free.height - h;
+                final int shortSide = Math.min(leftoverX, leftoverY);
+                final int longSide = Math.max(leftoverX, leftoverY);
+                if (shortSide < bestShort || shortSide == bestShort && longSide < bestLong)
+                {
+                    best = free;
+                    bestShort = shortSide;
+                    bestLong = longSide;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Place rectangle in free rectangle and update free list.
+     * 
+     * @param page The page index.
+     * @param frees The page free rectangles.
+     * @param target The free rectangle receiving placement.
+     * @param width The rectangle width.
+     * @param height The rectangle height.
+     * @param w The width with padding.
+     * @param h The height with padding.
+     * @return The placed region.
+     */
+    private AtlasRegion place(int page, List<Free> frees, Free target, int width, int height, int w, int h)
+    {
+        final Free placed = new Free(target.x, target.y, w, h);
+        final List<Free> splits = new ArrayList<>();
+        for (int i = frees.size() - 1; i >= 0; i--)
+        {
+            final Free free = frees.get(i);
+            if (free.intersects(placed))
+            {
+                frees.remove(i);
+                split(free, placed, splits);
+            }
+        }
+        frees.addAll(splits);
+        prune(frees);
+        used += (long) width * height;
+
+        return new AtlasRegion(page, placed.x, placed.y, width, height);
+    }
+
+    /**
+     * Split free rectangle around placed one, keeping maximal remaining rectangles.
+     * 
+     * @param free The free rectangle.
+     * @param placed The placed rectangle.
+     * @param splits The resulting rectangles.
+     */
+    private static void split(Free free, Free placed, List<Free> splits)
+    {
+        if (placed.x > free.x)
+        {
+            splits.add(new Free(free.x, free.y, placed.x - free.x, free.height));
+        }
+        if (placed.x + placed.width < free.x + free.width)
+        {
+            final int x = placed.x + placed.width;
+            splits.add(new Free(x, free.y, free.x + free.width - x, free.height));
+        }
+        if (placed.y > free.y)
+        {
+            splits.add(new Free(free.x, free.y, free.width, placed.y - free.y));
+        }
+        if (placed.y + placed.height < free.y + free.height)
+        {
+            final int y = placed.y + placed.height;
+            splits.add(new Free(free.x, y, free.width, free.y + free.height - y));
+        }
+    }
+
+    /**
+     * Remove free rectangles contained by another one.
+     * 
+     * @param frees The free rectangles.
+     */
+    private static void prune(List<Free> frees)
+    {
+        for (int i = frees.size() - 1; i >= 0; i--)
+        {
+            final Free current = frees.get(i);
+            for (int j = 0; j < frees.size(); j++)
+            {
+                if (i != j && frees.get(j).contains(current))
+                {
+                    frees.remove(i);
+                    break;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright (C) 2013-2018 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package com.b3dgs.lionengine.graphic.atlas;
+
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Surface;
+
+/**
+ * Represents an image location inside an atlas page.
+ * <p>
+ * This class is Thread-Safe.
+ * </p>
+ */
+public final class AtlasRegion implements Surface
+{
+    /** Minimum to string length. */
+    private static final int MIN_LENGTH = 52;
+
+    /** Page index. */
+    private final int page;
+    /** Horizontal location on page. */
+    private final int x;
+    /** Vertical location on page. */
+    private final int y;
+    /** Region width. */
+    private final int width;
+    /** Region height. */
+    private final int height;
+
+    /**
+     * Create region.
+     * 
+     * @param page The page index (positive).
+     * @param x The horizontal location on page (positive).
+     * @param y The vertical location on page (positive).
+     * @param width The region width (strictly positive).
+     * @param height The region height (strictly positive).
+     * @throws LionEngineException If invalid arguments.
+     */
+    public AtlasRegion(int page, int x, int y, int width, int height)
+    {
+        super();
+
+        Check.superiorOrEqual(page, 0);
+        Check.superiorOrEqual(x, 0);
+        Check.superiorOrEqual(y, 0);
+        Check.superiorStrict(width, 0);
+        Check.superiorStrict(height, 0);
+
+        this.page = page;
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * Get the page index.
+     * 
+     * @return The page index.
+     */
+    public int getPage()
+    {
+        return page;
+    }
+
+    /**
+     * Get the horizontal location on page.
+     * 
+     * @return The horizontal location.
+     */
+    public int getX()
+    {
+        return x;
+    }
+
+    /**
+     * Get the vertical location on page.
+     * 
+     * @return The vertical location.
+     */
+    public int getY()
+    {
+        return y;
+    }
+
+    /*
+     * Surface
+     */
+
+    @Override
+    public int getWidth()
+    {
+        return width;
+    }
+
+    @Override
+    public int getHeight()
+    {
+        return height;
+    }
+
+    /*
+     * Object
+     */
+
+    @Override
+    public int hashCode()
+    {
+        final int prime = 31;
+        int result = 1;
+        result = prime * result + page;
+        result = prime * result + x;
+        result = prime * result + y;
+        result = prime * result + width;
+        result = prime * result + height;
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object object)
+    {
+        if (this == object)
+        {
+            return true;
+        }
+        if (object == null || object.getClass() != getClass())
+        {
+            return false;
+        }
+        final AtlasRegion other = (AtlasRegion) object;
+        return page == other.page && x == other.x && y == other.y && width == other.width && height == other.height;
+    }
+
+    @Override
+    public String toString()
+    {
+        return new StringBuilder(MIN_LENGTH).append(getClass().getSimpleName())
+                                            .append(" [page=")
+                                            .append(page)
+                                            .append(", x=")
+                                            .append(x)
+                                            .append(", y=")
+                                            .append(y)
+                                            .append(", width=")
+                                            .append(width)
+                                            .append(", height=")
+                                            .append(height)
+                                            .append("]")
+                                            .toString();
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright (C) 2013-2018 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package com.b3dgs.lionengine.graphic.atlas;
+
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.graphic.ColorRgba;
+import com.b3dgs.lionengine.graphic.Graphic;
+import com.b3dgs.lionengine.graphic.Graphics;
+import com.b3dgs.lionengine.graphic.ImageBuffer;
+import com.b3dgs.lionengine.graphic.Transparency;
+
+/**
+ * Read only image view on an atlas page region.
+ * <p>
+ * Renderers aware of regions draw directly from {@link #getPage()} at {@link #getX()}, {@link #getY()}, keeping a
+ * single shared surface. Other usages go through {@link #getSurface()}, which provides a lazily detached copy of the
+ * region only.
+ * </p>
+ */
+public final class ImageBufferRegion implements ImageBuffer
+{
+    /** Read only error. */
+    static final String ERROR_READ_ONLY = "Atlas region is read only !";
+
+    /** Atlas page. */
+    private final ImageBuffer page;
+    /** Region on page. */
+    private final AtlasRegion region;
+    /** Detached copy (<code>null</code> if not needed yet). */
+    private ImageBuffer detached;
+
+    /**
+     * Create region view.
+     * 
+     * @param page The atlas page (must not be <code>null</code>).
+     * @param region The region on page (must not be <code>null</code>).
+     * @throws LionEngineException If invalid arguments or region outside page.
+     */
+    public ImageBufferRegion(ImageBuffer page, AtlasRegion region)
+    {
+        super();
+
+        Check.notNull(page);
+        Check.notNull(region);
+        Check.inferiorOrEqual(region.getX() + region.getWidth(), page.getWidth());
+        Check.inferiorOrEqual(region.getY() + region.getHeight(), page.getHeight());
+
+        this.page = page;
+        this.region = region;
+    }
+
+    /**
+     * Get the atlas page.
+     * 
+     * @return The page containing region.
+     */
+    public ImageBuffer getPage()
+    {
+        return page;
+    }
+
+    /**
+     * Get the horizontal location on page.
+     * 
+     * @return The horizontal location.
+     */
+    public int getX()
+    {
+        return region.getX();
+    }
+
+    /**
+     * Get the vertical location on page.
+     * 
+     * @return The vertical location.
+     */
+    public int getY()
+    {
+        return region.getY();
+    }
+
+    /**
+     * Get the detached copy, created on first call.
+     * 
+     * @return The detached copy.
+     */
+    private synchronized ImageBuffer getDetached()
+    {
+        if (detached == null)
+        {
+            final int width = region.getWidth();
+            final int height = region.getHeight();
+            final int[] rgb = getRgb(0, 0, width, height, new int[width * height], 0, width);
+            final ImageBuffer copy = Graphics.createImageBuffer(width, height, ColorRgba.TRANSPARENT);
+            copy.setRgb(0, 0, width, height, rgb, 0, width);
+            copy.prepare();
+            detached = copy;
+        }
+        return detached;
+    }
+
+    /*
+     * ImageBuffer
+     */
+
+    @Override
+    public void prepare()
+    {
+        page.prepare();
+    }
+
+    @Override
+    public Graphic createGraphic()
+    {
+        throw new LionEngineException(ERROR_READ_ONLY);
+    }
+
+    @Override
+    public synchronized void dispose()
+    {
+        if (detached != null)
+        {
+            detached.dispose();
+            detached = null;
+        }
+    }
+
+    @Override
+    public void setRgb(int x, int y, int rgb)
+    {
+        throw new LionEngineException(ERROR_READ_ONLY);
+    }
+
+    @Override
+    public void setRgb(int startX, int startY, int w, int h, int[] rgbArray, int offset, int scansize)
+    {
+        throw new LionEngineException(ERROR_READ_ONLY);
+    }
+
+    @Override
+    public int getRgb(int x, int y)
+    {
+        return page.getRgb(region.getX() + x, region.getY() + y);
+    }
+
+    @Override
+    public int[] getRgb(int startX, int startY, int w, int h, int[] rgbArray, int offset, int scansize)
+    {
+        return page.getRgb(region.getX() + startX, region.getY() + startY, w, h, rgbArray, offset, scansize);
+    }
+
+    @Override
+    public <T> T getSurface()
+    {
+        return getDetached().getSurface();
+    }
+
+    @Override
+    public Transparency getTransparency()
+    {
+        return page.getTransparency();
+    }
+
+    @Override
+    public ColorRgba getTransparentColor()
+    {
+        return page.getTransparentColor();
+    }
+
+    @Override
+    public int getWidth()
+    {
+        return region.getWidth();
+    }
+
+    @Override
+    public int getHeight()
+    {
+        return region.getHeight();
+    }
+}
@@ -37,6 +37,15 @@ interface ImageHeaderReader
      */
     boolean is(Media media);
 
+    /**
+     * Check if image is format from its first bytes.
+     * 
+     * @param magic The first bytes read, <code>-1</code> if end of stream (must not be <code>null</code>).
+     * @return <code>true</code> if format, <code>false</code> else.
+     * @throws LionEngineException If invalid argument.
+     */
+    boolean is(int[] magic);
+
     /**
      * Read image header.
      * 
@@ -34,6 +34,8 @@ import com.b3dgs.lionengine.Verbose;
  */
 abstract class ImageHeaderReaderAbstract implements ImageHeaderReader
 {
+    /** Magic bytes length, enough to identify all formats. */
+    static final int MAGIC_LENGTH = 4;
     /** Message skipped. */
     private static final String MESSAGE_SKIPPED = "Skipped ";
     /** Message bytes instead of. */
@@ -78,6 +80,23 @@ abstract class ImageHeaderReaderAbstract implements ImageHeaderReader
         return ret;
     }
 
+    /**
+     * Read the first bytes used to identify format.
+     * 
+     * @param input The stream.
+     * @return The first bytes, <code>-1</code> if end of stream.
+     * @throws IOException if error on reading.
+     */
+    static int[] readMagic(InputStream input) throws IOException
+    {
+        final int[] magic = new int[MAGIC_LENGTH];
+        for (int i = 0; i < MAGIC_LENGTH; i++)
+        {
+            magic[i] = input.read();
+        }
+        return magic;
+    }
+
     /**
      * Skipped message error.
      * 
@@ -96,16 +115,15 @@ abstract class ImageHeaderReaderAbstract implements ImageHeaderReader
     /**
      * Check header data.
      * 
-     * @param input The input stream to check.
+     * @param magic The first bytes read.
      * @param header The expected header.
      * @return <code>true</code> if right header, <code>false</code> else.
-     * @throws IOException If unable to read header.
      */
-    private static boolean checkHeader(InputStream input, int[] header) throws IOException
+    private static boolean checkHeader(int[] magic, int[] header)
     {
-        for (final int b : header)
+        for (int i = 0; i < header.length; i++)
         {
-            if (b != input.read())
+            if (header[i] != magic[i])
             {
                 return false;
             }
@@ -148,18 +166,27 @@ abstract class ImageHeaderReaderAbstract implements ImageHeaderReader
     {
         Check.notNull(media);
 
+        try (InputStream input = media.getInputStream())
+        {
+            return is(readMagic(input));
+        }
+        catch (final IOException exception)
+        {
+            Verbose.exception(exception);
+            return false;
+        }
+    }
+
+    @Override
+    public boolean is(int[] magic)
+    {
+        Check.notNull(magic);
+
         for (final HeaderProvider provider : providers)
         {
-            try (InputStream input = media.getInputStream())
-            {
-                if (checkHeader(input, provider.getHeader()))
-                {
-                    return true;
-                }
-            }
-            catch (final IOException exception)
+            if (checkHeader(magic, provider.getHeader()))
             {
-                Verbose.exception(exception);
+                return true;
             }
         }
         return false;
@@ -26,6 +26,7 @@ import com.b3dgs.lionengine.Viewer;
 import com.b3dgs.lionengine.graphic.Graphic;
 import com.b3dgs.lionengine.graphic.Graphics;
 import com.b3dgs.lionengine.graphic.ImageBuffer;
+import com.b3dgs.lionengine.graphic.atlas.ImageBufferRegion;
 
 /**
  * Image implementation.
@@ -41,8 +42,10 @@ final class ImageImpl implements Image
     private final int width;
     /** Sprite height. */
     private final int height;
-    /** Image surface (can be <code>null</code>). */
+    /** Image surface (can be <code>null</code>, can be shared). */
     private ImageBuffer surface;
+    /** Released flag. */
+    private boolean released;
     /** Origin point. */
     private Origin origin = Origin.TOP_LEFT;
     /** Image horizontal position. */
@@ -87,6 +90,7 @@ final class ImageImpl implements Image
         this.surface = surface;
         width = surface.getWidth();
         height = surface.getHeight();
+        Graphics.getImageCache().retain(surface);
         media = null;
     }
 
@@ -137,7 +141,8 @@ final class ImageImpl implements Image
             }
             throw new LionEngineException(ERROR_ALREADY_LOADED);
         }
-        surface = Graphics.getImageBuffer(media);
+        surface = Graphics.getImageCache().acquire(media);
+        released = false;
     }
 
     @Override
@@ -149,16 +154,27 @@ final class ImageImpl implements Image
     @Override
     public void dispose()
     {
-        if (surface != null)
+        if (surface != null && !released && !Graphics.getImageCache().release(surface))
         {
             surface.dispose();
         }
+        released = true;
     }
 
     @Override
     public void render(Graphic g)
     {
-        g.drawImage(surface, rx, ry);
+        if (surface instanceof ImageBufferRegion)
+        {
+            final ImageBufferRegion region = (ImageBufferRegion) surface;
+            final int x = region.getX();
+            final int y = region.getY();
+            g.drawImage(region.getPage(), rx, ry, rx + width, ry + height, x, y, x + width, y + height);
+        }
+        else
+        {
+            g.drawImage(surface, rx, ry);
+        }
     }
 
     @Override
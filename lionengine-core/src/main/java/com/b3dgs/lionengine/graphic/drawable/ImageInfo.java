@@ -17,10 +17,14 @@
  */
 package com.b3dgs.lionengine.graphic.drawable;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.PushbackInputStream;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.b3dgs.lionengine.Check;
 import com.b3dgs.lionengine.LionEngineException;
@@ -29,6 +33,10 @@ import com.b3dgs.lionengine.Media;
 /**
  * Get quick information from an image without reading all data.
  * <p>
+ * Format is identified from the first bytes with a single read, and headers are cached per media file, until file is
+ * modified or {@link #clearCache()} is called.
+ * </p>
+ * <p>
  * This class is Thread-Safe.
  * </p>
  */
@@ -42,6 +50,8 @@ public final class ImageInfo
                                                                                new ImageHeaderGif(),
                                                                                new ImageHeaderTiff(),
                                                                                new ImageHeaderJpg());
+    /** Cached headers by file path. */
+    private static final Map<String, Cached> CACHE = new ConcurrentHashMap<>();
 
     /**
      * Get the image info of the specified image media.
@@ -54,14 +64,54 @@ public final class ImageInfo
     {
         Check.notNull(media);
 
-        for (final ImageHeaderReader reader : FORMATS)
+        final ImageHeader cached = getCached(media);
+        if (cached != null)
         {
-            if (reader.is(media))
+            return cached;
+        }
+        try (InputStream input = media.getInputStream())
+        {
+            return get(media, input);
+        }
+        catch (final IOException exception)
+        {
+            throw new LionEngineException(exception, media, ERROR_READ);
+        }
+    }
+
+    /**
+     * Get the image info of the specified image media from an already opened input, and cache it. Input is not closed.
+     * 
+     * @param media The media (must not be <code>null</code>).
+     * @param input The media input, at its beginning (must not be <code>null</code>).
+     * @return The image info instance.
+     * @throws LionEngineException If invalid arguments or cannot be read.
+     */
+    public static ImageHeader get(Media media, InputStream input)
+    {
+        Check.notNull(media);
+        Check.notNull(input);
+
+        final PushbackInputStream pushback = new PushbackInputStream(input, ImageHeaderReaderAbstract.MAGIC_LENGTH);
+        try
+        {
+            final int[] magic = ImageHeaderReaderAbstract.readMagic(pushback);
+            unread(pushback, magic);
+
+            final ImageHeaderReader reader = getReader(magic);
+            if (reader == null)
             {
-                return read(media, reader);
+                throw new LionEngineException(media, ERROR_READ);
             }
+            final ImageHeader header = reader.readHeader(pushback);
+            cache(media, header);
+
+            return header;
+        }
+        catch (final IOException exception)
+        {
+            throw new LionEngineException(exception, media, ERROR_READ);
         }
-        throw new LionEngineException(media, ERROR_READ);
     }
 
     /**
@@ -70,46 +120,120 @@ public final class ImageInfo
      * @param media The media reference (can be <code>null</code>).
      * @return <code>true</code> if is supported image, <code>false</code> else.
      */
-    // CHECKSTYLE IGNORE LINE: ReturnCount
     public static boolean isImage(Media media)
     {
-        try
+        if (media == null)
         {
-            for (final ImageHeaderReader reader : FORMATS)
-            {
-                if (reader.is(media))
-                {
-                    return true;
-                }
-            }
             return false;
         }
-        catch (@SuppressWarnings("unused") final LionEngineException exception)
+        if (getCached(media) != null)
+        {
+            return true;
+        }
+        try (InputStream input = media.getInputStream())
+        {
+            return getReader(ImageHeaderReaderAbstract.readMagic(input)) != null;
+        }
+        catch (@SuppressWarnings("unused") final IOException | LionEngineException exception)
         {
             return false;
         }
     }
 
     /**
-     * Read image header.
+     * Clear cached headers.
+     */
+    public static void clearCache()
+    {
+        CACHE.clear();
+    }
+
+    /**
+     * Get the reader supporting the format.
      * 
-     * @param media The media to read (must not be <code>null</code>).
-     * @param reader The header reader (must not be <code>null</code>).
-     * @return The header read.
-     * @throws LionEngineException If invalid arguments or cannot be read.
+     * @param magic The first bytes.
+     * @return The reader found, <code>null</code> if none.
      */
-    private static ImageHeader read(Media media, ImageHeaderReader reader)
+    private static ImageHeaderReader getReader(int[] magic)
     {
-        Check.notNull(media);
-        Check.notNull(reader);
+        for (final ImageHeaderReader reader : FORMATS)
+        {
+            if (reader.is(magic))
+            {
+                return reader;
+            }
+        }
+        return null;
+    }
 
-        try (InputStream input = media.getInputStream())
+    /**
+     * Push back bytes read.
+     * 
+     * @param input The input used.
+     * @param magic The bytes read, <code>-1</code> if end of stream.
+     * @throws IOException If error.
+     */
+    private static void unread(PushbackInputStream input, int[] magic) throws IOException
+    {
+        for (int i = magic.length - 1; i >= 0; i--)
         {
-            return reader.readHeader(input);
+            if (magic[i] >= 0)
+            {
+                input.unread(magic[i]);
+            }
         }
-        catch (final IOException exception)
+    }
+
+    /**
+     * Get the cached header if file has not been modified.
+     * 
+     * @param media The media reference.
+     * @return The cached header, <code>null</code> if none.
+     */
+    private static ImageHeader getCached(Media media)
+    {
+        final File file = getFile(media);
+        if (file != null)
         {
-            throw new LionEngineException(exception, media, ERROR_READ);
+            final Cached cached = CACHE.get(file.getPath());
+            if (cached != null && cached.lastModified == file.lastModified())
+            {
+                return cached.header;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Cache header of media file.
+     * 
+     * @param media The media reference.
+     * @param header The header read.
+     */
+    private static void cache(Media media, ImageHeader header)
+    {
+        final File file = getFile(media);
+        if (file != null)
+        {
+            CACHE.put(file.getPath(), new Cached(header, file.lastModified()));
+        }
+    }
+
+    /**
+     * Get the media file used as cache key.
+     * 
+     * @param media The media reference.
+     * @return The media file, <code>null</code> if not accessible.
+     */
+    private static File getFile(Media media)
+    {
+        try
+        {
+            return media.getFile();
+        }
+        catch (@SuppressWarnings("unused") final LionEngineException exception)
+        {
+            return null;
         }
     }
 
@@ -120,4 +244,29 @@ public final class ImageInfo
     {
         throw new LionEngineException(LionEngineException.ERROR_PRIVATE_CONSTRUCTOR);
     }
+
+    /**
+     * Cached header.
+     */
+    private static final class Cached
+    {
+        /** Header read. */
+        private final ImageHeader header;
+        /** File last modification time when read. */
+        private final long lastModified;
+
+        /**
+         * Create cached header.
+         * 
+         * @param header The header read.
+         * @param lastModified The file last modification time.
+         */
+        Cached(ImageHeader header, long lastModified)
+        {
+            super();
+
+            this.header = header;
+            this.lastModified = lastModified;
+        }
+    }
 }
@@ -17,6 +17,8 @@
  */
 package com.b3dgs.lionengine.graphic.drawable;
 
+import java.util.Optional;
+
 import com.b3dgs.lionengine.Check;
 import com.b3dgs.lionengine.Constant;
 import com.b3dgs.lionengine.LionEngineException;
@@ -30,7 +32,10 @@ import com.b3dgs.lionengine.graphic.Filter;
 import com.b3dgs.lionengine.graphic.Graphic;
 import com.b3dgs.lionengine.graphic.Graphics;
 import com.b3dgs.lionengine.graphic.ImageBuffer;
+import com.b3dgs.lionengine.graphic.ImageCache;
+import com.b3dgs.lionengine.graphic.ImageKey;
 import com.b3dgs.lionengine.graphic.UtilColor;
+import com.b3dgs.lionengine.graphic.atlas.ImageBufferRegion;
 
 /**
  * Sprite implementation.
@@ -44,8 +49,10 @@ class SpriteImpl implements Sprite
     private final Media media;
     /** Sprite current surface (<code>null</code> if not loaded from existing media). */
     private ImageBuffer surface;
-    /** Sprite original surface (<code>null</code> if surface unmodified). */
+    /** Sprite original surface (<code>null</code> if surface unmodified, can be shared). */
     private ImageBuffer surfaceOriginal;
+    /** Released flag. */
+    private boolean released;
     /** Origin point. */
     private Origin origin = Origin.TOP_LEFT;
     /** Mirror flag. */
@@ -102,10 +109,11 @@ class SpriteImpl implements Sprite
         width = surface.getWidth();
         height = surface.getHeight();
         media = null;
+        Graphics.getImageCache().retain(surface);
     }
 
     /**
-     * Render an extract of a surface to a specified destination.
+     * Render an extract of a surface to a specified destination. Atlas region is drawn from its page.
      * 
      * @param g The graphic output.
      * @param x The horizontal destination.
@@ -118,17 +126,33 @@ class SpriteImpl implements Sprite
      */
     protected final void render(Graphic g, int x, int y, int w, int h, int ox, int oy)
     {
+        final ImageBuffer source;
+        final int sx;
+        final int sy;
+        if (surface instanceof ImageBufferRegion)
+        {
+            final ImageBufferRegion region = (ImageBufferRegion) surface;
+            source = region.getPage();
+            sx = region.getX() + ox * w;
+            sy = region.getY() + oy * h;
+        }
+        else
+        {
+            source = surface;
+            sx = ox * w;
+            sy = oy * h;
+        }
         if (Mirror.HORIZONTAL == mirror)
         {
-            g.drawImage(surface, x, y, x + w, y + h, ox * w + w, oy * h, ox * w, oy * h + h);
+            g.drawImage(source, x, y, x + w, y + h, sx + w, sy, sx, sy + h);
         }
         else if (Mirror.VERTICAL == mirror)
         {
-            g.drawImage(surface, x, y, x + w, y + h, ox * w, oy * h + h, ox * w + w, oy * h);
+            g.drawImage(source, x, y, x + w, y + h, sx, sy + h, sx + w, sy);
         }
         else
         {
-            g.drawImage(surface, x, y, x + w, y + h, ox * w, oy * h, ox * w + w, oy * h + h);
+            g.drawImage(source, x, y, x + w, y + h, sx, sy, sx + w, sy + h);
         }
     }
 
@@ -142,7 +166,16 @@ class SpriteImpl implements Sprite
     {
         width = newWidth;
         height = newHeight;
-        surface = Graphics.resize(surfaceOriginal, newWidth, newHeight);
+        final ImageCache cache = Graphics.getImageCache();
+        final Optional<ImageKey> key = cache.getKey(surfaceOriginal);
+        if (key.isPresent())
+        {
+            setSurface(cache.acquire(key.get().stretch(newWidth, newHeight)));
+        }
+        else
+        {
+            setSurface(Graphics.resize(surfaceOriginal, newWidth, newHeight));
+        }
     }
 
     /**
@@ -178,13 +211,47 @@ class SpriteImpl implements Sprite
     }
 
     /**
-     * Backup the original surface before modification only if needed.
+     * Backup the original surface before modification only if needed. Shared surface is kept as is.
      */
     private void lazySurfaceBackup()
     {
         if (surfaceOriginal == null)
         {
-            surfaceOriginal = Graphics.getImageBuffer(surface);
+            if (Graphics.getImageCache().isCached(surface))
+            {
+                surfaceOriginal = surface;
+            }
+            else
+            {
+                surfaceOriginal = Graphics.getImageBuffer(surface);
+            }
+        }
+    }
+
+    /**
+     * Replace current surface, releasing it if shared and not the original one.
+     * 
+     * @param next The new surface.
+     */
+    private void setSurface(ImageBuffer next)
+    {
+        if (surface != surfaceOriginal)
+        {
+            Graphics.getImageCache().release(surface);
+        }
+        surface = next;
+    }
+
+    /**
+     * Release surface if shared, dispose it else.
+     * 
+     * @param buffer The surface to release.
+     */
+    private static void release(ImageBuffer buffer)
+    {
+        if (!Graphics.getImageCache().release(buffer))
+        {
+            buffer.dispose();
         }
     }
 
@@ -203,7 +270,8 @@ class SpriteImpl implements Sprite
             }
             throw new LionEngineException(ERROR_ALREADY_LOADED);
         }
-        surface = Graphics.getImageBuffer(media);
+        surface = Graphics.getImageCache().acquire(media);
+        released = false;
     }
 
     @Override
@@ -215,9 +283,17 @@ class SpriteImpl implements Sprite
     @Override
     public void dispose()
     {
-        if (surface != null)
+        if (!released)
         {
-            surface.dispose();
+            if (surface != null && surface != surfaceOriginal)
+            {
+                release(surface);
+            }
+            if (surfaceOriginal != null)
+            {
+                release(surfaceOriginal);
+            }
+            released = true;
         }
     }
 
@@ -240,7 +316,7 @@ class SpriteImpl implements Sprite
     public final void rotate(int angle)
     {
         lazySurfaceBackup();
-        surface = Graphics.rotate(surfaceOriginal, angle);
+        setSurface(Graphics.rotate(surfaceOriginal, angle));
         width = surface.getWidth();
         height = surface.getHeight();
     }
@@ -251,7 +327,7 @@ class SpriteImpl implements Sprite
         Check.notNull(filter);
 
         lazySurfaceBackup();
-        surface = filter.filter(surfaceOriginal);
+        setSurface(filter.filter(surfaceOriginal));
         width = surface.getWidth();
         height = surface.getHeight();
     }
@@ -289,7 +365,16 @@ class SpriteImpl implements Sprite
     public final void setTransparency(ColorRgba mask)
     {
         lazySurfaceBackup();
-        surface = Graphics.applyMask(surfaceOriginal, mask);
+        final ImageCache cache = Graphics.getImageCache();
+        final Optional<ImageKey> key = cache.getKey(surfaceOriginal);
+        if (key.isPresent())
+        {
+            setSurface(cache.acquire(key.get().mask(mask)));
+        }
+        else
+        {
+            setSurface(Graphics.applyMask(surfaceOriginal, mask));
+        }
     }
 
     @Override
@@ -304,6 +389,12 @@ class SpriteImpl implements Sprite
     @Override
     public final void setFade(int alpha, int fade)
     {
+        if (Graphics.getImageCache().isCached(surface))
+        {
+            // Shared surface must not be modified, use a private copy
+            lazySurfaceBackup();
+            setSurface(Graphics.getImageBuffer(surface));
+        }
         if (rgb == null)
         {
             rgb = new int[width][height];
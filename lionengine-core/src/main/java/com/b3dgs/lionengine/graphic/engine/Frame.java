@@ -18,6 +18,7 @@
 package com.b3dgs.lionengine.graphic.engine;
 
 import com.b3dgs.lionengine.Updatable;
+import com.b3dgs.lionengine.graphic.Screen;
 
 /**
  * Represents a frame instant, which has to be updated and rendered.
@@ -37,6 +38,16 @@ public interface Frame extends Updatable
      */
     void render();
 
+    /**
+     * Present rendered frame. Calls {@link Screen#update()} by default.
+     * 
+     * @param screen The screen reference.
+     */
+    default void present(Screen screen)
+    {
+        screen.update();
+    }
+
     /**
      * Compute the frame rate depending of the game loop speed.
      * 
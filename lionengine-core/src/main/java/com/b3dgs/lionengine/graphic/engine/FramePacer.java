@@ -0,0 +1,131 @@
+/*
+ * Copyright (C) 2013-2018 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package com.b3dgs.lionengine.graphic.engine;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Frame pacer, waiting until a frame deadline with a low CPU usage.
+ * <p>
+ * The operating system sleep granularity is measured on {@link #calibrate()}. Waiting then sleeps for most of the
+ * remaining time, and only spins for the last part, shorter than the sleep granularity, in order to keep deadline
+ * accuracy. Spin time grows each time a sleep goes past the deadline.
+ * </p>
+ * <p>
+ * Pacing error (delay after deadline) is recorded in {@link #getError()}.
+ * </p>
+ */
+public final class FramePacer
+{
+    /** Calibration samples. */
+    private static final int CALIBRATION_SAMPLES = 5;
+    /** Calibration sleep in nano. */
+    private static final long CALIBRATION_SLEEP_NANO = 1_000_000L;
+    /** Minimum spin time in nano. */
+    private static final long SPIN_MIN_NANO = 100_000L;
+    /** Maximum spin time in nano. */
+    private static final long SPIN_MAX_NANO = 20_000_000L;
+
+    /** Pacing error in nano. */
+    private final Histogram error = new Histogram();
+    /** Spin time in nano before deadline (negative if not calibrated). */
+    private long spinNano = -1L;
+
+    /**
+     * Create pacer.
+     */
+    public FramePacer()
+    {
+        super();
+    }
+
+    /**
+     * Measure the sleep granularity, and deduce spin time. Called once on first wait if not called before.
+     */
+    public void calibrate()
+    {
+        long overshoot = 0L;
+        for (int i = 0; i < CALIBRATION_SAMPLES; i++)
+        {
+            final long start = System.nanoTime();
+            LockSupport.parkNanos(CALIBRATION_SLEEP_NANO);
+            overshoot = Math.max(overshoot, System.nanoTime() - start - CALIBRATION_SLEEP_NANO);
+        }
+        spinNano = Math.min(SPIN_MAX_NANO, Math.max(SPIN_MIN_NANO, overshoot + overshoot / 2L));
+    }
+
+    /**
+     * Wait until deadline is reached. Returns immediately if already reached, or if current thread is interrupted (the
+     * interrupt flag is kept set for the caller).
+     * 
+     * @param deadlineNano The deadline in nano, as given by {@link System#nanoTime()}.
+     */
+    public void waitUntil(long deadlineNano)
+    {
+        if (spinNano < 0L)
+        {
+            calibrate();
+        }
+
+        long remaining = deadlineNano - System.nanoTime();
+        if (remaining <= 0L)
+        {
+            return;
+        }
+        while (remaining > spinNano && !Thread.currentThread().isInterrupted())
+        {
+            LockSupport.parkNanos(remaining - spinNano);
+            remaining = deadlineNano - System.nanoTime();
+        }
+        if (Thread.currentThread().isInterrupted())
+        {
+            return;
+        }
+        if (remaining < 0L)
+        {
+            // Sleep went past deadline, spin longer next time
+            spinNano = Math.min(SPIN_MAX_NANO, spinNano - remaining / 2L);
+        }
+        while (remaining > 0L)
+        {
+            Thread.yield();
+            remaining = deadlineNano - System.nanoTime();
+        }
+        error.record(-remaining);
+    }
+
+    /**
+     * Get the spin time, measured by {@link #calibrate()}.
+     * 
+     * @return The spin time in nano (negative if not calibrated).
+     */
+    public long getSpin()
+    {
+        return spinNano;
+    }
+
+    /**
+     * Get the pacing error, as delay after deadline of each wait.
+     * 
+     * @return The pacing error histogram in nano.
+     */
+    public Histogram getError()
+    {
+        return error;
+    }
+}
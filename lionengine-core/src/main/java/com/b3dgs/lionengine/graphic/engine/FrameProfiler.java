@@ -0,0 +1,228 @@
+/*
+ * Copyright (C) 2013-2018 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package com.b3dgs.lionengine.graphic.engine;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.Constant;
+import com.b3dgs.lionengine.LionEngineException;
+
+/**
+ * Frame profiler, recording durations of each frame phase in a dedicated {@link Histogram}.
+ * <p>
+ * Phases are registered once by name, and recorded by their identifier, without allocation:
+ * </p>
+ * 
+ * <pre>
+ * final int phase = profiler.register(&quot;physics&quot;);
+ * ...
+ * final long start = System.nanoTime();
+ * physics.update(extrp);
+ * profiler.record(phase, start);
+ * </pre>
+ * <p>
+ * Each phase is expected to be recorded from a single thread.
+ * </p>
+ */
+public final class FrameProfiler
+{
+    /** Update phase. */
+    public static final String PHASE_UPDATE = "update";
+    /** Render phase. */
+    public static final String PHASE_RENDER = "render";
+    /** Filter phase. */
+    public static final String PHASE_FILTER = "filter";
+    /** Screen present phase. */
+    public static final String PHASE_PRESENT = "present";
+    /** Whole frame phase. */
+    public static final String PHASE_FRAME = "frame";
+    /** Median percentile. */
+    public static final double P50 = 50.0;
+    /** High percentile. */
+    public static final double P99 = 99.0;
+    /** Unknown phase error. */
+    static final String ERROR_PHASE = "Unknown phase: ";
+    /** Summary format. */
+    private static final String FORMAT = "%-24s p50=%7.3fms p99=%7.3fms max=%7.3fms";
+
+    /** Registered phases names. */
+    private final List<String> names = new CopyOnWriteArrayList<>();
+    /** Phases histograms, indexed by phase id. */
+    private final List<Histogram> histograms = new CopyOnWriteArrayList<>();
+    /** Phases ids by name. */
+    private final Map<String, Integer> ids = new HashMap<>();
+    /** Enabled flag. */
+    private volatile boolean enabled = true;
+
+    /**
+     * Create profiler.
+     */
+    public FrameProfiler()
+    {
+        super();
+    }
+
+    /**
+     * Register a phase. Does nothing if already registered.
+     * 
+     * @param phase The phase name (must not be <code>null</code>).
+     * @return The phase id.
+     * @throws LionEngineException If invalid argument.
+     */
+    public synchronized int register(String phase)
+    {
+        Check.notNull(phase);
+
+        final Integer id = ids.get(phase);
+        if (id != null)
+        {
+            return id.intValue();
+        }
+        final int next = histograms.size();
+        histograms.add(new Histogram());
+        names.add(phase);
+        ids.put(phase, Integer.valueOf(next));
+        return next;
+    }
+
+    /**
+     * Record phase duration since start time.
+     * 
+     * @param phase The phase id.
+     * @param startNano The phase start time in nano.
+     */
+    public void record(int phase, long startNano)
+    {
+        if (enabled)
+        {
+            histograms.get(phase).record(System.nanoTime() - startNano);
+        }
+    }
+
+    /**
+     * Record phase duration.
+     * 
+     * @param phase The phase id.
+     * @param durationNano The phase duration in nano.
+     */
+    public void recordDuration(int phase, long durationNano)
+    {
+        if (enabled)
+        {
+            histograms.get(phase).record(durationNano);
+        }
+    }
+
+    /**
+     * Reset all phases.
+     */
+    public void reset()
+    {
+        for (final Histogram histogram : histograms)
+        {
+            histogram.reset();
+        }
+    }
+
+    /**
+     * Set enabled flag. Recording does nothing when disabled.
+     * 
+     * @param enabled <code>true</code> to record, <code>false</code> else.
+     */
+    public void setEnabled(boolean enabled)
+    {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Check if enabled.
+     * 
+     * @return <code>true</code> if recording, <code>false</code> else.
+     */
+    public boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    /**
+     * Get the registered phases, in registration order.
+     * 
+     * @return The phases names.
+     */
+    public List<String> getPhases()
+    {
+        return Collections.unmodifiableList(new ArrayList<>(names));
+    }
+
+    /**
+     * Get phase histogram.
+     * 
+     * @param phase The phase name.
+     * @return The phase histogram.
+     * @throws LionEngineException If phase not registered.
+     */
+    public synchronized Histogram getHistogram(String phase)
+    {
+        final Integer id = ids.get(phase);
+        if (id == null)
+        {
+            throw new LionEngineException(ERROR_PHASE + phase);
+        }
+        return histograms.get(id.intValue());
+    }
+
+    /**
+     * Get phase summary, as median, high percentile and maximum durations.
+     * 
+     * @param phase The phase name.
+     * @return The phase summary.
+     * @throws LionEngineException If phase not registered.
+     */
+    public String getSummary(String phase)
+    {
+        final Histogram histogram = getHistogram(phase);
+        return String.format(Locale.ENGLISH,
+                             FORMAT,
+                             phase,
+                             Double.valueOf(histogram.getPercentile(P50) / Constant.NANO_TO_MILLI),
+                             Double.valueOf(histogram.getPercentile(P99) / Constant.NANO_TO_MILLI),
+                             Double.valueOf(histogram.getMax() / Constant.NANO_TO_MILLI));
+    }
+
+    /*
+     * Object
+     */
+
+    @Override
+    public String toString()
+    {
+        final StringBuilder builder = new StringBuilder();
+        for (final String phase : names)
+        {
+            builder.append(getSummary(phase)).append(System.lineSeparator());
+        }
+        return builder.toString();
+    }
+}
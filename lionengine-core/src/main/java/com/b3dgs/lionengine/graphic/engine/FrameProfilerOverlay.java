@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2013-2018 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package com.b3dgs.lionengine.graphic.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.Constant;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.graphic.ColorRgba;
+import com.b3dgs.lionengine.graphic.Graphic;
+import com.b3dgs.lionengine.graphic.Graphics;
+import com.b3dgs.lionengine.graphic.Renderable;
+import com.b3dgs.lionengine.graphic.Text;
+import com.b3dgs.lionengine.graphic.TextStyle;
+
+/**
+ * On screen overlay displaying {@link FrameProfiler} phases summary.
+ * <p>
+ * Summary is refreshed at a low rate in order to keep it readable and cheap.
+ * </p>
+ */
+public final class FrameProfilerOverlay implements Renderable
+{
+    /** Text size. */
+    private static final int TEXT_SIZE = 10;
+    /** Line height. */
+    private static final int LINE_HEIGHT = TEXT_SIZE + 2;
+    /** Margin. */
+    private static final int MARGIN = 2;
+    /** Overlay width. */
+    private static final int WIDTH = 300;
+    /** Refresh delay in nano. */
+    private static final long REFRESH_NANO = Constant.ONE_SECOND_IN_NANO / 2L;
+    /** Background color. */
+    private static final ColorRgba BACKGROUND = new ColorRgba(0, 0, 0, 160);
+
+    /** Profiler reference. */
+    private final FrameProfiler profiler;
+    /** Cached lines. */
+    private final List<String> lines = new ArrayList<>();
+    /** Text reference (lazy created). */
+    private Text text;
+    /** Last refresh time. */
+    private long lastRefresh = Long.MIN_VALUE;
+
+    /**
+     * Create overlay.
+     * 
+     * @param profiler The profiler reference (must not be <code>null</code>).
+     * @throws LionEngineException If invalid argument.
+     */
+    public FrameProfilerOverlay(FrameProfiler profiler)
+    {
+        super();
+
+        Check.notNull(profiler);
+
+        this.profiler = profiler;
+    }
+
+    /**
+     * Refresh cached lines if delay elapsed.
+     */
+    private void refresh()
+    {
+        final long now = System.nanoTime();
+        if (lastRefresh == Long.MIN_VALUE || now - lastRefresh > REFRESH_NANO)
+        {
+            lastRefresh = now;
+            lines.clear();
+            for (final String phase : profiler.getPhases())
+            {
+                lines.add(profiler.getSummary(phase));
+            }
+        }
+    }
+
+    /*
+     * Renderable
+     */
+
+    @Override
+    public void render(Graphic g)
+    {
+        if (text == null)
+        {
+            text = Graphics.createText(Constant.FONT_DIALOG, TEXT_SIZE, TextStyle.NORMAL);
+        }
+        refresh();
+
+        final ColorRgba old = g.getColor();
+        g.setColor(BACKGROUND);
+        g.drawRect(0, 0, WIDTH, lines.size() * LINE_HEIGHT + MARGIN * 2, true);
+        text.setColor(ColorRgba.WHITE);
+
+        final int n = lines.size();
+        for (int i = 0; i < n; i++)
+        {
+            text.draw(g, MARGIN, MARGIN + i * LINE_HEIGHT, lines.get(i));
+        }
+        g.setColor(old);
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright (C) 2013-2018 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package com.b3dgs.lionengine.graphic.engine;
+
+import java.util.Arrays;
+
+/**
+ * Fixed size histogram of durations in nano, using logarithmic buckets with linear sub buckets (HDR style).
+ * <p>
+ * Recording never allocates. Values are stored with a relative precision of about 3%, up to
+ * {@link #MAX_VALUE}, greater values being clamped.
+ * </p>
+ * <p>
+ * Recording is expected from a single thread. Reading from another thread gives approximated results.
+ * </p>
+ */
+public final class Histogram
+{
+    /** Maximum tracked value (about 68 seconds in nano). */
+    public static final long MAX_VALUE = (1L << 36) - 1L;
+    /** Sub buckets bits. */
+    private static final int SUB_BITS = 5;
+    /** Sub buckets count per power of two. */
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    /** Sub buckets mask. */
+    private static final int SUB_MASK = SUB_COUNT - 1;
+    /** Maximum value highest bit. */
+    private static final int MAX_BIT = Long.SIZE - Long.numberOfLeadingZeros(MAX_VALUE) - 1;
+    /** Buckets count. */
+    private static final int BUCKETS = (MAX_BIT - SUB_BITS + 2) * SUB_COUNT;
+    /** Percent max. */
+    private static final double PERCENT = 100.0;
+
+    /**
+     * Get bucket index of value.
+     * 
+     * @param value The value (must be between 0 and {@link #MAX_VALUE}).
+     * @return The bucket index.
+     */
+    static int getIndex(long value)
+    {
+        if (value < SUB_COUNT)
+        {
+            return (int) value;
+        }
+        final int shift = Long.SIZE - Long.numberOfLeadingZeros(value) - 1 - SUB_BITS;
+        return (shift + 1) * SUB_COUNT + (int) (value >> shift & SUB_MASK);
+    }
+
+    /**
+     * Get the highest value stored in bucket.
+     * 
+     * @param index The bucket index.
+     * @return The highest equivalent value.
+     */
+    static long getValue(int index)
+    {
+        if (index < SUB_COUNT)
+        {
+            return index;
+        }
+        final int shift = index / SUB_COUNT - 1;
+        final long sub = SUB_COUNT + (index & SUB_MASK);
+        return ((sub + 1L) << shift) - 1L;
+    }
+
+    /** Buckets count. */
+    private final long[] counts = new long[BUCKETS];
+    /** Recorded values. */
+    private long count;
+    /** Recorded total. */
+    private long total;
+    /** Minimum recorded value. */
+    private long min = Long.MAX_VALUE;
+    /** Maximum recorded value. */
+    private long max;
+
+    /**
+     * Create histogram.
+     */
+    public Histogram()
+    {
+        super();
+    }
+
+    /**
+     * Record a value.
+     * 
+     * @param value The value in nano (negative values are recorded as 0, greater than {@link #MAX_VALUE} clamped).
+     */
+    public void record(long value)
+    {
+        final long clamped = Math.min(MAX_VALUE, Math.max(0L, value));
+        counts[getIndex(clamped)]++;
+        count++;
+        total += clamped;
+        if (clamped < min)
+        {
+            min = clamped;
+        }
+        if (clamped > max)
+        {
+            max = clamped;
+        }
+    }
+
+    /**
+     * Reset all recorded values.
+     */
+    public void reset()
+    {
+        Arrays.fill(counts, 0L);
+        count = 0L;
+        total = 0L;
+        min = Long.MAX_VALUE;
+        max = 0L;
+    }
+
+    /**
+     * Get the value at percentile.
+     * 
+     * @param percentile The percentile in [0 - 100].
+     * @return The value at percentile in nano, bounded by recorded maximum (0 if no value).
+     */
+    public long getPercentile(double percentile)
+    {
+        if (count == 0L)
+        {
+            return 0L;
+        }
+        final double bounded = Math.min(PERCENT, Math.max(0.0, percentile));
+        final long target = Math.max(1L, (long) Math.ceil(bounded / PERCENT * count));
+        long acc = 0L;
+        for (int i = 0; i < BUCKETS; i++)
+        {
+            acc += counts[i];
+            if (acc >= target)
+            {
+                return Math.min(max, Math.max(min, getValue(i)));
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Get the recorded values count.
+     * 
+     * @return The values count.
+     */
+    public long getCount()
+    {
+        return count;
+    }
+
+    /**
+     * Get the mean value.
+     * 
+     * @return The mean value in nano (0 if no value).
+     */
+    public double getMean()
+    {
+        if (count == 0L)
+        {
+            return 0.0;
+        }
+        return total / (double) count;
+    }
+
+    /**
+     * Get the minimum recorded value.
+     * 
+     * @return The minimum value in nano (0 if no value).
+     */
+    public long getMin()
+    {
+        if (count == 0L)
+        {
+            return 0L;
+        }
+        return min;
+    }
+
+    /**
+     * Get the maximum recorded value.
+     * 
+     * @return The maximum value in nano.
+     */
+    public long getMax()
+    {
+        return max;
+    }
+}
@@ -0,0 +1,359 @@
+/*
+ * Copyright (C) 2013-2018 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package com.b3dgs.lionengine.graphic.engine;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.Config;
+import com.b3dgs.lionengine.Constant;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Resolution;
+import com.b3dgs.lionengine.UtilMath;
+import com.b3dgs.lionengine.graphic.Screen;
+
+/**
+ * Decoupled loop, running update on a dedicated simulation thread and render on the calling thread.
+ * <p>
+ * Update is performed at a fixed rate, independently from render duration. Render is performed each time a new update
+ * has been done, synced to the output rate if enabled.
+ * </p>
+ * <p>
+ * By default {@link Frame#update(double)} and {@link Frame#render()} are mutually exclusive, so render never sees a
+ * partially applied update: only presentation and render pacing overlap with update. Existing features can then be used
+ * as is. With {@link #LoopDecoupled(boolean)}, render may run concurrently with update, in which case rendered features
+ * must only read data shared with update through a {@link RenderState}, published at the end of each update.
+ * </p>
+ */
+public final class LoopDecoupled implements Loop
+{
+    /** Update thread name. */
+    static final String THREAD_NAME = "LoopDecoupled-update";
+    /** Maximum frame time in nano. */
+    private static final long MAX_FRAME_TIME_NANO = LoopFrameSkipping.MAX_FRAME_TIME_NANO;
+    /** Maximum expected frame rate. */
+    private static final int MAX_FRAME_RATE = 1000;
+    /** Render wait timeout in milli. */
+    private static final long WAIT_TIMEOUT_MILLI = 100L;
+
+    /**
+     * Check if screen has sync locked.
+     * 
+     * @param screen The screen reference.
+     * @return <code>true</code> if sync enabled, <code>false</code> else.
+     */
+    private static boolean hasSync(Screen screen)
+    {
+        final Config config = screen.getConfig();
+        final Resolution output = config.getOutput();
+        return config.isWindowed() && output.getRate() > 0;
+    }
+
+    /** Update frame pacer. */
+    private final FramePacer pacerUpdate = new FramePacer();
+    /** Render frame pacer. */
+    private final FramePacer pacerRender = new FramePacer();
+    /** Update thread error. */
+    private final AtomicReference<Throwable> error = new AtomicReference<>();
+    /** Update lock. */
+    private final Object lock = new Object();
+    /** Frame lock, held during update and render if not concurrent. */
+    private final Object frameLock = new Object();
+    /** Concurrent render flag. */
+    private final boolean concurrent;
+    /** Running flag. */
+    private volatile boolean isRunning;
+    /** Updates count. */
+    private volatile long updates;
+    /** Max frame time in nano. */
+    private volatile double maxFrameTimeNano = -1.0;
+
+    /**
+     * Create loop, with update and render mutually exclusive.
+     */
+    public LoopDecoupled()
+    {
+        this(false);
+    }
+
+    /**
+     * Create loop.
+     * 
+     * @param concurrent <code>true</code> to render concurrently with update (rendered features must read shared data
+     *            through a {@link RenderState}), <code>false</code> to keep update and render mutually exclusive.
+     */
+    public LoopDecoupled(boolean concurrent)
+    {
+        super();
+
+        this.concurrent = concurrent;
+    }
+
+    /**
+     * Get the number of performed updates.
+     * 
+     * @return The updates count.
+     */
+    public long getUpdates()
+    {
+        return updates;
+    }
+
+    /**
+     * Get the update frame pacer, used to wait for next update.
+     * 
+     * @return The update frame pacer.
+     */
+    public FramePacer getUpdatePacer()
+    {
+        return pacerUpdate;
+    }
+
+    /**
+     * Get the render frame pacer, used to wait for expected frame rate.
+     * 
+     * @return The render frame pacer.
+     */
+    public FramePacer getRenderPacer()
+    {
+        return pacerRender;
+    }
+
+    /**
+     * Run update at fixed rate until stopped.
+     * 
+     * @param screen The screen reference.
+     * @param frame The frame reference.
+     */
+    private void runUpdate(Screen screen, Frame frame)
+    {
+        long currentTimeNano = System.nanoTime();
+        double acc = 0.0;
+
+        while (isRunning)
+        {
+            if (screen.isReady())
+            {
+                final long firstTimeNano = System.nanoTime();
+                acc += UtilMath.clamp(firstTimeNano - currentTimeNano, 0L, MAX_FRAME_TIME_NANO);
+                currentTimeNano = firstTimeNano;
+
+                while (isRunning && acc >= maxFrameTimeNano)
+                {
+                    update(frame);
+                    acc -= maxFrameTimeNano;
+                    synchronized (lock)
+                    {
+                        updates++;
+                        lock.notifyAll();
+                    }
+                }
+                if (isRunning)
+                {
+                    pacerUpdate.waitUntil(currentTimeNano + (long) Math.ceil(maxFrameTimeNano - acc));
+                }
+            }
+            else
+            {
+                UtilSequence.pause(Constant.DECADE);
+                currentTimeNano = System.nanoTime();
+            }
+        }
+    }
+
+    /**
+     * Update frame, excluding render if not concurrent.
+     * 
+     * @param frame The frame reference.
+     */
+    private void update(Frame frame)
+    {
+        if (concurrent)
+        {
+            frame.update(Constant.EXTRP);
+        }
+        else
+        {
+            synchronized (frameLock)
+            {
+                frame.update(Constant.EXTRP);
+            }
+        }
+    }
+
+    /**
+     * Render frame, excluding update if not concurrent.
+     * 
+     * @param frame The frame reference.
+     */
+    private void render(Frame frame)
+    {
+        if (concurrent)
+        {
+            frame.render();
+        }
+        else
+        {
+            synchronized (frameLock)
+            {
+                frame.render();
+            }
+        }
+    }
+
+    /**
+     * Start update thread.
+     * 
+     * @param screen The screen reference.
+     * @param frame The frame reference.
+     * @return The started thread.
+     */
+    private Thread startUpdate(Screen screen, Frame frame)
+    {
+        final Thread thread = new Thread(() ->
+        {
+            try
+            {
+                runUpdate(screen, frame);
+            }
+            catch (final Throwable exception) // CHECKSTYLE IGNORE LINE: IllegalCatch
+            {
+                error.set(exception);
+                stop();
+            }
+        }, THREAD_NAME);
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    /**
+     * Wait until an update newer than the rendered one is available or loop stopped.
+     * 
+     * @param rendered The last rendered update.
+     * @throws InterruptedException If interrupted.
+     */
+    private void awaitUpdate(long rendered) throws InterruptedException
+    {
+        synchronized (lock)
+        {
+            while (isRunning && updates == rendered)
+            {
+                lock.wait(WAIT_TIMEOUT_MILLI);
+            }
+        }
+    }
+
+    /*
+     * Loop
+     */
+
+    @Override
+    public void start(Screen screen, Frame frame)
+    {
+        Check.notNull(screen);
+        Check.notNull(frame);
+
+        final boolean sync = hasSync(screen);
+        if (maxFrameTimeNano < 0)
+        {
+            notifyRateChanged(screen.getConfig().getOutput().getRate());
+        }
+        error.set(null);
+        updates = 0L;
+        isRunning = true;
+
+        final Thread update = startUpdate(screen, frame);
+        long rendered = 0L;
+        try
+        {
+            while (isRunning)
+            {
+                if (screen.isReady())
+                {
+                    awaitUpdate(rendered);
+                    rendered = updates;
+
+                    final long firstTimeNano = System.nanoTime();
+                    screen.preUpdate();
+                    render(frame);
+                    frame.present(screen);
+
+                    if (sync)
+                    {
+                        pacerRender.waitUntil(firstTimeNano + (long) Math.ceil(maxFrameTimeNano));
+                    }
+
+                    frame.computeFrameRate(firstTimeNano, Math.max(firstTimeNano + 1L, System.nanoTime()));
+                }
+                else
+                {
+                    frame.check();
+                    UtilSequence.pause(Constant.DECADE);
+                }
+            }
+        }
+        catch (final InterruptedException exception)
+        {
+            Thread.currentThread().interrupt();
+        }
+        finally
+        {
+            stop();
+            try
+            {
+                update.join();
+            }
+            catch (final InterruptedException exception)
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        final Throwable cause = error.getAndSet(null);
+        if (cause != null)
+        {
+            throw new LionEngineException(cause);
+        }
+    }
+
+    @Override
+    public void stop()
+    {
+        isRunning = false;
+        synchronized (lock)
+        {
+            lock.notifyAll();
+        }
+    }
+
+    @Override
+    public void notifyRateChanged(int rate)
+    {
+        final double expectedRate;
+        if (rate == 0)
+        {
+            expectedRate = MAX_FRAME_RATE;
+        }
+        else
+        {
+            expectedRate = rate;
+        }
+        maxFrameTimeNano = Constant.ONE_SECOND_IN_MILLI / expectedRate * Constant.NANO_TO_MILLI;
+    }
+}
@@ -34,6 +34,8 @@ public final class LoopExtrapolated implements Loop
     /** One second in nano. */
     private static final double ONE_SECOND_IN_NANO = 1_000_000_000.0;
 
+    /** Frame pacer. */
+    private final FramePacer pacer = new FramePacer();
     /** Running flag. */
     private boolean isRunning;
     /** Current rate. */
@@ -49,6 +51,16 @@ public final class LoopExtrapolated implements Loop
         super();
     }
 
+    /**
+     * Get the frame pacer, used to wait for expected frame rate.
+     * 
+     * @return The frame pacer.
+     */
+    public FramePacer getPacer()
+    {
+        return pacer;
+    }
+
     /*
      * Loop
      */
@@ -76,11 +88,11 @@ public final class LoopExtrapolated implements Loop
                 frame.update(extrp);
                 screen.preUpdate();
                 frame.render();
-                screen.update();
+                frame.present(screen);
 
-                while (sync && System.nanoTime() - lastTime < maxFrameTimeNano)
+                if (sync)
                 {
-                    Thread.yield();
+                    pacer.waitUntil(lastTime + (long) Math.ceil(maxFrameTimeNano));
                 }
 
                 final long currentTime = Math.max(lastTime + 1L, System.nanoTime());
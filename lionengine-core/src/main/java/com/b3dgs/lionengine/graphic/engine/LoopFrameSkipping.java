@@ -55,6 +55,8 @@ public final class LoopFrameSkipping implements Loop
         return config.isWindowed() && output.getRate() > 0;
     }
 
+    /** Frame pacer. */
+    private final FramePacer pacer = new FramePacer();
     /** Running flag. */
     private boolean isRunning;
     /** Max frame time in nano. */
@@ -68,6 +70,16 @@ public final class LoopFrameSkipping implements Loop
         super();
     }
 
+    /**
+     * Get the frame pacer, used to wait for expected frame rate.
+     * 
+     * @return The frame pacer.
+     */
+    public FramePacer getPacer()
+    {
+        return pacer;
+    }
+
     /*
      * Loop
      */
@@ -105,11 +117,11 @@ public final class LoopFrameSkipping implements Loop
 
                 screen.preUpdate();
                 frame.render();
-                screen.update();
+                frame.present(screen);
 
-                while (sync && System.nanoTime() - firstTimeNano < maxFrameTimeNano)
+                if (sync)
                 {
-                    Thread.yield();
+                    pacer.waitUntil(firstTimeNano + (long) Math.ceil(maxFrameTimeNano));
                 }
 
                 frame.computeFrameRate(firstTimeNano, Math.max(firstTimeNano + 1L, System.nanoTime()));
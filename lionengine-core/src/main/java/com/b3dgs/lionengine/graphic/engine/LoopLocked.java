@@ -31,6 +31,8 @@ import com.b3dgs.lionengine.graphic.Screen;
  */
 public final class LoopLocked implements Loop
 {
+    /** Frame pacer. */
+    private final FramePacer pacer = new FramePacer();
     /** Running flag. */
     private boolean isRunning;
     /** Max frame time in nano. */
@@ -44,6 +46,16 @@ public final class LoopLocked implements Loop
         super();
     }
 
+    /**
+     * Get the frame pacer, used to wait for expected frame rate.
+     * 
+     * @return The frame pacer.
+     */
+    public FramePacer getPacer()
+    {
+        return pacer;
+    }
+
     /*
      * Loop
      */
@@ -72,11 +84,11 @@ public final class LoopLocked implements Loop
                 frame.update(Constant.EXTRP);
                 screen.preUpdate();
                 frame.render();
-                screen.update();
+                frame.present(screen);
 
-                while (sync && System.nanoTime() - lastTime < maxFrameTimeNano)
+                if (sync)
                 {
-                    Thread.yield();
+                    pacer.waitUntil(lastTime + (long) Math.ceil(maxFrameTimeNano));
                 }
 
                 frame.computeFrameRate(lastTime, Math.max(lastTime + 1L, System.nanoTime()));
@@ -60,7 +60,7 @@ public final class LoopUnlocked implements Loop
                 frame.update(Constant.EXTRP);
                 screen.preUpdate();
                 frame.render();
-                screen.update();
+                frame.present(screen);
 
                 frame.computeFrameRate(lastTime, Math.max(lastTime + 1, System.nanoTime()));
             }
@@ -0,0 +1,133 @@
+/*
+ * Copyright (C) 2013-2018 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package com.b3dgs.lionengine.graphic.engine;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.LionEngineException;
+
+/**
+ * Triple buffered render state, used to share a snapshot of renderable data between the update thread and the render
+ * thread of a {@link LoopDecoupled} rendering concurrently (see {@link LoopDecoupled#LoopDecoupled(boolean)}).
+ * <p>
+ * The update thread fills {@link #getWrite()} and calls {@link #publish()} once its state is complete. The render
+ * thread reads {@link #getRead()}, which always returns the most recent published state, without blocking the writer.
+ * </p>
+ * <p>
+ * As slots are recycled, the writable state contains stale data from an older frame, and must be fully rewritten
+ * before each publication.
+ * </p>
+ * 
+ * @param <T> The state type.
+ */
+public final class RenderState<T>
+{
+    /** Number of buffers. */
+    private static final int BUFFERS = 3;
+    /** New state flag. */
+    private static final int FLAG_NEW = 4;
+    /** Index mask. */
+    private static final int MASK_INDEX = 3;
+
+    /** States buffer. */
+    private final Object[] states = new Object[BUFFERS];
+    /** Shared slot index with new state flag. */
+    private final AtomicInteger shared = new AtomicInteger(2);
+    /** Write slot index (only accessed by writer). */
+    private int write;
+    /** Read slot index (only accessed by reader). */
+    private int read = 1;
+    /** Published count. */
+    private volatile long published;
+
+    /**
+     * Create render state.
+     * 
+     * @param factory The state factory, called once for each buffer (must not be <code>null</code>).
+     * @throws LionEngineException If invalid argument.
+     */
+    public RenderState(Supplier<T> factory)
+    {
+        super();
+
+        Check.notNull(factory);
+
+        for (int i = 0; i < BUFFERS; i++)
+        {
+            states[i] = factory.get();
+            Check.notNull(states[i]);
+        }
+    }
+
+    /**
+     * Get the state to fill by the update thread.
+     * 
+     * @return The writable state.
+     */
+    @SuppressWarnings("unchecked")
+    public T getWrite()
+    {
+        return (T) states[write];
+    }
+
+    /**
+     * Publish the current writable state, making it available to the render thread.
+     */
+    public void publish()
+    {
+        write = shared.getAndSet(write | FLAG_NEW) & MASK_INDEX;
+        published++;
+    }
+
+    /**
+     * Get the most recent published state, to be used by the render thread.
+     * 
+     * @return The readable state.
+     */
+    @SuppressWarnings("unchecked")
+    public T getRead()
+    {
+        if ((shared.get() & FLAG_NEW) != 0)
+        {
+            read = shared.getAndSet(read) & MASK_INDEX;
+        }
+        return (T) states[read];
+    }
+
+    /**
+     * Check if a state has been published and not yet read.
+     * 
+     * @return <code>true</code> if new state available, <code>false</code> else.
+     */
+    public boolean hasNew()
+    {
+        return (shared.get() & FLAG_NEW) != 0;
+    }
+
+    /**
+     * Get the number of published states.
+     * 
+     * @return The published states count.
+     */
+    public long getPublished()
+    {
+        return published;
+    }
+}
@@ -17,6 +17,9 @@
  */
 package com.b3dgs.lionengine.graphic.engine;
 
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
 import com.b3dgs.lionengine.Check;
 import com.b3dgs.lionengine.Config;
 import com.b3dgs.lionengine.Constant;
@@ -37,6 +40,11 @@ import com.b3dgs.lionengine.graphic.ScreenListener;
  * screen used, the current configuration, input references ({@link #getInputDevice(Class)}), and it includes
  * a standard game loop ({@link #update(double)} and {@link #render(Graphic)}), synchronized to a specified frame rate.
  * <p>
+ * A likely next sequence can be declared with {@link #preload(Class, Object...)}: it is created and its
+ * {@link #loadBackground()} is performed in background while the current sequence is running, and then handed off on
+ * {@link #end(Class, Object...)}.
+ * </p>
+ * <p>
  * This class is Thread-Safe.
  * </p>
  * 
@@ -57,8 +65,20 @@ public abstract class Sequence implements Sequencable, Sequencer, Zooming, TimeC
     private final Loop loop;
     /** Sequence renderer. */
     private final SequenceRenderer renderer;
+    /** Frame profiler. */
+    private final FrameProfiler profiler = new FrameProfiler();
+    /** Update phase id. */
+    private final int phaseUpdate;
+    /** Present phase id. */
+    private final int phasePresent;
+    /** Frame phase id. */
+    private final int phaseFrame;
     /** Source resolution. */
     private final Resolution source;
+    /** Next sequence preloader. */
+    private final SequencePreloader preloader;
+    /** Background loading task, performed once. */
+    private final FutureTask<Void> background = new FutureTask<>(this::loadBackground, null);
     /** Next sequence pointer. */
     private Sequencable nextSequence;
     /** Current frame rate. */
@@ -94,7 +114,7 @@ public abstract class Sequence implements Sequencable, Sequencer, Zooming, TimeC
      * 
      * @param context The context reference (must not be <code>null</code>).
      * @param resolution The resolution source reference (must not be <code>null</code>).
-     * @param loop The loop used (must not be <code>null</code>).
+     * @param loop The loop used (must not be <code>null</code>), ignored if context is a {@link LoopContext}.
      * @throws LionEngineException If invalid arguments.
      */
     protected Sequence(Context context, Resolution resolution, Loop loop)
@@ -107,10 +127,21 @@ public abstract class Sequence implements Sequencable, Sequencer, Zooming, TimeC
 
         this.context = context;
         this.resolution = resolution;
-        this.loop = loop;
+        if (context instanceof LoopContext)
+        {
+            this.loop = ((LoopContext) context).createLoop();
+        }
+        else
+        {
+            this.loop = loop;
+        }
         source = resolution;
         config = context.getConfig();
-        renderer = new SequenceRenderer(context, resolution, this::render);
+        preloader = new SequencePreloader(context);
+        phaseFrame = profiler.register(FrameProfiler.PHASE_FRAME);
+        phaseUpdate = profiler.register(FrameProfiler.PHASE_UPDATE);
+        renderer = new SequenceRenderer(context, resolution, this::render, profiler);
+        phasePresent = profiler.register(FrameProfiler.PHASE_PRESENT);
     }
 
     /**
@@ -118,6 +149,36 @@ public abstract class Sequence implements Sequencable, Sequencer, Zooming, TimeC
      */
     public abstract void load();
 
+    /**
+     * Loading sequence data not depending on screen, such as resources. Called before {@link #load()}, possibly from a
+     * background thread when sequence has been preloaded. Does nothing by default.
+     */
+    protected void loadBackground()
+    {
+        // Nothing by default
+    }
+
+    /**
+     * Release data loaded by {@link #loadBackground()}, called when sequence has been preloaded and then abandoned
+     * without being started. Does nothing by default.
+     */
+    protected void unloadBackground()
+    {
+        // Nothing by default
+    }
+
+    /**
+     * Set the minimum free heap memory to keep, below which next sequence preload is abandoned. Default is a quarter
+     * of maximum heap memory.
+     * 
+     * @param reserve The reserve in bytes (must be positive).
+     * @throws LionEngineException If invalid argument.
+     */
+    public final void setPreloadReserve(long reserve)
+    {
+        preloader.setReserve(reserve);
+    }
+
     /**
      * Set the filter to use.
      * 
@@ -128,6 +189,33 @@ public abstract class Sequence implements Sequencable, Sequencer, Zooming, TimeC
         renderer.setFilter(filter);
     }
 
+    /**
+     * Get the frame profiler, recording each frame phase duration.
+     * 
+     * @return The frame profiler.
+     */
+    public final FrameProfiler getProfiler()
+    {
+        return profiler;
+    }
+
+    /**
+     * Set the profiler overlay visibility, displaying phases durations on top of screen.
+     * 
+     * @param visible <code>true</code> to display overlay, <code>false</code> else.
+     */
+    public final void setProfilerOverlay(boolean visible)
+    {
+        if (visible)
+        {
+            renderer.setOverlay(new FrameProfilerOverlay(profiler));
+        }
+        else
+        {
+            renderer.setOverlay(null);
+        }
+    }
+
     /**
      * Get main frame location x.
      * 
@@ -180,6 +268,58 @@ public abstract class Sequence implements Sequencable, Sequencer, Zooming, TimeC
         // Nothing by default
     }
 
+    /**
+     * Dispose abandoned preloaded sequence, once its background loading is over. Background loading is cancelled if
+     * not started, else loaded data are released with {@link #unloadBackground()}.
+     */
+    final void disposePreloaded()
+    {
+        if (!background.cancel(false))
+        {
+            try
+            {
+                background.get();
+                unloadBackground();
+            }
+            catch (final InterruptedException exception)
+            {
+                Thread.currentThread().interrupt();
+                throw new LionEngineException(exception);
+            }
+            catch (@SuppressWarnings("unused") final ExecutionException exception)
+            {
+                // Nothing loaded to release
+            }
+        }
+    }
+
+    /**
+     * Perform background loading if not already done, or wait for its end.
+     * 
+     * @throws LionEngineException If background loading failed.
+     */
+    final void runLoadBackground()
+    {
+        background.run();
+        try
+        {
+            background.get();
+        }
+        catch (final InterruptedException exception)
+        {
+            Thread.currentThread().interrupt();
+            throw new LionEngineException(exception);
+        }
+        catch (final ExecutionException exception)
+        {
+            if (exception.getCause() instanceof LionEngineException)
+            {
+                throw (LionEngineException) exception.getCause();
+            }
+            throw new LionEngineException(exception.getCause());
+        }
+    }
+
     /**
      * Compute the frame rate depending of the game loop speed.
      * 
@@ -213,6 +353,7 @@ public abstract class Sequence implements Sequencable, Sequencer, Zooming, TimeC
         currentFrameRate = config.getOutput().getRate();
         screen.requestFocus();
 
+        runLoadBackground();
         load();
         onLoaded(Constant.EXTRP, screen.getGraphic());
 
@@ -225,7 +366,9 @@ public abstract class Sequence implements Sequencable, Sequencer, Zooming, TimeC
             @Override
             public void update(double extrp)
             {
+                final long start = System.nanoTime();
                 Sequence.this.update(extrp);
+                profiler.record(phaseUpdate, start);
             }
 
             @Override
@@ -234,9 +377,18 @@ public abstract class Sequence implements Sequencable, Sequencer, Zooming, TimeC
                 renderer.render();
             }
 
+            @Override
+            public void present(Screen output)
+            {
+                final long start = System.nanoTime();
+                output.update();
+                profiler.record(phasePresent, start);
+            }
+
             @Override
             public void computeFrameRate(long lastTime, long currentTime)
             {
+                profiler.recordDuration(phaseFrame, currentTime - lastTime);
                 Sequence.this.computeFrameRate(updateFpsTimer, lastTime, currentTime);
             }
         });
@@ -246,6 +398,7 @@ public abstract class Sequence implements Sequencable, Sequencer, Zooming, TimeC
     @Override
     public final void end()
     {
+        preloader.abandon();
         loop.stop();
     }
 
@@ -254,10 +407,24 @@ public abstract class Sequence implements Sequencable, Sequencer, Zooming, TimeC
     {
         Check.notNull(nextSequenceClass);
 
-        nextSequence = UtilSequence.create(nextSequenceClass, context, arguments);
+        final Sequencable preloaded = preloader.take(nextSequenceClass, arguments);
+        if (preloaded != null)
+        {
+            nextSequence = preloaded;
+        }
+        else
+        {
+            nextSequence = UtilSequence.create(nextSequenceClass, context, arguments);
+        }
         loop.stop();
     }
 
+    @Override
+    public final void preload(Class<? extends Sequencable> nextSequenceClass, Object... arguments)
+    {
+        preloader.preload(nextSequenceClass, arguments);
+    }
+
     @Override
     public final void addKeyListener(InputDeviceKeyListener listener)
     {
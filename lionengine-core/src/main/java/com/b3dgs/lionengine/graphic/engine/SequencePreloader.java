@@ -0,0 +1,313 @@
+/*
+ * Copyright (C) 2013-2018 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package com.b3dgs.lionengine.graphic.engine;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.Context;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Verbose;
+
+/**
+ * Create and preload a likely next sequence in background, while the current one is still running.
+ * <p>
+ * Preload is abandoned if free heap memory is below the configured reserve, before starting or once loaded, or if
+ * another sequence is finally requested. Abandoned sequence is disposed once its background loading is over.
+ * </p>
+ * <p>
+ * This class is Thread-Safe.
+ * </p>
+ */
+final class SequencePreloader
+{
+    /** Default reserve ratio of maximum heap memory. */
+    static final double DEFAULT_RESERVE_RATIO = 0.25;
+    /** Preload start. */
+    private static final String PRELOAD_START = "Preloading sequence: ";
+    /** Preload abandoned. */
+    private static final String PRELOAD_ABANDONED = "Preload abandoned (low memory): ";
+    /** Preload failed. */
+    private static final String PRELOAD_FAILED = "Preload failed: ";
+
+    /**
+     * Get the available heap memory.
+     * 
+     * @return The available memory in bytes.
+     */
+    static long getAvailableMemory()
+    {
+        final Runtime runtime = Runtime.getRuntime();
+        return runtime.maxMemory() - (runtime.totalMemory() - runtime.freeMemory());
+    }
+
+    /** Context reference. */
+    private final Context context;
+    /** Minimum free memory to keep in bytes. */
+    private volatile long reserve = (long) (Runtime.getRuntime().maxMemory() * DEFAULT_RESERVE_RATIO);
+    /** Preloaded sequence class, <code>null</code> if none. */
+    private Class<? extends Sequencable> type;
+    /** Preloaded sequence arguments. */
+    private Object[] arguments;
+    /** Preloaded sequence instance, completed once created. */
+    private CompletableFuture<Sequencable> sequence;
+    /** Preloaded sequence instance, completed once background loading is over (<code>null</code> if failed). */
+    private CompletableFuture<Sequencable> loaded;
+
+    /**
+     * Create preloader.
+     * 
+     * @param context The context reference (must not be <code>null</code>).
+     * @throws LionEngineException If invalid argument.
+     */
+    SequencePreloader(Context context)
+    {
+        super();
+
+        Check.notNull(context);
+
+        this.context = context;
+    }
+
+    /**
+     * Set the minimum free heap memory to keep, below which preload is abandoned.
+     * 
+     * @param reserve The reserve in bytes (must be positive).
+     * @throws LionEngineException If invalid argument.
+     */
+    void setReserve(long reserve)
+    {
+        Check.superiorOrEqual(reserve, 0L);
+
+        this.reserve = reserve;
+    }
+
+    /**
+     * Start to preload a sequence in background. Replaces any previous preload.
+     * 
+     * @param nextSequenceClass The next sequence class reference (must not be <code>null</code>).
+     * @param arguments The sequence arguments list if needed by its constructor (must not be <code>null</code>).
+     * @throws LionEngineException If invalid arguments.
+     */
+    synchronized void preload(Class<? extends Sequencable> nextSequenceClass, Object... arguments)
+    {
+        Check.notNull(nextSequenceClass);
+        Check.notNull(arguments);
+
+        if (matches(nextSequenceClass, arguments))
+        {
+            return;
+        }
+        abandon();
+        if (getAvailableMemory() < reserve)
+        {
+            Verbose.info(PRELOAD_ABANDONED, nextSequenceClass.getName());
+            return;
+        }
+
+        final CompletableFuture<Sequencable> future = new CompletableFuture<>();
+        final CompletableFuture<Sequencable> done = new CompletableFuture<>();
+        type = nextSequenceClass;
+        this.arguments = arguments.clone();
+        sequence = future;
+        loaded = done;
+
+        final Thread thread = new Thread(() -> run(future, done, nextSequenceClass, arguments),
+                                         PRELOAD_START + nextSequenceClass.getName());
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Take the preloaded sequence if matching the requested one. Waits for its creation if still in progress,
+     * remaining resources loading is awaited by the sequence on start. Abandons preload if not matching.
+     * 
+     * @param nextSequenceClass The requested sequence class.
+     * @param arguments The requested sequence arguments.
+     * @return The preloaded sequence, <code>null</code> if none matching or preload abandoned.
+     */
+    synchronized Sequencable take(Class<? extends Sequencable> nextSequenceClass, Object... arguments)
+    {
+        if (!matches(nextSequenceClass, arguments))
+        {
+            abandon();
+            return null;
+        }
+        final CompletableFuture<Sequencable> future = sequence;
+        clear();
+        try
+        {
+            return future.get();
+        }
+        catch (final InterruptedException exception)
+        {
+            Thread.currentThread().interrupt();
+            throw new LionEngineException(exception);
+        }
+        catch (@SuppressWarnings("unused") final ExecutionException exception)
+        {
+            return null;
+        }
+    }
+
+    /**
+     * Abandon current preload if has. The background loading is not interrupted, its result is disposed once over.
+     */
+    synchronized void abandon()
+    {
+        if (sequence != null)
+        {
+            sequence.cancel(false);
+            loaded.thenAccept(SequencePreloader::dispose);
+        }
+        clear();
+    }
+
+    /**
+     * Check if a sequence is currently preloaded.
+     * 
+     * @return <code>true</code> if preloaded, <code>false</code> else.
+     */
+    synchronized boolean isPreloading()
+    {
+        return sequence != null;
+    }
+
+    /**
+     * Check if requested sequence matches the preloaded one.
+     * 
+     * @param nextSequenceClass The requested sequence class.
+     * @param arguments The requested sequence arguments.
+     * @return <code>true</code> if matching, <code>false</code> else.
+     */
+    private boolean matches(Class<? extends Sequencable> nextSequenceClass, Object... arguments)
+    {
+        return sequence != null
+               && !sequence.isCancelled()
+               && type.equals(nextSequenceClass)
+               && Arrays.equals(this.arguments, arguments);
+    }
+
+    /**
+     * Clear preload state.
+     */
+    private void clear()
+    {
+        type = null;
+        arguments = null;
+        sequence = null;
+        loaded = null;
+    }
+
+    /**
+     * Dispose abandoned sequence.
+     * 
+     * @param abandoned The abandoned sequence (<code>null</code> if creation failed).
+     */
+    private static void dispose(Sequencable abandoned)
+    {
+        if (abandoned instanceof Sequence)
+        {
+            try
+            {
+                ((Sequence) abandoned).disposePreloaded();
+            }
+            catch (final LionEngineException exception)
+            {
+                Verbose.exception(exception, PRELOAD_FAILED, abandoned.getClass().getName());
+            }
+        }
+    }
+
+    /**
+     * Abandon preload if it is still the current one.
+     * 
+     * @param future The preload future.
+     */
+    private synchronized void abandon(CompletableFuture<Sequencable> future)
+    {
+        if (sequence == future)
+        {
+            abandon();
+        }
+    }
+
+    /**
+     * Create and preload sequence.
+     * 
+     * @param future The future to complete once created.
+     * @param done The future to complete once background loading is over.
+     * @param nextSequenceClass The sequence class.
+     * @param arguments The sequence arguments.
+     */
+    private void run(CompletableFuture<Sequencable> future,
+                     CompletableFuture<Sequencable> done,
+                     Class<? extends Sequencable> nextSequenceClass,
+                     Object... arguments)
+    {
+        Sequencable next = null;
+        try
+        {
+            next = UtilSequence.create(nextSequenceClass, context, arguments);
+            preload(future, next);
+        }
+        catch (final LionEngineException exception)
+        {
+            Verbose.exception(exception, PRELOAD_FAILED, nextSequenceClass.getName());
+            future.completeExceptionally(exception);
+        }
+        finally
+        {
+            done.complete(next);
+        }
+    }
+
+    /**
+     * Hand off created sequence and perform its background loading, unless already abandoned.
+     * 
+     * @param future The future to complete.
+     * @param next The created sequence.
+     */
+    private void preload(CompletableFuture<Sequencable> future, Sequencable next)
+    {
+        if (!future.complete(next))
+        {
+            return;
+        }
+        final String name = next.getClass().getName();
+        if (next instanceof Sequence)
+        {
+            try
+            {
+                ((Sequence) next).runLoadBackground();
+            }
+            catch (final LionEngineException exception)
+            {
+                // Rethrown by the sequence on start
+                Verbose.exception(exception, PRELOAD_FAILED, name);
+            }
+        }
+        if (getAvailableMemory() < reserve)
+        {
+            Verbose.info(PRELOAD_ABANDONED, name);
+            abandon(future);
+        }
+    }
+}
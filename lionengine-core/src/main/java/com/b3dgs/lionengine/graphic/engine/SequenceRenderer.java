@@ -43,6 +43,12 @@ final class SequenceRenderer
     private final Config config;
     /** Renderer target. */
     private final Renderable target;
+    /** Profiler reference. */
+    private final FrameProfiler profiler;
+    /** Render phase id. */
+    private final int phaseRender;
+    /** Filter phase id. */
+    private final int phaseFilter;
     /** Source resolution. */
     private Resolution source;
     /** Filter reference. */
@@ -55,6 +61,8 @@ final class SequenceRenderer
     private Screen screen;
     /** Pending cursor visibility. */
     private Boolean cursorVisibility = Boolean.TRUE;
+    /** Overlay rendered on top of screen (<code>null</code> if none). */
+    private Renderable overlay;
 
     /**
      * Constructor base.
@@ -62,19 +70,24 @@ final class SequenceRenderer
      * @param context The context reference (must not be <code>null</code>).
      * @param resolution The resolution source reference (must not be <code>null</code>).
      * @param target The renderer target.
+     * @param profiler The profiler reference (must not be <code>null</code>).
      * @throws LionEngineException If invalid arguments.
      */
-    protected SequenceRenderer(Context context, Resolution resolution, Renderable target)
+    protected SequenceRenderer(Context context, Resolution resolution, Renderable target, FrameProfiler profiler)
     {
         super();
 
         Check.notNull(context);
         Check.notNull(resolution);
+        Check.notNull(profiler);
 
         source = resolution;
         config = context.getConfig();
         graphic = Graphics.createGraphic();
         this.target = target;
+        this.profiler = profiler;
+        phaseRender = profiler.register(FrameProfiler.PHASE_RENDER);
+        phaseFilter = profiler.register(FrameProfiler.PHASE_FILTER);
     }
 
     /**
@@ -98,6 +111,16 @@ final class SequenceRenderer
         transform = getTransform();
     }
 
+    /**
+     * Set the overlay rendered on top of screen, after filtering.
+     * 
+     * @param overlay The overlay reference (<code>null</code> if none).
+     */
+    void setOverlay(Renderable overlay)
+    {
+        this.overlay = overlay;
+    }
+
     /**
      * Initialize resolution.
      * 
@@ -178,15 +201,25 @@ final class SequenceRenderer
         if (screen.isReady())
         {
             final Graphic g = screen.getGraphic();
+            final long start = System.nanoTime();
             if (buf == null)
             {
                 // Direct rendering
                 target.render(g);
+                profiler.record(phaseRender, start);
             }
             else
             {
                 target.render(graphic);
+                final long filtered = System.nanoTime();
+                profiler.recordDuration(phaseRender, filtered - start);
                 g.drawImage(filter.filter(buf), transform, 0, 0);
+                profiler.record(phaseFilter, filtered);
+            }
+            final Renderable current = overlay;
+            if (current != null)
+            {
+                current.render(g);
             }
         }
     }
@@ -37,4 +37,18 @@ public interface Sequencer
      * @throws LionEngineException If sequence is <code>null</code> or cannot be created.
      */
     void end(Class<? extends Sequencable> nextSequenceClass, Object... arguments);
+
+    /**
+     * Declare the likely next sequence, created and preloaded in background while current sequence is running. It is
+     * handed off by {@link #end(Class, Object...)} if called with the same class and arguments, else abandoned and
+     * disposed. Preload is also abandoned if free memory is below the reserve. Does nothing by default.
+     * 
+     * @param nextSequenceClass The next sequence class reference (must not be <code>null</code>).
+     * @param arguments The sequence arguments list if needed by its constructor.
+     * @throws LionEngineException If invalid arguments.
+     */
+    default void preload(Class<? extends Sequencable> nextSequenceClass, Object... arguments)
+    {
+        // Nothing by default
+    }
 }
@@ -0,0 +1,266 @@
+/*
+ * Copyright (C) 2013-2018 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package com.b3dgs.lionengine.graphic.raster;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.Constant;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.UtilMath;
+import com.b3dgs.lionengine.graphic.ColorRgba;
+import com.b3dgs.lionengine.graphic.Graphics;
+import com.b3dgs.lionengine.graphic.ImageBuffer;
+import com.b3dgs.lionengine.graphic.Transparency;
+
+/**
+ * On demand raster variants of a surface, computed when first requested and kept in a least recently used cache.
+ * <p>
+ * Raster index follows {@link RasterImage} layout (from <code>0</code> to {@link RasterImage#MAX_RASTERS_R}), smooth
+ * indexes sharing the same variant as their non smooth equivalent.
+ * </p>
+ * <p>
+ * Variants are computed either from a per channel lookup table applied scanline by scanline, or with
+ * {@link Graphics#getRasterBuffer(ImageBuffer, double, double, double)}. Evicted variants are only released, not
+ * disposed, as they may still be rendered by their last user.
+ * </p>
+ * <p>
+ * This class is Thread-Safe.
+ * </p>
+ * 
+ * @param <T> The variant type, created from the variant surface.
+ */
+public final class RasterCache<T>
+{
+    /**
+     * Default capacity, a third of all variants, enough for the few neighbour bands usually rendered at once. Users
+     * rendering all bands each frame should use {@link RasterImage#MAX_RASTERS} with {@link #setCapacity(int)}.
+     */
+    public static final int DEFAULT_CAPACITY = RasterImage.MAX_RASTERS / 3;
+    /** Channel values. */
+    private static final int CHANNEL = 256;
+
+    /**
+     * Create the channel lookup table.
+     * 
+     * @param factor The channel factor.
+     * @return The lookup table.
+     */
+    private static int[] createTable(double factor)
+    {
+        final int[] table = new int[CHANNEL];
+        for (int i = 0; i < CHANNEL; i++)
+        {
+            table[i] = (int) UtilMath.clamp(i * factor, 0, 255);
+        }
+        return table;
+    }
+
+    /**
+     * Create rastered surface by applying lookup tables. Source pixels are read at once, and written at once into a
+     * new destination buffer, without copying the surface first.
+     * 
+     * @param surface The original surface.
+     * @param red The red table.
+     * @param green The green table.
+     * @param blue The blue table.
+     * @return The rastered surface.
+     */
+    private static ImageBuffer multiply(ImageBuffer surface, int[] red, int[] green, int[] blue)
+    {
+        final int width = surface.getWidth();
+        final int height = surface.getHeight();
+        final int[] pixels = surface.getRgb(0, 0, width, height, new int[width * height], 0, width);
+        for (int i = 0; i < pixels.length; i++)
+        {
+            final int rgb = pixels[i];
+            if (rgb != 0)
+            {
+                // CHECKSTYLE IGNORE LINE: BooleanExpressionComplexity|TrailingComment
+                pixels[i] = rgb & 0xFF000000
+                            | red[rgb >> Constant.BYTE_3 & 0xFF] << Constant.BYTE_3
+                            | green[rgb >> Constant.BYTE_2 & 0xFF] << Constant.BYTE_2
+                            | blue[rgb >> Constant.BYTE_1 & 0xFF] << Constant.BYTE_1;
+            }
+        }
+        final ImageBuffer raster;
+        if (surface.getTransparency() == Transparency.OPAQUE)
+        {
+            raster = Graphics.createImageBuffer(width, height);
+        }
+        else
+        {
+            raster = Graphics.createImageBuffer(width, height, ColorRgba.TRANSPARENT);
+        }
+        raster.setRgb(0, 0, width, height, pixels, 0, width);
+        return raster;
+    }
+
+    /** Variants by raster index. */
+    private final Map<Integer, T> variants = new LinkedHashMap<>(RasterImage.MAX_RASTERS, 0.75F, true);
+    /** Original surface. */
+    private final ImageBuffer surface;
+    /** Raster data. */
+    private final Raster raster;
+    /** Variant factory. */
+    private final Function<ImageBuffer, T> factory;
+    /** Lookup table usage. */
+    private final boolean lookup;
+    /** Maximum variants kept. */
+    private int capacity = DEFAULT_CAPACITY;
+    /** Computed variants count. */
+    private int computed;
+
+    /**
+     * Create cache.
+     * 
+     * @param surface The original surface (must not be <code>null</code>).
+     * @param raster The raster data (must not be <code>null</code>).
+     * @param lookup <code>true</code> to compute variants with lookup tables, <code>false</code> to use
+     *            {@link Graphics#getRasterBuffer(ImageBuffer, double, double, double)}.
+     * @param factory The variant factory from its surface (must not be <code>null</code>).
+     * @throws LionEngineException If invalid arguments.
+     */
+    public RasterCache(ImageBuffer surface, Raster raster, boolean lookup, Function<ImageBuffer, T> factory)
+    {
+        super();
+
+        Check.notNull(surface);
+        Check.notNull(raster);
+        Check.notNull(factory);
+
+        this.surface = surface;
+        this.raster = raster;
+        this.lookup = lookup;
+        this.factory = factory;
+    }
+
+    /**
+     * Get the raster variant, computing it if not cached.
+     * 
+     * @param index The raster index (must be superior or equal to 0).
+     * @return The raster variant.
+     * @throws LionEngineException If invalid argument.
+     */
+    public synchronized T get(int index)
+    {
+        Check.superiorOrEqual(index, 0);
+
+        final Integer key = Integer.valueOf(index % RasterImage.MAX_RASTERS);
+        T variant = variants.get(key);
+        if (variant == null)
+        {
+            variant = factory.apply(create(key.intValue()));
+            variants.put(key, variant);
+            computed++;
+            evict();
+        }
+        return variant;
+    }
+
+    /**
+     * Set the maximum number of variants kept.
+     * 
+     * @param capacity The capacity (must be strictly positive).
+     * @throws LionEngineException If invalid argument.
+     */
+    public synchronized void setCapacity(int capacity)
+    {
+        Check.superiorStrict(capacity, 0);
+
+        this.capacity = capacity;
+        evict();
+    }
+
+    /**
+     * Release all variants.
+     */
+    public synchronized void clear()
+    {
+        variants.clear();
+    }
+
+    /**
+     * Get the maximum number of variants kept.
+     * 
+     * @return The capacity.
+     */
+    public synchronized int getCapacity()
+    {
+        return capacity;
+    }
+
+    /**
+     * Get the number of variants currently kept.
+     * 
+     * @return The variants count.
+     */
+    public synchronized int getSize()
+    {
+        return variants.size();
+    }
+
+    /**
+     * Get the number of variants computed since creation.
+     * 
+     * @return The computed variants count.
+     */
+    public synchronized int getComputed()
+    {
+        return computed;
+    }
+
+    /**
+     * Create raster variant surface.
+     * 
+     * @param index The raster index.
+     * @return The variant surface.
+     */
+    private ImageBuffer create(int index)
+    {
+        final double fr = RasterImage.getRasterFactor(index, raster.getRed());
+        final double fg = RasterImage.getRasterFactor(index, raster.getGreen());
+        final double fb = RasterImage.getRasterFactor(index, raster.getBlue());
+
+        final ImageBuffer variant;
+        if (lookup)
+        {
+            variant = multiply(surface, createTable(fr), createTable(fg), createTable(fb));
+        }
+        else
+        {
+            surface.prepare();
+            variant = Graphics.getRasterBuffer(surface, fr, fg, fb);
+        }
+        variant.prepare();
+        return variant;
+    }
+
+    /**
+     * Release least recently used variants while above capacity.
+     */
+    private void evict()
+    {
+        while (variants.size() > capacity)
+        {
+            variants.remove(variants.keySet().iterator().next());
+        }
+    }
+}
@@ -20,6 +20,7 @@ package com.b3dgs.lionengine.graphic.raster;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Function;
 
 import com.b3dgs.lionengine.Check;
 import com.b3dgs.lionengine.Constant;
@@ -35,6 +36,10 @@ import com.b3dgs.lionengine.graphic.ImageFormat;
 
 /**
  * Represents a rastered image.
+ * <p>
+ * Rasters can be all loaded with {@link #loadRasters(int)}, or computed on demand with
+ * {@link #createCache(boolean, Function)}.
+ * </p>
  */
 public class RasterImage
 {
@@ -53,7 +58,7 @@ public class RasterImage
      * @return The rastered color.
      * @throws LionEngineException If invalid arguments.
      */
-    private static double getRasterFactor(int i, RasterData data)
+    static double getRasterFactor(int i, RasterData data)
     {
         Check.notNull(data);
 
@@ -156,6 +161,21 @@ public class RasterImage
         }
     }
 
+    /**
+     * Create an on demand raster cache of the image, instead of loading all rasters.
+     * 
+     * @param <T> The variant type.
+     * @param lookup <code>true</code> to compute variants with lookup tables, <code>false</code> to use
+     *            {@link Graphics#getRasterBuffer(ImageBuffer, double, double, double)}.
+     * @param factory The variant factory from its surface (must not be <code>null</code>).
+     * @return The raster cache.
+     * @throws LionEngineException If invalid argument or the raster data from the media are invalid.
+     */
+    public <T> RasterCache<T> createCache(boolean lookup, Function<ImageBuffer, T> factory)
+    {
+        return new RasterCache<>(surface, Raster.load(rasterFile), lookup, factory);
+    }
+
     /**
      * Get the raster file.
      * 
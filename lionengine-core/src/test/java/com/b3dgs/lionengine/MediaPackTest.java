@@ -0,0 +1,292 @@
+/*
+ * Copyright (C) 2013-2018 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package com.b3dgs.lionengine;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertFalse;
+import static com.b3dgs.lionengine.UtilAssert.assertThrows;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test {@link MediaPack} and {@link FactoryMediaPack}.
+ */
+public final class MediaPackTest
+{
+    /** Packed folder. */
+    private static File folder;
+    /** Pack file. */
+    private static File packFile;
+    /** Pack reference. */
+    private static MediaPack pack;
+
+    /**
+     * Write file content.
+     * 
+     * @param path The file path relative to folder.
+     * @param content The file content.
+     * @throws IOException If error.
+     */
+    private static void write(String path, String content) throws IOException
+    {
+        final File file = new File(folder, path.replace(MediaPack.SEPARATOR, File.separator));
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Read buffer content.
+     * 
+     * @param buffer The buffer to read.
+     * @return The content.
+     */
+    private static String read(ByteBuffer buffer)
+    {
+        final byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Prepare tests.
+     * 
+     * @throws IOException If error.
+     */
+    @BeforeAll
+    public static void beforeTests() throws IOException
+    {
+        folder = Files.createTempDirectory("pack").toFile();
+        write("a.txt", "alpha");
+        write("dir/b.txt", "bravo");
+        write("dir/c.png", "charlie");
+        write("dir/sub/d.txt", "delta");
+        write("dir-e.txt", "echo");
+        write("empty.txt", "");
+
+        packFile = File.createTempFile("pack", ".pack");
+        MediaPack.write(folder, packFile);
+        pack = new MediaPack(packFile);
+    }
+
+    /**
+     * Clean up tests.
+     * 
+     * @throws IOException If error.
+     */
+    @AfterAll
+    public static void afterTests() throws IOException
+    {
+        pack.close();
+        UtilFile.deleteFile(packFile);
+        UtilFolder.deleteDirectory(folder);
+    }
+
+    /**
+     * Test get content.
+     */
+    @Test
+    public void testGet()
+    {
+        assertEquals(6, pack.getSize());
+        assertEquals(packFile, pack.getFile());
+        assertEquals("alpha", read(pack.get("a.txt").get()));
+        assertEquals("bravo", read(pack.get("dir/b.txt").get()));
+        assertEquals("delta", read(pack.get("dir/sub/d.txt").get()));
+        assertEquals("echo", read(pack.get("dir-e.txt").get()));
+        assertEquals("", read(pack.get("empty.txt").get()));
+        assertFalse(pack.get("dir").isPresent());
+        assertFalse(pack.get("b.txt").isPresent());
+        assertFalse(pack.get("z.txt").isPresent());
+
+        final ByteBuffer buffer = pack.get("a.txt").get();
+        assertTrue(buffer.isReadOnly());
+        assertEquals(5, buffer.remaining());
+    }
+
+    /**
+     * Test directories.
+     */
+    @Test
+    public void testDirectories()
+    {
+        assertTrue(pack.contains("dir/c.png"));
+        assertFalse(pack.contains("dir"));
+        assertTrue(pack.isDirectory("dir"));
+        assertTrue(pack.isDirectory("dir/"));
+        assertTrue(pack.isDirectory("dir/sub"));
+        assertTrue(pack.isDirectory(""));
+        assertFalse(pack.isDirectory("di"));
+        assertFalse(pack.isDirectory("a.txt"));
+
+        assertEquals(Arrays.asList("dir/b.txt", "dir/c.png", "dir/sub"), pack.list("dir"));
+        assertEquals(Arrays.asList("a.txt", "dir", "dir-e.txt", "empty.txt"), pack.list(""));
+        assertEquals(Collections.emptyList(), pack.list("none"));
+    }
+
+    /**
+     * Test invalid pack.
+     * 
+     * @throws IOException If error.
+     */
+    @Test
+    public void testInvalid() throws IOException
+    {
+        final File file = File.createTempFile("invalid", ".pack");
+        Files.write(file.toPath(), "invalid".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(() -> new MediaPack(file), MediaPack.ERROR_PACK + file.getPath());
+        assertThrows(() -> MediaPack.write(file, packFile), MediaDefault.ERROR_PATH_DIR + file.getPath());
+
+        UtilFile.deleteFile(file);
+    }
+
+    /**
+     * Test corrupted packs are rejected on opening.
+     * 
+     * @throws IOException If error.
+     */
+    @Test
+    public void testCorrupted() throws IOException
+    {
+        final int header = 16;
+
+        // Negative entries count
+        assertCorrupted(header - 8, -1, false);
+        // Paths table beyond file
+        assertCorrupted(header - 4, Integer.MAX_VALUE, false);
+        // Path beyond paths table
+        assertCorrupted(header, Integer.MAX_VALUE, false);
+        // Negative path length
+        assertCorrupted(header + 4, -1, false);
+        // Content before data
+        assertCorrupted(header + 8, 0L, true);
+        // Content beyond file, including huge length
+        assertCorrupted(header + 16, 1L << 40, true);
+        assertCorrupted(header + 16, Long.MAX_VALUE, true);
+        assertCorrupted(header + 16, -1L, true);
+        // Unsorted entries (first entry path "a.txt" moved inside "dir/b.txt", after second entry "dir-e.txt")
+        assertCorrupted(header, "a.txtdir-e.txt".length(), false);
+    }
+
+    /**
+     * Check that a pack with a patched value is rejected.
+     * 
+     * @param offset The patched offset.
+     * @param value The patched value.
+     * @param wide <code>true</code> to patch a <code>long</code>, <code>false</code> to patch an <code>int</code>.
+     * @throws IOException If error.
+     */
+    private static void assertCorrupted(int offset, long value, boolean wide) throws IOException
+    {
+        final File file = File.createTempFile("corrupted", ".pack");
+        final ByteBuffer content = ByteBuffer.wrap(Files.readAllBytes(packFile.toPath()));
+        if (wide)
+        {
+            content.putLong(offset, value);
+        }
+        else
+        {
+            content.putInt(offset, (int) value);
+        }
+        Files.write(file.toPath(), content.array());
+        try
+        {
+            assertThrows(() -> new MediaPack(file).close(), MediaPack.ERROR_PACK + file.getPath());
+        }
+        finally
+        {
+            UtilFile.deleteFile(file);
+        }
+    }
+
+    /**
+     * Test media factory.
+     * 
+     * @throws IOException If error.
+     */
+    @Test
+    public void testFactory() throws IOException
+    {
+        final File loose = Files.createTempDirectory("loose").toFile();
+        final String oldDir = Medias.getResourcesDirectory();
+        final FactoryMediaPack factory = new FactoryMediaPack(pack);
+        Medias.setFactoryMedia(factory);
+        Medias.setResourcesDirectory(loose.getAbsolutePath());
+        try
+        {
+            assertEquals(pack, factory.getPack());
+
+            final Media media = Medias.create("dir", "b.txt");
+            assertTrue(media.exists());
+            assertEquals("b.txt", media.getName());
+            assertEquals(Medias.create("dir", "b.txt"), media);
+            try (InputStream input = media.getInputStream())
+            {
+                assertEquals(5, input.available());
+                assertEquals('b', input.read());
+                assertEquals(1L, input.skip(1L));
+                final byte[] bytes = new byte[8];
+                assertEquals(3, input.read(bytes, 0, bytes.length));
+                assertEquals(-1, input.read(bytes, 0, bytes.length));
+                assertEquals(-1, input.read());
+            }
+
+            final Media folderMedia = Medias.create("dir");
+            assertTrue(folderMedia.exists());
+            assertEquals(Arrays.asList("b.txt", "c.png", "sub"),
+                         folderMedia.getMedias().stream().map(Media::getName).collect(Collectors.toList()));
+
+            final List<Media> png = Medias.getByExtension("png", folderMedia);
+            assertEquals(Arrays.asList(Medias.create("dir", "c.png")), png);
+
+            final Media out = Medias.create("out.txt");
+            assertFalse(out.exists());
+            try (OutputStream output = out.getOutputStream())
+            {
+                output.write(1);
+            }
+            assertTrue(out.exists());
+            try (InputStream input = out.getInputStream())
+            {
+                assertEquals(1, input.read());
+            }
+            assertEquals(new File(loose, "out.txt"), out.getFile());
+        }
+        finally
+        {
+            Medias.setFactoryMedia(new FactoryMediaDefault());
+            Medias.setResourcesDirectory(oldDir);
+            UtilFolder.deleteDirectory(loose);
+        }
+    }
+}
@@ -22,10 +22,17 @@ import static com.b3dgs.lionengine.UtilAssert.assertFalse;
 import static com.b3dgs.lionengine.UtilAssert.assertNotNull;
 import static com.b3dgs.lionengine.UtilAssert.assertNull;
 import static com.b3dgs.lionengine.UtilAssert.assertThrows;
+import static com.b3dgs.lionengine.UtilAssert.assertThrowsTimeout;
 import static com.b3dgs.lionengine.UtilAssert.assertTimeout;
 import static com.b3dgs.lionengine.UtilAssert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.jupiter.api.AfterAll;
@@ -129,7 +136,8 @@ public final class ResourceLoaderTest
         final ResourceLoader<Type> resourceLoader = new ResourceLoader<>();
         resourceLoader.start();
 
-        assertThrows(() -> resourceLoader.add(Type.TEST, new SlowResource()), ResourceLoader.ERROR_STARTED);
+        assertThrows(() -> resourceLoader.add(Type.TEST, new SlowResource(Constant.THOUSAND)),
+                     ResourceLoader.ERROR_STARTED);
     }
 
     /**
@@ -141,7 +149,7 @@ public final class ResourceLoaderTest
         final ResourceLoader<Type> resourceLoader = new ResourceLoader<>();
         resourceLoader.start();
 
-        assertThrows(() -> resourceLoader.add(null, new SlowResource()), Check.ERROR_NULL);
+        assertThrows(() -> resourceLoader.add(null, new SlowResource(Constant.THOUSAND)), Check.ERROR_NULL);
     }
 
     /**
@@ -173,7 +181,7 @@ public final class ResourceLoaderTest
                 startedLatch.countDown();
 
                 final ResourceLoader<Type> resourceLoader = new ResourceLoader<>();
-                resourceLoader.add(Type.TEST, new SlowResource());
+                resourceLoader.add(Type.TEST, new SlowResource(Constant.THOUSAND));
                 resourceLoader.start();
                 resourceLoader.await();
             }
@@ -198,32 +206,215 @@ public final class ResourceLoaderTest
         assertTimeout(1_000L, () -> ResourceLoader.ERROR_SKIPPED.equals(exception.get().getMessage()));
     }
 
+    /**
+     * Test dependencies are loaded before dependents.
+     */
+    @Test
+    public void testDependencies()
+    {
+        final List<Type> order = Collections.synchronizedList(new ArrayList<>());
+        final ResourceLoader<Type> resourceLoader = new ResourceLoader<>(4);
+        resourceLoader.add(Type.COLLISION, new OrderResource(Type.COLLISION, order));
+        resourceLoader.add(Type.SHEET, new OrderResource(Type.SHEET, order));
+        resourceLoader.add(Type.TEST, new OrderResource(Type.TEST, order));
+        resourceLoader.addDependency(Type.COLLISION, Type.SHEET);
+        resourceLoader.addDependency(Type.COLLISION, Type.TEST);
+        resourceLoader.start();
+        resourceLoader.await();
+
+        assertEquals(3, order.size());
+        assertEquals(Type.COLLISION, order.get(2));
+        assertEquals(3, resourceLoader.getLoaded());
+        assertEquals(3, resourceLoader.getTotal());
+    }
+
+    /**
+     * Test independent resources are loaded in parallel.
+     */
+    @Test
+    public void testParallel()
+    {
+        final CountDownLatch latch = new CountDownLatch(2);
+        final ResourceLoader<Type> resourceLoader = new ResourceLoader<>(2);
+        resourceLoader.add(Type.SHEET, new LatchResource(latch));
+        resourceLoader.add(Type.TEST, new LatchResource(latch));
+        resourceLoader.start();
+        resourceLoader.await();
+
+        assertEquals(0L, latch.getCount());
+        assertTrue(resourceLoader.isFinished());
+    }
+
+    /**
+     * Test priority order, with inherited priority.
+     */
+    @Test
+    public void testPriority()
+    {
+        final List<Type> order = Collections.synchronizedList(new ArrayList<>());
+        final ResourceLoader<Type> resourceLoader = new ResourceLoader<>(1);
+        resourceLoader.add(Type.TEST, new OrderResource(Type.TEST, order), ResourcePriority.BACKGROUND);
+        resourceLoader.add(Type.SHEET, new OrderResource(Type.SHEET, order), ResourcePriority.BACKGROUND);
+        resourceLoader.add(Type.COLLISION, new OrderResource(Type.COLLISION, order), ResourcePriority.FIRST_FRAME);
+        resourceLoader.addDependency(Type.COLLISION, Type.SHEET);
+        resourceLoader.start();
+        resourceLoader.await(ResourcePriority.FIRST_FRAME);
+
+        assertEquals(Arrays.asList(Type.SHEET, Type.COLLISION), order.subList(0, 2));
+
+        resourceLoader.await();
+
+        assertEquals(Arrays.asList(Type.SHEET, Type.COLLISION, Type.TEST), order);
+    }
+
+    /**
+     * Test listener progress and durations.
+     */
+    @Test
+    public void testListener()
+    {
+        final AtomicInteger progress = new AtomicInteger();
+        final ResourceLoader<Type> resourceLoader = new ResourceLoader<>();
+        resourceLoader.add(Type.SHEET, new SlowResource(10));
+        resourceLoader.add(Type.TEST, new SlowResource(10));
+        resourceLoader.addListener((key, resource, duration, loaded, total) ->
+        {
+            assertTrue(duration > 0L);
+            assertEquals(2, total);
+            progress.accumulateAndGet(loaded, Math::max);
+        });
+        resourceLoader.start();
+        resourceLoader.await();
+
+        assertEquals(2, progress.get());
+        assertEquals(2, resourceLoader.getDurations().size());
+        assertTrue(resourceLoader.getDurations().get(Type.SHEET).longValue() >= TimeUnit.MILLISECONDS.toNanos(10L));
+    }
+
+    /**
+     * Test cancel skips pending resources.
+     */
+    @Test
+    public void testCancel()
+    {
+        final List<Type> order = Collections.synchronizedList(new ArrayList<>());
+        final ResourceLoader<Type> resourceLoader = new ResourceLoader<>(1);
+        resourceLoader.add(Type.SHEET, new SlowResource(100));
+        resourceLoader.add(Type.TEST, new OrderResource(Type.TEST, order));
+        resourceLoader.start();
+        resourceLoader.cancel();
+
+        assertThrows(() -> resourceLoader.await(), ResourceLoader.ERROR_CANCELED);
+        assertTrue(resourceLoader.isCanceled());
+        assertFalse(resourceLoader.isFinished());
+        assertTrue(order.isEmpty());
+        assertThrows(() -> resourceLoader.get(), ResourceLoader.ERROR_NOT_FINISHED);
+    }
+
+    /**
+     * Test resource failure.
+     */
+    @Test
+    public void testFailure()
+    {
+        final ResourceLoader<Type> resourceLoader = new ResourceLoader<>();
+        resourceLoader.add(Type.TEST, new SlowResource(0)
+        {
+            @Override
+            public void load()
+            {
+                throw new LionEngineException("fail");
+            }
+        });
+        resourceLoader.start();
+
+        assertThrows(() -> resourceLoader.await(), ResourceLoader.ERROR_FAILED);
+        assertTrue(resourceLoader.isCanceled());
+    }
+
+    /**
+     * Test listener failure releases loading.
+     */
+    @Test
+    public void testListenerFailure()
+    {
+        final ResourceLoader<Type> resourceLoader = new ResourceLoader<>();
+        resourceLoader.add(Type.TEST, new SlowResource(0));
+        resourceLoader.addListener((key, resource, duration, loaded, total) ->
+        {
+            throw new LionEngineException("fail");
+        });
+        resourceLoader.start();
+
+        assertThrowsTimeout(1000L, () -> resourceLoader.await(), ResourceLoader.ERROR_FAILED);
+        assertTrue(resourceLoader.isCanceled());
+    }
+
+    /**
+     * Test unknown dependency.
+     */
+    @Test
+    public void testUnknownDependency()
+    {
+        final ResourceLoader<Type> resourceLoader = new ResourceLoader<>();
+        resourceLoader.add(Type.TEST, new SlowResource(0));
+        resourceLoader.addDependency(Type.TEST, Type.SHEET);
+
+        assertThrows(() -> resourceLoader.start(), ResourceLoader.ERROR_DEPENDENCY + Type.SHEET);
+    }
+
+    /**
+     * Test dependencies cycle.
+     */
+    @Test
+    public void testCycle()
+    {
+        final ResourceLoader<Type> resourceLoader = new ResourceLoader<>();
+        resourceLoader.add(Type.TEST, new SlowResource(0));
+        resourceLoader.add(Type.SHEET, new SlowResource(0));
+        resourceLoader.addDependency(Type.TEST, Type.SHEET);
+        resourceLoader.addDependency(Type.SHEET, Type.TEST);
+
+        assertThrows(() -> resourceLoader.start(), ResourceLoader.ERROR_CYCLE);
+    }
+
     /**
      * Test type.
      */
     private static enum Type
     {
         /** Test type. */
-        TEST;
+        TEST,
+        /** Sheet type. */
+        SHEET,
+        /** Collision type. */
+        COLLISION;
     }
 
     /**
      * Slow resource test case.
      */
-    private static final class SlowResource implements Resource
+    private static class SlowResource implements Resource
     {
+        /** Pause duration. */
+        private final long pause;
+
         /**
          * Create resource.
+         * 
+         * @param pause The pause duration in milliseconds.
          */
-        private SlowResource()
+        SlowResource(long pause)
         {
             super();
+
+            this.pause = pause;
         }
 
         @Override
         public void load()
         {
-            UtilTests.pause(Constant.THOUSAND);
+            UtilTests.pause(pause);
         }
 
         @Override
@@ -238,4 +429,72 @@ public final class ResourceLoaderTest
             // Mock
         }
     }
+
+    /**
+     * Resource recording its load order.
+     */
+    private static final class OrderResource extends SlowResource
+    {
+        /** Resource key. */
+        private final Type key;
+        /** Load order. */
+        private final List<Type> order;
+
+        /**
+         * Create resource.
+         * 
+         * @param key The resource key.
+         * @param order The load order.
+         */
+        OrderResource(Type key, List<Type> order)
+        {
+            super(10L);
+
+            this.key = key;
+            this.order = order;
+        }
+
+        @Override
+        public void load()
+        {
+            super.load();
+            order.add(key);
+        }
+    }
+
+    /**
+     * Resource waiting for all latch resources to be loading.
+     */
+    private static final class LatchResource extends SlowResource
+    {
+        /** Shared latch. */
+        private final CountDownLatch latch;
+
+        /**
+         * Create resource.
+         * 
+         * @param latch The shared latch.
+         */
+        LatchResource(CountDownLatch latch)
+        {
+            super(0L);
+
+            this.latch = latch;
+        }
+
+        @Override
+        public void load()
+        {
+            latch.countDown();
+            try
+            {
+                assertTrue(latch.await(5L, TimeUnit.SECONDS));
+            }
+            catch (final InterruptedException exception)
+            {
+                Thread.currentThread().interrupt();
+                throw new LionEngineException(exception);
+            }
+        }
+    }
 }
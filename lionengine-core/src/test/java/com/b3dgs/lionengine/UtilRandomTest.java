@@ -17,11 +17,14 @@
  */
 package com.b3dgs.lionengine;
 
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
 import static com.b3dgs.lionengine.UtilAssert.assertNotNull;
 import static com.b3dgs.lionengine.UtilAssert.assertPrivateConstructor;
 import static com.b3dgs.lionengine.UtilAssert.assertThrows;
 import static com.b3dgs.lionengine.UtilAssert.assertTrue;
 
+import java.util.Random;
+
 import org.junit.jupiter.api.Test;
 
 /**
@@ -54,6 +57,22 @@ public final class UtilRandomTest
         assertTrue(UtilRandom.getRandomInteger(Range.INT_POSITIVE_STRICT) >= 0);
     }
 
+    /**
+     * Test thread random source.
+     */
+    @Test
+    public void testThreadRandom()
+    {
+        UtilRandom.setThreadRandom(new Random(1L));
+        final int first = UtilRandom.getRandomInteger();
+        UtilRandom.setSeed(1L);
+        final int second = UtilRandom.getRandomInteger();
+        UtilRandom.setThreadRandom(null);
+
+        assertEquals(new Random(1L).nextInt(), first);
+        assertEquals(first, second);
+    }
+
     /**
      * Test get random integer with <code>null</code> argument.
      */
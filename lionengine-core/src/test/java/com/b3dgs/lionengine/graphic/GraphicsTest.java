@@ -26,6 +26,9 @@ import static com.b3dgs.lionengine.UtilAssert.assertTrue;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
@@ -183,6 +186,68 @@ public final class GraphicsTest
         imageB.dispose();
     }
 
+    /**
+     * Test get image buffers from medias.
+     */
+    @Test
+    public void testGetImageBuffers()
+    {
+        final Media media = Medias.create("image.png");
+        final List<ImageBuffer> images = Graphics.getImageBuffers(Arrays.asList(media, media));
+
+        assertEquals(2, images.size());
+        assertNotEquals(images.get(0), images.get(1));
+        assertEquals(64, images.get(0).getWidth());
+        assertEquals(32, images.get(1).getHeight());
+
+        images.forEach(ImageBuffer::dispose);
+
+        assertThrows(() -> Graphics.getImageBuffers(Arrays.asList(media, Medias.create("null"))),
+                     "[null] Cannot open the media !");
+    }
+
+    /**
+     * Test get image buffers failure disposes all decoded images, whatever the failure type.
+     */
+    @Test
+    public void testGetImageBuffersFailureDispose()
+    {
+        final AtomicInteger decoded = new AtomicInteger();
+        final AtomicInteger disposed = new AtomicInteger();
+        Graphics.setFactoryGraphic(new FactoryGraphicMock()
+        {
+            @Override
+            public ImageBuffer getImageBuffer(Media media)
+            {
+                if (decoded.getAndIncrement() == 1)
+                {
+                    throw new IllegalStateException("decode");
+                }
+                return new ImageBufferMock(1, 1)
+                {
+                    @Override
+                    public void dispose()
+                    {
+                        disposed.incrementAndGet();
+                    }
+                };
+            }
+        });
+        try
+        {
+            final Media media = Medias.create("image.png");
+
+            assertThrows(() -> Graphics.getImageBuffers(Arrays.asList(media, media, media, media)),
+                         IllegalStateException.class.getName() + ": decode");
+            assertEquals(4, decoded.get());
+            assertEquals(3, disposed.get());
+        }
+        finally
+        {
+            Graphics.setFactoryGraphic(new FactoryGraphicMock());
+        }
+    }
+
     /**
      * Test get image buffer failure with not existing media.
      */
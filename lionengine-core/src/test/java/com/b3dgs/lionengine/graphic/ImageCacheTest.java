@@ -0,0 +1,359 @@
+/*
+ * Copyright (C) 2013-2018 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package com.b3dgs.lionengine.graphic;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertFalse;
+import static com.b3dgs.lionengine.UtilAssert.assertNotEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertThrows;
+import static com.b3dgs.lionengine.UtilAssert.assertTimeout;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.b3dgs.lionengine.FactoryMediaDefault;
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Medias;
+import com.b3dgs.lionengine.Mirror;
+
+/**
+ * Test {@link ImageCache} and {@link ImageKey}.
+ */
+public final class ImageCacheTest
+{
+    /**
+     * Prepare tests.
+     */
+    @BeforeAll
+    public static void beforeTests()
+    {
+        Medias.setFactoryMedia(new FactoryMediaDefault());
+        Medias.setLoadFromJar(ImageCacheTest.class);
+        Graphics.setFactoryGraphic(new FactoryGraphicMock());
+    }
+
+    /**
+     * Clean up tests.
+     */
+    @AfterAll
+    public static void afterTests()
+    {
+        Medias.setLoadFromJar(null);
+        Graphics.setFactoryGraphic(null);
+    }
+
+    /** Image media. */
+    private final Media media = Medias.create("image.png");
+
+    /**
+     * Test shared image acquire and release.
+     */
+    @Test
+    public void testAcquireRelease()
+    {
+        final ImageCache cache = new ImageCache();
+        final ImageBuffer image = cache.acquire(media);
+
+        assertTrue(image == cache.acquire(media));
+        assertEquals(1L, cache.getMisses());
+        assertEquals(1L, cache.getHits());
+        assertEquals(1, cache.getSize());
+        assertEquals(image.getWidth() * image.getHeight() * 4L, cache.getBytes());
+        assertTrue(cache.isCached(image));
+        assertEquals(ImageKey.of(media), cache.getKey(image).get());
+
+        assertTrue(cache.release(image));
+        assertEquals(0, cache.getUnused());
+        assertTrue(cache.release(image));
+        assertEquals(1, cache.getUnused());
+
+        assertTrue(image == cache.acquire(media));
+        assertEquals(0, cache.getUnused());
+
+        final ImageBuffer other = Graphics.createImageBuffer(1, 1);
+        assertFalse(cache.isCached(other));
+        assertFalse(cache.retain(other));
+        assertFalse(cache.release(other));
+        assertFalse(cache.getKey(other).isPresent());
+    }
+
+    /**
+     * Test image is decoded outside of cache lock, and concurrent acquires of the same key share it.
+     * 
+     * @throws InterruptedException If interrupted.
+     */
+    @Test
+    public void testConcurrentAcquire() throws InterruptedException
+    {
+        final CountDownLatch decoding = new CountDownLatch(1);
+        final CountDownLatch decoded = new CountDownLatch(1);
+        Graphics.setFactoryGraphic(new FactoryGraphicMock()
+        {
+            @Override
+            public ImageBuffer getImageBuffer(Media media)
+            {
+                decoding.countDown();
+                try
+                {
+                    decoded.await();
+                }
+                catch (final InterruptedException exception)
+                {
+                    Thread.currentThread().interrupt();
+                }
+                return super.getImageBuffer(media);
+            }
+        });
+        try
+        {
+            final ImageCache cache = new ImageCache();
+            final AtomicReference<ImageBuffer> first = new AtomicReference<>();
+            final AtomicReference<ImageBuffer> second = new AtomicReference<>();
+            final Thread owner = new Thread(() -> first.set(cache.acquire(media)));
+            final Thread waiter = new Thread(() -> second.set(cache.acquire(media)));
+            owner.start();
+            decoding.await();
+
+            assertTimeout(1000L, () -> assertEquals(0, cache.getSize()));
+
+            waiter.start();
+            decoded.countDown();
+            owner.join();
+            waiter.join();
+
+            assertTrue(first.get() != null && first.get() == second.get());
+            assertEquals(1L, cache.getMisses());
+            assertEquals(1, cache.getSize());
+
+            assertTrue(cache.release(first.get()));
+            assertEquals(0, cache.getUnused());
+            assertTrue(cache.release(second.get()));
+            assertEquals(1, cache.getUnused());
+        }
+        finally
+        {
+            Graphics.setFactoryGraphic(new FactoryGraphicMock());
+        }
+    }
+
+    /**
+     * Test derived images sharing.
+     */
+    @Test
+    public void testDerived()
+    {
+        final ImageCache cache = new ImageCache();
+        final ImageKey key = ImageKey.of(media).mask(ColorRgba.PURPLE).stretch(2, 3);
+        final ImageBuffer image = cache.acquire(key);
+
+        assertEquals(2, image.getWidth());
+        assertEquals(3, image.getHeight());
+        assertEquals(3L, cache.getMisses());
+        assertEquals(3, cache.getSize());
+        assertEquals(2, cache.getUnused());
+
+        assertTrue(image == cache.acquire(ImageKey.of(media).mask(ColorRgba.PURPLE).stretch(2, 3)));
+        assertTrue(image != cache.acquire(ImageKey.of(media).mask(ColorRgba.BLACK).stretch(2, 3)));
+        assertEquals(2L, cache.getHits());
+    }
+
+    /**
+     * Test images preload.
+     */
+    @Test
+    public void testPreload()
+    {
+        final ImageCache cache = new ImageCache();
+        cache.preload(Arrays.asList(media, Medias.create("image.png")));
+
+        assertEquals(1, cache.getSize());
+        assertEquals(1, cache.getUnused());
+        assertEquals(1L, cache.getMisses());
+
+        final ImageBuffer image = cache.acquire(media);
+
+        assertEquals(0, cache.getUnused());
+        assertEquals(1L, cache.getHits());
+
+        cache.preload(Arrays.asList(media));
+
+        assertEquals(1L, cache.getMisses());
+        assertTrue(image == cache.acquire(media));
+    }
+
+    /**
+     * Test unused images eviction.
+     */
+    @Test
+    public void testEviction()
+    {
+        final ImageCache cache = new ImageCache();
+        final ImageBuffer image = cache.acquire(media);
+        final ImageBuffer stretched = cache.acquire(ImageKey.of(media).stretch(1, 1));
+
+        cache.setBudget(0L);
+
+        assertEquals(0L, cache.getBudget());
+        assertEquals(2, cache.getSize());
+        assertEquals(0L, cache.getEvictions());
+
+        assertTrue(cache.release(image));
+        assertEquals(1, cache.getSize());
+        assertEquals(1L, cache.getEvictions());
+        assertFalse(cache.isCached(image));
+        assertTrue(cache.isCached(stretched));
+
+        assertTrue(cache.release(stretched));
+        assertEquals(0, cache.getSize());
+        assertEquals(0L, cache.getBytes());
+
+        assertThrows(() -> cache.setBudget(-1L), "Invalid argument: -1.0 is not superior or equal to 0.0");
+    }
+
+    /**
+     * Test clear.
+     */
+    @Test
+    public void testClear()
+    {
+        final ImageCache cache = new ImageCache();
+        final ImageBuffer image = cache.acquire(media);
+        cache.acquire(ImageKey.of(media).stretch(1, 1));
+        assertTrue(cache.release(image));
+
+        cache.clear();
+
+        assertEquals(0, cache.getSize());
+        assertEquals(0, cache.getUnused());
+        assertEquals(0L, cache.getBytes());
+        assertFalse(cache.isCached(image));
+    }
+
+    /**
+     * Test clear while image is being loaded does not cache it.
+     * 
+     * @throws InterruptedException If interrupted.
+     */
+    @Test
+    public void testClearLoading() throws InterruptedException
+    {
+        final CountDownLatch decoding = new CountDownLatch(1);
+        final CountDownLatch decoded = new CountDownLatch(1);
+        Graphics.setFactoryGraphic(new FactoryGraphicMock()
+        {
+            @Override
+            public ImageBuffer getImageBuffer(Media media)
+            {
+                decoding.countDown();
+                try
+                {
+                    decoded.await();
+                }
+                catch (final InterruptedException exception)
+                {
+                    Thread.currentThread().interrupt();
+                }
+                return super.getImageBuffer(media);
+            }
+        });
+        try
+        {
+            final ImageCache cache = new ImageCache();
+            final AtomicReference<ImageBuffer> loaded = new AtomicReference<>();
+            final Thread owner = new Thread(() -> loaded.set(cache.acquire(media)));
+            owner.start();
+            decoding.await();
+
+            cache.clear();
+            decoded.countDown();
+            owner.join();
+
+            assertTrue(loaded.get() != null);
+            assertFalse(cache.isCached(loaded.get()));
+            assertEquals(0, cache.getSize());
+            assertEquals(0L, cache.getBytes());
+        }
+        finally
+        {
+            Graphics.setFactoryGraphic(new FactoryGraphicMock());
+        }
+    }
+
+    /**
+     * Test cached images are rejected by in place operations, and writable copy.
+     */
+    @Test
+    public void testWritable()
+    {
+        final ImageCache cache = Graphics.getImageCache();
+        final ImageBuffer image = cache.acquire(media);
+        try
+        {
+            assertThrows(() -> image.applyMask(0), ImagePixels.ERROR_SHARED);
+            assertThrows(() -> image.multiply(1.0, 1.0, 1.0), ImagePixels.ERROR_SHARED);
+
+            final ImageBuffer writable = cache.getWritable(image);
+
+            assertTrue(writable != image);
+            assertFalse(cache.isCached(writable));
+            assertEquals(image.getWidth(), writable.getWidth());
+            assertEquals(image.getHeight(), writable.getHeight());
+
+            writable.applyMask(0);
+            writable.multiply(1.0, 1.0, 1.0);
+            writable.dispose();
+
+            final ImageBuffer other = Graphics.createImageBuffer(1, 1);
+            assertTrue(other == cache.getWritable(other));
+        }
+        finally
+        {
+            cache.release(image);
+            cache.clear();
+        }
+    }
+
+    /**
+     * Test key equality.
+     */
+    @Test
+    public void testKey()
+    {
+        final ImageKey key = ImageKey.of(media);
+
+        assertTrue(key.isSource());
+        assertEquals(media, key.getMedia());
+        assertTrue(key == key.mirror(Mirror.NONE));
+        assertEquals(key.stretch(1, 2), ImageKey.of(media).stretch(1, 2));
+        assertEquals(key.stretch(1, 2).hashCode(), ImageKey.of(media).stretch(1, 2).hashCode());
+        assertEquals(key, key.stretch(1, 2).getParent());
+        assertFalse(key.stretch(1, 2).isSource());
+        assertNotEquals(key.stretch(1, 2), key.stretch(2, 1));
+        assertNotEquals(key.mirror(Mirror.HORIZONTAL), key.mirror(Mirror.VERTICAL));
+        assertNotEquals(key.raster(1, 0.1, 0.2, 0.3), key.raster(2, 0.1, 0.2, 0.3));
+        assertNotEquals(key, null);
+
+        assertThrows(() -> ImageKey.of(null), "Unexpected null argument !");
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright (C) 2013-2018 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package com.b3dgs.lionengine.graphic;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertFalse;
+import static com.b3dgs.lionengine.UtilAssert.assertNull;
+import static com.b3dgs.lionengine.UtilAssert.assertPrivateConstructor;
+import static com.b3dgs.lionengine.UtilAssert.assertThrows;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test {@link ImagePixels}.
+ */
+public final class ImagePixelsTest
+{
+    /**
+     * Create a buffer without direct pixels access.
+     * 
+     * @param width The buffer width.
+     * @param height The buffer height.
+     * @return The created buffer.
+     */
+    private static ImageBuffer createIndirect(int width, int height)
+    {
+        return new ImageBufferMock(width, height)
+        {
+            @Override
+            public int[] getPixels()
+            {
+                return null;
+            }
+        };
+    }
+
+    /**
+     * Test constructor.
+     */
+    @Test
+    public void testConstructorPrivate()
+    {
+        assertPrivateConstructor(ImagePixels.class);
+    }
+
+    /**
+     * Test default direct access.
+     */
+    @Test
+    public void testNoPixels()
+    {
+        assertNull(createIndirect(1, 1).getPixels());
+    }
+
+    /**
+     * Test fill and compare with direct access.
+     */
+    @Test
+    public void testFillCompareDirect()
+    {
+        testFillCompare(new ImageBufferMock(4, 3), new ImageBufferMock(4, 3));
+    }
+
+    /**
+     * Test fill and compare without direct access.
+     */
+    @Test
+    public void testFillCompareIndirect()
+    {
+        testFillCompare(createIndirect(4, 3), new ImageBufferMock(4, 3));
+    }
+
+    /**
+     * Test fill and compare.
+     * 
+     * @param a The first buffer.
+     * @param b The second buffer.
+     */
+    private static void testFillCompare(ImageBuffer a, ImageBuffer b)
+    {
+        a.fill(1, 1, 2, 2, ColorRgba.RED.getRgba());
+
+        assertEquals(0, a.getRgb(0, 0));
+        assertEquals(ColorRgba.RED.getRgba(), a.getRgb(1, 1));
+        assertEquals(ColorRgba.RED.getRgba(), a.getRgb(2, 2));
+        assertEquals(0, a.getRgb(3, 2));
+
+        b.fill(0, 0, 2, 2, ColorRgba.RED.getRgba());
+
+        assertTrue(a.compare(1, 1, b, 0, 0, 2, 2));
+        assertTrue(b.compare(0, 0, a, 1, 1, 2, 2));
+        assertFalse(a.compare(0, 0, b, 0, 0, 2, 2));
+        assertTrue(a.compare(3, 0, b, 3, 0, 1, 3));
+    }
+
+    /**
+     * Test compare considers fully transparent pixels equal.
+     */
+    @Test
+    public void testCompareTransparent()
+    {
+        final ImageBuffer a = new ImageBufferMock(2, 1);
+        final ImageBuffer b = createIndirect(2, 1);
+        a.setRgb(0, 0, 0x00_FF_00_00);
+        b.setRgb(0, 0, 0x00_00_FF_00);
+
+        assertTrue(a.compare(0, 0, b, 0, 0, 2, 1));
+
+        a.setRgb(1, 0, 0x01_FF_00_00);
+        b.setRgb(1, 0, 0x01_00_FF_00);
+
+        assertFalse(a.compare(0, 0, b, 0, 0, 2, 1));
+    }
+
+    /**
+     * Test copy.
+     */
+    @Test
+    public void testCopy()
+    {
+        final ImageBuffer source = new ImageBufferMock(3, 3);
+        source.fill(0, 0, 3, 3, ColorRgba.BLUE.getRgba());
+        source.setRgb(1, 1, ColorRgba.RED.getRgba());
+
+        final ImageBuffer direct = new ImageBufferMock(4, 4);
+        direct.copy(source, 1, 1, 2, 2, 2, 2);
+        final ImageBuffer indirect = createIndirect(4, 4);
+        indirect.copy(source, 1, 1, 2, 2, 2, 2);
+
+        for (final ImageBuffer buffer : new ImageBuffer[]
+        {
+            direct, indirect
+        })
+        {
+            assertEquals(0, buffer.getRgb(1, 1));
+            assertEquals(ColorRgba.RED.getRgba(), buffer.getRgb(2, 2));
+            assertEquals(ColorRgba.BLUE.getRgba(), buffer.getRgb(3, 3));
+            assertTrue(buffer.compare(2, 2, source, 1, 1, 2, 2));
+        }
+    }
+
+    /**
+     * Test mask.
+     */
+    @Test
+    public void testMask()
+    {
+        for (final ImageBuffer buffer : new ImageBuffer[]
+        {
+            new ImageBufferMock(2, 2), createIndirect(2, 2)
+        })
+        {
+            buffer.fill(0, 0, 2, 2, ColorRgba.BLUE.getRgba());
+            buffer.setRgb(1, 0, ColorRgba.RED.getRgba());
+            buffer.applyMask(ColorRgba.RED.getRgba());
+
+            assertEquals(ColorRgba.BLUE.getRgba(), buffer.getRgb(0, 0));
+            assertEquals(0x00_FF_00_00, buffer.getRgb(1, 0));
+        }
+    }
+
+    /**
+     * Test multiply.
+     */
+    @Test
+    public void testMultiply()
+    {
+        for (final ImageBuffer buffer : new ImageBuffer[]
+        {
+            new ImageBufferMock(2, 2), createIndirect(2, 2)
+        })
+        {
+            buffer.fill(0, 0, 2, 2, new ColorRgba(100, 100, 100).getRgba());
+            buffer.setRgb(1, 1, 0);
+            buffer.multiply(2.0, 0.5, 3.0);
+
+            assertEquals(new ColorRgba(200, 50, 255).getRgba(), buffer.getRgb(0, 0));
+            assertEquals(0, buffer.getRgb(1, 1));
+        }
+    }
+
+    /**
+     * Test region outside buffer.
+     */
+    @Test
+    public void testOutside()
+    {
+        final ImageBuffer buffer = new ImageBufferMock(2, 2);
+
+        assertThrows(() -> buffer.fill(-1, 0, 1, 1, 0), "Invalid argument: -1 is not superior or equal to 0");
+        assertThrows(() -> buffer.fill(1, 0, 2, 1, 0), "Invalid argument: 3 is not inferior or equal to 2");
+        assertThrows(() -> buffer.compare(0, 0, buffer, 0, 1, 1, 2),
+                     "Invalid argument: 3 is not inferior or equal to 2");
+        assertThrows(() -> buffer.copy(null, 0, 0, 1, 1, 0, 0), "Unexpected null argument !");
+    }
+}
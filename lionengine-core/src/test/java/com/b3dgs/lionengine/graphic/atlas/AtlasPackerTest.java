@@ -0,0 +1,148 @@
+/*
+ * Copyright (C) 2013-2018 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package com.b3dgs.lionengine.graphic.atlas;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertFalse;
+import static com.b3dgs.lionengine.UtilAssert.assertThrows;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test {@link AtlasPacker}.
+ */
+public final class AtlasPackerTest
+{
+    /**
+     * Check regions are inside page and do not overlap on same page.
+     * 
+     * @param regions The regions to check.
+     * @param width The page width.
+     * @param height The page height.
+     */
+    private static void assertPacked(List<AtlasRegion> regions, int width, int height)
+    {
+        for (int i = 0; i < regions.size(); i++)
+        {
+            final AtlasRegion a = regions.get(i);
+            assertTrue(a.getX() + a.getWidth() <= width);
+            assertTrue(a.getY() + a.getHeight() <= height);
+            for (int j = i + 1; j < regions.size(); j++)
+            {
+                final AtlasRegion b = regions.get(j);
+                assertFalse(a.getPage() == b.getPage()
+                            && a.getX() < b.getX() + b.getWidth()
+                            && b.getX() < a.getX() + a.getWidth()
+                            && a.getY() < b.getY() + b.getHeight()
+                            && b.getY() < a.getY() + a.getHeight());
+            }
+        }
+    }
+
+    /**
+     * Test packing random rectangles.
+     */
+    @Test
+    public void testPack()
+    {
+        final AtlasPacker packer = new AtlasPacker(256, 256, 0);
+        final Random random = new Random(42L);
+        final List<AtlasRegion> regions = new ArrayList<>();
+        for (int i = 0; i < 200; i++)
+        {
+            regions.add(packer.pack(1 + random.nextInt(64), 1 + random.nextInt(64)));
+        }
+
+        assertPacked(regions, 256, 256);
+        assertTrue(packer.getPages() > 1);
+        assertTrue(packer.getOccupancy() > 0.5);
+    }
+
+    /**
+     * Test exact page filling.
+     */
+    @Test
+    public void testFill()
+    {
+        final AtlasPacker packer = new AtlasPacker(64, 64, 0);
+        for (int i = 0; i < 16; i++)
+        {
+            assertEquals(0, packer.pack(16, 16).getPage());
+        }
+
+        assertEquals(1, packer.getPages());
+        assertEquals(1.0, packer.getOccupancy());
+        assertEquals(1, packer.pack(16, 16).getPage());
+        assertEquals(2, packer.getPages());
+    }
+
+    /**
+     * Test padding between rectangles.
+     */
+    @Test
+    public void testPadding()
+    {
+        final AtlasPacker packer = new AtlasPacker(64, 64, 2);
+        final List<AtlasRegion> regions = new ArrayList<>();
+        for (int i = 0; i < 4; i++)
+        {
+            regions.add(packer.pack(30, 30));
+        }
+        assertPacked(regions, 64, 64);
+        assertEquals(1, packer.getPages());
+
+        final AtlasRegion first = regions.get(0);
+        for (final AtlasRegion region : regions)
+        {
+            assertTrue(region == first
+                       || Math.abs(region.getX() - first.getX()) >= 32
+                       || Math.abs(region.getY() - first.getY()) >= 32);
+        }
+    }
+
+    /**
+     * Test empty packer.
+     */
+    @Test
+    public void testEmpty()
+    {
+        final AtlasPacker packer = new AtlasPacker(64, 64, 0);
+
+        assertEquals(0, packer.getPages());
+        assertEquals(0.0, packer.getOccupancy());
+    }
+
+    /**
+     * Test rectangle larger than page.
+     */
+    @Test
+    public void testTooLarge()
+    {
+        final AtlasPacker packer = new AtlasPacker(64, 32, 1);
+
+        assertEquals(new AtlasRegion(0, 0, 0, 64, 32), packer.pack(64, 32));
+        assertThrows(() -> packer.pack(65, 1), AtlasPacker.ERROR_TOO_LARGE + "65x1");
+        assertThrows(() -> packer.pack(1, 33), AtlasPacker.ERROR_TOO_LARGE + "1x33");
+        assertThrows(() -> packer.pack(0, 1), "Invalid argument: 0 is not strictly superior to 0");
+    }
+}
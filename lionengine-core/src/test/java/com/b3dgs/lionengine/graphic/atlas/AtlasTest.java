@@ -0,0 +1,276 @@
+/*
+ * Copyright (C) 2013-2018 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package com.b3dgs.lionengine.graphic.atlas;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertFalse;
+import static com.b3dgs.lionengine.UtilAssert.assertThrows;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.b3dgs.lionengine.FactoryMediaDefault;
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Medias;
+import com.b3dgs.lionengine.Mirror;
+import com.b3dgs.lionengine.UtilFile;
+import com.b3dgs.lionengine.graphic.FactoryGraphicMock;
+import com.b3dgs.lionengine.graphic.GraphicMock;
+import com.b3dgs.lionengine.graphic.Graphics;
+import com.b3dgs.lionengine.graphic.ImageBuffer;
+import com.b3dgs.lionengine.graphic.drawable.Drawable;
+import com.b3dgs.lionengine.graphic.drawable.Sprite;
+
+/**
+ * Test {@link Atlas}, {@link AtlasBuilder} and {@link ImageBufferRegion}.
+ */
+public final class AtlasTest
+{
+    /**
+     * Prepare tests.
+     */
+    @BeforeAll
+    public static void beforeTests()
+    {
+        Medias.setFactoryMedia(new FactoryMediaDefault());
+        Medias.setLoadFromJar(AtlasTest.class);
+        Graphics.setFactoryGraphic(new FactoryGraphicMock());
+    }
+
+    /**
+     * Clean up tests.
+     */
+    @AfterAll
+    public static void afterTests()
+    {
+        Medias.setLoadFromJar(null);
+        Graphics.setFactoryGraphic(null);
+    }
+
+    /** Image media. */
+    private final Media image = Medias.create("image.png");
+    /** Icon media. */
+    private final Media icon = Medias.create("icon.png");
+    /** Bar media. */
+    private final Media bar = Medias.create("bar.png");
+
+    /**
+     * Clean cache.
+     */
+    @AfterEach
+    public void afterTest()
+    {
+        Graphics.getImageCache().setAtlas(null);
+        Graphics.getImageCache().clear();
+    }
+
+    /**
+     * Create atlas from test images.
+     * 
+     * @return The built atlas.
+     */
+    private Atlas build()
+    {
+        final AtlasBuilder builder = new AtlasBuilder(128, 128, 1);
+        builder.add(image);
+        builder.add(icon);
+        builder.add(bar);
+        builder.add(image);
+        return builder.build();
+    }
+
+    /**
+     * Test build.
+     */
+    @Test
+    public void testBuild()
+    {
+        final Atlas atlas = build();
+
+        assertEquals(1, atlas.getPages().size());
+        assertEquals(3, atlas.getRegions().size());
+        assertTrue(atlas.contains(icon));
+        assertFalse(atlas.contains(Medias.create("other.png")));
+        assertFalse(atlas.getImage(Medias.create("other.png")).isPresent());
+
+        final AtlasRegion region = atlas.getRegion(image).get();
+        assertEquals(0, region.getPage());
+        assertEquals(64, region.getWidth());
+        assertEquals(32, region.getHeight());
+        assertEquals(new AtlasRegion(0, 0, 33, 128, 8), atlas.getRegion(bar).get());
+
+        final ImageBuffer page = atlas.getPages().get(0);
+        assertEquals(128, page.getWidth());
+        assertTrue(page.getHeight() < 128);
+
+        atlas.dispose();
+
+        assertTrue(atlas.getPages().isEmpty());
+        assertTrue(atlas.getRegions().isEmpty());
+    }
+
+    /**
+     * Test page split when images do not fit on one page.
+     */
+    @Test
+    public void testPages()
+    {
+        final AtlasBuilder builder = new AtlasBuilder(128, 40, 0);
+        builder.add(image);
+        builder.add(bar);
+        builder.add(icon);
+        final Atlas atlas = builder.build();
+
+        assertEquals(1, atlas.getPages().size());
+
+        final AtlasBuilder small = new AtlasBuilder(64, 32, 0);
+        small.add(image);
+        small.add(icon);
+        final Atlas split = small.build();
+
+        assertEquals(2, split.getPages().size());
+        assertEquals(1, split.getRegion(icon).get().getPage());
+
+        final AtlasBuilder tiny = new AtlasBuilder(32, 32, 0);
+        tiny.add(image);
+        assertThrows(tiny::build, "[image.png] " + AtlasPacker.ERROR_TOO_LARGE + "64x32");
+    }
+
+    /**
+     * Test region view.
+     */
+    @Test
+    public void testRegion()
+    {
+        final Atlas atlas = build();
+        final ImageBufferRegion region = (ImageBufferRegion) atlas.getImage(icon).get();
+
+        assertEquals(atlas.getPages().get(0), region.getPage());
+        assertEquals(atlas.getRegion(icon).get().getX(), region.getX());
+        assertEquals(atlas.getRegion(icon).get().getY(), region.getY());
+        assertEquals(16, region.getWidth());
+        assertEquals(16, region.getHeight());
+        assertEquals(region.getPage().getTransparency(), region.getTransparency());
+        assertEquals(region.getPage().getTransparentColor(), region.getTransparentColor());
+        assertEquals(region.getPage().getRgb(region.getX(), region.getY()), region.getRgb(0, 0));
+
+        final Object surface = region.getSurface();
+        assertTrue(surface == region.getSurface());
+
+        region.prepare();
+        region.dispose();
+
+        assertThrows(() -> region.setRgb(0, 0, 0), ImageBufferRegion.ERROR_READ_ONLY);
+        assertThrows(() -> region.setRgb(0, 0, 1, 1, new int[1], 0, 1), ImageBufferRegion.ERROR_READ_ONLY);
+        assertThrows(() -> region.createGraphic(), ImageBufferRegion.ERROR_READ_ONLY);
+        assertThrows(() -> new ImageBufferRegion(region.getPage(), new AtlasRegion(0, 120, 0, 16, 16)),
+                     "Invalid argument: 136 is not inferior or equal to 128");
+    }
+
+    /**
+     * Test sprite loading through cache with atlas.
+     */
+    @Test
+    public void testCache()
+    {
+        final Atlas atlas = build();
+        Graphics.getImageCache().setAtlas(atlas);
+
+        assertEquals(atlas, Graphics.getImageCache().getAtlas().get());
+
+        final Sprite sprite = Drawable.loadSprite(icon);
+        sprite.load();
+        sprite.prepare();
+
+        assertTrue(sprite.getSurface() instanceof ImageBufferRegion);
+        assertEquals(16, sprite.getWidth());
+        assertEquals(16, sprite.getHeight());
+
+        sprite.setMirror(Mirror.HORIZONTAL);
+        sprite.render(new GraphicMock());
+        sprite.stretch(200.0, 200.0);
+
+        assertFalse(sprite.getSurface() instanceof ImageBufferRegion);
+        assertEquals(32, sprite.getWidth());
+
+        sprite.dispose();
+    }
+
+    /**
+     * Test outdated check against source images.
+     */
+    @Test
+    public void testOutdated()
+    {
+        final Atlas atlas = build();
+
+        assertFalse(atlas.isOutdated(image));
+        assertTrue(atlas.isOutdated(Medias.create("void.png")));
+
+        final AtlasRegion region = atlas.getRegion(image).get();
+        final AtlasRegion resized = new AtlasRegion(0, 0, 0, region.getWidth() + 1, region.getHeight());
+        final long modified = Atlas.getModified(image);
+        final String path = image.getPath();
+
+        assertTrue(new Atlas(Collections.emptyList(),
+                             Collections.singletonMap(path, resized),
+                             Collections.singletonMap(path, Long.valueOf(modified))).isOutdated(image));
+        assertTrue(new Atlas(Collections.emptyList(),
+                             Collections.singletonMap(path, region),
+                             Collections.singletonMap(path, Long.valueOf(modified + 1L))).isOutdated(image));
+        assertFalse(new Atlas(Collections.emptyList(),
+                              Collections.singletonMap(path, region),
+                              Collections.singletonMap(path, Long.valueOf(modified))).isOutdated(image));
+    }
+
+    /**
+     * Test save and load.
+     * 
+     * @throws IOException If error.
+     */
+    @Test
+    public void testSaveLoad() throws IOException
+    {
+        final Atlas atlas = build();
+        final File temp = File.createTempFile("atlas", ".xml");
+        UtilFile.deleteFile(temp);
+        final Media index = Medias.create(temp.getName());
+
+        atlas.save(index);
+        final Atlas loaded = Atlas.load(index);
+
+        assertEquals(atlas.getPages().size(), loaded.getPages().size());
+        assertEquals(atlas.getRegions(), loaded.getRegions());
+        assertFalse(loaded.isOutdated(image));
+        assertFalse(loaded.isOutdated(icon));
+        assertFalse(loaded.isOutdated(bar));
+
+        final Media page = Medias.create(temp.getName().replace(".xml", "_0.png"));
+        assertTrue(page.exists());
+
+        UtilFile.deleteFile(page.getFile());
+        UtilFile.deleteFile(index.getFile());
+    }
+}
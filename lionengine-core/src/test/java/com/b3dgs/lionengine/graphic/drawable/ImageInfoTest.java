@@ -25,6 +25,7 @@ import static com.b3dgs.lionengine.UtilAssert.assertThrowsIo;
 import static com.b3dgs.lionengine.UtilAssert.assertTrue;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.Method;
 import java.util.Locale;
 
@@ -173,6 +174,35 @@ public final class ImageInfoTest
         assertFalse(ImageInfo.isImage(Medias.create("raster.xml")));
     }
 
+    /**
+     * Test cached headers.
+     * 
+     * @throws IOException If error.
+     */
+    @Test
+    public void testImageInfoCache() throws IOException
+    {
+        final Media media = Medias.create("image.png");
+        final ImageHeader info = ImageInfo.get(media);
+
+        assertTrue(info == ImageInfo.get(media));
+        assertTrue(ImageInfo.isImage(media));
+
+        ImageInfo.clearCache();
+
+        final ImageHeader read;
+        try (InputStream input = media.getInputStream())
+        {
+            read = ImageInfo.get(media, input);
+        }
+
+        assertTrue(info != read);
+        assertEquals(info.getWidth(), read.getWidth());
+        assertEquals(info.getHeight(), read.getHeight());
+        assertEquals(info.getFormat(), read.getFormat());
+        assertTrue(read == ImageInfo.get(media));
+    }
+
     /**
      * Test skipped error tool.
      * 
@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2013-2018 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package com.b3dgs.lionengine.graphic.engine;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertFalse;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test {@link FramePacer}.
+ */
+public final class FramePacerTest
+{
+    /**
+     * Test calibrate.
+     */
+    @Test
+    public void testCalibrate()
+    {
+        final FramePacer pacer = new FramePacer();
+
+        assertEquals(-1L, pacer.getSpin());
+
+        pacer.calibrate();
+
+        assertTrue(pacer.getSpin() > 0L);
+    }
+
+    /**
+     * Test wait until deadline.
+     */
+    @Test
+    public void testWait()
+    {
+        final FramePacer pacer = new FramePacer();
+        pacer.calibrate();
+        for (int i = 0; i < 10; i++)
+        {
+            final long deadline = System.nanoTime() + 5_000_000L;
+            pacer.waitUntil(deadline);
+
+            assertTrue(System.nanoTime() >= deadline);
+        }
+
+        assertEquals(10L, pacer.getError().getCount());
+        assertTrue(pacer.getSpin() > 0L);
+    }
+
+    /**
+     * Test deadline already reached.
+     */
+    @Test
+    public void testReached()
+    {
+        final FramePacer pacer = new FramePacer();
+        pacer.waitUntil(System.nanoTime() - 1L);
+
+        assertEquals(0L, pacer.getError().getCount());
+    }
+
+    /**
+     * Test wait returns on interrupt, keeping interrupt flag.
+     */
+    @Test
+    public void testInterrupted()
+    {
+        final FramePacer pacer = new FramePacer();
+        pacer.calibrate();
+        final long deadline = System.nanoTime() + 10_000_000_000L;
+
+        Thread.currentThread().interrupt();
+        pacer.waitUntil(deadline);
+
+        assertTrue(Thread.interrupted());
+        assertFalse(System.nanoTime() >= deadline);
+        assertEquals(0L, pacer.getError().getCount());
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2013-2018 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package com.b3dgs.lionengine.graphic.engine;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertFalse;
+import static com.b3dgs.lionengine.UtilAssert.assertThrows;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test {@link FrameProfiler}.
+ */
+public final class FrameProfilerTest
+{
+    /**
+     * Test register and record.
+     */
+    @Test
+    public void testRecord()
+    {
+        final FrameProfiler profiler = new FrameProfiler();
+        final int update = profiler.register(FrameProfiler.PHASE_UPDATE);
+        final int render = profiler.register(FrameProfiler.PHASE_RENDER);
+
+        assertEquals(update, profiler.register(FrameProfiler.PHASE_UPDATE));
+        assertEquals(Arrays.asList(FrameProfiler.PHASE_UPDATE, FrameProfiler.PHASE_RENDER), profiler.getPhases());
+
+        profiler.recordDuration(update, 1000L);
+        profiler.recordDuration(update, 3000L);
+        profiler.record(render, System.nanoTime());
+
+        assertEquals(2L, profiler.getHistogram(FrameProfiler.PHASE_UPDATE).getCount());
+        assertEquals(3000L, profiler.getHistogram(FrameProfiler.PHASE_UPDATE).getMax());
+        assertEquals(1L, profiler.getHistogram(FrameProfiler.PHASE_RENDER).getCount());
+        assertTrue(profiler.getSummary(FrameProfiler.PHASE_UPDATE).startsWith(FrameProfiler.PHASE_UPDATE));
+        assertTrue(profiler.toString().contains(FrameProfiler.PHASE_RENDER));
+
+        profiler.reset();
+
+        assertEquals(0L, profiler.getHistogram(FrameProfiler.PHASE_UPDATE).getCount());
+    }
+
+    /**
+     * Test disabled.
+     */
+    @Test
+    public void testDisabled()
+    {
+        final FrameProfiler profiler = new FrameProfiler();
+        final int phase = profiler.register(FrameProfiler.PHASE_FRAME);
+
+        assertTrue(profiler.isEnabled());
+
+        profiler.setEnabled(false);
+        profiler.recordDuration(phase, 1000L);
+
+        assertFalse(profiler.isEnabled());
+        assertEquals(0L, profiler.getHistogram(FrameProfiler.PHASE_FRAME).getCount());
+    }
+
+    /**
+     * Test unknown phase.
+     */
+    @Test
+    public void testUnknown()
+    {
+        final FrameProfiler profiler = new FrameProfiler();
+
+        assertThrows(() -> profiler.getHistogram("void"), FrameProfiler.ERROR_PHASE + "void");
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2013-2018 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package com.b3dgs.lionengine.graphic.engine;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test {@link Histogram}.
+ */
+public final class HistogramTest
+{
+    /**
+     * Test empty histogram.
+     */
+    @Test
+    public void testEmpty()
+    {
+        final Histogram histogram = new Histogram();
+
+        assertEquals(0L, histogram.getCount());
+        assertEquals(0L, histogram.getPercentile(50.0));
+        assertEquals(0L, histogram.getMin());
+        assertEquals(0L, histogram.getMax());
+        assertEquals(0.0, histogram.getMean());
+    }
+
+    /**
+     * Test bucket index and value consistency.
+     */
+    @Test
+    public void testBuckets()
+    {
+        for (long value = 0L; value < 100_000L; value += 7L)
+        {
+            final long bucket = Histogram.getValue(Histogram.getIndex(value));
+            assertTrue(bucket >= value, String.valueOf(value));
+            assertTrue(bucket - value <= value / 32L, String.valueOf(value));
+        }
+        assertEquals(Histogram.MAX_VALUE, Histogram.getValue(Histogram.getIndex(Histogram.MAX_VALUE)));
+    }
+
+    /**
+     * Test percentiles.
+     */
+    @Test
+    public void testPercentile()
+    {
+        final Histogram histogram = new Histogram();
+        for (long i = 1L; i <= 1000L; i++)
+        {
+            histogram.record(i * 1000L);
+        }
+
+        assertEquals(1000L, histogram.getCount());
+        assertEquals(1000L, histogram.getMin());
+        assertEquals(1_000_000L, histogram.getMax());
+        assertEquals(500_500.0, histogram.getMean());
+
+        final long p50 = histogram.getPercentile(50.0);
+        final long p99 = histogram.getPercentile(99.0);
+
+        assertTrue(Math.abs(p50 - 500_000L) < 500_000L / 32L, String.valueOf(p50));
+        assertTrue(Math.abs(p99 - 990_000L) < 990_000L / 32L, String.valueOf(p99));
+        assertEquals(1_000_000L, histogram.getPercentile(100.0));
+        final long p0 = histogram.getPercentile(0.0);
+        assertTrue(p0 >= 1000L && p0 - 1000L <= 1000L / 32L, String.valueOf(p0));
+    }
+
+    /**
+     * Test bounds and reset.
+     */
+    @Test
+    public void testBoundsReset()
+    {
+        final Histogram histogram = new Histogram();
+        histogram.record(-1L);
+        histogram.record(Long.MAX_VALUE);
+
+        assertEquals(0L, histogram.getMin());
+        assertEquals(Histogram.MAX_VALUE, histogram.getMax());
+
+        histogram.reset();
+
+        assertEquals(0L, histogram.getCount());
+        assertEquals(0L, histogram.getMax());
+    }
+}
@@ -28,6 +28,7 @@ import static com.b3dgs.lionengine.UtilAssert.assertTrue;
 import java.util.Arrays;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.jupiter.api.AfterAll;
@@ -37,6 +38,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import com.b3dgs.lionengine.Config;
+import com.b3dgs.lionengine.Constant;
 import com.b3dgs.lionengine.Engine;
 import com.b3dgs.lionengine.EngineMock;
 import com.b3dgs.lionengine.Media;
@@ -141,6 +143,34 @@ public final class LoaderTest
         Loader.start(CONFIG, SequenceArgumentsMock.class, new Object()).await();
     }
 
+    /**
+     * Test with a preloaded next sequence, loaded in background and handed off on end.
+     */
+    @Test
+    public void testSequencePreload()
+    {
+        final AtomicReference<String> thread = new AtomicReference<>();
+        final AtomicInteger created = new AtomicInteger();
+        Loader.start(CONFIG, SequencePreloadMock.class, thread, created, Long.valueOf(0L)).await();
+
+        assertTrue(thread.get().startsWith("Preloading sequence: "), thread.get());
+        assertEquals(1, created.get());
+    }
+
+    /**
+     * Test with an abandoned preload because of memory reserve, loaded on end instead.
+     */
+    @Test
+    public void testSequencePreloadAbandoned()
+    {
+        final AtomicReference<String> thread = new AtomicReference<>();
+        final AtomicInteger created = new AtomicInteger();
+        Loader.start(CONFIG, SequencePreloadMock.class, thread, created, Long.valueOf(Long.MAX_VALUE)).await();
+
+        assertEquals(Constant.ENGINE_NAME, thread.get());
+        assertEquals(1, created.get());
+    }
+
     /**
      * Test with timed out screen.
      */
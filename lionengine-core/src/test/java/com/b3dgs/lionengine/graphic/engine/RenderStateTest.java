@@ -0,0 +1,121 @@
+/*
+ * Copyright (C) 2013-2018 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package com.b3dgs.lionengine.graphic.engine;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertFalse;
+import static com.b3dgs.lionengine.UtilAssert.assertNotEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertThrows;
+import static com.b3dgs.lionengine.UtilAssert.assertTimeout;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test {@link RenderState}.
+ */
+public final class RenderStateTest
+{
+    /**
+     * Test publish and read.
+     */
+    @Test
+    public void testPublish()
+    {
+        final RenderState<int[]> state = new RenderState<>(() -> new int[1]);
+
+        assertFalse(state.hasNew());
+        assertEquals(0L, state.getPublished());
+
+        state.getWrite()[0] = 1;
+        state.publish();
+
+        assertTrue(state.hasNew());
+        assertEquals(1, state.getRead()[0]);
+        assertFalse(state.hasNew());
+        assertEquals(1, state.getRead()[0]);
+
+        state.getWrite()[0] = 2;
+        state.publish();
+        state.getWrite()[0] = 3;
+        state.publish();
+
+        assertEquals(3, state.getRead()[0]);
+        assertEquals(3L, state.getPublished());
+    }
+
+    /**
+     * Test read and write never share the same state.
+     */
+    @Test
+    public void testIsolation()
+    {
+        final RenderState<int[]> state = new RenderState<>(() -> new int[1]);
+
+        for (int i = 0; i < 10; i++)
+        {
+            state.publish();
+            assertNotEquals(state.getWrite(), state.getRead());
+        }
+    }
+
+    /**
+     * Test concurrent writer and reader always read a complete state.
+     */
+    @Test
+    public void testConcurrent()
+    {
+        final RenderState<int[]> state = new RenderState<>(() -> new int[2]);
+        final AtomicBoolean valid = new AtomicBoolean(true);
+        final Thread writer = new Thread(() ->
+        {
+            for (int i = 1; i < 100_000; i++)
+            {
+                final int[] data = state.getWrite();
+                data[0] = i;
+                data[1] = -i;
+                state.publish();
+            }
+        });
+        writer.start();
+
+        while (writer.isAlive())
+        {
+            final int[] data = state.getRead();
+            if (data[0] != -data[1])
+            {
+                valid.set(false);
+            }
+        }
+
+        assertTimeout(1000L, writer::join);
+        assertTrue(valid.get());
+    }
+
+    /**
+     * Test with invalid factory.
+     */
+    @Test
+    public void testInvalidFactory()
+    {
+        assertThrows(() -> new RenderState<>(null), "Unexpected null argument !");
+        assertThrows(() -> new RenderState<>(() -> null), "Unexpected null argument !");
+    }
+}
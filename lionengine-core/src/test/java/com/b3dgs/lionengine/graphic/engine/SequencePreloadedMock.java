@@ -0,0 +1,82 @@
+/*
+ * Copyright (C) 2013-2018 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package com.b3dgs.lionengine.graphic.engine;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.b3dgs.lionengine.Context;
+import com.b3dgs.lionengine.UtilTests;
+import com.b3dgs.lionengine.graphic.Graphic;
+
+/**
+ * Preloaded sequence mock.
+ */
+final class SequencePreloadedMock extends Sequence
+{
+    /** Background loading thread name. */
+    private final AtomicReference<String> thread;
+    /** Live instances count. */
+    private final AtomicInteger created;
+
+    /**
+     * Constructor.
+     * 
+     * @param context The context reference.
+     * @param thread The background loading thread name.
+     * @param created The live instances count, decremented when unloaded.
+     */
+    SequencePreloadedMock(Context context, AtomicReference<String> thread, AtomicInteger created)
+    {
+        super(context, UtilTests.RESOLUTION_320_240, new LoopUnlocked());
+
+        this.thread = thread;
+        this.created = created;
+        created.incrementAndGet();
+    }
+
+    @Override
+    protected void loadBackground()
+    {
+        thread.set(Thread.currentThread().getName());
+    }
+
+    @Override
+    protected void unloadBackground()
+    {
+        created.decrementAndGet();
+    }
+
+    @Override
+    public void load()
+    {
+        // Mock
+    }
+
+    @Override
+    public void update(double extrp)
+    {
+        end();
+    }
+
+    @Override
+    public void render(Graphic g)
+    {
+        // Mock
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright (C) 2013-2018 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package com.b3dgs.lionengine.graphic.engine;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertFalse;
+import static com.b3dgs.lionengine.UtilAssert.assertNull;
+import static com.b3dgs.lionengine.UtilAssert.assertTimeout;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.b3dgs.lionengine.Config;
+import com.b3dgs.lionengine.Context;
+import com.b3dgs.lionengine.InputDevice;
+import com.b3dgs.lionengine.Resolution;
+import com.b3dgs.lionengine.graphic.FactoryGraphicMock;
+import com.b3dgs.lionengine.graphic.Graphics;
+
+/**
+ * Test {@link SequencePreloader}.
+ */
+public final class SequencePreloaderTest
+{
+    private static final Context CONTEXT = new Context()
+    {
+        @Override
+        public int getX()
+        {
+            return 0;
+        }
+
+        @Override
+        public int getY()
+        {
+            return 0;
+        }
+
+        @Override
+        public <T extends InputDevice> T getInputDevice(Class<T> type)
+        {
+            return null;
+        }
+
+        @Override
+        public Config getConfig()
+        {
+            return new Config(new Resolution(320, 240, 60), 32, true);
+        }
+    };
+
+    /**
+     * Prepare tests.
+     */
+    @BeforeAll
+    public static void beforeTests()
+    {
+        Graphics.setFactoryGraphic(new FactoryGraphicMock());
+    }
+
+    /**
+     * Clean up tests.
+     */
+    @AfterAll
+    public static void afterTests()
+    {
+        Graphics.setFactoryGraphic(null);
+    }
+
+    /**
+     * Create a preloader and wait for its background loading.
+     * 
+     * @param thread The background loading thread name.
+     * @param created The live instances count.
+     * @return The preloader.
+     */
+    private static SequencePreloader preload(AtomicReference<String> thread, AtomicInteger created)
+    {
+        final SequencePreloader preloader = new SequencePreloader(CONTEXT);
+        preloader.setReserve(0L);
+        preloader.preload(SequencePreloadedMock.class, thread, created);
+
+        assertTrue(preloader.isPreloading());
+        assertTimeout(1000L, () ->
+        {
+            while (thread.get() == null)
+            {
+                Thread.sleep(1L);
+            }
+        });
+        return preloader;
+    }
+
+    /**
+     * Wait until live instances count is reached.
+     * 
+     * @param created The live instances count.
+     * @param expected The expected count.
+     */
+    private static void awaitCreated(AtomicInteger created, int expected)
+    {
+        assertTimeout(1000L, () ->
+        {
+            while (created.get() != expected)
+            {
+                Thread.sleep(1L);
+            }
+        });
+    }
+
+    /**
+     * Test matching sequence is handed off and not disposed.
+     */
+    @Test
+    public void testTake()
+    {
+        final AtomicReference<String> thread = new AtomicReference<>();
+        final AtomicInteger created = new AtomicInteger();
+        final SequencePreloader preloader = preload(thread, created);
+
+        assertTrue(preloader.take(SequencePreloadedMock.class, thread, created) instanceof SequencePreloadedMock);
+        assertFalse(preloader.isPreloading());
+        assertEquals(1, created.get());
+    }
+
+    /**
+     * Test sequence not matching the next one is disposed.
+     */
+    @Test
+    public void testTakeOtherDisposed()
+    {
+        final AtomicReference<String> thread = new AtomicReference<>();
+        final AtomicInteger created = new AtomicInteger();
+        final SequencePreloader preloader = preload(thread, created);
+
+        assertNull(preloader.take(SequencePreloadedMock.class, thread, new AtomicInteger()));
+        assertFalse(preloader.isPreloading());
+        awaitCreated(created, 0);
+    }
+
+    /**
+     * Test abandoned sequence is disposed.
+     */
+    @Test
+    public void testAbandonDisposed()
+    {
+        final AtomicReference<String> thread = new AtomicReference<>();
+        final AtomicInteger created = new AtomicInteger();
+        final SequencePreloader preloader = preload(thread, created);
+
+        preloader.abandon();
+
+        assertFalse(preloader.isPreloading());
+        awaitCreated(created, 0);
+    }
+
+    /**
+     * Test replaced preload is disposed.
+     */
+    @Test
+    public void testReplacedDisposed()
+    {
+        final AtomicReference<String> thread = new AtomicReference<>();
+        final AtomicInteger created = new AtomicInteger();
+        final SequencePreloader preloader = preload(thread, created);
+
+        final AtomicReference<String> other = new AtomicReference<>();
+        final AtomicInteger otherCreated = new AtomicInteger();
+        preloader.preload(SequencePreloadedMock.class, other, otherCreated);
+        awaitCreated(created, 0);
+
+        assertTrue(preloader.take(SequencePreloadedMock.class, other, otherCreated) instanceof SequencePreloadedMock);
+        assertEquals(1, otherCreated.get());
+    }
+}
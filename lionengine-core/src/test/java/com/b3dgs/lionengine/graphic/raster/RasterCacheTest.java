@@ -0,0 +1,174 @@
+/*
+ * Copyright (C) 2013-2018 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package com.b3dgs.lionengine.graphic.raster;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertThrows;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import java.util.function.Function;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.b3dgs.lionengine.FactoryMediaDefault;
+import com.b3dgs.lionengine.Medias;
+import com.b3dgs.lionengine.graphic.FactoryGraphicMock;
+import com.b3dgs.lionengine.graphic.Graphics;
+import com.b3dgs.lionengine.graphic.ImageBuffer;
+import com.b3dgs.lionengine.graphic.ImageBufferMock;
+import com.b3dgs.lionengine.graphic.UtilColor;
+
+/**
+ * Test {@link RasterCache}.
+ */
+public final class RasterCacheTest
+{
+    /**
+     * Prepare tests.
+     */
+    @BeforeAll
+    public static void beforeTests()
+    {
+        Medias.setFactoryMedia(new FactoryMediaDefault());
+        Medias.setLoadFromJar(RasterCacheTest.class);
+        Graphics.setFactoryGraphic(new FactoryGraphicMock());
+    }
+
+    /**
+     * Clean up tests.
+     */
+    @AfterAll
+    public static void afterTests()
+    {
+        Medias.setLoadFromJar(null);
+        Graphics.setFactoryGraphic(null);
+    }
+
+    /**
+     * Test variants are computed on demand and shared between smooth indexes.
+     */
+    @Test
+    public void testOnDemand()
+    {
+        final RasterImage raster = new RasterImage(new ImageBufferMock(4, 2), Medias.create("raster.xml"), 1, true);
+        final RasterCache<ImageBuffer> cache = raster.createCache(true, Function.identity());
+
+        assertEquals(0, cache.getComputed());
+        assertEquals(0, cache.getSize());
+
+        final ImageBuffer variant = cache.get(3);
+
+        assertEquals(4, variant.getWidth());
+        assertEquals(2, variant.getHeight());
+        assertTrue(variant == cache.get(3));
+        assertTrue(variant == cache.get(3 + RasterImage.MAX_RASTERS));
+        assertEquals(1, cache.getComputed());
+        assertEquals(1, cache.getSize());
+
+        assertThrows(() -> cache.get(-1), "Invalid argument: -1 is not superior or equal to 0");
+    }
+
+    /**
+     * Test least recently used variants eviction.
+     */
+    @Test
+    public void testEviction()
+    {
+        final RasterImage raster = new RasterImage(new ImageBufferMock(4, 2), Medias.create("raster.xml"), 1, false);
+        final RasterCache<ImageBuffer> cache = raster.createCache(false, Function.identity());
+        cache.setCapacity(2);
+
+        assertEquals(2, cache.getCapacity());
+
+        final ImageBuffer first = cache.get(0);
+        cache.get(1);
+        assertTrue(first == cache.get(0));
+        cache.get(2);
+
+        assertEquals(2, cache.getSize());
+        assertTrue(first == cache.get(0));
+        assertEquals(3, cache.getComputed());
+
+        cache.get(1);
+
+        assertEquals(4, cache.getComputed());
+
+        cache.setCapacity(1);
+
+        assertEquals(1, cache.getSize());
+
+        cache.clear();
+
+        assertEquals(0, cache.getSize());
+        assertThrows(() -> cache.setCapacity(0), "Invalid argument: 0 is not strictly superior to 0");
+    }
+
+    /**
+     * Test default capacity does not keep all variants.
+     */
+    @Test
+    public void testDefaultCapacity()
+    {
+        final RasterImage raster = new RasterImage(new ImageBufferMock(4, 2), Medias.create("raster.xml"), 1, false);
+        final RasterCache<ImageBuffer> cache = raster.createCache(true, Function.identity());
+
+        for (int index = 0; index < RasterImage.MAX_RASTERS; index++)
+        {
+            cache.get(index);
+        }
+
+        assertEquals(RasterCache.DEFAULT_CAPACITY, cache.getCapacity());
+        assertEquals(RasterCache.DEFAULT_CAPACITY, cache.getSize());
+        assertTrue(cache.getSize() < RasterImage.MAX_RASTERS);
+    }
+
+    /**
+     * Test lookup table matches color multiply.
+     */
+    @Test
+    public void testLookup()
+    {
+        final int[] colors =
+        {
+            0, 0xFF000000, 0xFFFFFFFF, 0x80FF8040, 0xFF123456
+        };
+        final ImageBuffer surface = new ImageBufferMock(colors.length, 1);
+        for (int i = 0; i < colors.length; i++)
+        {
+            surface.setRgb(i, 0, colors[i]);
+        }
+        final Raster data = Raster.load(Medias.create("raster.xml"));
+        final RasterImage raster = new RasterImage(surface, Medias.create("raster.xml"), 1, false);
+        final RasterCache<ImageBuffer> cache = raster.createCache(true, Function.identity());
+
+        for (int index = 0; index < RasterImage.MAX_RASTERS; index++)
+        {
+            final double fr = RasterImage.getRasterFactor(index, data.getRed());
+            final double fg = RasterImage.getRasterFactor(index, data.getGreen());
+            final double fb = RasterImage.getRasterFactor(index, data.getBlue());
+            final ImageBuffer variant = cache.get(index);
+
+            for (int i = 0; i < colors.length; i++)
+            {
+                assertEquals(UtilColor.multiplyRgb(colors[i], fr, fg, fb), variant.getRgb(i, 0));
+            }
+        }
+    }
+}
@@ -17,26 +17,20 @@
  */
 package com.b3dgs.lionengine.game.background;
 
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.List;
-
 import com.b3dgs.lionengine.Media;
-import com.b3dgs.lionengine.UtilFile;
 import com.b3dgs.lionengine.UtilMath;
-import com.b3dgs.lionengine.graphic.ImageBuffer;
 import com.b3dgs.lionengine.graphic.drawable.Drawable;
-import com.b3dgs.lionengine.graphic.drawable.ImageInfo;
 import com.b3dgs.lionengine.graphic.drawable.Sprite;
+import com.b3dgs.lionengine.graphic.raster.RasterCache;
 import com.b3dgs.lionengine.graphic.raster.RasterImage;
 
 /**
- * Specific background element, supporting raster effects.
+ * Specific background element, supporting raster effects, computed on demand.
  */
 public class BackgroundElementRastered extends BackgroundElement
 {
-    /** Rasters list. */
-    private final List<Sprite> rasters;
+    /** Rasters cache. */
+    private final RasterCache<Sprite> rasters;
 
     /**
      * Create a rastered background element.
@@ -52,14 +46,7 @@ public class BackgroundElementRastered extends BackgroundElement
         super(mainX, mainY, null);
 
         final RasterImage raster = new RasterImage(media, rasterFile, rastersNumber, false);
-        raster.loadRasters(ImageInfo.get(media).getHeight(), false, UtilFile.removeExtension(media.getName()));
-
-        final Collection<ImageBuffer> surfaces = raster.getRasters();
-        rasters = new ArrayList<>(surfaces.size());
-        for (final ImageBuffer surface : surfaces)
-        {
-            rasters.add(Drawable.loadSprite(surface));
-        }
+        rasters = raster.createCache(true, Drawable::loadSprite);
     }
 
     /**
@@ -70,6 +57,6 @@ public class BackgroundElementRastered extends BackgroundElement
      */
     public Sprite getRaster(int id)
     {
-        return rasters.get(UtilMath.clamp(id, 0, rasters.size() - 1));
+        return rasters.get(UtilMath.clamp(id, 0, RasterImage.MAX_RASTERS_M));
     }
 }
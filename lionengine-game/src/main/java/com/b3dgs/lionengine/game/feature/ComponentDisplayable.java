@@ -17,13 +17,19 @@
  */
 package com.b3dgs.lionengine.game.feature;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 import java.util.TreeSet;
 
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Viewer;
 import com.b3dgs.lionengine.game.FeatureProvider;
 import com.b3dgs.lionengine.graphic.Graphic;
 
@@ -31,11 +37,22 @@ import com.b3dgs.lionengine.graphic.Graphic;
  * Renderer component implementation which render {@link Displayable} elements with {@link Layerable} support to order
  * rendering. If there is not {@link Layerable} feature, {@link #LAYER_DEFAULT} will be used as default layer value.
  * The lower layer index is handled first.
+ * <p>
+ * Culling can be enabled with {@link #enableCulling(Viewer, int)}: displayables are then kept in a spatial index per
+ * layer, and only the ones located inside the viewer area are rendered.
+ * </p>
+ * <p>
+ * Render queue can be enabled with {@link #enableRenderQueue(boolean)}: displayables are then rendered sorted by layer,
+ * then optionally by depth (vertical location), then by source surface, then by add order, giving a deterministic
+ * draw order.
+ * </p>
  */
 public class ComponentDisplayable implements ComponentRenderer, HandlerListener, LayerableListener
 {
     /** Default layer value. */
     private static final Integer LAYER_DEFAULT = Integer.valueOf(0);
+    /** Culling cell size in pixel. */
+    private static final int CULLING_CELL = 128;
 
     /**
      * Get the featurable layer.
@@ -57,6 +74,20 @@ public class ComponentDisplayable implements ComponentRenderer, HandlerListener,
     private final Set<Integer> indexs = new TreeSet<>();
     /** Layers to render. */
     private final Map<Integer, Collection<Displayable>> layers = new HashMap<>();
+    /** Culled layers (empty if culling disabled). */
+    private final Map<Integer, DisplayableIndex> culled = new HashMap<>();
+    /** Culling visible displayables cache. */
+    private final List<Displayable> collected = new ArrayList<>();
+    /** Render queue (<code>null</code> if disabled). */
+    private DisplayableQueue queue;
+    /** Culling viewer (<code>null</code> if culling disabled). */
+    private Viewer viewer;
+    /** Culling margin in pixel. */
+    private int margin;
+    /** Last rendered displayables number. */
+    private int visible;
+    /** Last total displayables number. */
+    private int total;
 
     /**
      * Create component.
@@ -66,6 +97,188 @@ public class ComponentDisplayable implements ComponentRenderer, HandlerListener,
         super();
     }
 
+    /**
+     * Enable culling. Only displayables inside the viewer area extended by margin are rendered.
+     * 
+     * @param viewer The viewer reference.
+     * @param margin The margin in pixel around the viewer area (must be positive).
+     * @throws LionEngineException If invalid arguments.
+     */
+    public void enableCulling(Viewer viewer, int margin)
+    {
+        Check.notNull(viewer);
+        Check.superiorOrEqual(margin, 0);
+
+        disableCulling();
+        this.viewer = viewer;
+        this.margin = margin;
+
+        for (final Entry<Integer, Collection<Displayable>> entry : layers.entrySet())
+        {
+            for (final Displayable displayable : entry.getValue())
+            {
+                getCulled(entry.getKey()).add(displayable);
+            }
+        }
+    }
+
+    /**
+     * Disable culling, all displayables are rendered.
+     */
+    public void disableCulling()
+    {
+        for (final DisplayableIndex index : culled.values())
+        {
+            index.clear();
+        }
+        culled.clear();
+        viewer = null;
+    }
+
+    /**
+     * Enable render queue. Displayables are rendered sorted by layer, then depth if enabled, then source surface.
+     * 
+     * @param depth <code>true</code> to sort by vertical location inside a layer (higher rendered first),
+     *            <code>false</code> to keep only layer and source ordering.
+     */
+    public void enableRenderQueue(boolean depth)
+    {
+        disableRenderQueue();
+        queue = new DisplayableQueue(depth);
+    }
+
+    /**
+     * Disable render queue, displayables are rendered by layer only.
+     */
+    public void disableRenderQueue()
+    {
+        if (queue != null)
+        {
+            queue.clear();
+            queue = null;
+        }
+    }
+
+    /**
+     * Get the number of displayables rendered during last render.
+     * 
+     * @return The rendered displayables number.
+     */
+    public int getVisibleCount()
+    {
+        return visible;
+    }
+
+    /**
+     * Get the number of displayables handled during last render.
+     * 
+     * @return The total displayables number.
+     */
+    public int getTotalCount()
+    {
+        return total;
+    }
+
+    /**
+     * Get the culled layer at the specified index. Creates an empty index if not already defined.
+     * 
+     * @param layer The layer index.
+     * @return The layer index reference.
+     */
+    private DisplayableIndex getCulled(Integer layer)
+    {
+        return culled.computeIfAbsent(layer, key -> new DisplayableIndex(CULLING_CELL));
+    }
+
+    /**
+     * Add displayable to layer.
+     * 
+     * @param layer The layer index.
+     * @param displayable The displayable to add.
+     */
+    private void add(Integer layer, Displayable displayable)
+    {
+        getLayer(layer).add(displayable);
+        if (viewer != null)
+        {
+            getCulled(layer).add(displayable);
+        }
+    }
+
+    /**
+     * Collect the visible displayables of the culled layer.
+     * 
+     * @param layer The layer index.
+     * @return The visible displayables (reused between calls).
+     */
+    private List<Displayable> collect(Integer layer)
+    {
+        final double minX = viewer.getViewX() - viewer.getViewpointX(0.0) - margin;
+        final double maxX = minX + viewer.getWidth() + margin * 2.0;
+        final double maxY = viewer.getViewpointY(0.0) - viewer.getViewY() + margin;
+        final double minY = maxY - viewer.getHeight() - margin * 2.0;
+
+        collected.clear();
+        final DisplayableIndex index = culled.get(layer);
+        if (index != null)
+        {
+            index.collect(collected, minX, minY, maxX, maxY);
+            total += index.size();
+        }
+        return collected;
+    }
+
+    /**
+     * Render culled layers.
+     * 
+     * @param g The graphic output.
+     */
+    private void renderCulled(Graphic g)
+    {
+        for (final Integer layer : indexs)
+        {
+            final List<Displayable> displayables = collect(layer);
+            final int n = displayables.size();
+            for (int i = 0; i < n; i++)
+            {
+                displayables.get(i).render(g);
+            }
+            visible += n;
+        }
+    }
+
+    /**
+     * Render layers with queue.
+     * 
+     * @param g The graphic output.
+     */
+    private void renderQueue(Graphic g)
+    {
+        queue.begin();
+        for (final Integer layer : indexs)
+        {
+            final int value = layer.intValue();
+            if (viewer != null)
+            {
+                final List<Displayable> displayables = collect(layer);
+                final int n = displayables.size();
+                for (int i = 0; i < n; i++)
+                {
+                    queue.add(displayables.get(i), value);
+                }
+            }
+            else
+            {
+                for (final Displayable displayable : layers.get(layer))
+                {
+                    queue.add(displayable, value);
+                    total++;
+                }
+            }
+        }
+        visible = queue.render(g);
+    }
+
     /**
      * Get the layer set at the specified index. Creates an empty set if no set already defined.
      * 
@@ -77,7 +290,7 @@ public class ComponentDisplayable implements ComponentRenderer, HandlerListener,
         final Collection<Displayable> displayables;
         if (!layers.containsKey(layer))
         {
-            displayables = new HashSet<>();
+            displayables = new LinkedHashSet<>();
             layers.put(layer, displayables);
         }
         else
@@ -101,6 +314,14 @@ public class ComponentDisplayable implements ComponentRenderer, HandlerListener,
         {
             indexs.remove(layer);
         }
+        if (viewer != null)
+        {
+            getCulled(layer).remove(displayable);
+        }
+        if (queue != null)
+        {
+            queue.remove(displayable);
+        }
     }
 
     /*
@@ -110,12 +331,27 @@ public class ComponentDisplayable implements ComponentRenderer, HandlerListener,
     @Override
     public void render(Graphic g, Handlables featurables)
     {
-        for (final Integer layer : indexs)
+        visible = 0;
+        total = 0;
+        if (queue != null)
         {
-            for (final Displayable displayable : layers.get(layer))
+            renderQueue(g);
+        }
+        else if (viewer != null)
+        {
+            renderCulled(g);
+        }
+        else
+        {
+            for (final Integer layer : indexs)
             {
-                displayable.render(g);
+                for (final Displayable displayable : layers.get(layer))
+                {
+                    displayable.render(g);
+                    visible++;
+                }
             }
+            total = visible;
         }
     }
 
@@ -130,8 +366,7 @@ public class ComponentDisplayable implements ComponentRenderer, HandlerListener,
         {
             final Displayable displayable = featurable.getFeature(Displayable.class);
             final Integer layer = getLayer(featurable);
-            final Collection<Displayable> displayables = getLayer(layer);
-            displayables.add(displayable);
+            add(layer, displayable);
             indexs.add(layer);
         }
     }
@@ -162,7 +397,11 @@ public class ComponentDisplayable implements ComponentRenderer, HandlerListener,
         {
             final Displayable displayable = provider.getFeature(Displayable.class);
             getLayer(layerDisplayOld).remove(displayable);
-            getLayer(layerDisplayNew).add(displayable);
+            if (viewer != null)
+            {
+                getCulled(layerDisplayOld).remove(displayable);
+            }
+            add(layerDisplayNew, displayable);
             indexs.add(layerDisplayNew);
         }
     }
@@ -18,6 +18,7 @@
 package com.b3dgs.lionengine.game.feature;
 
 import com.b3dgs.lionengine.game.Feature;
+import com.b3dgs.lionengine.graphic.ImageBuffer;
 import com.b3dgs.lionengine.graphic.Renderable;
 
 /**
@@ -26,5 +27,13 @@ import com.b3dgs.lionengine.graphic.Renderable;
 @FeatureInterface
 public interface Displayable extends Feature, Renderable
 {
-    // Wrapper
+    /**
+     * Get the source surface used for rendering, allowing render queues to group displayables sharing it.
+     * 
+     * @return The source surface, <code>null</code> if unknown.
+     */
+    default ImageBuffer getSurface()
+    {
+        return null;
+    }
 }
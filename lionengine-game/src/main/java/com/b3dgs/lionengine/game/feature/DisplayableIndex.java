@@ -0,0 +1,336 @@
+/*
+ * Copyright (C) 2013-2018 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package com.b3dgs.lionengine.game.feature;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Spatial index of displayables, based on a uniform grid of cells. Located displayables (with {@link Transformable})
+ * are stored in the cells covered by their bounds, kept up to date with {@link TransformableListener}. Others are
+ * considered always visible.
+ */
+final class DisplayableIndex
+{
+    /**
+     * Get the cell key.
+     * 
+     * @param cx The horizontal cell index.
+     * @param cy The vertical cell index.
+     * @return The cell key.
+     */
+    private static Long getKey(int cx, int cy)
+    {
+        return Long.valueOf((long) cx << Integer.SIZE | cy & 0xFFFFFFFFL);
+    }
+
+    /** Indexed displayables. */
+    private final Map<Displayable, Entry> entries = new LinkedHashMap<>();
+    /** Displayables without location. */
+    private final Collection<Displayable> unlocated = new ArrayList<>();
+    /** Grid cells. */
+    private final Map<Long, List<Entry>> cells = new HashMap<>();
+    /** Cell size in pixel. */
+    private final int cellSize;
+    /** Current query stamp. */
+    private int stamp;
+
+    /**
+     * Create index.
+     * 
+     * @param cellSize The cell size in pixel.
+     */
+    DisplayableIndex(int cellSize)
+    {
+        super();
+
+        this.cellSize = cellSize;
+    }
+
+    /**
+     * Add displayable. Does nothing if already indexed.
+     * 
+     * @param displayable The displayable to add.
+     */
+    void add(Displayable displayable)
+    {
+        if (!entries.containsKey(displayable))
+        {
+            if (displayable.hasFeature(Transformable.class))
+            {
+                final Entry entry = new Entry(displayable, displayable.getFeature(Transformable.class));
+                entries.put(displayable, entry);
+                entry.update();
+                entry.transformable.addListener(entry);
+            }
+            else
+            {
+                entries.put(displayable, null);
+                unlocated.add(displayable);
+            }
+        }
+    }
+
+    /**
+     * Remove displayable.
+     * 
+     * @param displayable The displayable to remove.
+     */
+    void remove(Displayable displayable)
+    {
+        if (entries.containsKey(displayable))
+        {
+            final Entry entry = entries.remove(displayable);
+            if (entry != null)
+            {
+                entry.transformable.removeListener(entry);
+                entry.clear();
+            }
+            else
+            {
+                unlocated.remove(displayable);
+            }
+        }
+    }
+
+    /**
+     * Remove all displayables.
+     */
+    void clear()
+    {
+        for (final Entry entry : entries.values())
+        {
+            if (entry != null)
+            {
+                entry.transformable.removeListener(entry);
+            }
+        }
+        entries.clear();
+        unlocated.clear();
+        cells.clear();
+    }
+
+    /**
+     * Get the number of indexed displayables.
+     * 
+     * @return The displayables number.
+     */
+    int size()
+    {
+        return entries.size();
+    }
+
+    /**
+     * Collect displayables intersecting the area, and displayables without location.
+     * 
+     * @param visible The collected displayables.
+     * @param minX The area minimum horizontal location.
+     * @param minY The area minimum vertical location.
+     * @param maxX The area maximum horizontal location.
+     * @param maxY The area maximum vertical location.
+     */
+    void collect(List<Displayable> visible, double minX, double minY, double maxX, double maxY)
+    {
+        for (final Displayable displayable : unlocated)
+        {
+            visible.add(displayable);
+        }
+
+        stamp++;
+        final int sx = getCell(minX);
+        final int ex = getCell(maxX);
+        final int sy = getCell(minY);
+        final int ey = getCell(maxY);
+        for (int cy = sy; cy <= ey; cy++)
+        {
+            for (int cx = sx; cx <= ex; cx++)
+            {
+                final List<Entry> cell = cells.get(getKey(cx, cy));
+                if (cell != null)
+                {
+                    collect(visible, cell, minX, minY, maxX, maxY);
+                }
+            }
+        }
+    }
+
+    /**
+     * Collect cell displayables intersecting the area, not already collected during current query.
+     * 
+     * @param visible The collected displayables.
+     * @param cell The cell entries.
+     * @param minX The area minimum horizontal location.
+     * @param minY The area minimum vertical location.
+     * @param maxX The area maximum horizontal location.
+     * @param maxY The area maximum vertical location.
+     */
+    private void collect(List<Displayable> visible,
+                         List<Entry> cell,
+                         double minX,
+                         double minY,
+                         double maxX,
+                         double maxY)
+    {
+        final int n = cell.size();
+        for (int i = 0; i < n; i++)
+        {
+            final Entry entry = cell.get(i);
+            if (entry.stamp != stamp)
+            {
+                entry.stamp = stamp;
+                if (entry.intersects(minX, minY, maxX, maxY))
+                {
+                    visible.add(entry.displayable);
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the cell index of the location.
+     * 
+     * @param value The location value.
+     * @return The cell index.
+     */
+    private int getCell(double value)
+    {
+        return (int) Math.floor(value / cellSize);
+    }
+
+    /**
+     * Indexed displayable, listening to its location.
+     */
+    private final class Entry implements TransformableListener
+    {
+        /** Displayable reference. */
+        private final Displayable displayable;
+        /** Transformable reference. */
+        private final Transformable transformable;
+        /** Covered cells horizontal start (inclusive). */
+        private int sx;
+        /** Covered cells vertical start (inclusive). */
+        private int sy;
+        /** Covered cells horizontal end (exclusive, empty if equals to start). */
+        private int ex;
+        /** Covered cells vertical end (exclusive, empty if equals to start). */
+        private int ey;
+        /** Last query stamp. */
+        private int stamp;
+
+        /**
+         * Create entry.
+         * 
+         * @param displayable The displayable reference.
+         * @param transformable The transformable reference.
+         */
+        Entry(Displayable displayable, Transformable transformable)
+        {
+            super();
+
+            this.displayable = displayable;
+            this.transformable = transformable;
+        }
+
+        /**
+         * Check if bounds intersect the area. Bounds are extended by size on each side, as origin is not known.
+         * 
+         * @param minX The area minimum horizontal location.
+         * @param minY The area minimum vertical location.
+         * @param maxX The area maximum horizontal location.
+         * @param maxY The area maximum vertical location.
+         * @return <code>true</code> if intersects, <code>false</code> else.
+         */
+        boolean intersects(double minX, double minY, double maxX, double maxY)
+        {
+            final double x = transformable.getX();
+            final double y = transformable.getY();
+            final int w = transformable.getWidth();
+            final int h = transformable.getHeight();
+            return x + w >= minX && x - w <= maxX && y + h >= minY && y - h <= maxY;
+        }
+
+        /**
+         * Update covered cells from current bounds.
+         */
+        void update()
+        {
+            final double x = transformable.getX();
+            final double y = transformable.getY();
+            final int w = transformable.getWidth();
+            final int h = transformable.getHeight();
+            final int nsx = getCell(x - w);
+            final int nsy = getCell(y - h);
+            final int nex = getCell(x + w) + 1;
+            final int ney = getCell(y + h) + 1;
+            if (nsx != sx || nsy != sy || nex != ex || ney != ey)
+            {
+                clear();
+                sx = nsx;
+                sy = nsy;
+                ex = nex;
+                ey = ney;
+                for (int cy = sy; cy < ey; cy++)
+                {
+                    for (int cx = sx; cx < ex; cx++)
+                    {
+                        cells.computeIfAbsent(getKey(cx, cy), key -> new ArrayList<>()).add(this);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Remove from covered cells.
+         */
+        void clear()
+        {
+            for (int cy = sy; cy < ey; cy++)
+            {
+                for (int cx = sx; cx < ex; cx++)
+                {
+                    final Long key = getKey(cx, cy);
+                    final List<Entry> cell = cells.get(key);
+                    if (cell != null)
+                    {
+                        cell.remove(this);
+                        if (cell.isEmpty())
+                        {
+                            cells.remove(key);
+                        }
+                    }
+                }
+            }
+            ex = sx;
+            ey = sy;
+        }
+
+        /*
+         * TransformableListener
+         */
+
+        @Override
+        public void notifyTransformed(Transformable transformed)
+        {
+            update();
+        }
+    }
+}
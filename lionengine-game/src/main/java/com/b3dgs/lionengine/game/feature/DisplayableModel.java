@@ -18,7 +18,9 @@
 package com.b3dgs.lionengine.game.feature;
 
 import com.b3dgs.lionengine.graphic.Graphic;
+import com.b3dgs.lionengine.graphic.ImageBuffer;
 import com.b3dgs.lionengine.graphic.Renderable;
+import com.b3dgs.lionengine.graphic.drawable.Image;
 
 /**
  * Displayable feature implementation.
@@ -49,4 +51,19 @@ public class DisplayableModel extends FeatureModel implements Displayable
     {
         renderable.render(g);
     }
+
+    /**
+     * Get the renderable surface if it is an {@link Image}.
+     * 
+     * @return The renderable surface, <code>null</code> if not an {@link Image}.
+     */
+    @Override
+    public ImageBuffer getSurface()
+    {
+        if (renderable instanceof Image)
+        {
+            return ((Image) renderable).getSurface();
+        }
+        return null;
+    }
 }
@@ -0,0 +1,316 @@
+/*
+ * Copyright (C) 2013-2018 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package com.b3dgs.lionengine.game.feature;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import com.b3dgs.lionengine.graphic.Graphic;
+import com.b3dgs.lionengine.graphic.ImageBuffer;
+
+/**
+ * Render queue of displayables, sorted by layer, then optional depth (vertical location), then source surface, then
+ * insertion order. Surfaces are identified by a sequential id in their first use order, so rendering order is the same
+ * between runs. Queue order is kept between frames, so the stable insertion sort only has to handle displayables whose
+ * keys changed.
+ */
+final class DisplayableQueue
+{
+    /** Initial queue capacity. */
+    private static final int CAPACITY = 16;
+
+    /**
+     * Compare two entries by layer, then depth, then source, then insertion order.
+     * 
+     * @param a The first entry.
+     * @param b The second entry.
+     * @return <code>true</code> if first entry must be rendered after the second one, <code>false</code> else.
+     */
+    private static boolean isAfter(Entry a, Entry b)
+    {
+        if (a.layer != b.layer)
+        {
+            return a.layer > b.layer;
+        }
+        final int depth = Double.compare(a.depth, b.depth);
+        if (depth != 0)
+        {
+            return depth > 0;
+        }
+        if (a.source != b.source)
+        {
+            return a.source > b.source;
+        }
+        return a.order > b.order;
+    }
+
+    /** Queue entries by displayable. */
+    private final Map<Displayable, Entry> entries = new HashMap<>();
+    /** Surfaces id, released with their surface. */
+    private final Map<ImageBuffer, Integer> surfaces = new WeakHashMap<>();
+    /** Depth sorting flag. */
+    private final boolean sortDepth;
+    /** Sorted queue, kept from last frame. */
+    private Entry[] queue = new Entry[CAPACITY];
+    /** Queue size. */
+    private int size;
+    /** Entries added during current frame. */
+    private Entry[] added = new Entry[CAPACITY];
+    /** Added size. */
+    private int addedSize;
+    /** Current frame. */
+    private int frame;
+    /** Last entry insertion order. */
+    private int order;
+    /** Last surface id. */
+    private int source;
+
+    /**
+     * Create queue.
+     * 
+     * @param depth <code>true</code> to sort by depth inside a layer, <code>false</code> else.
+     */
+    DisplayableQueue(boolean depth)
+    {
+        super();
+
+        this.sortDepth = depth;
+    }
+
+    /**
+     * Start a new frame, all displayables must be added again.
+     */
+    void begin()
+    {
+        frame++;
+        addedSize = 0;
+    }
+
+    /**
+     * Add a visible displayable for current frame.
+     * 
+     * @param displayable The displayable reference.
+     * @param layer The displayable layer.
+     */
+    void add(Displayable displayable, int layer)
+    {
+        Entry entry = entries.get(displayable);
+        if (entry == null)
+        {
+            entry = new Entry(displayable, ++order);
+            entries.put(displayable, entry);
+        }
+        entry.frame = frame;
+        entry.layer = layer;
+        if (sortDepth && entry.transformable != null)
+        {
+            entry.depth = -entry.transformable.getY();
+        }
+        final ImageBuffer surface = displayable.getSurface();
+        if (surface != entry.surface)
+        {
+            entry.surface = surface;
+            entry.source = getSource(surface);
+        }
+        if (!entry.queued)
+        {
+            entry.queued = true;
+            if (addedSize == added.length)
+            {
+                added = Arrays.copyOf(added, addedSize * 2);
+            }
+            added[addedSize++] = entry;
+        }
+    }
+
+    /**
+     * Remove displayable.
+     * 
+     * @param displayable The displayable to remove.
+     */
+    void remove(Displayable displayable)
+    {
+        final Entry entry = entries.remove(displayable);
+        if (entry != null)
+        {
+            entry.removed = true;
+        }
+    }
+
+    /**
+     * Remove all displayables.
+     */
+    void clear()
+    {
+        entries.clear();
+        surfaces.clear();
+        order = 0;
+        source = 0;
+        Arrays.fill(queue, 0, size, null);
+        Arrays.fill(added, 0, addedSize, null);
+        size = 0;
+        addedSize = 0;
+    }
+
+    /**
+     * Sort the displayables added during current frame and render them in order.
+     * 
+     * @param g The graphic output.
+     * @return The number of rendered displayables.
+     */
+    int render(Graphic g)
+    {
+        update();
+        sort();
+        for (int i = 0; i < size; i++)
+        {
+            queue[i].displayable.render(g);
+        }
+        return size;
+    }
+
+    /**
+     * Get the surface id, assigning the next one on first use.
+     * 
+     * @param surface The surface reference (may be <code>null</code>).
+     * @return The surface id, <code>0</code> if <code>null</code>.
+     */
+    private int getSource(ImageBuffer surface)
+    {
+        if (surface == null)
+        {
+            return 0;
+        }
+        Integer id = surfaces.get(surface);
+        if (id == null)
+        {
+            id = Integer.valueOf(++source);
+            surfaces.put(surface, id);
+        }
+        return id.intValue();
+    }
+
+    /**
+     * Remove entries removed or not added during current frame, and append new ones.
+     */
+    private void update()
+    {
+        int kept = 0;
+        for (int i = 0; i < size; i++)
+        {
+            final Entry entry = queue[i];
+            if (entry.frame == frame && !entry.removed)
+            {
+                queue[kept++] = entry;
+            }
+            else
+            {
+                entry.queued = false;
+            }
+        }
+        Arrays.fill(queue, kept, size, null);
+        if (kept + addedSize > queue.length)
+        {
+            queue = Arrays.copyOf(queue, Math.max(queue.length * 2, kept + addedSize));
+        }
+        for (int i = 0; i < addedSize; i++)
+        {
+            final Entry entry = added[i];
+            if (entry.frame == frame && !entry.removed)
+            {
+                queue[kept++] = entry;
+            }
+            else
+            {
+                entry.queued = false;
+            }
+            added[i] = null;
+        }
+        size = kept;
+        addedSize = 0;
+    }
+
+    /**
+     * Insertion sort of the queue, linear when order did not change since last frame.
+     */
+    private void sort()
+    {
+        for (int i = 1; i < size; i++)
+        {
+            final Entry entry = queue[i];
+            int j = i - 1;
+            while (j >= 0 && isAfter(queue[j], entry))
+            {
+                queue[j + 1] = queue[j];
+                j--;
+            }
+            queue[j + 1] = entry;
+        }
+    }
+
+    /**
+     * Queued displayable.
+     */
+    private static final class Entry
+    {
+        /** Displayable reference. */
+        private final Displayable displayable;
+        /** Transformable reference (<code>null</code> if none). */
+        private final Transformable transformable;
+        /** Insertion order, last key. */
+        private final int order;
+        /** Layer key. */
+        private int layer;
+        /** Depth key. */
+        private double depth;
+        /** Last surface (<code>null</code> if none). */
+        private ImageBuffer surface;
+        /** Source key, as surface id. */
+        private int source;
+        /** Last frame added. */
+        private int frame;
+        /** Queued flag. */
+        private boolean queued;
+        /** Removed flag. */
+        private boolean removed;
+
+        /**
+         * Create entry.
+         * 
+         * @param displayable The displayable reference.
+         * @param order The insertion order.
+         */
+        Entry(Displayable displayable, int order)
+        {
+            super();
+
+            this.displayable = displayable;
+            this.order = order;
+            if (displayable.hasFeature(Transformable.class))
+            {
+                transformable = displayable.getFeature(Transformable.class);
+            }
+            else
+            {
+                transformable = null;
+            }
+        }
+    }
+}
@@ -187,6 +187,19 @@ public class Factory implements HandlerListener
         return setups.get(media);
     }
 
+    /**
+     * Dispose all setups, and clear cached featurables.
+     */
+    public void clear()
+    {
+        for (final Setup setup : setups.values())
+        {
+            setup.dispose();
+        }
+        setups.clear();
+        cache.clear();
+    }
+
     /**
      * Create a setup from its media.
      * 
@@ -18,15 +18,18 @@
 package com.b3dgs.lionengine.game.feature;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 
 import com.b3dgs.lionengine.Updatable;
 import com.b3dgs.lionengine.game.FeatureProvider;
 import com.b3dgs.lionengine.graphic.Graphic;
 import com.b3dgs.lionengine.graphic.Renderable;
+import com.b3dgs.lionengine.graphic.engine.FrameProfiler;
 
 /**
  * Designed to handle {@link Featurable}, updating and rendering a set of components.
@@ -38,12 +41,59 @@ import com.b3dgs.lionengine.graphic.Renderable;
  */
 public class Handler implements Handlables, Updatable, Renderable, IdentifiableListener
 {
+    /** Updater phase prefix. */
+    private static final String PHASE_UPDATER = "updater ";
+    /** Renderer phase prefix. */
+    private static final String PHASE_RENDERER = "renderer ";
+
+    /**
+     * Get the profiler phase name of a component.
+     * 
+     * @param prefix The phase prefix.
+     * @param component The component reference.
+     * @return The phase name.
+     */
+    private static String getPhase(String prefix, Object component)
+    {
+        final Class<?> type = component.getClass();
+        final String name = type.getSimpleName();
+        if (name.isEmpty())
+        {
+            return prefix + type.getName();
+        }
+        return prefix + name;
+    }
+
+    /**
+     * Register component phase to profiler.
+     * 
+     * @param profiler The profiler reference.
+     * @param phases The current phases.
+     * @param index The component index.
+     * @param phase The phase name.
+     * @return The phases with registered component phase.
+     */
+    private static int[] register(FrameProfiler profiler, int[] phases, int index, String phase)
+    {
+        final int[] registered;
+        if (index < phases.length)
+        {
+            registered = phases;
+        }
+        else
+        {
+            registered = Arrays.copyOf(phases, Math.max(index + 1, phases.length * 2));
+        }
+        registered[index] = profiler.register(phase);
+        return registered;
+    }
+
     /** Handler listeners. */
     private final Collection<HandlerListener> listeners = new HashSet<>();
     /** List of components updater. */
-    private final Collection<ComponentUpdater> updaters = new ArrayList<>();
+    private final List<ComponentUpdater> updaters = new ArrayList<>();
     /** List of components renderer. */
-    private final Collection<ComponentRenderer> renderers = new ArrayList<>();
+    private final List<ComponentRenderer> renderers = new ArrayList<>();
     /** List of featurables. */
     private final HandlablesImpl featurables = new HandlablesImpl();
     /** To add list. */
@@ -52,6 +102,12 @@ public class Handler implements Handlables, Updatable, Renderable, IdentifiableL
     private final Collection<Integer> toRemove = new HashSet<>();
     /** Services reference. */
     private final Services services;
+    /** Profiler reference (<code>null</code> if none). */
+    private final FrameProfiler profiler;
+    /** Updaters profiler phases. */
+    private int[] updatersPhase = new int[0];
+    /** Renderers profiler phases. */
+    private int[] renderersPhase = new int[0];
     /** Will remove flag. */
     private boolean willRemove;
     /** Will add flag. */
@@ -59,6 +115,9 @@ public class Handler implements Handlables, Updatable, Renderable, IdentifiableL
 
     /**
      * Create a handler.
+     * <p>
+     * If a {@link FrameProfiler} is available in services, each component duration is recorded.
+     * </p>
      * 
      * @param services The services reference.
      */
@@ -67,6 +126,7 @@ public class Handler implements Handlables, Updatable, Renderable, IdentifiableL
         super();
 
         this.services = services;
+        profiler = services.getOptional(FrameProfiler.class).orElse(null);
     }
 
     /**
@@ -97,6 +157,10 @@ public class Handler implements Handlables, Updatable, Renderable, IdentifiableL
      */
     public final void addComponent(ComponentUpdater component)
     {
+        if (profiler != null)
+        {
+            updatersPhase = register(profiler, updatersPhase, updaters.size(), getPhase(PHASE_UPDATER, component));
+        }
         updaters.add(component);
         services.add(component);
         if (component instanceof HandlerListener)
@@ -113,6 +177,10 @@ public class Handler implements Handlables, Updatable, Renderable, IdentifiableL
      */
     public final void addComponent(ComponentRenderer component)
     {
+        if (profiler != null)
+        {
+            renderersPhase = register(profiler, renderersPhase, renderers.size(), getPhase(PHASE_RENDERER, component));
+        }
         renderers.add(component);
         services.add(component);
         if (component instanceof HandlerListener)
@@ -254,9 +322,22 @@ public class Handler implements Handlables, Updatable, Renderable, IdentifiableL
         {
             updateAdd();
         }
-        for (final ComponentUpdater component : updaters)
+        if (profiler == null)
+        {
+            for (final ComponentUpdater component : updaters)
+            {
+                component.update(extrp, featurables);
+            }
+        }
+        else
         {
-            component.update(extrp, featurables);
+            final int n = updaters.size();
+            for (int i = 0; i < n; i++)
+            {
+                final long start = System.nanoTime();
+                updaters.get(i).update(extrp, featurables);
+                profiler.record(updatersPhase[i], start);
+            }
         }
     }
 
@@ -267,9 +348,22 @@ public class Handler implements Handlables, Updatable, Renderable, IdentifiableL
     @Override
     public void render(Graphic g)
     {
-        for (final ComponentRenderer component : renderers)
+        if (profiler == null)
         {
-            component.render(g, featurables);
+            for (final ComponentRenderer component : renderers)
+            {
+                component.render(g, featurables);
+            }
+        }
+        else
+        {
+            final int n = renderers.size();
+            for (int i = 0; i < n; i++)
+            {
+                final long start = System.nanoTime();
+                renderers.get(i).render(g, featurables);
+                profiler.record(renderersPhase[i], start);
+            }
         }
     }
 
@@ -91,6 +91,7 @@ public abstract class SequenceGame extends Sequence
         super(context, resolution, loop);
 
         services.add(context);
+        services.add(getProfiler());
         services.add(new Sequencer()
         {
             @Override
@@ -104,6 +105,12 @@ public abstract class SequenceGame extends Sequence
             {
                 SequenceGame.this.end(nextSequenceClass, arguments);
             }
+
+            @Override
+            public void preload(Class<? extends Sequencable> nextSequenceClass, Object... arguments)
+            {
+                SequenceGame.this.preload(nextSequenceClass, arguments);
+            }
         });
         services.add((Zooming) this::setZoom);
         services.add((TimeControl) this::setTime);
@@ -42,6 +42,28 @@ public class Setup extends Configurer
     /** Class error. */
     static final String ERROR_CLASS = "Class not found for: ";
 
+    /**
+     * Get media of a file relative to configuration.
+     * 
+     * @param config The config media.
+     * @param file The file relative to config.
+     * @return The file media.
+     */
+    static Media getMedia(Media config, String file)
+    {
+        final String conf = config.getPath();
+        final String prefix;
+        if (conf.lastIndexOf(Medias.getSeparator()) > -1)
+        {
+            prefix = conf.substring(0, conf.lastIndexOf(Medias.getSeparator()) + 1);
+        }
+        else
+        {
+            prefix = conf.substring(0, conf.lastIndexOf(File.separator) + 1);
+        }
+        return Medias.create(prefix + file);
+    }
+
     /** Surface reference. */
     protected final Optional<ImageBuffer> surface;
     /** Surface file name. */
@@ -50,6 +72,8 @@ public class Setup extends Configurer
     private final Optional<Media> iconFile;
     /** Class reference (can be <code>null</code>). */
     private Class<?> clazz;
+    /** Disposed flag. */
+    private boolean disposed;
 
     /**
      * Create a setup.
@@ -63,27 +87,17 @@ public class Setup extends Configurer
 
         if (hasNode(SurfaceConfig.NODE_SURFACE))
         {
-            final String conf = config.getPath();
             final SurfaceConfig surfaceData = SurfaceConfig.imports(getRoot());
-            final String prefix;
-            if (conf.lastIndexOf(Medias.getSeparator()) > -1)
-            {
-                prefix = conf.substring(0, conf.lastIndexOf(Medias.getSeparator()) + 1);
-            }
-            else
-            {
-                prefix = conf.substring(0, conf.lastIndexOf(File.separator) + 1);
-            }
-            final Media surfaceMedia = Medias.create(prefix + surfaceData.getImage());
+            final Media surfaceMedia = getMedia(config, surfaceData.getImage());
             if (surfaceData.getIcon().isPresent())
             {
-                iconFile = Optional.of(Medias.create(prefix + surfaceData.getIcon().get()));
+                iconFile = Optional.of(getMedia(config, surfaceData.getIcon().get()));
             }
             else
             {
                 iconFile = Optional.empty();
             }
-            surface = Optional.of(Graphics.getImageBuffer(surfaceMedia));
+            surface = Optional.of(Graphics.getImageCache().acquire(surfaceMedia));
             surfaceFile = Optional.of(surfaceMedia);
         }
         else
@@ -94,6 +108,18 @@ public class Setup extends Configurer
         }
     }
 
+    /**
+     * Release the surface from the shared image cache. Setup surface must not be used after.
+     */
+    public void dispose()
+    {
+        if (!disposed && surface.isPresent())
+        {
+            Graphics.getImageCache().release(surface.get());
+        }
+        disposed = true;
+    }
+
     /**
      * Get the class mapped to the setup. Lazy call (load class only first time, and keep its reference after).
      * 
@@ -0,0 +1,143 @@
+/*
+ * Copyright (C) 2013-2018 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package com.b3dgs.lionengine.game.feature;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Verbose;
+import com.b3dgs.lionengine.Xml;
+import com.b3dgs.lionengine.game.SurfaceConfig;
+import com.b3dgs.lionengine.graphic.Graphics;
+import com.b3dgs.lionengine.graphic.atlas.Atlas;
+import com.b3dgs.lionengine.graphic.atlas.AtlasBuilder;
+
+/**
+ * Pack images referenced by {@link Setup} configurations into an {@link Atlas}.
+ * <p>
+ * Surface and icon of each configuration are packed. Once registered with {@link #load(Media, Collection, int, int)},
+ * setups and sprites created afterwards draw from atlas pages without any other change.
+ * </p>
+ */
+public final class SetupAtlas
+{
+    /** Default padding between images. */
+    public static final int DEFAULT_PADDING = 1;
+    /** Atlas loaded info. */
+    private static final String INFO_LOADED = "Atlas loaded: ";
+    /** Atlas outdated info. */
+    private static final String INFO_OUTDATED = "Atlas outdated, rebuilding: ";
+
+    /**
+     * Get the images referenced by configurations.
+     * 
+     * @param configs The setup configurations (must not be <code>null</code>).
+     * @return The referenced images, without duplicates.
+     * @throws LionEngineException If invalid argument or unable to read a configuration.
+     */
+    public static List<Media> getImages(Collection<Media> configs)
+    {
+        Check.notNull(configs);
+
+        final Set<Media> images = new LinkedHashSet<>();
+        for (final Media config : configs)
+        {
+            final Xml root = new Xml(config);
+            if (root.hasChild(SurfaceConfig.NODE_SURFACE))
+            {
+                final SurfaceConfig surface = SurfaceConfig.imports(root);
+                images.add(Setup.getMedia(config, surface.getImage()));
+                surface.getIcon().ifPresent(icon -> images.add(Setup.getMedia(config, icon)));
+            }
+        }
+        return new ArrayList<>(images);
+    }
+
+    /**
+     * Build atlas from images referenced by configurations.
+     * 
+     * @param configs The setup configurations (must not be <code>null</code>).
+     * @param pageWidth The maximum page width (strictly positive).
+     * @param pageHeight The maximum page height (strictly positive).
+     * @return The built atlas.
+     * @throws LionEngineException If invalid arguments or unable to build atlas.
+     */
+    public static Atlas build(Collection<Media> configs, int pageWidth, int pageHeight)
+    {
+        final AtlasBuilder builder = new AtlasBuilder(pageWidth, pageHeight, DEFAULT_PADDING);
+        builder.add(getImages(configs));
+        return builder.build();
+    }
+
+    /**
+     * Load persisted atlas, or build and save it if missing or outdated (an image is not packed, or changed since
+     * packing, see {@link Atlas#isOutdated(Media)}). Loaded atlas is set to {@link Graphics#getImageCache()}.
+     * 
+     * @param index The atlas index (must not be <code>null</code>).
+     * @param configs The setup configurations (must not be <code>null</code>).
+     * @param pageWidth The maximum page width (strictly positive).
+     * @param pageHeight The maximum page height (strictly positive).
+     * @return The loaded atlas.
+     * @throws LionEngineException If invalid arguments or unable to load atlas.
+     */
+    public static Atlas load(Media index, Collection<Media> configs, int pageWidth, int pageHeight)
+    {
+        Check.notNull(index);
+
+        final List<Media> images = getImages(configs);
+        Atlas atlas = null;
+        if (index.exists())
+        {
+            atlas = Atlas.load(index);
+            if (images.stream().anyMatch(atlas::isOutdated))
+            {
+                Verbose.info(INFO_OUTDATED, index.getPath());
+                atlas.dispose();
+                atlas = null;
+            }
+        }
+        if (atlas == null)
+        {
+            final AtlasBuilder builder = new AtlasBuilder(pageWidth, pageHeight, DEFAULT_PADDING);
+            builder.add(images);
+            atlas = builder.build();
+            atlas.save(index);
+        }
+        else
+        {
+            Verbose.info(INFO_LOADED, index.getPath());
+        }
+        Graphics.getImageCache().setAtlas(atlas);
+
+        return atlas;
+    }
+
+    /**
+     * Private constructor.
+     */
+    private SetupAtlas()
+    {
+        throw new LionEngineException(LionEngineException.ERROR_PRIVATE_CONSTRUCTOR);
+    }
+}
@@ -50,7 +50,7 @@ public interface Rasterable extends Feature, Updatable, Renderable
      * Get raster animation from raster index.
      * 
      * @param rasterIndex The raster index (positive).
-     * @return The raster animated sprite.
+     * @return The raster animated sprite, sharing the setup raster surface (must not be disposed).
      */
     SpriteAnimated getRasterAnim(int rasterIndex);
 
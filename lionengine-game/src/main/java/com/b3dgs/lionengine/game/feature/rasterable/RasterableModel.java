@@ -17,9 +17,6 @@
  */
 package com.b3dgs.lionengine.game.feature.rasterable;
 
-import java.util.ArrayList;
-import java.util.List;
-
 import com.b3dgs.lionengine.Check;
 import com.b3dgs.lionengine.Origin;
 import com.b3dgs.lionengine.Updatable;
@@ -42,12 +39,20 @@ import com.b3dgs.lionengine.graphic.raster.RasterImage;
 
 /**
  * Default rasterable implementation.
+ * <p>
+ * Raster surfaces are computed on demand and owned by the setup cache. Model only borrows the surface of its current
+ * raster, wrapped in a sprite when raster changes, and never disposes it.
+ * </p>
  */
 @FeatureInterface
 public class RasterableModel extends FeatureModel implements Rasterable
 {
-    /** List of rastered frames. */
-    private final List<SpriteAnimated> rastersAnim = new ArrayList<>(RasterImage.MAX_RASTERS);
+    /** Setup reference. */
+    private final SetupSurfaceRastered setup;
+    /** Horizontal frames. */
+    private final int hf;
+    /** Vertical frames. */
+    private final int vf;
     /** Smooth raster flag. */
     private final boolean smooth;
     /** Raster height. */
@@ -64,6 +69,8 @@ public class RasterableModel extends FeatureModel implements Rasterable
     private Animatable animatable;
     /** Last raster. */
     private SpriteAnimated raster;
+    /** Last raster index. */
+    private int rasterIndex;
     /** Origin value. */
     private Origin origin;
     /** Frame offsets x. */
@@ -99,29 +106,24 @@ public class RasterableModel extends FeatureModel implements Rasterable
 
         viewer = services.get(Viewer.class);
 
+        this.setup = setup;
         height = setup.getRasterHeight();
         smooth = setup.hasSmooth();
 
         final FramesConfig framesData = FramesConfig.imports(setup);
-        final int hf = framesData.getHorizontal();
-        final int vf = framesData.getVertical();
+        hf = framesData.getHorizontal();
+        vf = framesData.getVertical();
 
-        for (final ImageBuffer buffer : setup.getRasters())
-        {
-            final SpriteAnimated sprite = Drawable.loadSpriteAnimated(buffer, hf, vf);
-            rastersAnim.add(sprite);
-        }
-        if (rastersAnim.isEmpty())
+        if (setup.hasRasters())
         {
-            rastersAnim.add(Drawable.loadSpriteAnimated(setup.getSurface(), hf, vf));
-            updater = UpdatableVoid.getInstance();
+            updater = extrp -> updateRasterAnim();
         }
         else
         {
-            updater = extrp -> updateRasterAnim();
+            updater = UpdatableVoid.getInstance();
         }
 
-        raster = rastersAnim.get(0);
+        raster = Drawable.loadSpriteAnimated(setup.getRaster(0), hf, vf);
     }
 
     @Override
@@ -137,9 +139,14 @@ public class RasterableModel extends FeatureModel implements Rasterable
     private void updateRasterAnim()
     {
         final int index = getRasterIndex(transformable.getY());
-        if (index >= 0)
+        if (index >= 0 && index != rasterIndex)
         {
-            raster = rastersAnim.get(index);
+            final ImageBuffer surface = setup.getRaster(index);
+            if (surface != raster.getSurface())
+            {
+                raster = Drawable.loadSpriteAnimated(surface, hf, vf);
+            }
+            rasterIndex = index;
         }
     }
 
@@ -191,7 +198,7 @@ public class RasterableModel extends FeatureModel implements Rasterable
     {
         Check.superiorOrEqual(rasterIndex, 0);
 
-        return rastersAnim.get(rasterIndex);
+        return Drawable.loadSpriteAnimated(setup.getRaster(rasterIndex), hf, vf);
     }
 
     @Override
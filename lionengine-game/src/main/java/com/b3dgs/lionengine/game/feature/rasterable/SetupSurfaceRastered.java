@@ -17,21 +17,26 @@
  */
 package com.b3dgs.lionengine.game.feature.rasterable;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Function;
 
 import com.b3dgs.lionengine.Constant;
 import com.b3dgs.lionengine.LionEngineException;
 import com.b3dgs.lionengine.Media;
 import com.b3dgs.lionengine.Medias;
-import com.b3dgs.lionengine.UtilFile;
-import com.b3dgs.lionengine.game.FramesConfig;
+import com.b3dgs.lionengine.UtilConversion;
 import com.b3dgs.lionengine.game.feature.Setup;
 import com.b3dgs.lionengine.graphic.ImageBuffer;
+import com.b3dgs.lionengine.graphic.raster.RasterCache;
 import com.b3dgs.lionengine.graphic.raster.RasterImage;
 
 /**
  * Define a structure used to create multiple rastered surface, sharing the same data.
+ * <p>
+ * Rasters are computed on demand with {@link #getRaster(int)}, and shared by all users of the setup.
+ * </p>
  */
 public class SetupSurfaceRastered extends Setup
 {
@@ -44,6 +49,8 @@ public class SetupSurfaceRastered extends Setup
 
     /** Raster image. */
     private final RasterImage raster;
+    /** Rasters cache, <code>null</code> if no raster. */
+    private final RasterCache<ImageBuffer> cache;
 
     /**
      * Create a setup.
@@ -67,9 +74,6 @@ public class SetupSurfaceRastered extends Setup
     {
         super(config);
 
-        final FramesConfig framesData = FramesConfig.imports(getRoot());
-        final int vf = framesData.getVertical();
-
         if (hasNode(NODE_RASTER))
         {
             final int rasterHeight = getInteger(ATTRIBUTE_RASTER_HEIGHT, NODE_RASTER);
@@ -86,24 +90,74 @@ public class SetupSurfaceRastered extends Setup
             }
 
             raster = new RasterImage(getSurface(), rasterFile, rasterHeight, smooth);
-
-            final int frameHeight = getSurface().getHeight() / vf;
-            raster.loadRasters(frameHeight, false, UtilFile.removeExtension(config.getName()));
+            cache = raster.createCache(true, Function.identity());
         }
         else
         {
             raster = new RasterImage(getSurface(), config, 1, false);
+            cache = null;
         }
     }
 
     /**
-     * Get the rasters as read only.
+     * Get all the rasters as read only, computing them if needed. Prefer {@link #getRaster(int)} to compute only
+     * rendered rasters.
      * 
-     * @return The rasters.
+     * @return The rasters, empty if no raster.
      */
     public List<ImageBuffer> getRasters()
     {
-        return Collections.unmodifiableList(raster.getRasters());
+        if (cache == null)
+        {
+            return Collections.emptyList();
+        }
+        final int count = RasterImage.MAX_RASTERS * (UtilConversion.boolToInt(raster.hasSmooth()) + 1);
+        final List<ImageBuffer> rasters = new ArrayList<>(count);
+        for (int i = 0; i < count; i++)
+        {
+            rasters.add(cache.get(i));
+        }
+        return Collections.unmodifiableList(rasters);
+    }
+
+    /**
+     * Get the raster surface, computing it if needed.
+     * 
+     * @param index The raster index (must be superior or equal to 0).
+     * @return The raster surface, or the surface if no raster.
+     * @throws LionEngineException If invalid argument.
+     */
+    public ImageBuffer getRaster(int index)
+    {
+        if (cache == null)
+        {
+            return getSurface();
+        }
+        return cache.get(index);
+    }
+
+    /**
+     * Check if setup defines rasters.
+     * 
+     * @return <code>true</code> if has rasters, <code>false</code> else.
+     */
+    public boolean hasRasters()
+    {
+        return cache != null;
+    }
+
+    /**
+     * Set the maximum number of rasters kept computed.
+     * 
+     * @param capacity The capacity (must be strictly positive).
+     * @throws LionEngineException If invalid argument.
+     */
+    public void setRastersCapacity(int capacity)
+    {
+        if (cache != null)
+        {
+            cache.setCapacity(capacity);
+        }
     }
 
     /**
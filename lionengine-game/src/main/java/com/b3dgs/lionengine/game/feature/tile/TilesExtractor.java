@@ -18,19 +18,24 @@
 package com.b3dgs.lionengine.game.feature.tile;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import com.b3dgs.lionengine.Constant;
 import com.b3dgs.lionengine.LionEngineException;
 import com.b3dgs.lionengine.Media;
 import com.b3dgs.lionengine.graphic.ColorRgba;
-import com.b3dgs.lionengine.graphic.Graphic;
 import com.b3dgs.lionengine.graphic.Graphics;
 import com.b3dgs.lionengine.graphic.ImageBuffer;
-import com.b3dgs.lionengine.graphic.drawable.Drawable;
 import com.b3dgs.lionengine.graphic.drawable.ImageHeader;
 import com.b3dgs.lionengine.graphic.drawable.ImageInfo;
-import com.b3dgs.lionengine.graphic.drawable.SpriteTiled;
 
 /**
  * This class allows to extract unique tiles from a level rip.
@@ -45,7 +50,8 @@ public final class TilesExtractor
     public static final int IGNORED_COLOR_VALUE = IGNORED_COLOR.getRgba();
 
     /**
-     * Compare two tiles by checking all pixels.
+     * Compare two tiles by checking all pixels. Fully transparent pixels are considered equal whatever their color,
+     * consistently with {@link #hashTile(int, int, ImageBuffer, int, int)}.
      * 
      * @param tw The tile width.
      * @param th The tile height.
@@ -59,38 +65,141 @@ public final class TilesExtractor
      */
     public static boolean compareTile(int tw, int th, ImageBuffer a, int xa, int ya, ImageBuffer b, int xb, int yb)
     {
-        for (int x = 0; x < tw; x++)
+        return a.compare(xa, ya, b, xb, yb, tw, th);
+    }
+
+    /**
+     * Compute the tile content hash. Tiles equal regarding {@link #compareTile(int, int, ImageBuffer, int, int,
+     * ImageBuffer, int, int)} have the same hash, fully transparent pixels being considered equal.
+     * 
+     * @param tw The tile width.
+     * @param th The tile height.
+     * @param image The tile image.
+     * @param x The location x.
+     * @param y The location y.
+     * @return The tile hash.
+     */
+    public static int hashTile(int tw, int th, ImageBuffer image, int x, int y)
+    {
+        final int[] data = image.getRgb(x, y, tw, th, new int[tw * th], 0, tw);
+
+        int hash = 1;
+        for (int j = 0; j < th; j++)
         {
-            for (int y = 0; y < th; y++)
+            final int line = j * tw;
+            for (int i = 0; i < tw; i++)
             {
-                final int colorA = a.getRgb(x + xa, y + ya);
-                final int colorB = b.getRgb(x + xb, y + yb);
+                final int rgb = data[line + i];
+                if (rgb >>> Constant.BYTE_4 == 0)
+                {
+                    hash = 31 * hash;
+                }
+                else
+                {
+                    hash = 31 * hash + rgb;
+                }
+            }
+        }
+        return hash;
+    }
 
-                if (colorA != colorB)
+    /**
+     * Scan level rip and keep its locally unique tiles, in level order.
+     * 
+     * @param levelRip The level rip.
+     * @param tw The tile width.
+     * @param th The tile height.
+     * @param canceler The canceler reference (can be <code>null</code>).
+     * @param canceled The extraction canceled flag.
+     * @return The level unique tiles.
+     * @throws LionEngineException If an error occurred when reading the image.
+     */
+    private static LevelTiles scan(Media levelRip, int tw, int th, Canceler canceler, AtomicBoolean canceled)
+    {
+        final ImageBuffer surface = Graphics.getImageBuffer(levelRip);
+        final LevelTiles level = new LevelTiles(surface);
+        final int horizontalTiles = surface.getWidth() / tw;
+        final int verticalTiles = surface.getHeight() / th;
+        final Map<Integer, Collection<Integer>> unique = new HashMap<>();
+
+        for (int v = 0; v < verticalTiles; v++)
+        {
+            if (canceled.get() || canceler != null && canceler.isCanceled())
+            {
+                level.canceled = true;
+                return level;
+            }
+            for (int h = 0; h < horizontalTiles; h++)
+            {
+                final int x = h * tw;
+                final int y = v * th;
+                if (IGNORED_COLOR_VALUE != surface.getRgb(x, y))
                 {
-                    return false;
+                    final int hash = hashTile(tw, th, surface, x, y);
+                    final Collection<Integer> candidates = unique.computeIfAbsent(Integer.valueOf(hash),
+                                                                                  k -> new ArrayList<>(1));
+                    if (!contains(tw, th, surface, x, y, level, candidates))
+                    {
+                        candidates.add(Integer.valueOf(level.size()));
+                        level.add(hash, x, y);
+                    }
                 }
             }
         }
-        return true;
+        level.checked = horizontalTiles * verticalTiles;
+        return level;
     }
 
     /**
-     * Check if tile has already been extracted regarding the current tile on level rip.
+     * Check if tile is one of the level candidates.
      * 
-     * @param level The level rip reference.
-     * @param x The current level rip horizontal location.
-     * @param y The current level rip vertical location.
-     * @param tiles The current extracted tiles.
-     * @return <code>true</code> if already extracted, <code>false</code> else.
+     * @param tw The tile width.
+     * @param th The tile height.
+     * @param surface The level surface.
+     * @param x The tile horizontal location.
+     * @param y The tile vertical location.
+     * @param level The level unique tiles.
+     * @param candidates The level unique tiles indexes sharing tile hash.
+     * @return <code>true</code> if already found, <code>false</code> else.
      */
-    private static boolean isExtracted(SpriteTiled level, int x, int y, Collection<ImageBuffer> tiles)
+    private static boolean contains(int tw,
+                                    int th,
+                                    ImageBuffer surface,
+                                    int x,
+                                    int y,
+                                    LevelTiles level,
+                                    Collection<Integer> candidates)
     {
-        final int tw = level.getTileWidth();
-        final int th = level.getTileHeight();
-        final ImageBuffer surface = level.getSurface();
+        for (final Integer candidate : candidates)
+        {
+            final int index = candidate.intValue();
+            if (compareTile(tw, th, surface, x, y, surface, level.getX(index), level.getY(index)))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
 
-        for (final ImageBuffer tile : tiles)
+    /**
+     * Check if tile has already been extracted.
+     * 
+     * @param tw The tile width.
+     * @param th The tile height.
+     * @param surface The level surface.
+     * @param x The tile horizontal location.
+     * @param y The tile vertical location.
+     * @param candidates The extracted tiles sharing tile hash.
+     * @return <code>true</code> if already extracted, <code>false</code> else.
+     */
+    private static boolean isExtracted(int tw,
+                                       int th,
+                                       ImageBuffer surface,
+                                       int x,
+                                       int y,
+                                       Collection<ImageBuffer> candidates)
+    {
+        for (final ImageBuffer tile : candidates)
         {
             if (compareTile(tw, th, surface, x, y, tile, 0, 0))
             {
@@ -101,24 +210,74 @@ public final class TilesExtractor
     }
 
     /**
-     * Extract the tile from level.
+     * Merge level unique tiles with already extracted tiles.
+     * 
+     * @param tw The tile width.
+     * @param th The tile height.
+     * @param level The level unique tiles.
+     * @param extracted The extracted tiles by hash.
+     * @param tiles The extracted tiles.
+     */
+    private static void merge(int tw,
+                              int th,
+                              LevelTiles level,
+                              Map<Integer, Collection<ImageBuffer>> extracted,
+                              Collection<ImageBuffer> tiles)
+    {
+        for (int i = 0; i < level.size(); i++)
+        {
+            final int x = level.getX(i);
+            final int y = level.getY(i);
+            final Collection<ImageBuffer> candidates = extracted.computeIfAbsent(Integer.valueOf(level.getHash(i)),
+                                                                                 k -> new ArrayList<>(1));
+            if (!isExtracted(tw, th, level.surface, x, y, candidates))
+            {
+                final ImageBuffer tile = extract(tw, th, level.surface, x, y);
+                candidates.add(tile);
+                tiles.add(tile);
+            }
+        }
+    }
+
+    /**
+     * Extract the tile from level by copying its pixels.
      * 
-     * @param level The level image reference.
-     * @param number The tile number on level.
+     * @param tw The tile width.
+     * @param th The tile height.
+     * @param surface The level surface.
+     * @param x The tile horizontal location.
+     * @param y The tile vertical location.
      * @return The extracted tile image from level.
      */
-    private static ImageBuffer extract(SpriteTiled level, int number)
+    private static ImageBuffer extract(int tw, int th, ImageBuffer surface, int x, int y)
     {
-        final ColorRgba transparency = level.getSurface().getTransparentColor();
-        final ImageBuffer tile = Graphics.createImageBuffer(level.getTileWidth(), level.getTileHeight(), transparency);
-        final Graphic g = tile.createGraphic();
-        level.setTile(number);
-        level.render(g);
-        g.dispose();
-
-        final ImageBuffer copy = Graphics.getImageBuffer(tile);
-        tile.dispose();
-        return copy;
+        final ImageBuffer tile = Graphics.createImageBuffer(tw, th, surface.getTransparentColor());
+        tile.copy(surface, x, y, tw, th, 0, 0);
+        tile.prepare();
+        return tile;
+    }
+
+    /**
+     * Wait for level scan result.
+     * 
+     * @param level The level scan.
+     * @return The level unique tiles.
+     * @throws LionEngineException If scan failed.
+     */
+    private static LevelTiles join(CompletableFuture<LevelTiles> level)
+    {
+        try
+        {
+            return level.join();
+        }
+        catch (final CompletionException exception)
+        {
+            if (exception.getCause() instanceof LionEngineException)
+            {
+                throw (LionEngineException) exception.getCause();
+            }
+            throw new LionEngineException(exception.getCause());
+        }
     }
 
     /**
@@ -191,6 +350,10 @@ public final class TilesExtractor
 
     /**
      * Start using specified output file. Listeners are cleared once ended.
+     * <p>
+     * Level rips are loaded and scanned concurrently, each one keeping its unique tiles. They are then merged in level
+     * rips order on the caller thread, where listeners are notified. Canceler may be called from any thread.
+     * </p>
      * 
      * @param canceler The canceler reference (can be <code>null</code>).
      * @param tw The tile width.
@@ -202,71 +365,45 @@ public final class TilesExtractor
     public Collection<ImageBuffer> extract(Canceler canceler, int tw, int th, Collection<Media> levelRips)
     {
         final int tilesNumber = getTilesNumber(tw, th, levelRips);
-        final Collection<ImageBuffer> tiles = new ArrayList<>();
-        int checkedTiles = 0;
+        final AtomicBoolean canceled = new AtomicBoolean();
+        final List<CompletableFuture<LevelTiles>> levels = new ArrayList<>(levelRips.size());
         for (final Media levelRip : levelRips)
         {
-            final SpriteTiled level = Drawable.loadSpriteTiled(levelRip, tw, th);
-            level.load();
-            level.prepare();
-
-            checkedTiles = extract(canceler, level, tilesNumber, tiles, checkedTiles);
-            level.getSurface().dispose();
-            if (checkedTiles < 0)
-            {
-                break;
-            }
+            levels.add(CompletableFuture.supplyAsync(() -> scan(levelRip, tw, th, canceler, canceled)));
         }
 
-        listeners.clear();
-        return tiles;
-    }
-
-    /**
-     * Proceed the specified level rip.
-     * 
-     * @param canceler The canceler reference (can be <code>null</code>).
-     * @param level The level rip.
-     * @param tilesNumber The total tiles number to extract.
-     * @param tiles The current extracted tiles.
-     * @param checkedTiles The last number of checked tiles.
-     * @return The current number of checked tiles, or -1 if canceled.
-     * @throws LionEngineException If an error occurred when proceeding the image.
-     */
-    private int extract(Canceler canceler,
-                        SpriteTiled level,
-                        int tilesNumber,
-                        Collection<ImageBuffer> tiles,
-                        int checkedTiles)
-    {
-        final int horizontalTiles = level.getTilesHorizontal();
-        final int verticalTiles = level.getTilesVertical();
-        final ImageBuffer surface = level.getSurface();
-
-        final int tw = level.getTileWidth();
-        final int th = level.getTileHeight();
-        int checked = checkedTiles;
+        final Map<Integer, Collection<ImageBuffer>> extracted = new HashMap<>();
+        final Collection<ImageBuffer> tiles = new ArrayList<>();
+        int checkedTiles = 0;
         int oldPercent = 0;
-        for (int v = 0; v < verticalTiles; v++)
+        try
         {
-            for (int h = 0; h < horizontalTiles; h++)
+            for (final CompletableFuture<LevelTiles> future : levels)
             {
-                final int x = h * tw;
-                final int y = v * th;
-                if (IGNORED_COLOR_VALUE != surface.getRgb(x, y) && !isExtracted(level, x, y, tiles))
+                final LevelTiles level = join(future);
+                if (level.canceled)
                 {
-                    final ImageBuffer tile = extract(level, h + v * horizontalTiles);
-                    tiles.add(tile);
+                    break;
                 }
-                checked++;
-                oldPercent = updateProgress(checked, tilesNumber, oldPercent, tiles);
+                merge(tw, th, level, extracted, tiles);
+                level.dispose();
+
+                checkedTiles += level.checked;
+                oldPercent = updateProgress(checkedTiles, tilesNumber, oldPercent, tiles);
                 if (canceler != null && canceler.isCanceled())
                 {
-                    return -1;
+                    break;
                 }
             }
         }
-        return checked;
+        finally
+        {
+            canceled.set(true);
+            levels.forEach(level -> level.thenAccept(LevelTiles::dispose));
+        }
+
+        listeners.clear();
+        return tiles;
     }
 
     /**
@@ -305,6 +442,111 @@ public final class TilesExtractor
         void notifyProgress(int percent, Collection<ImageBuffer> tiles);
     }
 
+    /**
+     * Level rip unique tiles, in level order.
+     */
+    private static final class LevelTiles
+    {
+        /** Level surface. */
+        private final ImageBuffer surface;
+        /** Unique tiles as hash, x, y. */
+        private int[] data = new int[3 * 16];
+        /** Number of unique tiles. */
+        private int size;
+        /** Number of checked tiles. */
+        private int checked;
+        /** Canceled flag. */
+        private boolean canceled;
+        /** Disposed flag. */
+        private boolean disposed;
+
+        /**
+         * Create level tiles.
+         * 
+         * @param surface The level surface.
+         */
+        LevelTiles(ImageBuffer surface)
+        {
+            super();
+
+            this.surface = surface;
+        }
+
+        /**
+         * Add unique tile.
+         * 
+         * @param hash The tile hash.
+         * @param x The tile horizontal location.
+         * @param y The tile vertical location.
+         */
+        void add(int hash, int x, int y)
+        {
+            if (3 * (size + 1) > data.length)
+            {
+                data = Arrays.copyOf(data, data.length * 2);
+            }
+            data[3 * size] = hash;
+            data[3 * size + 1] = x;
+            data[3 * size + 2] = y;
+            size++;
+        }
+
+        /**
+         * Get tile hash.
+         * 
+         * @param index The tile index.
+         * @return The tile hash.
+         */
+        int getHash(int index)
+        {
+            return data[3 * index];
+        }
+
+        /**
+         * Get tile horizontal location.
+         * 
+         * @param index The tile index.
+         * @return The tile horizontal location.
+         */
+        int getX(int index)
+        {
+            return data[3 * index + 1];
+        }
+
+        /**
+         * Get tile vertical location.
+         * 
+         * @param index The tile index.
+         * @return The tile vertical location.
+         */
+        int getY(int index)
+        {
+            return data[3 * index + 2];
+        }
+
+        /**
+         * Get number of unique tiles.
+         * 
+         * @return The number of unique tiles.
+         */
+        int size()
+        {
+            return size;
+        }
+
+        /**
+         * Dispose level surface.
+         */
+        synchronized void dispose()
+        {
+            if (!disposed)
+            {
+                surface.dispose();
+                disposed = true;
+            }
+        }
+    }
+
     /**
      * Cancel controller.
      */
@@ -17,9 +17,16 @@
  */
 package com.b3dgs.lionengine.game.feature.tile.map;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 import com.b3dgs.lionengine.LionEngineException;
 import com.b3dgs.lionengine.Media;
-import com.b3dgs.lionengine.game.feature.tile.Tile;
 import com.b3dgs.lionengine.game.feature.tile.TilesExtractor;
 import com.b3dgs.lionengine.graphic.ImageBuffer;
 import com.b3dgs.lionengine.graphic.drawable.Drawable;
@@ -30,9 +37,16 @@ import com.b3dgs.lionengine.graphic.drawable.SpriteTiled;
  * This class allows to convert a map image to a map level format.
  * The color [0-128-128] ({@link TilesExtractor#IGNORED_COLOR_VALUE}) is ignored (can be used to skip tile, in order to
  * improve performance).
+ * <p>
+ * Sheets tiles are indexed once by content hash, and level rip rows are searched in parallel, only verifying tiles
+ * sharing the same hash. Map update, progress and cancel check are performed on the caller thread.
+ * </p>
  */
 public final class LevelRipConverter
 {
+    /** Ignored tile marker. */
+    private static final Candidate IGNORED = new Candidate(null, -1, null, 0, 0);
+
     /**
      * Run the converter.
      * 
@@ -80,136 +94,208 @@ public final class LevelRipConverter
         final int imageTilesInY = imageMap.getHeight() / map.getTileHeight();
         map.create(map.getTileWidth(), map.getTileHeight(), imageTilesInX, imageTilesInY);
 
+        final Map<Integer, List<Candidate>> index = createIndex(map);
+        final ImageBuffer tileRef = imageMap.getSurface();
+        final AtomicBoolean canceled = new AtomicBoolean();
+        final List<CompletableFuture<Candidate[]>> rows = new ArrayList<>(imageTilesInY);
+        for (int progressTileY = 0; progressTileY < imageTilesInY; progressTileY++)
+        {
+            final int y = progressTileY;
+            rows.add(CompletableFuture.supplyAsync(() -> checkRow(map, index, tileRef, y, imageTilesInX, canceled)));
+        }
+
         final double progressMax = imageTilesInX * (double) imageTilesInY;
         long progress = 0L;
         int lastPercent = 0;
         int errors = 0;
-
-        final ImageBuffer tileRef = imageMap.getSurface();
-        for (int progressTileY = 0; progressTileY < imageTilesInY; progressTileY++)
+        try
         {
-            for (int progressTileX = 0; progressTileX < imageTilesInX; progressTileX++)
+            for (int progressTileY = 0; progressTileY < imageTilesInY; progressTileY++)
             {
-                if (!checkPixel(map, tileRef, progressTileX, progressTileY))
+                final Candidate[] row = join(rows.get(progressTileY));
+                for (int progressTileX = 0; progressTileX < imageTilesInX; progressTileX++)
                 {
-                    errors++;
-                }
+                    if (!setTile(map, row[progressTileX], progressTileX, progressTileY))
+                    {
+                        errors++;
+                    }
 
-                final int percent = (int) Math.round(progress / progressMax * 100);
-                if (listener != null && percent != lastPercent)
-                {
-                    listener.notifyProgress(percent, progressTileX, progressTileY);
-                }
-                lastPercent = percent;
-                progress++;
+                    final int percent = (int) Math.round(progress / progressMax * 100);
+                    if (listener != null && percent != lastPercent)
+                    {
+                        listener.notifyProgress(percent, progressTileX, progressTileY);
+                    }
+                    lastPercent = percent;
+                    progress++;
 
-                if (canceler != null && canceler.isCanceled())
-                {
-                    tileRef.dispose();
-                    return errors;
+                    if (canceler != null && canceler.isCanceled())
+                    {
+                        return errors;
+                    }
                 }
             }
         }
-
-        tileRef.dispose();
+        finally
+        {
+            canceled.set(true);
+            rows.forEach(row -> row.cancel(false));
+            imageMap.dispose();
+        }
         return errors;
     }
 
     /**
-     * Check the pixel by searching tile on sheet.
+     * Create the sheets tiles index by content hash. Candidates sharing a hash are stored in sheets order.
      * 
-     * @param map The destination map reference.
-     * @param tileRef The tile sheet.
-     * @param progressTileX The progress on horizontal tiles.
-     * @param progressTileY The progress on vertical tiles.
-     * @return <code>true</code> if tile found, <code>false</code> else.
+     * @param map The map reference.
+     * @return The tiles index.
      */
-    private static boolean checkPixel(MapTile map, ImageBuffer tileRef, int progressTileX, int progressTileY)
+    private static Map<Integer, List<Candidate>> createIndex(MapTile map)
     {
-        final int x = progressTileX * map.getTileWidth();
-        final int y = progressTileY * map.getTileHeight();
-        final int pixel = tileRef.getRgb(x, y);
-
-        // Skip blank tile of image map
-        if (TilesExtractor.IGNORED_COLOR_VALUE != pixel)
+        final int tw = map.getTileWidth();
+        final int th = map.getTileHeight();
+        final Map<Integer, List<Candidate>> index = new HashMap<>();
+        for (final Integer sheet : map.getSheets())
         {
-            // Search if tile is on sheet and get it
-            final Tile tile = searchForTile(map, tileRef, progressTileX, progressTileY);
-            if (tile == null)
+            final SpriteTiled tileSheet = map.getSheet(sheet);
+            final ImageBuffer sheetImage = tileSheet.getSurface();
+            final int tilesInX = tileSheet.getWidth() / tw;
+            final int tilesInY = tileSheet.getHeight() / th;
+
+            for (int surfaceCurrentTileY = 0; surfaceCurrentTileY < tilesInY; surfaceCurrentTileY++)
             {
-                return false;
+                for (int surfaceCurrentTileX = 0; surfaceCurrentTileX < tilesInX; surfaceCurrentTileX++)
+                {
+                    final int number = surfaceCurrentTileX + surfaceCurrentTileY * tilesInX;
+                    final int x = surfaceCurrentTileX * tw;
+                    final int y = surfaceCurrentTileY * th;
+                    final Integer hash = Integer.valueOf(TilesExtractor.hashTile(tw, th, sheetImage, x, y));
+                    index.computeIfAbsent(hash, h -> new ArrayList<>())
+                         .add(new Candidate(sheet, number, sheetImage, x, y));
+                }
             }
-            map.setTile(tile);
         }
-        return true;
+        return index;
     }
 
     /**
-     * Search current tile of image map by checking all surfaces.
+     * Wait for row search result.
      * 
-     * @param map The destination map reference.
-     * @param tileSprite The tiled sprite
-     * @param x The location x.
-     * @param y The location y.
-     * @return The tile found.
+     * @param row The row search.
+     * @return The row result.
+     * @throws LionEngineException If search failed.
      */
-    private static Tile searchForTile(MapTile map, ImageBuffer tileSprite, int x, int y)
+    private static Candidate[] join(CompletableFuture<Candidate[]> row)
     {
-        // Check each tile on each sheet
-        for (final Integer sheet : map.getSheets())
+        try
+        {
+            return row.join();
+        }
+        catch (final CompletionException exception)
         {
-            final Tile tile = checkTile(map, tileSprite, sheet, x, y);
-            if (tile != null)
+            if (exception.getCause() instanceof LionEngineException)
             {
-                return tile;
+                throw (LionEngineException) exception.getCause();
             }
+            throw new LionEngineException(exception.getCause());
         }
-
-        // No tile found
-        return null;
     }
 
     /**
-     * Check tile of sheet.
+     * Search tiles of a level rip row.
      * 
-     * @param map The destination map reference.
-     * @param tileSprite The tiled sprite
-     * @param sheet The sheet number.
-     * @param x The location x.
-     * @param y The location y.
-     * @return The tile found.
+     * @param map The map reference.
+     * @param index The sheets tiles index.
+     * @param tileRef The level rip image.
+     * @param progressTileY The row index.
+     * @param tilesInX The number of horizontal tiles.
+     * @param canceled The canceled flag, row is skipped if set.
+     * @return The found tiles, {@link #IGNORED} for skipped tile, <code>null</code> if not found.
      */
-    private static Tile checkTile(MapTile map, ImageBuffer tileSprite, Integer sheet, int x, int y)
+    private static Candidate[] checkRow(MapTile map,
+                                        Map<Integer, List<Candidate>> index,
+                                        ImageBuffer tileRef,
+                                        int progressTileY,
+                                        int tilesInX,
+                                        AtomicBoolean canceled)
     {
+        final Candidate[] row = new Candidate[tilesInX];
         final int tw = map.getTileWidth();
         final int th = map.getTileHeight();
-        final SpriteTiled tileSheet = map.getSheet(sheet);
-        final ImageBuffer sheetImage = tileSheet.getSurface();
-        final int tilesInX = tileSheet.getWidth() / tw;
-        final int tilesInY = tileSheet.getHeight() / th;
-
-        for (int surfaceCurrentTileY = 0; surfaceCurrentTileY < tilesInY; surfaceCurrentTileY++)
+        final int y = progressTileY * th;
+        for (int progressTileX = 0; progressTileX < tilesInX && !canceled.get(); progressTileX++)
         {
-            for (int surfaceCurrentTileX = 0; surfaceCurrentTileX < tilesInX; surfaceCurrentTileX++)
-            {
-                // Tile number on tile sheet
-                final int number = surfaceCurrentTileX + surfaceCurrentTileY * tilesInX;
+            final int x = progressTileX * tw;
 
-                // Compare tiles between sheet and image map
-                final int xa = x * tw;
-                final int ya = y * th;
-                final int xb = surfaceCurrentTileX * tw;
-                final int yb = surfaceCurrentTileY * th;
+            // Skip blank tile of image map
+            if (TilesExtractor.IGNORED_COLOR_VALUE == tileRef.getRgb(x, y))
+            {
+                row[progressTileX] = IGNORED;
+            }
+            else
+            {
+                row[progressTileX] = searchForTile(index, tw, th, tileRef, x, y);
+            }
+        }
+        return row;
+    }
 
-                if (TilesExtractor.compareTile(tw, th, tileSprite, xa, ya, sheetImage, xb, yb))
+    /**
+     * Search tile of image map in index, verifying candidates sharing its hash.
+     * 
+     * @param index The sheets tiles index.
+     * @param tw The tile width.
+     * @param th The tile height.
+     * @param tileRef The level rip image.
+     * @param x The location x.
+     * @param y The location y.
+     * @return The tile found, <code>null</code> if none.
+     */
+    private static Candidate searchForTile(Map<Integer, List<Candidate>> index,
+                                           int tw,
+                                           int th,
+                                           ImageBuffer tileRef,
+                                           int x,
+                                           int y)
+    {
+        final List<Candidate> candidates = index.get(Integer.valueOf(TilesExtractor.hashTile(tw, th, tileRef, x, y)));
+        if (candidates != null)
+        {
+            for (final Candidate candidate : candidates)
+            {
+                if (TilesExtractor.compareTile(tw, th, tileRef, x, y, candidate.image, candidate.x, candidate.y))
                 {
-                    return map.createTile(sheet, number, xa, (map.getInTileHeight() - 1.0 - y) * th);
+                    return candidate;
                 }
             }
         }
         return null;
     }
 
+    /**
+     * Set the found tile on map.
+     * 
+     * @param map The destination map reference.
+     * @param found The found tile ({@link #IGNORED} for skipped tile, <code>null</code> if not found).
+     * @param progressTileX The progress on horizontal tiles.
+     * @param progressTileY The progress on vertical tiles.
+     * @return <code>true</code> if tile found or skipped, <code>false</code> else.
+     */
+    private static boolean setTile(MapTile map, Candidate found, int progressTileX, int progressTileY)
+    {
+        if (found == null)
+        {
+            return false;
+        }
+        if (found != IGNORED)
+        {
+            final int th = map.getTileHeight();
+            final double y = (map.getInTileHeight() - 1.0 - progressTileY) * th;
+            map.setTile(map.createTile(found.sheet, found.number, progressTileX * map.getTileWidth(), y));
+        }
+        return true;
+    }
+
     /**
      * Private constructor.
      */
@@ -233,6 +319,43 @@ public final class LevelRipConverter
         void notifyProgress(int percent, int progressTileX, int progressTileY);
     }
 
+    /**
+     * Sheet tile candidate.
+     */
+    private static final class Candidate
+    {
+        /** Sheet number. */
+        private final Integer sheet;
+        /** Tile number on sheet. */
+        private final int number;
+        /** Sheet image. */
+        private final ImageBuffer image;
+        /** Horizontal location on sheet. */
+        private final int x;
+        /** Vertical location on sheet. */
+        private final int y;
+
+        /**
+         * Create candidate.
+         * 
+         * @param sheet The sheet number.
+         * @param number The tile number on sheet.
+         * @param image The sheet image.
+         * @param x The horizontal location on sheet.
+         * @param y The vertical location on sheet.
+         */
+        Candidate(Integer sheet, int number, ImageBuffer image, int x, int y)
+        {
+            super();
+
+            this.sheet = sheet;
+            this.number = number;
+            this.image = image;
+            this.x = x;
+            this.y = y;
+        }
+    }
+
     /**
      * Cancel controller.
      */
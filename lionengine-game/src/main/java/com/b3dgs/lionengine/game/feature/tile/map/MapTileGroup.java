@@ -98,6 +98,18 @@ public interface MapTileGroup extends Feature
      */
     String getGroup(Integer sheet, int number);
 
+    /**
+     * Get the group id of the tile, as interned by {@link NameIds}. Adapts from {@link #getGroup(Tile)} by default,
+     * implementations should avoid allocation as it is suited for hot loops.
+     * 
+     * @param tile The tile reference.
+     * @return The associated group id, {@link NameIds#NONE} if none (<code>null</code> group name).
+     */
+    default int getGroupId(Tile tile)
+    {
+        return NameIds.get(getGroup(tile));
+    }
+
     /**
      * Get the group type from its name.
      * 
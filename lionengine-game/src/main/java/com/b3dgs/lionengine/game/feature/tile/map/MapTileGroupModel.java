@@ -17,11 +17,11 @@
  */
 package com.b3dgs.lionengine.game.feature.tile.map;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
-import java.util.Map.Entry;
 
 import com.b3dgs.lionengine.Media;
 import com.b3dgs.lionengine.game.feature.FeatureModel;
@@ -39,12 +39,27 @@ public class MapTileGroupModel extends FeatureModel implements MapTileGroup
     /** No group name. */
     public static final String NO_GROUP_NAME = "none";
 
+    /**
+     * Get the group name from its id.
+     * 
+     * @param id The group id.
+     * @return The group name, {@link #NO_GROUP_NAME} if none.
+     */
+    private static String getGroupName(int id)
+    {
+        if (id == NameIds.NONE)
+        {
+            return NO_GROUP_NAME;
+        }
+        return NameIds.getName(id);
+    }
+
     /** Group tiles mapping. */
     private final Map<String, Collection<TileRef>> groupTiles = new HashMap<>();
     /** Group types mapping. */
     private final Map<String, TileGroupType> groupTypes = new HashMap<>();
-    /** Tiles group mapping. */
-    private final Map<TileRef, String> tilesGroup = new HashMap<>();
+    /** Tiles group id by sheet and number ({@link NameIds#NONE} if none). */
+    private int[][] tilesGroup = new int[0][];
     /** Groups configuration file. */
     private Media groupsConfig;
 
@@ -58,6 +73,59 @@ public class MapTileGroupModel extends FeatureModel implements MapTileGroup
         groupTiles.put(NO_GROUP_NAME, new HashSet<TileRef>());
     }
 
+    /**
+     * Set the tile group id.
+     * 
+     * @param sheet The tile sheet.
+     * @param number The tile number.
+     * @param id The group id.
+     */
+    private void setGroupId(int sheet, int number, int id)
+    {
+        if (sheet >= tilesGroup.length)
+        {
+            tilesGroup = Arrays.copyOf(tilesGroup, sheet + 1);
+        }
+        int[] numbers = tilesGroup[sheet];
+        if (numbers == null || number >= numbers.length)
+        {
+            final int old;
+            if (numbers == null)
+            {
+                numbers = new int[0];
+                old = 0;
+            }
+            else
+            {
+                old = numbers.length;
+            }
+            numbers = Arrays.copyOf(numbers, Math.max(number + 1, old * 2));
+            Arrays.fill(numbers, old, numbers.length, NameIds.NONE);
+            tilesGroup[sheet] = numbers;
+        }
+        numbers[number] = id;
+    }
+
+    /**
+     * Get the tile group id.
+     * 
+     * @param sheet The tile sheet.
+     * @param number The tile number.
+     * @return The group id, {@link NameIds#NONE} if none.
+     */
+    private int getGroupId(int sheet, int number)
+    {
+        if (sheet >= 0 && sheet < tilesGroup.length)
+        {
+            final int[] numbers = tilesGroup[sheet];
+            if (numbers != null && number >= 0 && number < numbers.length)
+            {
+                return numbers[number];
+            }
+        }
+        return NameIds.NONE;
+    }
+
     /*
      * MapTileGroup
      */
@@ -66,17 +134,18 @@ public class MapTileGroupModel extends FeatureModel implements MapTileGroup
     public void loadGroups(Collection<TileGroup> groups)
     {
         groupTiles.clear();
-        tilesGroup.clear();
+        tilesGroup = new int[0][];
         groupTypes.clear();
 
         for (final TileGroup group : groups)
         {
             final String name = group.getName();
+            final int id = NameIds.get(name);
             groupTiles.put(name, group.getTiles());
             groupTypes.put(name, group.getType());
             for (final TileRef tile : group.getTiles())
             {
-                tilesGroup.put(tile, name);
+                setGroupId(tile.getSheet().intValue(), tile.getNumber(), id);
             }
         }
     }
@@ -100,7 +169,7 @@ public class MapTileGroupModel extends FeatureModel implements MapTileGroup
         }
         if (group != null)
         {
-            tilesGroup.put(ref, group);
+            setGroupId(ref.getSheet().intValue(), ref.getNumber(), NameIds.get(group));
             if (!groupTiles.containsKey(group))
             {
                 groupTiles.put(group, new HashSet<TileRef>());
@@ -109,7 +178,7 @@ public class MapTileGroupModel extends FeatureModel implements MapTileGroup
         }
         else
         {
-            tilesGroup.remove(ref);
+            setGroupId(ref.getSheet().intValue(), ref.getNumber(), NameIds.NONE);
         }
     }
 
@@ -132,31 +201,25 @@ public class MapTileGroupModel extends FeatureModel implements MapTileGroup
     @Override
     public String getGroup(TileRef tile)
     {
-        if (tilesGroup.containsKey(tile))
-        {
-            return tilesGroup.get(tile);
-        }
-        return NO_GROUP_NAME;
+        return getGroupName(getGroupId(tile.getSheet().intValue(), tile.getNumber()));
     }
 
     @Override
     public String getGroup(Tile tile)
     {
-        return getGroup(new TileRef(tile));
+        return getGroupName(getGroupId(tile));
     }
 
     @Override
     public String getGroup(Integer sheet, int number)
     {
-        final TileRef ref = new TileRef(sheet, number);
-        for (final Entry<TileRef, String> tile : tilesGroup.entrySet())
-        {
-            if (tile.getKey().equals(ref))
-            {
-                return tile.getValue();
-            }
-        }
-        return NO_GROUP_NAME;
+        return getGroupName(getGroupId(sheet.intValue(), number));
+    }
+
+    @Override
+    public int getGroupId(Tile tile)
+    {
+        return getGroupId(tile.getSheet().intValue(), tile.getNumber());
     }
 
     @Override
@@ -17,8 +17,12 @@
  */
 package com.b3dgs.lionengine.game.feature.tile.map;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Map.Entry;
 
 import com.b3dgs.lionengine.Check;
 import com.b3dgs.lionengine.LionEngineException;
@@ -48,10 +52,15 @@ import com.b3dgs.lionengine.graphic.drawable.SpriteTiled;
  * <li>3. Or load from configuration: {@link #loadPixelConfig(Media)}</li>
  * <li>4. Prepare surface : {@link #prepare()}</li>
  * </ul>
+ * <p>
+ * Once loaded, the minimap listens to map tile changes and only updates the changed cells. Dynamic content (units,
+ * fog...) can be rendered over with {@link #addOverlay(MinimapOverlay)}, refreshed every
+ * {@link #setOverlayRefreshRate(int)} renders.
+ * </p>
  * 
  * @see MapTile
  */
-public class Minimap implements Image
+public class Minimap implements Image, TileSetListener
 {
     /** Surface not loaded error. */
     static final String ERROR_SURFACE = "Surface has not beed loaded !";
@@ -62,10 +71,24 @@ public class Minimap implements Image
 
     /** Pixel configuration. */
     private Map<TileRef, ColorRgba> pixels = new HashMap<>();
+    /** Overlays list. */
+    private final Collection<MinimapOverlay> overlays = new ArrayList<>();
     /** Map reference. */
     private final MapTile map;
+    /** Tile colors by sheet and number (<code>null</code> if must be indexed). */
+    private int[][] colors;
     /** Minimap image reference. */
     private ImageBuffer surface;
+    /** Minimap pixels scratch, written to surface in one pass (<code>null</code> if not prepared). */
+    private int[] surfaceData;
+    /** Overlay image reference. */
+    private ImageBuffer overlay;
+    /** Transparent pixels, used to clear overlay in one pass (<code>null</code> if no overlay). */
+    private int[] overlayClear;
+    /** Overlay refresh rate in renders. */
+    private int overlayRate = 1;
+    /** Renders since last overlay refresh. */
+    private int overlayRenders;
     /** Origin reference. */
     private Origin origin = Origin.TOP_LEFT;
     /** Horizontal location. */
@@ -98,6 +121,7 @@ public class Minimap implements Image
     {
         pixels.clear();
         pixels.putAll(MinimapConfig.imports(config));
+        colors = null;
     }
 
     /**
@@ -111,6 +135,51 @@ public class Minimap implements Image
             computeSheet(colors, sheet);
         }
         pixels = colors;
+        this.colors = null;
+    }
+
+    /**
+     * Add an overlay, rendered over the minimap tiles.
+     * 
+     * @param overlay The overlay to add.
+     * @throws LionEngineException If <code>null</code> argument.
+     */
+    public void addOverlay(MinimapOverlay overlay)
+    {
+        Check.notNull(overlay);
+
+        overlays.add(overlay);
+    }
+
+    /**
+     * Remove an overlay.
+     * 
+     * @param overlay The overlay to remove.
+     */
+    public void removeOverlay(MinimapOverlay overlay)
+    {
+        overlays.remove(overlay);
+    }
+
+    /**
+     * Set the overlays refresh rate. Overlays are rendered again once every rate minimap renders.
+     * 
+     * @param rate The number of renders between two refreshes (must be strictly positive).
+     * @throws LionEngineException If invalid argument.
+     */
+    public void setOverlayRefreshRate(int rate)
+    {
+        Check.superiorStrict(rate, 0);
+
+        overlayRate = rate;
+    }
+
+    /**
+     * Refresh overlays on next render.
+     */
+    public void refreshOverlay()
+    {
+        overlayRenders = overlayRate;
     }
 
     /**
@@ -131,26 +200,70 @@ public class Minimap implements Image
      * @param tile The tile reference.
      * @return The tile color representation.
      */
-    private ColorRgba getTileColor(Tile tile)
+    private int getTileColor(Tile tile)
     {
-        final ColorRgba color;
         if (tile == null)
         {
-            color = NO_TILE;
+            return NO_TILE.getRgba();
         }
-        else
+        final int sheet = tile.getSheet().intValue();
+        final int number = tile.getNumber();
+        if (sheet < colors.length && colors[sheet] != null && number < colors[sheet].length)
         {
-            final TileRef ref = new TileRef(tile.getSheet(), tile.getNumber());
-            if (!pixels.containsKey(ref))
-            {
-                color = DEFAULT_COLOR;
-            }
-            else
+            return colors[sheet][number];
+        }
+        return DEFAULT_COLOR.getRgba();
+    }
+
+    /**
+     * Index the pixel configuration by sheet and number. Undefined tiles use the default color.
+     */
+    private void indexColors()
+    {
+        int sheets = 0;
+        for (final TileRef ref : pixels.keySet())
+        {
+            sheets = Math.max(sheets, ref.getSheet().intValue() + 1);
+        }
+        final int[] numbers = new int[sheets];
+        for (final TileRef ref : pixels.keySet())
+        {
+            final int sheet = ref.getSheet().intValue();
+            numbers[sheet] = Math.max(numbers[sheet], ref.getNumber() + 1);
+        }
+        final int[][] indexed = new int[sheets][];
+        for (int sheet = 0; sheet < sheets; sheet++)
+        {
+            indexed[sheet] = new int[numbers[sheet]];
+            Arrays.fill(indexed[sheet], DEFAULT_COLOR.getRgba());
+        }
+        for (final Entry<TileRef, ColorRgba> entry : pixels.entrySet())
+        {
+            final TileRef ref = entry.getKey();
+            indexed[ref.getSheet().intValue()][ref.getNumber()] = entry.getValue().getRgba();
+        }
+        colors = indexed;
+    }
+
+    /**
+     * Refresh overlay surface if needed.
+     */
+    private void updateOverlay()
+    {
+        overlayRenders++;
+        if (overlayRenders >= overlayRate)
+        {
+            overlayRenders = 0;
+            final int width = overlay.getWidth();
+            overlay.setRgb(0, 0, width, overlay.getHeight(), overlayClear, 0, width);
+
+            final Graphic g = overlay.createGraphic();
+            for (final MinimapOverlay current : overlays)
             {
-                color = pixels.get(ref);
+                current.render(g);
             }
+            g.dispose();
         }
-        return color;
     }
 
     /**
@@ -197,11 +310,13 @@ public class Minimap implements Image
         if (surface == null)
         {
             surface = Graphics.createImageBuffer(map.getInTileWidth(), map.getInTileHeight(), ColorRgba.TRANSPARENT);
+            map.addListener(this);
         }
     }
 
     /**
-     * Fill minimap surface with tile color configuration.
+     * Fill minimap surface with tile color configuration. Colors are computed in a scratch array, written to the
+     * surface at once.
      * 
      * @throws LionEngineException If surface has not been loaded ({@link #load()} may have not been called).
      */
@@ -212,37 +327,59 @@ public class Minimap implements Image
         {
             throw new LionEngineException(ERROR_SURFACE);
         }
-        final Graphic g = surface.createGraphic();
+        indexColors();
+
         final int v = map.getInTileHeight();
         final int h = map.getInTileWidth();
+        if (surfaceData == null || surfaceData.length != h * v)
+        {
+            surfaceData = new int[h * v];
+        }
+        final int[] data = surfaceData;
 
         for (int ty = 0; ty < v; ty++)
         {
+            final int offset = (v - ty - 1) * h;
             for (int tx = 0; tx < h; tx++)
             {
-                final Tile tile = map.getTile(tx, ty);
-                final ColorRgba color = getTileColor(tile);
-                if (!NO_TILE.equals(color))
-                {
-                    g.setColor(color);
-                    g.drawRect(tx, v - ty - 1, 1, 1, true);
-                }
+                data[offset + tx] = getTileColor(map.getTile(tx, ty));
             }
         }
-        g.dispose();
+        surface.setRgb(0, 0, h, v, data, 0, h);
     }
 
     @Override
     public void dispose()
     {
+        map.removeListener(this);
         surface.dispose();
+        if (overlay != null)
+        {
+            overlay.dispose();
+            overlay = null;
+            overlayClear = null;
+        }
+        surfaceData = null;
         pixels.clear();
+        colors = null;
     }
 
     @Override
     public void render(Graphic g)
     {
         g.drawImage(surface, (int) x, (int) y);
+        if (!overlays.isEmpty())
+        {
+            if (overlay == null)
+            {
+                overlay = Graphics.createImageBuffer(surface.getWidth(), surface.getHeight(), ColorRgba.TRANSPARENT);
+                overlayClear = new int[surface.getWidth() * surface.getHeight()];
+                Arrays.fill(overlayClear, ColorRgba.TRANSPARENT.getRgba());
+                refreshOverlay();
+            }
+            updateOverlay();
+            g.drawImage(overlay, (int) x, (int) y);
+        }
     }
 
     @Override
@@ -301,4 +438,27 @@ public class Minimap implements Image
     {
         return surface != null;
     }
+
+    /*
+     * TileSetListener
+     */
+
+    /**
+     * Update the minimap cell of the tile. Does nothing if minimap has not been prepared.
+     * 
+     * @param tile The tile set.
+     */
+    @Override
+    public void onTileSet(Tile tile)
+    {
+        if (surface != null && colors != null)
+        {
+            final int tx = tile.getInTileX();
+            final int ty = map.getInTileHeight() - tile.getInTileY() - 1;
+            if (tx >= 0 && ty >= 0 && tx < surface.getWidth() && ty < surface.getHeight())
+            {
+                surface.setRgb(tx, ty, getTileColor(tile));
+            }
+        }
+    }
 }
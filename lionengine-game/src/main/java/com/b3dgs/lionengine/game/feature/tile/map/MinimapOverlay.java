@@ -0,0 +1,40 @@
+/*
+ * Copyright (C) 2013-2018 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map;
+
+import com.b3dgs.lionengine.graphic.Graphic;
+
+/**
+ * Minimap overlay, rendered over the minimap tiles on a separated surface (units, fog...).
+ * <p>
+ * The overlay surface has the minimap size, where one pixel represents one tile, vertical axis being inverted (tile
+ * <code>ty</code> is on line <code>map.getInTileHeight() - ty - 1</code>). It is cleared before each refresh.
+ * </p>
+ * 
+ * @see Minimap#addOverlay(MinimapOverlay)
+ */
+@FunctionalInterface
+public interface MinimapOverlay
+{
+    /**
+     * Render overlay.
+     * 
+     * @param g The overlay surface graphic output.
+     */
+    void render(Graphic g);
+}
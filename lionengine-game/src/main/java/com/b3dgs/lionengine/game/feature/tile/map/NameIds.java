@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2013-2018 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.b3dgs.lionengine.LionEngineException;
+
+/**
+ * Interns names (tile groups, path categories...) to small dense integer ids, allowing hot loops to perform array
+ * lookups instead of hashing strings.
+ * <p>
+ * Ids are shared by all users and never released. Names are expected to be assigned at load time from configurations.
+ * Lookups of registered names do not lock, only registration does.
+ * </p>
+ */
+public final class NameIds
+{
+    /** Undefined id (<code>null</code> or unknown name). */
+    public static final int NONE = -1;
+
+    /** Ids by name. */
+    private static final Map<String, Integer> IDS = new ConcurrentHashMap<>();
+    /** Registration lock. */
+    private static final Object LOCK = new Object();
+    /** Names by id. */
+    private static volatile String[] names = new String[0];
+
+    /**
+     * Get the id of the name, registering it if necessary.
+     * 
+     * @param name The name reference (may be <code>null</code>).
+     * @return The name id, {@link #NONE} if <code>null</code>.
+     */
+    public static int get(String name)
+    {
+        final int found = find(name);
+        if (found != NONE || name == null)
+        {
+            return found;
+        }
+        synchronized (LOCK)
+        {
+            final Integer id = IDS.get(name);
+            if (id != null)
+            {
+                return id.intValue();
+            }
+            final int next = names.length;
+            final String[] grown = Arrays.copyOf(names, next + 1);
+            grown[next] = name;
+            names = grown;
+            IDS.put(name, Integer.valueOf(next));
+            return next;
+        }
+    }
+
+    /**
+     * Find the id of the name without registering it.
+     * 
+     * @param name The name reference (may be <code>null</code>).
+     * @return The name id, {@link #NONE} if <code>null</code> or not registered.
+     */
+    public static int find(String name)
+    {
+        if (name == null)
+        {
+            return NONE;
+        }
+        final Integer id = IDS.get(name);
+        if (id != null)
+        {
+            return id.intValue();
+        }
+        return NONE;
+    }
+
+    /**
+     * Get the name from its id.
+     * 
+     * @param id The name id.
+     * @return The name, <code>null</code> if {@link #NONE} or unknown.
+     */
+    public static String getName(int id)
+    {
+        final String[] current = names;
+        if (id < 0 || id >= current.length)
+        {
+            return null;
+        }
+        return current[id];
+    }
+
+    /**
+     * Private constructor.
+     */
+    private NameIds()
+    {
+        throw new LionEngineException(LionEngineException.ERROR_PRIVATE_CONSTRUCTOR);
+    }
+}
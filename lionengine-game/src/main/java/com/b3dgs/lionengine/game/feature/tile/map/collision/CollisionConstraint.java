@@ -18,11 +18,13 @@
 package com.b3dgs.lionengine.game.feature.tile.map.collision;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.EnumMap;
 import java.util.Map;
 
 import com.b3dgs.lionengine.game.Orientation;
+import com.b3dgs.lionengine.game.feature.tile.map.NameIds;
 
 /**
  * Represents the collision constraints around a collision.
@@ -33,6 +35,8 @@ public class CollisionConstraint
 {
     /** Constraints defined. */
     private final Map<Orientation, Collection<String>> constraints = new EnumMap<>(Orientation.class);
+    /** Constraints groups ids by orientation ordinal, as interned by {@link NameIds}. */
+    private final int[][] ids = new int[Orientation.values().length][0];
 
     /**
      * Create a collision constraint.
@@ -57,6 +61,11 @@ public class CollisionConstraint
     {
         final Collection<String> groups = constraints.get(orientation);
         groups.add(group);
+
+        final int[] current = ids[orientation.ordinal()];
+        final int[] grown = Arrays.copyOf(current, current.length + 1);
+        grown[current.length] = NameIds.get(group);
+        ids[orientation.ordinal()] = grown;
     }
 
     /**
@@ -92,6 +101,26 @@ public class CollisionConstraint
         return getConstraints(orientation).contains(group);
     }
 
+    /**
+     * Check if constraint is defined for the group id at the specified orientation. Does not allocate, suited for
+     * loading loops.
+     * 
+     * @param orientation The orientation to check on.
+     * @param group The group id to check, as interned by {@link NameIds}.
+     * @return <code>true</code> if constraint defined, <code>false</code> else.
+     */
+    public boolean has(Orientation orientation, int group)
+    {
+        for (final int id : ids[orientation.ordinal()])
+        {
+            if (id == group)
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /*
      * Object
      */
@@ -24,6 +24,7 @@ import java.util.Collections;
 import com.b3dgs.lionengine.Constant;
 import com.b3dgs.lionengine.LionEngineException;
 import com.b3dgs.lionengine.NameableAbstract;
+import com.b3dgs.lionengine.game.feature.tile.map.NameIds;
 
 /**
  * Represents the collision group, which can be applied to a {@link com.b3dgs.lionengine.game.feature.tile.Tile}.
@@ -76,6 +77,8 @@ public class CollisionGroup extends NameableAbstract
 
     /** The collision formulas used. */
     private final Collection<CollisionFormula> formulas;
+    /** The group id, as interned by {@link NameIds}. */
+    private final int id;
 
     /**
      * Create a collision group.
@@ -89,6 +92,18 @@ public class CollisionGroup extends NameableAbstract
         super(name);
 
         this.formulas = new ArrayList<>(formulas);
+        id = NameIds.get(name);
+    }
+
+    /**
+     * Get the group id, as interned by {@link NameIds}, matching the tile group id given by
+     * {@link com.b3dgs.lionengine.game.feature.tile.map.MapTileGroup}.
+     * 
+     * @return The group id.
+     */
+    public int getId()
+    {
+        return id;
     }
 
     /**
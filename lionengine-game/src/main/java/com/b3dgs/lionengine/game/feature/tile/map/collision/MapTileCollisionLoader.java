@@ -29,9 +29,10 @@ import com.b3dgs.lionengine.Verbose;
 import com.b3dgs.lionengine.Xml;
 import com.b3dgs.lionengine.game.Orientation;
 import com.b3dgs.lionengine.game.feature.tile.Tile;
-import com.b3dgs.lionengine.game.feature.tile.TileRef;
 import com.b3dgs.lionengine.game.feature.tile.map.MapTile;
 import com.b3dgs.lionengine.game.feature.tile.map.MapTileGroup;
+import com.b3dgs.lionengine.game.feature.tile.map.MapTileGroupModel;
+import com.b3dgs.lionengine.game.feature.tile.map.NameIds;
 
 /**
  * Load the map tile collision.
@@ -44,6 +45,8 @@ final class MapTileCollisionLoader
     private static final String INFO_LOAD_FORMULAS = "Loading collision formulas from: ";
     /** Info loading groups. */
     private static final String INFO_LOAD_GROUPS = "Loading collision groups from: ";
+    /** Group id of tiles without group, as named in constraints. */
+    private static final int NO_GROUP_ID = NameIds.get(MapTileGroupModel.NO_GROUP_NAME);
 
     /** Collision formulas list. */
     private final Map<String, CollisionFormula> formulas = new HashMap<>();
@@ -286,11 +289,10 @@ final class MapTileCollisionLoader
      */
     private void addTileCollisions(MapTileCollision mapCollision, TileCollision tileCollision, Tile tile)
     {
-        final TileRef ref = new TileRef(tile);
+        final int group = mapGroup.getGroupId(tile);
         for (final CollisionGroup collision : mapCollision.getCollisionGroups())
         {
-            final Collection<TileRef> group = mapGroup.getGroup(collision.getName());
-            if (group.contains(ref))
+            if (collision.getId() == group)
             {
                 for (final CollisionFormula formula : collision.getFormulas())
                 {
@@ -348,10 +350,10 @@ final class MapTileCollisionLoader
         for (final CollisionFormula formula : tile.getCollisionFormulas())
         {
             final CollisionConstraint constraint = formula.getConstraint();
-            if (checkConstraint(constraint.getConstraints(Orientation.NORTH), top)
-                || checkConstraint(constraint.getConstraints(Orientation.SOUTH), bottom)
-                || checkConstraint(constraint.getConstraints(Orientation.WEST), left)
-                || checkConstraint(constraint.getConstraints(Orientation.EAST), right))
+            if (checkConstraint(constraint, Orientation.NORTH, top)
+                || checkConstraint(constraint, Orientation.SOUTH, bottom)
+                || checkConstraint(constraint, Orientation.WEST, left)
+                || checkConstraint(constraint, Orientation.EAST, right))
             {
                 toRemove.add(formula);
             }
@@ -362,14 +364,23 @@ final class MapTileCollisionLoader
     /**
      * Check the constraint with the specified tile.
      * 
-     * @param constraints The constraint groups to check.
+     * @param constraint The constraint to check.
+     * @param orientation The constraint orientation.
      * @param tile The tile to check with.
      * @return <code>true</code> if can be ignored, <code>false</code> else.
      */
-    private boolean checkConstraint(Collection<String> constraints, Tile tile)
+    private boolean checkConstraint(CollisionConstraint constraint, Orientation orientation, Tile tile)
     {
-        return tile != null
-               && constraints.contains(mapGroup.getGroup(tile))
+        if (tile == null)
+        {
+            return false;
+        }
+        int group = mapGroup.getGroupId(tile);
+        if (group == NameIds.NONE)
+        {
+            group = NO_GROUP_ID;
+        }
+        return constraint.has(orientation, group)
                && !tile.getFeature(TileCollision.class).getCollisionFormulas().isEmpty();
     }
 }
@@ -88,7 +88,7 @@ public class MapTilePathModel extends FeatureModel implements MapTilePath
         if (tile != null)
         {
             final TilePath tilePath = tile.getFeature(TilePath.class);
-            if (mover.isBlocking(tilePath.getCategory())
+            if (mover.isBlocking(tilePath.getCategoryId())
                 || ignoreObjectId != null && !ids.isEmpty() && !ids.contains(ignoreObjectId))
             {
                 return true;
@@ -133,7 +133,7 @@ public class MapTilePathModel extends FeatureModel implements MapTilePath
         if (tile != null)
         {
             final TilePath tilePath = tile.getFeature(TilePath.class);
-            return mover.isBlocking(tilePath.getCategory());
+            return mover.isBlocking(tilePath.getCategoryId());
         }
         return false;
     }
@@ -255,6 +255,7 @@ public class MapTilePathModel extends FeatureModel implements MapTilePath
         {
             categories.put(category.getName(), category);
         }
+        final Map<String, String> groupsCategory = new HashMap<>();
         for (int ty = 0; ty < map.getInTileHeight(); ty++)
         {
             for (int tx = 0; tx < map.getInTileWidth(); tx++)
@@ -263,7 +264,7 @@ public class MapTilePathModel extends FeatureModel implements MapTilePath
                 if (tile != null)
                 {
                     final String group = mapGroup.getGroup(tile);
-                    final String category = getCategory(group);
+                    final String category = groupsCategory.computeIfAbsent(group, this::getCategory);
                     final TilePath tilePath = new TilePathModel(category);
                     tile.addFeature(tilePath);
                 }
@@ -325,7 +326,7 @@ public class MapTilePathModel extends FeatureModel implements MapTilePath
         if (tile != null)
         {
             final TilePath tilePath = tile.getFeature(TilePath.class);
-            return mover.getCost(tilePath.getCategory());
+            return mover.getCost(tilePath.getCategoryId());
         }
         return 0.0;
     }
@@ -191,7 +191,7 @@ final class PathFinderImpl implements PathFinder
                       int maxDepth)
     {
         final MovementTile movement = MovementTile.from(x, y);
-        if (mover.isMovementAllowed(tilePath.getCategory(), movement))
+        if (mover.isMovementAllowed(tilePath.getCategoryId(), movement))
         {
             final int xp = x + current.getX();
             final int yp = y + current.getY();
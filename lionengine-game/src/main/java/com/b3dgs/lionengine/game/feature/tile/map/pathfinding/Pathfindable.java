@@ -25,6 +25,7 @@ import com.b3dgs.lionengine.Updatable;
 import com.b3dgs.lionengine.game.Feature;
 import com.b3dgs.lionengine.game.Tiled;
 import com.b3dgs.lionengine.game.feature.FeatureInterface;
+import com.b3dgs.lionengine.game.feature.tile.map.NameIds;
 import com.b3dgs.lionengine.game.feature.tile.map.Orientable;
 import com.b3dgs.lionengine.graphic.Renderable;
 
@@ -177,6 +178,18 @@ public interface Pathfindable extends Feature, Tiled, Orientable, Updatable, Ren
      */
     double getCost(String category);
 
+    /**
+     * Get the cost movement depending of the category id. Adapts to {@link #getCost(String)} by default.
+     * 
+     * @param category The category id to check (see {@link TilePath#getCategoryId()}).
+     * @return The category movement cost.
+     * @throws LionEngineException If category has not been found.
+     */
+    default double getCost(int category)
+    {
+        return getCost(NameIds.getName(category));
+    }
+
     /**
      * Check if movement is allowed for the specified tile.
      * 
@@ -187,6 +200,20 @@ public interface Pathfindable extends Feature, Tiled, Orientable, Updatable, Ren
      */
     boolean isMovementAllowed(String category, MovementTile movement);
 
+    /**
+     * Check if movement is allowed for the specified tile. Adapts to {@link #isMovementAllowed(String, MovementTile)}
+     * by default.
+     * 
+     * @param category The category id to check (see {@link TilePath#getCategoryId()}).
+     * @param movement The movement to check.
+     * @return <code>true</code> if movement allowed, <code>false</code> else.
+     * @throws LionEngineException If category has not been found.
+     */
+    default boolean isMovementAllowed(int category, MovementTile movement)
+    {
+        return isMovementAllowed(NameIds.getName(category), movement);
+    }
+
     /**
      * Check if a path exists between object and destination.
      * 
@@ -204,6 +231,17 @@ public interface Pathfindable extends Feature, Tiled, Orientable, Updatable, Ren
      */
     boolean isBlocking(String category);
 
+    /**
+     * Check if the category is considered as blocking. Adapts to {@link #isBlocking(String)} by default.
+     * 
+     * @param category The category id to check (see {@link TilePath#getCategoryId()}).
+     * @return <code>true</code> if blocking, <code>false</code> else or category not found.
+     */
+    default boolean isBlocking(int category)
+    {
+        return isBlocking(NameIds.getName(category));
+    }
+
     /**
      * Check if has reached destination.
      * 
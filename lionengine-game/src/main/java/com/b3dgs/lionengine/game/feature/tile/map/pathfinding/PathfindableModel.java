@@ -21,6 +21,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Map;
+import java.util.Map.Entry;
 
 import com.b3dgs.lionengine.LionEngineException;
 import com.b3dgs.lionengine.Localizable;
@@ -38,6 +39,7 @@ import com.b3dgs.lionengine.game.feature.Setup;
 import com.b3dgs.lionengine.game.feature.Transformable;
 import com.b3dgs.lionengine.game.feature.tile.Tile;
 import com.b3dgs.lionengine.game.feature.tile.map.MapTile;
+import com.b3dgs.lionengine.game.feature.tile.map.NameIds;
 import com.b3dgs.lionengine.game.feature.tile.map.OrientableModel;
 import com.b3dgs.lionengine.graphic.ColorRgba;
 import com.b3dgs.lionengine.graphic.Graphic;
@@ -57,6 +59,27 @@ public class PathfindableModel extends FeatureModel implements Pathfindable, Rec
     /** Debug text size. */
     private static final int TEXT_DEBUG_SIZE = 8;
 
+    /**
+     * Index the categories by their interned id.
+     * 
+     * @param categories The categories by name.
+     * @return The categories by id.
+     */
+    private static PathData[] indexCategories(Map<String, PathData> categories)
+    {
+        int max = NameIds.NONE;
+        for (final String category : categories.keySet())
+        {
+            max = Math.max(max, NameIds.get(category));
+        }
+        final PathData[] indexed = new PathData[max + 1];
+        for (final Entry<String, PathData> entry : categories.entrySet())
+        {
+            indexed[NameIds.get(entry.getKey())] = entry.getValue();
+        }
+        return indexed;
+    }
+
     /** Pathfindable listeners. */
     private final Collection<PathfindableListener> listeners = new ArrayList<>();
     /** List of shared path id. */
@@ -75,6 +98,8 @@ public class PathfindableModel extends FeatureModel implements Pathfindable, Rec
     private final PathFinder pathfinder;
     /** List of categories. */
     private final Map<String, PathData> categories;
+    /** Categories by id. */
+    private final PathData[] categoriesId;
     /** Transformable model. */
     private Transformable transformable;
     /** Orientable model. */
@@ -149,6 +174,7 @@ public class PathfindableModel extends FeatureModel implements Pathfindable, Rec
         viewer = services.get(Viewer.class);
         mapPath = map.getFeature(MapTilePath.class);
         categories = PathfindableConfig.imports(setup);
+        categoriesId = indexCategories(categories);
         orientable = new OrientableModel(services);
 
         final int range = (int) Math.sqrt(map.getInTileWidth() * map.getInTileWidth()
@@ -156,6 +182,21 @@ public class PathfindableModel extends FeatureModel implements Pathfindable, Rec
         pathfinder = Astar.createPathFinder(map, range, Astar.createHeuristicClosest());
     }
 
+    /**
+     * Get the category data from its id.
+     * 
+     * @param category The category id.
+     * @return The category data, <code>null</code> if not found.
+     */
+    private PathData getCategory(int category)
+    {
+        if (category >= 0 && category < categoriesId.length)
+        {
+            return categoriesId[category];
+        }
+        return null;
+    }
+
     /**
      * Assign the map object id of the pathfindable.
      * 
@@ -801,23 +842,47 @@ public class PathfindableModel extends FeatureModel implements Pathfindable, Rec
     @Override
     public double getCost(String category)
     {
-        if (categories.containsKey(category))
+        final PathData data = categories.get(category);
+        if (data != null)
         {
-            return categories.get(category).getCost();
+            return data.getCost();
         }
         throw new LionEngineException(ERROR_CATEGORY + category);
     }
 
+    @Override
+    public double getCost(int category)
+    {
+        final PathData data = getCategory(category);
+        if (data != null)
+        {
+            return data.getCost();
+        }
+        throw new LionEngineException(ERROR_CATEGORY + NameIds.getName(category));
+    }
+
     @Override
     public boolean isMovementAllowed(String category, MovementTile movement)
     {
-        if (categories.containsKey(category))
+        final PathData data = categories.get(category);
+        if (data != null)
         {
-            return categories.get(category).isAllowedMovement(movement);
+            return data.isAllowedMovement(movement);
         }
         throw new LionEngineException(ERROR_CATEGORY + category);
     }
 
+    @Override
+    public boolean isMovementAllowed(int category, MovementTile movement)
+    {
+        final PathData data = getCategory(category);
+        if (data != null)
+        {
+            return data.isAllowedMovement(movement);
+        }
+        throw new LionEngineException(ERROR_CATEGORY + NameIds.getName(category));
+    }
+
     @Override
     public boolean isPathAvailable(int tx, int ty)
     {
@@ -833,9 +898,21 @@ public class PathfindableModel extends FeatureModel implements Pathfindable, Rec
     @Override
     public boolean isBlocking(String category)
     {
-        if (categories.containsKey(category))
+        final PathData data = categories.get(category);
+        if (data != null)
+        {
+            return data.isBlocking();
+        }
+        return false;
+    }
+
+    @Override
+    public boolean isBlocking(int category)
+    {
+        final PathData data = getCategory(category);
+        if (data != null)
         {
-            return categories.get(category).isBlocking();
+            return data.isBlocking();
         }
         return false;
     }
@@ -21,6 +21,7 @@ import java.util.Collection;
 
 import com.b3dgs.lionengine.game.Feature;
 import com.b3dgs.lionengine.game.feature.FeatureInterface;
+import com.b3dgs.lionengine.game.feature.tile.map.NameIds;
 
 /**
  * Tile representation with the following data:
@@ -62,4 +63,14 @@ public interface TilePath extends Feature
      * @return The category name.
      */
     String getCategory();
+
+    /**
+     * Get the category id, as interned by {@link NameIds}. Adapts from {@link #getCategory()} by default.
+     * 
+     * @return The category id, {@link NameIds#NONE} if none.
+     */
+    default int getCategoryId()
+    {
+        return NameIds.get(getCategory());
+    }
 }
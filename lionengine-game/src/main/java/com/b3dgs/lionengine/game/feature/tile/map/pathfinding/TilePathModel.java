@@ -22,6 +22,7 @@ import java.util.HashSet;
 import java.util.Set;
 
 import com.b3dgs.lionengine.game.feature.FeatureModel;
+import com.b3dgs.lionengine.game.feature.tile.map.NameIds;
 
 /**
  * Representation of a pathfindable tile.
@@ -32,6 +33,8 @@ public class TilePathModel extends FeatureModel implements TilePath
     private final Set<Integer> objectsId = new HashSet<>();
     /** Category name. */
     private final String category;
+    /** Category id. */
+    private final int categoryId;
 
     /**
      * Create a tile path.
@@ -43,6 +46,7 @@ public class TilePathModel extends FeatureModel implements TilePath
         super();
 
         this.category = category;
+        categoryId = NameIds.get(category);
     }
 
     /*
@@ -72,4 +76,10 @@ public class TilePathModel extends FeatureModel implements TilePath
     {
         return category;
     }
+
+    @Override
+    public int getCategoryId()
+    {
+        return categoryId;
+    }
 }
@@ -17,10 +17,8 @@
  */
 package com.b3dgs.lionengine.game.feature.tile.map.raster;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
-import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
 
@@ -30,18 +28,21 @@ import com.b3dgs.lionengine.game.feature.Services;
 import com.b3dgs.lionengine.game.feature.tile.Tile;
 import com.b3dgs.lionengine.game.feature.tile.map.MapTile;
 import com.b3dgs.lionengine.graphic.Graphic;
-import com.b3dgs.lionengine.graphic.ImageBuffer;
 import com.b3dgs.lionengine.graphic.drawable.Drawable;
 import com.b3dgs.lionengine.graphic.drawable.SpriteTiled;
+import com.b3dgs.lionengine.graphic.raster.RasterCache;
 import com.b3dgs.lionengine.graphic.raster.RasterImage;
 
 /**
  * Rastered map tile implementation.
+ * <p>
+ * Raster sheets are computed on demand, when a raster index is first rendered.
+ * </p>
  */
 public class MapTileRasteredModel extends FeatureModel implements MapTileRastered
 {
-    /** List of rastered sheets. */
-    private final Map<Integer, List<SpriteTiled>> rasterSheets = new TreeMap<>();
+    /** Rastered sheets cache. */
+    private final Map<Integer, RasterCache<SpriteTiled>> rasterSheets = new TreeMap<>();
     /** Map tile reference. */
     private final MapTile map;
     /** Rasters smooth flag. */
@@ -65,22 +66,6 @@ public class MapTileRasteredModel extends FeatureModel implements MapTileRastere
         map = services.get(MapTile.class);
     }
 
-    /**
-     * Get the associated raster sheets for a sheet number. Create it if needed.
-     * 
-     * @param sheet The sheet number
-     * @return The raster sheets collection found.
-     */
-    private List<SpriteTiled> getRasters(Integer sheet)
-    {
-        return rasterSheets.computeIfAbsent(sheet, s ->
-        {
-            final List<SpriteTiled> rasters = new ArrayList<>(RasterImage.MAX_RASTERS);
-            rasterSheets.put(s, rasters);
-            return rasters;
-        });
-    }
-
     /*
      * MapTileRastered
      */
@@ -90,20 +75,19 @@ public class MapTileRasteredModel extends FeatureModel implements MapTileRastere
     {
         final Collection<Integer> sheets = map.getSheets();
         final Iterator<Integer> itr = sheets.iterator();
+        final int tw = map.getTileWidth();
         final int th = map.getTileHeight();
+        this.smooth = smooth;
 
         while (itr.hasNext())
         {
             final Integer sheet = itr.next();
             final RasterImage raster = new RasterImage(map.getSheet(sheet).getSurface(), rasterConfig, th, smooth);
-            raster.loadRasters(map.getTileHeight(), false, sheet.toString());
-
-            final List<SpriteTiled> rastersSheet = getRasters(sheet);
-            for (final ImageBuffer bufferRaster : raster.getRasters())
-            {
-                final SpriteTiled sheetRaster = Drawable.loadSpriteTiled(bufferRaster, map.getTileWidth(), th);
-                rastersSheet.add(sheetRaster);
-            }
+            final RasterCache<SpriteTiled> cache;
+            cache = raster.createCache(true, buffer -> Drawable.loadSpriteTiled(buffer, tw, th));
+            // Each tile row uses the next band, all of them are rendered each frame
+            cache.setCapacity(RasterImage.MAX_RASTERS);
+            rasterSheets.put(sheet, cache);
         }
     }
 
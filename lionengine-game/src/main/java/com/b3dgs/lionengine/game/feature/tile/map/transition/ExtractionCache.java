@@ -0,0 +1,525 @@
+/*
+ * Copyright (C) 2013-2018 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map.transition;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Medias;
+import com.b3dgs.lionengine.Verbose;
+import com.b3dgs.lionengine.game.feature.tile.TileRef;
+import com.b3dgs.lionengine.game.feature.tile.map.TileSheetsConfig;
+
+/**
+ * Cache of tables extracted from levels, such as transitions and circuits.
+ * <p>
+ * Tables are keyed by a checksum of the extraction inputs: level rips, sheets configuration, sheets images and groups
+ * configuration. They are kept in memory for the session, and persisted as configuration files in the folder defined
+ * by {@link #setFolder(Media)}, in order to be reused across sessions. A table requested concurrently is extracted once,
+ * other callers waiting for it.
+ * </p>
+ * <p>
+ * Inputs content digest is kept by file, and computed again only when file modification time changes.
+ * </p>
+ * <p>
+ * Memory is bounded: least recently used tables and digests are released above {@link #getCapacity()} and
+ * {@link #DIGESTS_CAPACITY}. Released tables are loaded again from their persisted file if any.
+ * </p>
+ * <p>
+ * This class is Thread-Safe.
+ * </p>
+ */
+public final class ExtractionCache
+{
+    /** Default maximum number of tables kept in memory, enough for the few tilesets of a game. */
+    public static final int DEFAULT_CAPACITY = 16;
+    /** Maximum number of inputs digests kept in memory. */
+    public static final int DIGESTS_CAPACITY = 256;
+    /** Checksum error. */
+    static final String ERROR_CHECKSUM = "Unable to compute extraction checksum !";
+    /** Checksum algorithm. */
+    private static final String ALGORITHM = "SHA-256";
+    /** Read buffer size. */
+    private static final int BUFFER_SIZE = 8192;
+    /** Hexadecimal mask. */
+    private static final int HEX = 0xFF;
+    /** Memory cache, pending until table is loaded, in least recently used order. */
+    private static final Map<String, CompletableFuture<Map<?, Collection<TileRef>>>> MEMORY = new LinkedHashMap<>(
+            DEFAULT_CAPACITY, 0.75F, true);
+    /** Inputs content digest by file path, in least recently used order. */
+    private static final Map<String, Digest> DIGESTS = new LinkedHashMap<>(DIGESTS_CAPACITY, 0.75F, true);
+    /** Maximum tables kept in memory. */
+    private static int capacity = DEFAULT_CAPACITY;
+    /** Persistence folder (<code>null</code> if disabled). */
+    private static volatile Media folder;
+
+    /**
+     * Set the folder where extracted tables are persisted.
+     * 
+     * @param folder The cache folder, <code>null</code> to disable persistence.
+     */
+    public static void setFolder(Media folder)
+    {
+        ExtractionCache.folder = folder;
+    }
+
+    /**
+     * Set the maximum number of tables kept in memory.
+     * 
+     * @param capacity The capacity (must be strictly positive).
+     * @throws LionEngineException If invalid argument.
+     */
+    public static synchronized void setCapacity(int capacity)
+    {
+        Check.superiorStrict(capacity, 0);
+
+        ExtractionCache.capacity = capacity;
+        evict(MEMORY, capacity);
+    }
+
+    /**
+     * Get the maximum number of tables kept in memory.
+     * 
+     * @return The capacity.
+     */
+    public static synchronized int getCapacity()
+    {
+        return capacity;
+    }
+
+    /**
+     * Clear the memory cache and inputs digests. Persisted tables are kept.
+     */
+    public static synchronized void clear()
+    {
+        MEMORY.clear();
+        DIGESTS.clear();
+    }
+
+    /**
+     * Get the number of tables kept in memory.
+     * 
+     * @return The tables in memory.
+     */
+    static synchronized int size()
+    {
+        return MEMORY.size();
+    }
+
+    /**
+     * Get the checksum of extraction inputs.
+     * 
+     * @param levels The level rips used (must not be <code>null</code>).
+     * @param sheetsConfig The sheets configuration media (must not be <code>null</code>).
+     * @param groupsConfig The groups configuration media (must not be <code>null</code>).
+     * @return The inputs checksum.
+     * @throws LionEngineException If invalid arguments or unable to read inputs.
+     */
+    public static String getChecksum(Collection<Media> levels, Media sheetsConfig, Media groupsConfig)
+    {
+        Check.notNull(levels);
+        Check.notNull(sheetsConfig);
+        Check.notNull(groupsConfig);
+
+        final Collection<Media> inputs = new ArrayList<>(levels);
+        inputs.add(sheetsConfig);
+        if (sheetsConfig.exists())
+        {
+            for (final String sheet : TileSheetsConfig.imports(sheetsConfig).getSheets())
+            {
+                inputs.add(Medias.create(sheetsConfig.getParentPath(), sheet));
+            }
+        }
+        inputs.add(groupsConfig);
+
+        final MessageDigest digest = createDigest();
+        for (final Media input : inputs)
+        {
+            digest.update(input.getPath().getBytes(StandardCharsets.UTF_8));
+            if (input.exists())
+            {
+                digest.update(getDigest(input));
+            }
+        }
+
+        final StringBuilder checksum = new StringBuilder();
+        for (final byte b : digest.digest())
+        {
+            checksum.append(String.format("%02x", Integer.valueOf(b & HEX)));
+        }
+        return checksum.toString();
+    }
+
+    /**
+     * Get the extracted table from cache, or extract it if not cached yet.
+     * 
+     * @param <T> The table key type.
+     * @param name The table name, used as persisted file prefix (must not be <code>null</code>).
+     * @param levels The level rips used (must not be <code>null</code>).
+     * @param sheetsConfig The sheets configuration media (must not be <code>null</code>).
+     * @param groupsConfig The groups configuration media (must not be <code>null</code>).
+     * @param importer The persisted table reader (must not be <code>null</code>).
+     * @param exporter The persisted table writer (must not be <code>null</code>).
+     * @param extractor The table extractor (must not be <code>null</code>).
+     * @return The extracted table copy.
+     * @throws LionEngineException If invalid arguments or error on extraction.
+     */
+    public static <T> Map<T, Collection<TileRef>> get(String name,
+                                                      Collection<Media> levels,
+                                                      Media sheetsConfig,
+                                                      Media groupsConfig,
+                                                      Function<Media, Map<T, Collection<TileRef>>> importer,
+                                                      BiConsumer<Media, Map<T, Collection<TileRef>>> exporter,
+                                                      Supplier<Map<T, Collection<TileRef>>> extractor)
+    {
+        Check.notNull(name);
+        Check.notNull(importer);
+        Check.notNull(exporter);
+        Check.notNull(extractor);
+
+        final String key = name + "_" + getChecksum(levels, sheetsConfig, groupsConfig);
+
+        final CompletableFuture<Map<?, Collection<TileRef>>> pending = new CompletableFuture<>();
+        final CompletableFuture<Map<?, Collection<TileRef>>> other = reserve(key, pending);
+        if (other == null)
+        {
+            final Map<T, Collection<TileRef>> table;
+            try
+            {
+                table = load(key, importer, exporter, extractor);
+            }
+            catch (final RuntimeException exception)
+            {
+                release(key, pending);
+                pending.completeExceptionally(exception);
+                throw exception;
+            }
+            pending.complete(table);
+            return copy(table);
+        }
+
+        @SuppressWarnings("unchecked")
+        final Map<T, Collection<TileRef>> table = (Map<T, Collection<TileRef>>) await(other);
+        return copy(table);
+    }
+
+    /**
+     * Reserve the table key in memory, releasing least recently used tables above capacity. A table released while
+     * pending is still completed for its current waiters.
+     * 
+     * @param key The table key.
+     * @param pending The table to load.
+     * @return The table already reserved, <code>null</code> if reserved by caller.
+     */
+    private static synchronized CompletableFuture<Map<?, Collection<TileRef>>> reserve(
+            String key,
+            CompletableFuture<Map<?, Collection<TileRef>>> pending)
+    {
+        final CompletableFuture<Map<?, Collection<TileRef>>> other = MEMORY.putIfAbsent(key, pending);
+        evict(MEMORY, capacity);
+        return other;
+    }
+
+    /**
+     * Release the reserved table key.
+     * 
+     * @param key The table key.
+     * @param pending The table which failed to load.
+     */
+    private static synchronized void release(String key, CompletableFuture<Map<?, Collection<TileRef>>> pending)
+    {
+        MEMORY.remove(key, pending);
+    }
+
+    /**
+     * Release least recently used entries while above capacity.
+     * 
+     * @param cache The cache in least recently used order.
+     * @param max The maximum entries kept.
+     */
+    private static void evict(Map<String, ?> cache, int max)
+    {
+        while (cache.size() > max)
+        {
+            cache.remove(cache.keySet().iterator().next());
+        }
+    }
+
+    /**
+     * Wait for a table loaded by another thread.
+     * 
+     * @param pending The table being loaded.
+     * @return The loaded table.
+     * @throws LionEngineException If table loading failed.
+     */
+    private static Map<?, Collection<TileRef>> await(CompletableFuture<Map<?, Collection<TileRef>>> pending)
+    {
+        try
+        {
+            return pending.join();
+        }
+        catch (final CompletionException exception)
+        {
+            if (exception.getCause() instanceof LionEngineException)
+            {
+                throw (LionEngineException) exception.getCause();
+            }
+            throw new LionEngineException(exception.getCause());
+        }
+    }
+
+    /**
+     * Load table from persisted file if exists, else extract and persist it.
+     * 
+     * @param <T> The table key type.
+     * @param key The table key.
+     * @param importer The persisted table reader.
+     * @param exporter The persisted table writer.
+     * @param extractor The table extractor.
+     * @return The loaded table.
+     * @throws LionEngineException If error on extraction.
+     */
+    private static <T> Map<T, Collection<TileRef>> load(String key,
+                                                        Function<Media, Map<T, Collection<TileRef>>> importer,
+                                                        BiConsumer<Media, Map<T, Collection<TileRef>>> exporter,
+                                                        Supplier<Map<T, Collection<TileRef>>> extractor)
+    {
+        final Media cache = folder;
+        final Media file;
+        if (cache != null)
+        {
+            file = Medias.create(cache.getPath(), key + ".xml");
+            if (file.exists())
+            {
+                try
+                {
+                    return importer.apply(file);
+                }
+                catch (final LionEngineException exception)
+                {
+                    Verbose.exception(exception, "Invalid cached extraction, extracting again: ", key);
+                }
+            }
+        }
+        else
+        {
+            file = null;
+        }
+
+        final Map<T, Collection<TileRef>> table = extractor.get();
+        if (file != null)
+        {
+            try
+            {
+                exporter.accept(file, table);
+            }
+            catch (final LionEngineException exception)
+            {
+                Verbose.exception(exception, "Unable to persist extraction: ", key);
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Copy table, so cached table cannot be modified.
+     * 
+     * @param <T> The table key type.
+     * @param table The table to copy.
+     * @return The table copy.
+     */
+    private static <T> Map<T, Collection<TileRef>> copy(Map<T, Collection<TileRef>> table)
+    {
+        final Map<T, Collection<TileRef>> copy = new HashMap<>(table.size());
+        table.forEach((key, tiles) -> copy.put(key, new HashSet<>(tiles)));
+        return copy;
+    }
+
+    /**
+     * Get the media content digest, computed again only if file has been modified since last call.
+     * 
+     * @param media The media to read.
+     * @return The content digest.
+     * @throws LionEngineException If unable to read media.
+     */
+    private static byte[] getDigest(Media media)
+    {
+        final File file = getFile(media);
+        final long lastModified;
+        if (file != null)
+        {
+            lastModified = file.lastModified();
+            final Digest cached = getCached(file.getPath());
+            if (cached != null && cached.lastModified == lastModified)
+            {
+                return cached.value;
+            }
+        }
+        else
+        {
+            lastModified = 0L;
+        }
+
+        final MessageDigest digest = createDigest();
+        update(digest, media, new byte[BUFFER_SIZE]);
+        final byte[] value = digest.digest();
+        if (file != null)
+        {
+            putCached(file.getPath(), new Digest(value, lastModified));
+        }
+        return value;
+    }
+
+    /**
+     * Get the cached digest.
+     * 
+     * @param path The file path.
+     * @return The cached digest, <code>null</code> if none.
+     */
+    private static synchronized Digest getCached(String path)
+    {
+        return DIGESTS.get(path);
+    }
+
+    /**
+     * Cache the digest, releasing least recently used digests above capacity.
+     * 
+     * @param path The file path.
+     * @param digest The digest to cache.
+     */
+    private static synchronized void putCached(String path, Digest digest)
+    {
+        DIGESTS.put(path, digest);
+        evict(DIGESTS, DIGESTS_CAPACITY);
+    }
+
+    /**
+     * Get the media file used as digest key.
+     * 
+     * @param media The media reference.
+     * @return The media file, <code>null</code> if not accessible.
+     */
+    private static File getFile(Media media)
+    {
+        try
+        {
+            return media.getFile();
+        }
+        catch (@SuppressWarnings("unused") final LionEngineException exception)
+        {
+            return null;
+        }
+    }
+
+    /**
+     * Update digest with media content.
+     * 
+     * @param digest The digest to update.
+     * @param media The media to read.
+     * @param buffer The read buffer.
+     * @throws LionEngineException If unable to read media.
+     */
+    private static void update(MessageDigest digest, Media media, byte[] buffer)
+    {
+        try (InputStream input = media.getInputStream())
+        {
+            while (true)
+            {
+                final int read = input.read(buffer);
+                if (read == -1)
+                {
+                    break;
+                }
+                digest.update(buffer, 0, read);
+            }
+        }
+        catch (final IOException exception)
+        {
+            throw new LionEngineException(exception, media, ERROR_CHECKSUM);
+        }
+    }
+
+    /**
+     * Create the checksum digest.
+     * 
+     * @return The created digest.
+     * @throws LionEngineException If algorithm not available.
+     */
+    private static MessageDigest createDigest()
+    {
+        try
+        {
+            return MessageDigest.getInstance(ALGORITHM);
+        }
+        catch (final NoSuchAlgorithmException exception)
+        {
+            throw new LionEngineException(exception, ERROR_CHECKSUM);
+        }
+    }
+
+    /**
+     * Private constructor.
+     */
+    private ExtractionCache()
+    {
+        throw new LionEngineException(LionEngineException.ERROR_PRIVATE_CONSTRUCTOR);
+    }
+
+    /**
+     * Cached content digest.
+     */
+    private static final class Digest
+    {
+        /** Content digest. */
+        private final byte[] value;
+        /** File last modification time when read. */
+        private final long lastModified;
+
+        /**
+         * Create cached digest.
+         * 
+         * @param value The content digest.
+         * @param lastModified The file last modification time.
+         */
+        Digest(byte[] value, long lastModified)
+        {
+            super();
+
+            this.value = value;
+            this.lastModified = lastModified;
+        }
+    }
+}
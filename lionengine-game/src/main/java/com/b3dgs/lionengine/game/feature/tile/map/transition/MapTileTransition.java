@@ -25,6 +25,7 @@ import com.b3dgs.lionengine.game.Feature;
 import com.b3dgs.lionengine.game.feature.FeatureInterface;
 import com.b3dgs.lionengine.game.feature.tile.Tile;
 import com.b3dgs.lionengine.game.feature.tile.TileRef;
+import com.b3dgs.lionengine.game.feature.tile.map.TileSetListener;
 
 /**
  * Represents the transition handling between two different groups of tiles.
@@ -63,6 +64,27 @@ public interface MapTileTransition extends Feature
      */
     Collection<Tile> resolve(Tile tile);
 
+    /**
+     * Resolve transitions of a set of changed tiles at once. Tiles must have been already set on map.
+     * <p>
+     * Changed cells and their neighbors are processed as a single worklist, where each cell is resolved only once per
+     * pass, instead of resolving each tile with its whole neighborhood.
+     * </p>
+     * 
+     * @param tiles The new tiles placed.
+     * @return The updated tiles, one per updated cell.
+     */
+    Collection<Tile> resolve(Collection<Tile> tiles);
+
+    /**
+     * Resolve transitions of a set of changed tiles at once, and notify each updated cell.
+     * 
+     * @param tiles The new tiles placed.
+     * @param listener The listener notified once per updated cell with its final tile.
+     * @see #resolve(Collection)
+     */
+    void resolve(Collection<Tile> tiles, TileSetListener listener);
+
     /**
      * Get the tile transition.
      * 
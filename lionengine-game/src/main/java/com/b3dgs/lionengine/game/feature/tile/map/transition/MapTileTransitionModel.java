@@ -18,6 +18,7 @@
 package com.b3dgs.lionengine.game.feature.tile.map.transition;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -26,6 +27,7 @@ import java.util.Iterator;
 import java.util.Map;
 import java.util.Map.Entry;
 
+import com.b3dgs.lionengine.Check;
 import com.b3dgs.lionengine.Media;
 import com.b3dgs.lionengine.game.feature.FeatureModel;
 import com.b3dgs.lionengine.game.feature.Services;
@@ -33,12 +35,23 @@ import com.b3dgs.lionengine.game.feature.tile.Tile;
 import com.b3dgs.lionengine.game.feature.tile.TileRef;
 import com.b3dgs.lionengine.game.feature.tile.map.MapTile;
 import com.b3dgs.lionengine.game.feature.tile.map.MapTileGroup;
+import com.b3dgs.lionengine.game.feature.tile.map.NameIds;
+import com.b3dgs.lionengine.game.feature.tile.map.TileSetListener;
 
 /**
  * Map tile transition model implementation.
+ * <p>
+ * Resolution compares groups by their ids as interned by {@link NameIds}, tile transitions being indexed by sheet and
+ * number with their groups ids.
+ * </p>
  */
 public class MapTileTransitionModel extends FeatureModel implements MapTileTransition
 {
+    /** No transitions. */
+    private static final Transition[] NO_TRANSITIONS = new Transition[0];
+    /** No tile transitions. */
+    private static final TileTransitions NO_TILE_TRANSITIONS = new TileTransitions(NO_TRANSITIONS);
+
     /**
      * Get the new transition type from two transitions.
      * 
@@ -130,10 +143,14 @@ public class MapTileTransitionModel extends FeatureModel implements MapTileTrans
 
     /** Tile as key. */
     private final Map<TileRef, Collection<Transition>> tiles = new HashMap<>();
+    /** Tile transitions by sheet and number, for lookups without allocation. */
+    private TileTransitions[][] tilesTransitions = new TileTransitions[0][];
     /** Transitions as key. */
     private final Map<Transition, Collection<TileRef>> transitions = new HashMap<>();
-    /** Existing group links. */
-    private final Collection<GroupTransition> groupLinks = new HashSet<>();
+    /** Existing group links by group ids, as <code>in * groupsId + out</code>. */
+    private BitSet groupLinks = new BitSet();
+    /** Number of group ids indexed by links. */
+    private int groupsId;
     /** Map reference. */
     private final MapTile map;
     /** Map tile group. */
@@ -224,49 +241,29 @@ public class MapTileTransitionModel extends FeatureModel implements MapTileTrans
                                int ox,
                                int oy)
     {
-        final String group = mapGroup.getGroup(tile);
-        final String neighborGroup = mapGroup.getGroup(neighbor);
+        final int group = mapGroup.getGroupId(tile);
+        final int neighborGroup = mapGroup.getGroupId(neighbor);
 
-        final Transition transitionA = getTransition(tile, neighborGroup);
-        final Transition transitionB = getTransition(neighbor, group);
+        final TileTransitions transitionsA = getTransitions(tile);
+        final TileTransitions transitionsB = getTransitions(neighbor);
+        final int indexA = transitionsA.find(group, neighborGroup);
+        final int indexB = transitionsB.find(neighborGroup, group);
 
-        if (transitionA != null && transitionB != null)
+        // Skip neighbor already in the new transition group
+        if (indexA > -1 && indexB > -1 && neighborGroup != transitionsA.outs[indexA])
         {
-            final TransitionType transitionTypeA = transitionA.getType();
-            final TransitionType transitionTypeB = transitionB.getType();
+            final Transition transitionA = transitionsA.transitions[indexA];
+            final Transition transitionB = transitionsB.transitions[indexB];
 
-            final TransitionType newType = getTransition(transitionTypeA, transitionTypeB, ox, oy);
+            final TransitionType newType = getTransition(transitionA.getType(), transitionB.getType(), ox, oy);
             if (newType != null)
             {
                 final Transition newTransition = new Transition(newType, transitionA.getOut(), transitionB.getIn());
-                updateTransition(resolved, toResolve, tile, neighbor, neighborGroup, newTransition);
+                updateTile(resolved, toResolve, tile, neighbor, newTransition);
             }
         }
     }
 
-    /**
-     * Update transition.
-     * 
-     * @param resolved The resolved tiles.
-     * @param toResolve Tiles to resolve after.
-     * @param tile The tile reference.
-     * @param neighbor The neighbor reference.
-     * @param neighborGroup The neighbor group.
-     * @param newTransition The new transition.
-     */
-    private void updateTransition(Collection<Tile> resolved,
-                                  Collection<Tile> toResolve,
-                                  Tile tile,
-                                  Tile neighbor,
-                                  String neighborGroup,
-                                  Transition newTransition)
-    {
-        if (!neighborGroup.equals(newTransition.getIn()))
-        {
-            updateTile(resolved, toResolve, tile, neighbor, newTransition);
-        }
-    }
-
     /**
      * Update tile.
      * 
@@ -293,14 +290,12 @@ public class MapTileTransitionModel extends FeatureModel implements MapTileTrans
         else
         {
             final Tile newTile = map.createTile(tile.getSheet(), tile.getNumber(), neighbor.getX(), neighbor.getY());
-            final String groupA = mapGroup.getGroup(tile);
-            final String groupB = mapGroup.getGroup(neighbor);
+            final int groupA = mapGroup.getGroupId(tile);
+            final int groupB = mapGroup.getGroupId(neighbor);
 
             // Used to fix transitions not found
             if (!neighbor.equals(newTile)
-                && (!isCenter(neighbor)
-                    || groupA.equals(groupB)
-                    || groupLinks.contains(new GroupTransition(groupA, groupB))))
+                && (!getTransitions(neighbor).center || groupA == groupB || isLinked(groupA, groupB)))
             {
                 map.setTile(newTile);
                 toResolve.add(newTile);
@@ -318,13 +313,15 @@ public class MapTileTransitionModel extends FeatureModel implements MapTileTrans
     private void checkTransitives(Collection<Tile> resolved, Tile tile)
     {
         boolean isTransitive = false;
+        final int group = mapGroup.getGroupId(tile);
         for (final Tile neighbor : map.getNeighbors(tile))
         {
-            final String group = mapGroup.getGroup(tile);
-            final String neighborGroup = mapGroup.getGroup(neighbor);
-            final Collection<GroupTransition> transitives = getTransitives(group, neighborGroup);
+            final int neighborGroup = mapGroup.getGroupId(neighbor);
+            final Collection<GroupTransition> transitives = transitiveGroup.getTransitives(group, neighborGroup);
+            final TileTransitions neighborTransitions = getTransitions(neighbor);
 
-            if (transitives.size() > 1 && (getTransition(neighbor, group) == null || isCenter(neighbor)))
+            if (transitives.size() > 1
+                && (neighborTransitions.find(neighborGroup, group) < 0 || neighborTransitions.center))
             {
                 final int iterations = transitives.size() - 3;
                 int i = 0;
@@ -376,21 +373,178 @@ public class MapTileTransitionModel extends FeatureModel implements MapTileTrans
     }
 
     /**
-     * Check if tile is a center.
+     * Get the cell index of the tile.
      * 
-     * @param tile The tile to check.
-     * @return <code>true</code> if center, <code>false</code> else.
+     * @param tile The tile reference.
+     * @return The cell index.
+     */
+    private int getCell(Tile tile)
+    {
+        return tile.getInTileX() + tile.getInTileY() * map.getInTileWidth();
+    }
+
+    /**
+     * Get the current map tile at cell.
+     * 
+     * @param cell The cell index.
+     * @return The tile found (<code>null</code> if none).
+     */
+    private Tile getTile(int cell)
+    {
+        final int width = map.getInTileWidth();
+        return map.getTile(cell % width, cell / width);
+    }
+
+    /**
+     * Resolve each cell once, and mark the cells to resolve on next pass.
+     * 
+     * @param resolved The resolved cells.
+     * @param cells The cells to resolve.
+     * @param next The cells to resolve on next pass.
+     */
+    private void resolve(BitSet resolved, BitSet cells, BitSet next)
+    {
+        final Collection<Tile> updated = new ArrayList<>();
+        final Collection<Tile> toResolve = new ArrayList<>();
+        for (int cell = cells.nextSetBit(0); cell >= 0; cell = cells.nextSetBit(cell + 1))
+        {
+            final Tile tile = getTile(cell);
+            if (tile != null)
+            {
+                resolve(updated, toResolve, tile);
+            }
+        }
+        for (final Tile tile : updated)
+        {
+            resolved.set(getCell(tile));
+        }
+        if (next != null)
+        {
+            for (final Tile tile : toResolve)
+            {
+                next.set(getCell(tile));
+            }
+        }
+    }
+
+    /**
+     * Get the tile transitions.
+     * 
+     * @param sheet The tile sheet.
+     * @param number The tile number.
+     * @return The tile transitions (empty if none).
      */
-    private boolean isCenter(Tile tile)
+    private TileTransitions getTransitions(int sheet, int number)
     {
-        for (final Transition transition : tiles.get(new TileRef(tile)))
+        if (sheet >= 0 && sheet < tilesTransitions.length)
         {
-            if (TransitionType.CENTER == transition.getType())
+            final TileTransitions[] numbers = tilesTransitions[sheet];
+            if (numbers != null && number >= 0 && number < numbers.length && numbers[number] != null)
             {
-                return true;
+                return numbers[number];
             }
         }
-        return false;
+        return NO_TILE_TRANSITIONS;
+    }
+
+    /**
+     * Get the tile transitions.
+     * 
+     * @param tile The tile reference.
+     * @return The tile transitions (empty if none).
+     */
+    private TileTransitions getTransitions(Tile tile)
+    {
+        return getTransitions(tile.getSheet().intValue(), tile.getNumber());
+    }
+
+    /**
+     * Check if groups are linked by a transition.
+     * 
+     * @param groupIn The first group id.
+     * @param groupOut The second group id.
+     * @return <code>true</code> if linked, <code>false</code> else.
+     */
+    private boolean isLinked(int groupIn, int groupOut)
+    {
+        return groupIn > -1
+               && groupIn < groupsId
+               && groupOut > -1
+               && groupOut < groupsId
+               && groupLinks.get(groupIn * groupsId + groupOut);
+    }
+
+    /**
+     * Index the groups linked by a transition.
+     */
+    private void indexLinks()
+    {
+        int count = 0;
+        for (final Transition transition : transitions.keySet())
+        {
+            count = Math.max(count, NameIds.get(transition.getIn()) + 1);
+            count = Math.max(count, NameIds.get(transition.getOut()) + 1);
+        }
+        final BitSet links = new BitSet(count * count);
+        for (final Transition transition : transitions.keySet())
+        {
+            final int in = NameIds.get(transition.getIn());
+            final int out = NameIds.get(transition.getOut());
+            links.set(in * count + out);
+            links.set(out * count + in);
+        }
+        groupLinks = links;
+        groupsId = count;
+    }
+
+    /**
+     * Index the tiles transitions by sheet and number.
+     */
+    private void indexTransitions()
+    {
+        int sheets = 0;
+        for (final TileRef tile : tiles.keySet())
+        {
+            sheets = Math.max(sheets, tile.getSheet().intValue() + 1);
+        }
+        final int[] numbers = new int[sheets];
+        for (final TileRef tile : tiles.keySet())
+        {
+            final int sheet = tile.getSheet().intValue();
+            numbers[sheet] = Math.max(numbers[sheet], tile.getNumber() + 1);
+        }
+        final TileTransitions[][] indexed = new TileTransitions[sheets][];
+        for (int sheet = 0; sheet < sheets; sheet++)
+        {
+            indexed[sheet] = new TileTransitions[numbers[sheet]];
+        }
+        for (final Entry<TileRef, Collection<Transition>> entry : tiles.entrySet())
+        {
+            final TileRef tile = entry.getKey();
+            final Transition[] current = entry.getValue().toArray(NO_TRANSITIONS);
+            indexed[tile.getSheet().intValue()][tile.getNumber()] = new TileTransitions(current);
+        }
+        tilesTransitions = indexed;
+    }
+
+    /**
+     * Get the tile transition.
+     * 
+     * @param sheet The tile sheet.
+     * @param number The tile number.
+     * @param groupIn The tile group.
+     * @param groupOut The transition with this group.
+     * @return The tile transition with the group, <code>null</code> if none.
+     */
+    private Transition getTransition(int sheet, int number, String groupIn, String groupOut)
+    {
+        final TileTransitions current = getTransitions(sheet, number);
+        final int index = current.find(NameIds.find(groupIn), NameIds.find(groupOut));
+        if (index > -1)
+        {
+            return current.transitions[index];
+        }
+        return null;
     }
 
     /*
@@ -428,10 +582,11 @@ public class MapTileTransitionModel extends FeatureModel implements MapTileTrans
                 }
                 tiles.get(tileRef).add(transition);
             }
-            groupLinks.add(new GroupTransition(transition.getIn(), transition.getOut()));
-            groupLinks.add(new GroupTransition(transition.getOut(), transition.getIn()));
         }
 
+        indexTransitions();
+        indexLinks();
+
         transitiveGroup = new TransitiveGroup(map);
         transitiveGroup.load();
     }
@@ -458,26 +613,65 @@ public class MapTileTransitionModel extends FeatureModel implements MapTileTrans
     }
 
     @Override
-    public Transition getTransition(TileRef tile, String groupOut)
+    public Collection<Tile> resolve(Collection<Tile> tiles)
     {
-        final String groupIn = mapGroup.getGroup(tile);
-        if (tiles.containsKey(tile))
+        Check.notNull(tiles);
+
+        final BitSet cells = new BitSet();
+        for (final Tile tile : tiles)
         {
-            for (final Transition transition : tiles.get(tile))
+            cells.set(getCell(tile));
+        }
+
+        final BitSet resolved = new BitSet();
+        final Collection<Tile> transitives = new ArrayList<>();
+        for (int cell = cells.nextSetBit(0); cell >= 0; cell = cells.nextSetBit(cell + 1))
+        {
+            final Tile tile = getTile(cell);
+            if (tile != null)
             {
-                if (transition.getIn().equals(groupIn) || transition.getOut().equals(groupOut))
-                {
-                    return transition;
-                }
+                checkTransitives(transitives, tile);
             }
         }
-        return null;
+        for (final Tile tile : transitives)
+        {
+            resolved.set(getCell(tile));
+        }
+        transitives.clear();
+
+        final BitSet next = new BitSet();
+        resolve(resolved, cells, next);
+        resolve(resolved, next, null);
+
+        final Collection<Tile> updated = new ArrayList<>(resolved.cardinality());
+        for (int cell = resolved.nextSetBit(0); cell >= 0; cell = resolved.nextSetBit(cell + 1))
+        {
+            updated.add(getTile(cell));
+        }
+        return updated;
+    }
+
+    @Override
+    public void resolve(Collection<Tile> tiles, TileSetListener listener)
+    {
+        Check.notNull(listener);
+
+        for (final Tile tile : resolve(tiles))
+        {
+            listener.onTileSet(tile);
+        }
+    }
+
+    @Override
+    public Transition getTransition(TileRef tile, String groupOut)
+    {
+        return getTransition(tile.getSheet().intValue(), tile.getNumber(), mapGroup.getGroup(tile), groupOut);
     }
 
     @Override
     public Transition getTransition(Tile tile, String group)
     {
-        return getTransition(new TileRef(tile), group);
+        return getTransition(tile.getSheet().intValue(), tile.getNumber(), mapGroup.getGroup(tile), group);
     }
 
     @Override
@@ -501,4 +695,60 @@ public class MapTileTransitionModel extends FeatureModel implements MapTileTrans
         }
         return transitions.get(transition);
     }
+
+    /**
+     * Transitions of a tile, with their groups ids.
+     */
+    private static final class TileTransitions
+    {
+        /** Tile transitions. */
+        private final Transition[] transitions;
+        /** Transitions group in ids. */
+        private final int[] ins;
+        /** Transitions group out ids. */
+        private final int[] outs;
+        /** <code>true</code> if tile is a center, <code>false</code> else. */
+        private final boolean center;
+
+        /**
+         * Create tile transitions.
+         * 
+         * @param transitions The tile transitions.
+         */
+        TileTransitions(Transition[] transitions)
+        {
+            super();
+
+            this.transitions = transitions;
+            ins = new int[transitions.length];
+            outs = new int[transitions.length];
+            boolean isCenter = false;
+            for (int i = 0; i < transitions.length; i++)
+            {
+                ins[i] = NameIds.get(transitions[i].getIn());
+                outs[i] = NameIds.get(transitions[i].getOut());
+                isCenter = isCenter || TransitionType.CENTER == transitions[i].getType();
+            }
+            center = isCenter;
+        }
+
+        /**
+         * Find the transition index from group in or group out.
+         * 
+         * @param groupIn The tile group id.
+         * @param groupOut The transition with this group id.
+         * @return The transition index, <code>-1</code> if none.
+         */
+        int find(int groupIn, int groupOut)
+        {
+            for (int i = 0; i < transitions.length; i++)
+            {
+                if (ins[i] == groupIn || outs[i] == groupOut)
+                {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
 }
@@ -22,6 +22,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.stream.Collectors;
 
 import com.b3dgs.lionengine.Media;
 import com.b3dgs.lionengine.game.feature.tile.Tile;
@@ -33,9 +34,16 @@ import com.b3dgs.lionengine.game.feature.tile.map.MapTileGroupModel;
 
 /**
  * Default transition extractor implementation.
+ * <p>
+ * Levels are processed in parallel, each one into its own partial transitions merged at the end. Transitions
+ * extracted from level rips are cached by {@link ExtractionCache}.
+ * </p>
  */
 final class TransitionsExtractorImpl implements TransitionsExtractor
 {
+    /** Cached transitions name. */
+    private static final String CACHE_NAME = "transitions";
+
     /**
      * Get map tile transitions.
      *
@@ -60,6 +68,53 @@ final class TransitionsExtractorImpl implements TransitionsExtractor
         return transitions;
     }
 
+    /**
+     * Create map from level rip.
+     * 
+     * @param level The level rip.
+     * @param sheetsConfig The sheets configuration media.
+     * @param groupsConfig The groups configuration media.
+     * @return The created map.
+     */
+    private static MapTile createMap(Media level, Media sheetsConfig, Media groupsConfig)
+    {
+        final MapTile map = new MapTileGame();
+        map.create(level, sheetsConfig);
+
+        final MapTileGroup mapGroup = new MapTileGroupModel();
+        mapGroup.loadGroups(groupsConfig);
+        map.addFeature(mapGroup);
+        return map;
+    }
+
+    /**
+     * Merge partial transitions.
+     * 
+     * @param partials The partial transitions.
+     * @return The merged transitions.
+     */
+    private static Map<Transition, Collection<TileRef>> merge(Collection<Map<Transition, Collection<TileRef>>> partials)
+    {
+        final Map<Transition, Collection<TileRef>> transitions = new HashMap<>();
+        for (final Map<Transition, Collection<TileRef>> currents : partials)
+        {
+            for (final Entry<Transition, Collection<TileRef>> entry : currents.entrySet())
+            {
+                final Transition transition = entry.getKey();
+                final Collection<TileRef> tiles = entry.getValue();
+                if (transitions.containsKey(transition))
+                {
+                    transitions.get(transition).addAll(tiles);
+                }
+                else
+                {
+                    transitions.put(transition, tiles);
+                }
+            }
+        }
+        return transitions;
+    }
+
     /**
      * Check the tile transition and add it to transitions collection if valid.
      * 
@@ -116,41 +171,23 @@ final class TransitionsExtractorImpl implements TransitionsExtractor
                                                                Media sheetsConfig,
                                                                Media groupsConfig)
     {
-        final Collection<MapTile> mapsSet = new HashSet<>(levels.size());
-        for (final Media level : levels)
-        {
-            final MapTile map = new MapTileGame();
-            map.create(level, sheetsConfig);
-
-            final MapTileGroup mapGroup = new MapTileGroupModel();
-            mapGroup.loadGroups(groupsConfig);
-            map.addFeature(mapGroup);
-            mapsSet.add(map);
-        }
-        return getTransitions(mapsSet);
+        return ExtractionCache.get(CACHE_NAME,
+                                   levels,
+                                   sheetsConfig,
+                                   groupsConfig,
+                                   TransitionsConfig::imports,
+                                   TransitionsConfig::exports,
+                                   () -> merge(levels.parallelStream()
+                                                     .map(level -> createMap(level, sheetsConfig, groupsConfig))
+                                                     .map(TransitionsExtractorImpl::getTransitions)
+                                                     .collect(Collectors.toList())));
     }
 
     @Override
     public Map<Transition, Collection<TileRef>> getTransitions(Collection<MapTile> maps)
     {
-        final Map<Transition, Collection<TileRef>> transitions = new HashMap<>();
-        for (final MapTile map : maps)
-        {
-            final Map<Transition, Collection<TileRef>> currents = getTransitions(map);
-            for (final Entry<Transition, Collection<TileRef>> entry : currents.entrySet())
-            {
-                final Transition transition = entry.getKey();
-                final Collection<TileRef> tiles = entry.getValue();
-                if (transitions.containsKey(transition))
-                {
-                    transitions.get(transition).addAll(tiles);
-                }
-                else
-                {
-                    transitions.put(transition, tiles);
-                }
-            }
-        }
-        return transitions;
+        return merge(maps.parallelStream()
+                         .map(TransitionsExtractorImpl::getTransitions)
+                         .collect(Collectors.toList()));
     }
 }
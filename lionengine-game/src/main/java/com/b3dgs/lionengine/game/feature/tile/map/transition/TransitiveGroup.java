@@ -25,12 +25,15 @@ import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 
 import com.b3dgs.lionengine.game.feature.tile.Tile;
 import com.b3dgs.lionengine.game.feature.tile.TileRef;
 import com.b3dgs.lionengine.game.feature.tile.map.MapTile;
 import com.b3dgs.lionengine.game.feature.tile.map.MapTileGroup;
+import com.b3dgs.lionengine.game.feature.tile.map.NameIds;
 
 /**
  * Handle the transitivity between groups for transitions.
@@ -76,6 +79,10 @@ public class TransitiveGroup
 
     /** Groups transitive transitions. */
     private final Map<GroupTransition, Collection<GroupTransition>> transitives = new HashMap<>();
+    /** Groups transitive transitions by group ids, as <code>in * groupsId + out</code>. */
+    private List<Collection<GroupTransition>> transitivesId = Collections.emptyList();
+    /** Number of group ids indexed. */
+    private int groupsId;
     /** Map reference. */
     private final MapTile map;
     /** Map tile group. */
@@ -120,6 +127,7 @@ public class TransitiveGroup
                 }
             }
         }
+        indexTransitives();
     }
 
     /**
@@ -160,6 +168,22 @@ public class TransitiveGroup
         return transitives.get(transition);
     }
 
+    /**
+     * Get the transitive groups list to reach a group from another, from their ids as interned by {@link NameIds}.
+     * 
+     * @param groupIn The first group id.
+     * @param groupOut The last group id.
+     * @return The transitive groups.
+     */
+    public Collection<GroupTransition> getTransitives(int groupIn, int groupOut)
+    {
+        if (groupIn < 0 || groupIn >= groupsId || groupOut < 0 || groupOut >= groupsId)
+        {
+            return Collections.emptyList();
+        }
+        return transitivesId.get(groupIn * groupsId + groupOut);
+    }
+
     /**
      * Get the associated tiles with the direct transitive transition.
      * 
@@ -178,6 +202,32 @@ public class TransitiveGroup
         return mapTransition.getTiles(new Transition(transition.getType(), groupTransition.getOut(), groupOut));
     }
 
+    /**
+     * Index the transitive groups by group ids.
+     */
+    private void indexTransitives()
+    {
+        int count = 0;
+        for (final String group : mapGroup.getGroups())
+        {
+            count = Math.max(count, NameIds.get(group) + 1);
+        }
+        final List<Collection<GroupTransition>> indexed = new ArrayList<>(count * count);
+        for (int i = 0; i < count * count; i++)
+        {
+            indexed.add(Collections.emptyList());
+        }
+        for (final Entry<GroupTransition, Collection<GroupTransition>> entry : transitives.entrySet())
+        {
+            final GroupTransition transition = entry.getKey();
+            final int in = NameIds.get(transition.getIn());
+            final int out = NameIds.get(transition.getOut());
+            indexed.set(in * count + out, entry.getValue());
+        }
+        transitivesId = indexed;
+        groupsId = count;
+    }
+
     /**
      * Find transitive groups.
      * 
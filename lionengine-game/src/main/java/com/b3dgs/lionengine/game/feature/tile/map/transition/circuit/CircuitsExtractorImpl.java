@@ -17,11 +17,14 @@
  */
 package com.b3dgs.lionengine.game.feature.tile.map.transition.circuit;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.stream.Collectors;
 
 import com.b3dgs.lionengine.Media;
 import com.b3dgs.lionengine.game.feature.Services;
@@ -32,14 +35,23 @@ import com.b3dgs.lionengine.game.feature.tile.map.MapTile;
 import com.b3dgs.lionengine.game.feature.tile.map.MapTileGame;
 import com.b3dgs.lionengine.game.feature.tile.map.MapTileGroup;
 import com.b3dgs.lionengine.game.feature.tile.map.MapTileGroupModel;
+import com.b3dgs.lionengine.game.feature.tile.map.transition.ExtractionCache;
 import com.b3dgs.lionengine.game.feature.tile.map.transition.MapTileTransition;
 import com.b3dgs.lionengine.game.feature.tile.map.transition.MapTileTransitionModel;
+import com.b3dgs.lionengine.game.feature.tile.map.transition.Transition;
 
 /**
  * Default circuit extractor implementation.
+ * <p>
+ * Levels are processed in parallel, each one into its own partial circuits merged at the end. Transitions are
+ * extracted once for all levels, and circuits extracted from level rips are cached by {@link ExtractionCache}.
+ * </p>
  */
 final class CircuitsExtractorImpl implements CircuitsExtractor
 {
+    /** Cached circuits name. */
+    private static final String CACHE_NAME = "circuits";
+
     /**
      * Get map tile circuits.
      *
@@ -65,6 +77,71 @@ final class CircuitsExtractorImpl implements CircuitsExtractor
         return circuits;
     }
 
+    /**
+     * Create map from level rip.
+     * 
+     * @param level The level rip.
+     * @param sheetsConfig The sheets configuration media.
+     * @param groupsConfig The groups configuration media.
+     * @return The created map, with groups loaded.
+     */
+    private static MapTile createMap(Media level, Media sheetsConfig, Media groupsConfig)
+    {
+        final Services services = new Services();
+        final MapTile map = services.create(MapTileGame.class);
+        map.create(level, sheetsConfig);
+
+        final MapTileGroup mapGroup = map.addFeatureAndGet(new MapTileGroupModel());
+        map.addFeature(new MapTileTransitionModel(services));
+        mapGroup.loadGroups(groupsConfig);
+
+        return map;
+    }
+
+    /**
+     * Get the loaded transitions table.
+     * 
+     * @param mapTransition The map transition reference.
+     * @return The transitions with their associated tiles.
+     */
+    private static Map<Transition, Collection<TileRef>> getTransitions(MapTileTransition mapTransition)
+    {
+        final Map<Transition, Collection<TileRef>> transitions = new HashMap<>();
+        for (final Transition transition : mapTransition.getTransitions())
+        {
+            transitions.put(transition, mapTransition.getTiles(transition));
+        }
+        return transitions;
+    }
+
+    /**
+     * Merge partial circuits.
+     * 
+     * @param partials The partial circuits.
+     * @return The merged circuits.
+     */
+    private static Map<Circuit, Collection<TileRef>> merge(Collection<Map<Circuit, Collection<TileRef>>> partials)
+    {
+        final Map<Circuit, Collection<TileRef>> circuits = new HashMap<>();
+        for (final Map<Circuit, Collection<TileRef>> currents : partials)
+        {
+            for (final Entry<Circuit, Collection<TileRef>> entry : currents.entrySet())
+            {
+                final Circuit circuit = entry.getKey();
+                final Collection<TileRef> tiles = entry.getValue();
+                if (circuits.containsKey(circuit))
+                {
+                    circuits.get(circuit).addAll(tiles);
+                }
+                else
+                {
+                    circuits.put(circuit, tiles);
+                }
+            }
+        }
+        return circuits;
+    }
+
     /**
      * Check the tile circuit and add it to circuits collection if valid.
      * 
@@ -146,45 +223,51 @@ final class CircuitsExtractorImpl implements CircuitsExtractor
                                                          Media sheetsConfig,
                                                          Media groupsConfig)
     {
-        final Collection<MapTile> mapsSet = new HashSet<>(levels.size());
-        for (final Media level : levels)
-        {
-            final Services services = new Services();
-            final MapTile map = services.create(MapTileGame.class);
-            map.create(level, sheetsConfig);
+        return ExtractionCache.get(CACHE_NAME,
+                                   levels,
+                                   sheetsConfig,
+                                   groupsConfig,
+                                   CircuitsConfig::imports,
+                                   CircuitsConfig::exports,
+                                   () -> extract(levels, sheetsConfig, groupsConfig));
+    }
 
-            final MapTileGroup mapGroup = map.addFeatureAndGet(new MapTileGroupModel());
-            final MapTileTransition mapTransition = map.addFeatureAndGet(new MapTileTransitionModel(services));
+    /**
+     * Extract circuits from level rips. Transitions are extracted once with the first level, and shared with others.
+     * 
+     * @param levels The level rips used.
+     * @param sheetsConfig The sheets configuration media.
+     * @param groupsConfig The groups configuration media.
+     * @return The circuits found with their associated tiles.
+     */
+    private static Map<Circuit, Collection<TileRef>> extract(Collection<Media> levels,
+                                                             Media sheetsConfig,
+                                                             Media groupsConfig)
+    {
+        if (levels.isEmpty())
+        {
+            return new HashMap<>();
+        }
+        final List<Media> others = new ArrayList<>(levels);
+        final MapTile first = createMap(others.remove(0), sheetsConfig, groupsConfig);
+        final MapTileTransition firstTransition = first.getFeature(MapTileTransition.class);
+        firstTransition.loadTransitions(levels, sheetsConfig, groupsConfig);
+        final Map<Transition, Collection<TileRef>> transitions = getTransitions(firstTransition);
 
-            mapGroup.loadGroups(groupsConfig);
-            mapTransition.loadTransitions(levels, sheetsConfig, groupsConfig);
+        final List<Map<Circuit, Collection<TileRef>>> partials = others.parallelStream().map(level ->
+        {
+            final MapTile map = createMap(level, sheetsConfig, groupsConfig);
+            map.getFeature(MapTileTransition.class).loadTransitions(transitions);
+            return getCircuits(map);
+        }).collect(Collectors.toCollection(ArrayList::new));
+        partials.add(getCircuits(first));
 
-            mapsSet.add(map);
-        }
-        return getCircuits(mapsSet);
+        return merge(partials);
     }
 
     @Override
     public Map<Circuit, Collection<TileRef>> getCircuits(Collection<MapTile> maps)
     {
-        final Map<Circuit, Collection<TileRef>> circuits = new HashMap<>();
-        for (final MapTile map : maps)
-        {
-            final Map<Circuit, Collection<TileRef>> currents = getCircuits(map);
-            for (final Entry<Circuit, Collection<TileRef>> entry : currents.entrySet())
-            {
-                final Circuit circuit = entry.getKey();
-                final Collection<TileRef> tiles = entry.getValue();
-                if (circuits.containsKey(circuit))
-                {
-                    circuits.get(circuit).addAll(tiles);
-                }
-                else
-                {
-                    circuits.put(circuit, tiles);
-                }
-            }
-        }
-        return circuits;
+        return merge(maps.parallelStream().map(CircuitsExtractorImpl::getCircuits).collect(Collectors.toList()));
     }
 }
@@ -17,6 +17,9 @@
  */
 package com.b3dgs.lionengine.game.feature.tile.map.transition.circuit.generator;
 
+import java.util.ArrayList;
+import java.util.Collection;
+
 import com.b3dgs.lionengine.Check;
 import com.b3dgs.lionengine.LionEngineException;
 import com.b3dgs.lionengine.UtilMath;
@@ -83,6 +86,7 @@ public class PrefMapRegion extends PrefAbstract
         final int ex = UtilMath.clamp(area.getInTileWidth(), 0, map.getInTileWidth() - 1);
         final int ey = UtilMath.clamp(area.getInTileHeight(), 0, map.getInTileHeight() - 1);
 
+        final Collection<Tile> placed = new ArrayList<>();
         int remaining = count;
         while (remaining > 0)
         {
@@ -100,9 +104,11 @@ public class PrefMapRegion extends PrefAbstract
                     final double y = UtilMath.clamp(ty + oy, sy, ey) * th;
                     final Tile tile = map.createTile(sheet, number, x, y);
                     map.setTile(tile);
-                    mapTransition.resolve(tile);
+                    placed.add(tile);
                 }
             }
+            mapTransition.resolve(placed);
+            placed.clear();
 
             remaining--;
         }
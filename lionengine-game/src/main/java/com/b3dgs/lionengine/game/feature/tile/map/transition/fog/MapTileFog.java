@@ -17,6 +17,7 @@
  */
 package com.b3dgs.lionengine.game.feature.tile.map.transition.fog;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
@@ -178,6 +179,7 @@ public class MapTileFog
         final int sy = UtilMath.clamp(ty - ray - th / 2, 0, map.getInTileHeight() - 1);
         final int ey = UtilMath.clamp(ty + ray + th / 2, 0, map.getInTileHeight() - 1);
 
+        final Collection<Tile> placed = new ArrayList<>();
         for (int x = sx + 1; x < ex; x++)
         {
             for (int y = sy + 1; y < ey; y++)
@@ -189,9 +191,10 @@ public class MapTileFog
                                                map.getTileWidth(),
                                                map.getTileHeight());
                 map.setTile(tile);
-                transition.resolve(getTile(x, y));
+                placed.add(tile);
             }
         }
+        transition.resolve(placed);
 
         for (int x = sx; x < ex + 1; x++)
         {
@@ -19,9 +19,13 @@ package com.b3dgs.lionengine.game.feature;
 
 import static com.b3dgs.lionengine.UtilAssert.assertEquals;
 import static com.b3dgs.lionengine.UtilAssert.assertFalse;
+import static com.b3dgs.lionengine.UtilAssert.assertThrows;
 import static com.b3dgs.lionengine.UtilAssert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 import java.util.TreeSet;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -29,6 +33,10 @@ import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.Test;
 
 import com.b3dgs.lionengine.UtilReflection;
+import com.b3dgs.lionengine.graphic.Graphic;
+import com.b3dgs.lionengine.graphic.ImageBuffer;
+import com.b3dgs.lionengine.graphic.ImageBufferMock;
+import com.b3dgs.lionengine.graphic.Renderable;
 
 /**
  * Test {@link ComponentDisplayable}.
@@ -170,4 +178,282 @@ public final class ComponentDisplayableTest
 
         assertEquals(1, layerable.getLayerDisplay().intValue());
     }
+
+    /**
+     * Create a located test object.
+     * 
+     * @param rendered The rendered counter.
+     * @param x The horizontal location.
+     * @param y The vertical location.
+     * @return The created object.
+     */
+    private static Featurable createLocated(AtomicInteger rendered, double x, double y)
+    {
+        final Featurable featurable = new FeaturableModel();
+        final Transformable transformable = featurable.addFeatureAndGet(new TransformableModel());
+        transformable.setSize(16, 16);
+        transformable.teleport(x, y);
+        featurable.addFeature(new DisplayableModel(g -> rendered.incrementAndGet()));
+        return featurable;
+    }
+
+    /**
+     * Test the culling.
+     */
+    @Test
+    public void testCulling()
+    {
+        final ComponentDisplayable component = new ComponentDisplayable();
+        final Camera camera = new Camera();
+        camera.setView(0, 0, 320, 240, 240);
+        camera.teleport(0.0, 0.0);
+
+        final AtomicInteger rendered = new AtomicInteger();
+        final Featurable inside = createLocated(rendered, 100.0, 100.0);
+        final Featurable outside = createLocated(rendered, 1000.0, 100.0);
+        final Featurable far = createLocated(rendered, -500.0, -500.0);
+        component.notifyHandlableAdded(inside);
+        component.notifyHandlableAdded(outside);
+        component.notifyHandlableAdded(far);
+
+        component.render(null, null);
+
+        assertEquals(3, rendered.get());
+        assertEquals(3, component.getVisibleCount());
+        assertEquals(3, component.getTotalCount());
+
+        component.enableCulling(camera, 16);
+        rendered.set(0);
+        component.render(null, null);
+
+        assertEquals(1, rendered.get());
+        assertEquals(1, component.getVisibleCount());
+        assertEquals(3, component.getTotalCount());
+
+        outside.getFeature(Transformable.class).teleport(200.0, 50.0);
+        rendered.set(0);
+        component.render(null, null);
+
+        assertEquals(2, rendered.get());
+
+        camera.teleport(-600.0, -600.0);
+        rendered.set(0);
+        component.render(null, null);
+
+        assertEquals(1, rendered.get());
+
+        component.notifyHandlableRemoved(far);
+        rendered.set(0);
+        component.render(null, null);
+
+        assertEquals(0, rendered.get());
+        assertEquals(2, component.getTotalCount());
+
+        component.disableCulling();
+        rendered.set(0);
+        component.render(null, null);
+
+        assertEquals(2, rendered.get());
+
+        assertThrows(() -> component.enableCulling(camera, -1), "Invalid argument: -1 is not superior or equal to 0");
+    }
+
+    /**
+     * Create an ordered test object.
+     * 
+     * @param order The rendered order.
+     * @param name The object name.
+     * @param layer The object layer.
+     * @param y The vertical location.
+     * @return The created object.
+     */
+    private static Featurable createOrdered(List<String> order, String name, int layer, double y)
+    {
+        final Featurable featurable = new FeaturableModel();
+        featurable.addFeature(new LayerableModel(layer));
+        final Transformable transformable = featurable.addFeatureAndGet(new TransformableModel());
+        transformable.teleport(0.0, y);
+        featurable.addFeature(new DisplayableModel(g -> order.add(name)));
+        return featurable;
+    }
+
+    /**
+     * Test the render queue.
+     */
+    @Test
+    public void testRenderQueue()
+    {
+        final ComponentDisplayable component = new ComponentDisplayable();
+        final List<String> order = new ArrayList<>();
+
+        final Featurable a = createOrdered(order, "a", 1, 10.0);
+        final Featurable b = createOrdered(order, "b", 0, 5.0);
+        final Featurable c = createOrdered(order, "c", 1, 30.0);
+        final Featurable d = createOrdered(order, "d", 1, 20.0);
+        component.notifyHandlableAdded(a);
+        component.notifyHandlableAdded(b);
+        component.notifyHandlableAdded(c);
+        component.notifyHandlableAdded(d);
+
+        component.enableRenderQueue(true);
+        component.render(null, null);
+
+        assertEquals(Arrays.asList("b", "c", "d", "a"), order);
+        assertEquals(4, component.getVisibleCount());
+        assertEquals(4, component.getTotalCount());
+
+        a.getFeature(Transformable.class).teleport(0.0, 40.0);
+        component.notifyHandlableRemoved(d);
+        order.clear();
+        component.render(null, null);
+
+        assertEquals(Arrays.asList("b", "a", "c"), order);
+
+        final Camera camera = new Camera();
+        camera.setView(0, 0, 320, 240, 240);
+        camera.teleport(0.0, 0.0);
+        c.getFeature(Transformable.class).teleport(1000.0, 30.0);
+        component.enableCulling(camera, 0);
+        order.clear();
+        component.render(null, null);
+
+        assertEquals(Arrays.asList("b", "a"), order);
+        assertEquals(2, component.getVisibleCount());
+        assertEquals(3, component.getTotalCount());
+
+        component.disableCulling();
+        component.enableRenderQueue(false);
+        order.clear();
+        component.render(null, null);
+
+        assertEquals(3, order.size());
+        assertEquals("b", order.get(0));
+
+        component.disableRenderQueue();
+        order.clear();
+        component.render(null, null);
+
+        assertEquals(3, order.size());
+    }
+
+    /**
+     * Create a test object rendering a surface.
+     * 
+     * @param order The rendered order.
+     * @param name The object name.
+     * @param surface The rendered surface.
+     * @return The created object.
+     */
+    private static Featurable createSurfaced(List<String> order, String name, ImageBuffer surface)
+    {
+        final Featurable featurable = new FeaturableModel();
+        featurable.addFeature(new LayerableModel(0));
+        featurable.addFeature(new SurfaceDisplayable(g -> order.add(name), surface));
+        return featurable;
+    }
+
+    /**
+     * Test the render queue groups by surface, in their first use order.
+     */
+    @Test
+    public void testRenderQueueSurface()
+    {
+        final ComponentDisplayable component = new ComponentDisplayable();
+        final List<String> order = new ArrayList<>();
+        final ImageBuffer first = new ImageBufferMock(1, 1);
+        final ImageBuffer second = new ImageBufferMock(1, 1);
+
+        component.notifyHandlableAdded(createSurfaced(order, "a", second));
+        component.notifyHandlableAdded(createSurfaced(order, "b", first));
+        component.notifyHandlableAdded(createSurfaced(order, "c", second));
+        component.notifyHandlableAdded(createSurfaced(order, "d", null));
+
+        component.enableRenderQueue(false);
+        component.render(null, null);
+
+        assertEquals(Arrays.asList("d", "a", "c", "b"), order);
+
+        order.clear();
+        component.render(null, null);
+
+        assertEquals(Arrays.asList("d", "a", "c", "b"), order);
+    }
+
+    /**
+     * Test the render queue keeps add order on equal keys.
+     */
+    @Test
+    public void testRenderQueueTie()
+    {
+        final ComponentDisplayable component = new ComponentDisplayable();
+        final List<String> order = new ArrayList<>();
+
+        final Featurable a = createOrdered(order, "a", 0, 10.0);
+        final Featurable b = createOrdered(order, "b", 0, 10.0);
+        final Featurable c = createOrdered(order, "c", 0, 10.0);
+        component.notifyHandlableAdded(a);
+        component.notifyHandlableAdded(b);
+        component.notifyHandlableAdded(c);
+
+        component.enableRenderQueue(true);
+        component.render(null, null);
+
+        assertEquals(Arrays.asList("a", "b", "c"), order);
+
+        b.getFeature(Transformable.class).teleport(0.0, 0.0);
+        order.clear();
+        component.render(null, null);
+
+        assertEquals(Arrays.asList("a", "c", "b"), order);
+
+        b.getFeature(Transformable.class).teleport(0.0, 10.0);
+        order.clear();
+        component.render(null, null);
+
+        assertEquals(Arrays.asList("a", "b", "c"), order);
+
+        component.notifyHandlableRemoved(a);
+        component.notifyHandlableAdded(a);
+        order.clear();
+        component.render(null, null);
+
+        assertEquals(Arrays.asList("b", "c", "a"), order);
+    }
+
+    /**
+     * Displayable with a fixed surface.
+     */
+    private static final class SurfaceDisplayable extends FeatureModel implements Displayable
+    {
+        /** Renderable reference. */
+        private final Renderable renderable;
+        /** Surface reference. */
+        private final ImageBuffer surface;
+
+        /**
+         * Create displayable.
+         * 
+         * @param renderable The renderable reference.
+         * @param surface The surface reference.
+         */
+        SurfaceDisplayable(Renderable renderable, ImageBuffer surface)
+        {
+            super();
+
+            this.renderable = renderable;
+            this.surface = surface;
+        }
+
+        @Override
+        public void render(Graphic g)
+        {
+            renderable.render(g);
+        }
+
+        @Override
+        public ImageBuffer getSurface()
+        {
+            return surface;
+        }
+    }
 }
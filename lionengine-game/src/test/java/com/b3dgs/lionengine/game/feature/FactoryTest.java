@@ -167,6 +167,18 @@ public final class FactoryTest
         assertEquals(setup, factory.getSetup(Medias.create("object.xml")));
     }
 
+    /**
+     * Test the clear disposes setups.
+     */
+    @Test
+    public void testClear()
+    {
+        final Setup setup = factory.getSetup(Medias.create("object.xml"));
+        factory.clear();
+
+        assertNotEquals(setup, factory.getSetup(Medias.create("object.xml")));
+    }
+
     /**
      * Test the object recycling.
      */
@@ -33,6 +33,7 @@ import org.junit.jupiter.api.Test;
 
 import com.b3dgs.lionengine.graphic.FactoryGraphicMock;
 import com.b3dgs.lionengine.graphic.Graphics;
+import com.b3dgs.lionengine.graphic.engine.FrameProfiler;
 
 /**
  * Test {@link Handler}.
@@ -286,6 +287,26 @@ public final class HandlerTest
         assertEquals(0, handler.size());
     }
 
+    /**
+     * Test components profiling.
+     */
+    @Test
+    public void testProfiler()
+    {
+        final Services services = new Services();
+        final FrameProfiler profiler = services.add(new FrameProfiler());
+        final Handler handler = new Handler(services);
+        handler.addComponent(new ComponentRefreshable());
+        handler.addComponent(new ComponentRenderable());
+
+        handler.update(1.0);
+        handler.update(1.0);
+        handler.render(Graphics.createGraphic());
+
+        assertEquals(2L, profiler.getHistogram("updater ComponentRefreshable").getCount());
+        assertEquals(1L, profiler.getHistogram("renderer ComponentRenderable").getCount());
+    }
+
     /**
      * Test with features.
      */
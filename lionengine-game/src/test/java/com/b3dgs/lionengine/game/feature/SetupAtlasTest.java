@@ -0,0 +1,142 @@
+/*
+ * Copyright (C) 2013-2018 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package com.b3dgs.lionengine.game.feature;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertPrivateConstructor;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Medias;
+import com.b3dgs.lionengine.UtilFile;
+import com.b3dgs.lionengine.graphic.FactoryGraphicMock;
+import com.b3dgs.lionengine.graphic.Graphics;
+import com.b3dgs.lionengine.graphic.atlas.Atlas;
+import com.b3dgs.lionengine.graphic.atlas.ImageBufferRegion;
+
+/**
+ * Test {@link SetupAtlas}.
+ */
+public final class SetupAtlasTest
+{
+    /**
+     * Prepare test.
+     */
+    @BeforeAll
+    public static void beforeTests()
+    {
+        Medias.setLoadFromJar(SetupAtlasTest.class);
+        Graphics.setFactoryGraphic(new FactoryGraphicMock());
+    }
+
+    /**
+     * Clean up test.
+     */
+    @AfterAll
+    public static void afterTests()
+    {
+        Medias.setLoadFromJar(null);
+        Graphics.setFactoryGraphic(null);
+    }
+
+    /**
+     * Clean cache.
+     */
+    @AfterEach
+    public void afterTest()
+    {
+        Graphics.getImageCache().setAtlas(null);
+        Graphics.getImageCache().clear();
+    }
+
+    /**
+     * Test constructor.
+     */
+    @Test
+    public void testConstructorPrivate()
+    {
+        assertPrivateConstructor(SetupAtlas.class);
+    }
+
+    /**
+     * Test referenced images.
+     */
+    @Test
+    public void testImages()
+    {
+        final List<Media> images = SetupAtlas.getImages(Arrays.asList(Medias.create("object.xml"),
+                                                                      Medias.create("object_no_icon.xml"),
+                                                                      Medias.create("no_setup.xml")));
+
+        assertEquals(Arrays.asList(Medias.create("surface.png"), Medias.create("icon.png")), images);
+    }
+
+    /**
+     * Test build and setup surface from atlas.
+     */
+    @Test
+    public void testBuild()
+    {
+        final Atlas atlas = SetupAtlas.build(Collections.singletonList(Medias.create("object.xml")), 256, 256);
+        Graphics.getImageCache().setAtlas(atlas);
+
+        assertEquals(2, atlas.getRegions().size());
+
+        final Setup setup = new Setup(Medias.create("object.xml"));
+
+        assertTrue(setup.getSurface() instanceof ImageBufferRegion);
+    }
+
+    /**
+     * Test load with persistence.
+     * 
+     * @throws IOException If error.
+     */
+    @Test
+    public void testLoad() throws IOException
+    {
+        final File temp = File.createTempFile("atlas", ".xml");
+        UtilFile.deleteFile(temp);
+        final Media index = Medias.create(temp.getName());
+        final List<Media> configs = Collections.singletonList(Medias.create("object.xml"));
+
+        final Atlas built = SetupAtlas.load(index, configs, 256, 256);
+
+        assertTrue(index.exists());
+        assertEquals(built, Graphics.getImageCache().getAtlas().get());
+
+        final Atlas loaded = SetupAtlas.load(index, configs, 256, 256);
+
+        assertEquals(built.getRegions(), loaded.getRegions());
+        assertEquals(loaded, Graphics.getImageCache().getAtlas().get());
+
+        UtilFile.deleteFile(Medias.create(temp.getName().replace(".xml", "_0.png")).getFile());
+        UtilFile.deleteFile(index.getFile());
+    }
+}
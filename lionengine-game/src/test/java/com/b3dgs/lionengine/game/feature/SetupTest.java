@@ -21,6 +21,7 @@ import static com.b3dgs.lionengine.UtilAssert.assertCause;
 import static com.b3dgs.lionengine.UtilAssert.assertEquals;
 import static com.b3dgs.lionengine.UtilAssert.assertNotNull;
 import static com.b3dgs.lionengine.UtilAssert.assertThrows;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
 
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
@@ -30,6 +31,7 @@ import com.b3dgs.lionengine.Media;
 import com.b3dgs.lionengine.Medias;
 import com.b3dgs.lionengine.graphic.FactoryGraphicMock;
 import com.b3dgs.lionengine.graphic.Graphics;
+import com.b3dgs.lionengine.graphic.ImageCache;
 
 /**
  * Test {@link Setup}.
@@ -122,6 +124,29 @@ public final class SetupTest
         assertEquals(11, setup.getSurface().getHeight());
     }
 
+    /**
+     * Test the setup dispose releases its shared surface.
+     */
+    @Test
+    public void testDispose()
+    {
+        final ImageCache cache = Graphics.getImageCache();
+        cache.clear();
+        final Setup setup = new Setup(Medias.create("object.xml"));
+
+        assertTrue(cache.isCached(setup.getSurface()));
+        assertEquals(0, cache.getUnused());
+
+        setup.dispose();
+
+        assertEquals(1, cache.getUnused());
+
+        setup.dispose();
+
+        assertEquals(1, cache.getUnused());
+        cache.clear();
+    }
+
     /**
      * Test the setup with no surface.
      */
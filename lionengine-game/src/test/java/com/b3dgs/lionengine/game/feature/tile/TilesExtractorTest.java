@@ -0,0 +1,129 @@
+/*
+ * Copyright (C) 2013-2018 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package com.b3dgs.lionengine.game.feature.tile;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertFalse;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Medias;
+import com.b3dgs.lionengine.graphic.ColorRgba;
+import com.b3dgs.lionengine.graphic.FactoryGraphicMock;
+import com.b3dgs.lionengine.graphic.Graphics;
+import com.b3dgs.lionengine.graphic.ImageBuffer;
+import com.b3dgs.lionengine.graphic.ImageBufferMock;
+
+/**
+ * Test {@link TilesExtractor}.
+ */
+public final class TilesExtractorTest
+{
+    /**
+     * Prepare tests.
+     */
+    @BeforeAll
+    public static void beforeTests()
+    {
+        Medias.setLoadFromJar(TilesExtractorTest.class);
+        Graphics.setFactoryGraphic(new FactoryGraphicMock());
+    }
+
+    /**
+     * Clean up tests.
+     */
+    @AfterAll
+    public static void afterTests()
+    {
+        Medias.setLoadFromJar(null);
+        Graphics.setFactoryGraphic(null);
+    }
+
+    /**
+     * Test tiles comparison and hash.
+     */
+    @Test
+    public void testCompareHash()
+    {
+        final ImageBuffer image = new ImageBufferMock(4, 2);
+        image.fill(0, 0, 2, 2, ColorRgba.RED.getRgba());
+        image.fill(2, 0, 2, 2, ColorRgba.RED.getRgba());
+        image.setRgb(3, 1, ColorRgba.BLUE.getRgba());
+
+        assertTrue(TilesExtractor.compareTile(1, 2, image, 0, 0, image, 2, 0));
+        assertEquals(TilesExtractor.hashTile(1, 2, image, 0, 0), TilesExtractor.hashTile(1, 2, image, 2, 0));
+        assertFalse(TilesExtractor.compareTile(2, 2, image, 0, 0, image, 2, 0));
+    }
+
+    /**
+     * Test tiles comparison and hash with fully transparent pixels of different colors.
+     */
+    @Test
+    public void testCompareHashTransparent()
+    {
+        final ImageBuffer image = new ImageBufferMock(4, 2);
+        image.fill(0, 0, 2, 2, 0x00_FF_00_00);
+        image.fill(2, 0, 2, 2, 0x00_00_00_FF);
+
+        assertTrue(TilesExtractor.compareTile(2, 2, image, 0, 0, image, 2, 0));
+        assertEquals(TilesExtractor.hashTile(2, 2, image, 0, 0), TilesExtractor.hashTile(2, 2, image, 2, 0));
+
+        image.setRgb(3, 1, 0x01_00_00_FF);
+
+        assertFalse(TilesExtractor.compareTile(2, 2, image, 0, 0, image, 2, 0));
+    }
+
+    /**
+     * Test extraction from level rips.
+     */
+    @Test
+    public void testExtract()
+    {
+        final Media level = Medias.create("map", "level.png");
+        final TilesExtractor extractor = new TilesExtractor();
+        final AtomicInteger percent = new AtomicInteger();
+        extractor.addListener((p, tiles) -> percent.set(p));
+
+        final Collection<ImageBuffer> tiles = extractor.extract(7, 11, Arrays.asList(level, level));
+
+        assertEquals(1, tiles.size());
+        assertEquals(7, tiles.iterator().next().getWidth());
+        assertEquals(11, tiles.iterator().next().getHeight());
+        assertEquals(100, percent.get());
+    }
+
+    /**
+     * Test extraction canceled.
+     */
+    @Test
+    public void testExtractCanceled()
+    {
+        final Media level = Medias.create("map", "level.png");
+        final TilesExtractor extractor = new TilesExtractor();
+
+        assertTrue(extractor.extract(() -> true, 7, 11, Arrays.asList(level, level)).isEmpty());
+    }
+}
@@ -17,15 +17,70 @@
  */
 package com.b3dgs.lionengine.game.feature.tile.map;
 
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertNull;
 import static com.b3dgs.lionengine.UtilAssert.assertPrivateConstructor;
 
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
+import com.b3dgs.lionengine.Medias;
+import com.b3dgs.lionengine.graphic.ColorRgba;
+import com.b3dgs.lionengine.graphic.FactoryGraphicMock;
+import com.b3dgs.lionengine.graphic.Graphics;
+import com.b3dgs.lionengine.graphic.ImageBuffer;
+import com.b3dgs.lionengine.graphic.ImageBufferMock;
+import com.b3dgs.lionengine.graphic.drawable.Drawable;
+
 /**
  * Test the level rip converter class.
  */
 public class LevelRipConverterTest
 {
+    /**
+     * Prepare tests.
+     */
+    @BeforeAll
+    public static void beforeTests()
+    {
+        Medias.setLoadFromJar(LevelRipConverterTest.class);
+        Graphics.setFactoryGraphic(new FactoryGraphicMock());
+    }
+
+    /**
+     * Clean up tests.
+     */
+    @AfterAll
+    public static void afterTests()
+    {
+        Medias.setLoadFromJar(null);
+        Graphics.setFactoryGraphic(null);
+    }
+
+    /**
+     * Create a map with a sheet of two tiles, the first one colored, the second one blank.
+     * 
+     * @param blank <code>true</code> to keep second tile blank, <code>false</code> to color it.
+     * @return The created map.
+     */
+    private static MapTile createMap(boolean blank)
+    {
+        final ImageBuffer sheet = new ImageBufferMock(14, 11);
+        sheet.fill(0, 0, 7, 11, ColorRgba.RED.getRgba());
+        if (!blank)
+        {
+            sheet.fill(7, 0, 7, 11, ColorRgba.BLUE.getRgba());
+        }
+
+        final MapTile map = new MapTileGame();
+        map.loadSheets(Arrays.asList(Drawable.loadSpriteTiled(sheet, 7, 11)));
+        return map;
+    }
+
     /**
      * Test the constructor.
      */
@@ -34,4 +89,51 @@ public class LevelRipConverterTest
     {
         assertPrivateConstructor(LevelRipConverter.class);
     }
+
+    /**
+     * Test conversion with all tiles found.
+     */
+    @Test
+    public void testConvert()
+    {
+        final MapTile map = createMap(true);
+        final AtomicInteger percent = new AtomicInteger();
+
+        assertEquals(0, LevelRipConverter.start(Medias.create("level.png"), map, (p, x, y) -> percent.set(p)));
+        assertEquals(2, map.getInTileWidth());
+        assertEquals(2, map.getInTileHeight());
+        assertEquals(75, percent.get());
+
+        for (int tx = 0; tx < 2; tx++)
+        {
+            for (int ty = 0; ty < 2; ty++)
+            {
+                assertEquals(1, map.getTile(tx, ty).getNumber());
+            }
+        }
+    }
+
+    /**
+     * Test conversion with tiles not found.
+     */
+    @Test
+    public void testConvertNotFound()
+    {
+        final MapTile map = createMap(false);
+
+        assertEquals(4, LevelRipConverter.start(Medias.create("level.png"), map));
+        assertNull(map.getTile(0, 0));
+    }
+
+    /**
+     * Test conversion canceled.
+     */
+    @Test
+    public void testConvertCanceled()
+    {
+        final MapTile map = createMap(false);
+
+        assertEquals(1, LevelRipConverter.start(Medias.create("level.png"), map, null, () -> true));
+        assertEquals(0, map.getTilesNumber());
+    }
 }
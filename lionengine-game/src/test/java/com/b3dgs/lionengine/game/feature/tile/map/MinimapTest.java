@@ -25,6 +25,7 @@ import static com.b3dgs.lionengine.UtilAssert.assertTrue;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
@@ -38,7 +39,9 @@ import com.b3dgs.lionengine.game.feature.tile.TileRef;
 import com.b3dgs.lionengine.geom.Geom;
 import com.b3dgs.lionengine.graphic.ColorRgba;
 import com.b3dgs.lionengine.graphic.FactoryGraphicMock;
+import com.b3dgs.lionengine.graphic.GraphicMock;
 import com.b3dgs.lionengine.graphic.Graphics;
+import com.b3dgs.lionengine.graphic.ImageBuffer;
 
 /**
  * Test {@link Minimap}.
@@ -119,4 +122,84 @@ public final class MinimapTest
 
         assertThrows(() -> minimap.prepare(), Minimap.ERROR_SURFACE);
     }
+
+    /**
+     * Test the minimap pixels and incremental update on tile set.
+     */
+    @Test
+    public void testTileSet()
+    {
+        final MapTileGame map = new MapTileGame();
+        map.create(1, 1, 3, 2);
+
+        final Media config = Medias.create("minimap.xml");
+        final Map<TileRef, ColorRgba> tiles = new HashMap<>();
+        tiles.put(new TileRef(0, 0), ColorRgba.RED);
+        tiles.put(new TileRef(0, 1), ColorRgba.BLUE);
+        MinimapConfig.exports(config, tiles);
+
+        final Minimap minimap = new Minimap(map);
+        minimap.loadPixelConfig(config);
+        minimap.load();
+
+        map.setTile(map.createTile(Integer.valueOf(0), 0, 0.0, 0.0));
+        map.setTile(map.createTile(Integer.valueOf(0), 2, 1.0, 1.0));
+        minimap.prepare();
+
+        final ImageBuffer surface = minimap.getSurface();
+        assertEquals(ColorRgba.RED.getRgba(), surface.getRgb(0, 1));
+        assertEquals(ColorRgba.WHITE.getRgba(), surface.getRgb(1, 0));
+        assertEquals(ColorRgba.TRANSPARENT.getRgba(), surface.getRgb(2, 0));
+
+        map.setTile(map.createTile(Integer.valueOf(0), 1, 2.0, 0.0));
+
+        assertEquals(ColorRgba.BLUE.getRgba(), surface.getRgb(2, 1));
+        assertEquals(ColorRgba.RED.getRgba(), surface.getRgb(0, 1));
+
+        minimap.dispose();
+        map.setTile(map.createTile(Integer.valueOf(0), 0, 1.0, 0.0));
+
+        assertTrue(config.getFile().delete());
+    }
+
+    /**
+     * Test the minimap overlay refresh rate.
+     */
+    @Test
+    public void testOverlay()
+    {
+        final MapTileGame map = new MapTileGame();
+        map.create(1, 1, 2, 2);
+
+        final Minimap minimap = new Minimap(map);
+        minimap.load();
+        minimap.prepare();
+
+        final AtomicInteger refreshed = new AtomicInteger();
+        final MinimapOverlay overlay = g -> refreshed.incrementAndGet();
+        minimap.addOverlay(overlay);
+        minimap.setOverlayRefreshRate(2);
+
+        final GraphicMock g = new GraphicMock();
+        minimap.render(g);
+        assertEquals(1, refreshed.get());
+
+        minimap.render(g);
+        assertEquals(1, refreshed.get());
+
+        minimap.render(g);
+        assertEquals(2, refreshed.get());
+
+        minimap.refreshOverlay();
+        minimap.render(g);
+        assertEquals(3, refreshed.get());
+
+        minimap.removeOverlay(overlay);
+        minimap.render(g);
+        assertEquals(3, refreshed.get());
+
+        assertThrows(() -> minimap.setOverlayRefreshRate(0), "Invalid argument: 0 is not strictly superior to 0");
+
+        minimap.dispose();
+    }
 }
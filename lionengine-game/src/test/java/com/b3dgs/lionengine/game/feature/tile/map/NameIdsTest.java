@@ -0,0 +1,63 @@
+/*
+ * Copyright (C) 2013-2018 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertNotEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertNull;
+import static com.b3dgs.lionengine.UtilAssert.assertPrivateConstructor;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test {@link NameIds}.
+ */
+public final class NameIdsTest
+{
+    /**
+     * Test constructor.
+     */
+    @Test
+    public void testConstructor()
+    {
+        assertPrivateConstructor(NameIds.class);
+    }
+
+    /**
+     * Test names interning.
+     */
+    @Test
+    public void testIds()
+    {
+        assertEquals(NameIds.NONE, NameIds.get(null));
+        assertEquals(NameIds.NONE, NameIds.find(null));
+        assertEquals(NameIds.NONE, NameIds.find("nameIdsTestUnknown"));
+
+        final int id = NameIds.get("nameIdsTest");
+        assertEquals(id, NameIds.get("nameIdsTest"));
+        assertEquals(id, NameIds.find("nameIdsTest"));
+        assertEquals("nameIdsTest", NameIds.getName(id));
+
+        final int other = NameIds.get("nameIdsTestOther");
+        assertNotEquals(id, other);
+        assertEquals("nameIdsTestOther", NameIds.getName(other));
+
+        assertNull(NameIds.getName(NameIds.NONE));
+        assertNull(NameIds.getName(Integer.MAX_VALUE));
+    }
+}
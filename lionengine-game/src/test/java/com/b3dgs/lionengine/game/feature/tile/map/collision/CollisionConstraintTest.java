@@ -18,6 +18,7 @@
 package com.b3dgs.lionengine.game.feature.tile.map.collision;
 
 import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertFalse;
 import static com.b3dgs.lionengine.UtilAssert.assertHashEquals;
 import static com.b3dgs.lionengine.UtilAssert.assertHashNotEquals;
 import static com.b3dgs.lionengine.UtilAssert.assertNotEquals;
@@ -29,6 +30,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import com.b3dgs.lionengine.game.Orientation;
+import com.b3dgs.lionengine.game.feature.tile.map.NameIds;
 
 /**
  * Test {@link CollisionConstraint}.
@@ -58,6 +60,9 @@ public final class CollisionConstraintTest
         assertTrue(empty.getConstraints().values().iterator().next().isEmpty());
         assertEquals(Arrays.asList("group"), constraint.getConstraints(Orientation.EAST));
         assertTrue(constraint.has(Orientation.EAST, "group"));
+        assertTrue(constraint.has(Orientation.EAST, NameIds.get("group")));
+        assertFalse(constraint.has(Orientation.WEST, NameIds.get("group")));
+        assertFalse(constraint.has(Orientation.EAST, NameIds.NONE));
     }
 
     /**
@@ -30,6 +30,7 @@ import java.util.Arrays;
 import org.junit.jupiter.api.Test;
 
 import com.b3dgs.lionengine.Constant;
+import com.b3dgs.lionengine.game.feature.tile.map.NameIds;
 
 /**
  * Test {@link CollisionGroup}.
@@ -65,6 +66,7 @@ public final class CollisionGroupTest
     public void testGroup()
     {
         assertEquals("group", group.getName());
+        assertEquals(NameIds.get("group"), group.getId());
         assertEquals(formula, group.getFormulas().iterator().next());
     }
 
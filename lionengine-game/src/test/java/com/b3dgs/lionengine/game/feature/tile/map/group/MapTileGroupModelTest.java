@@ -44,6 +44,7 @@ import com.b3dgs.lionengine.game.feature.tile.TileGroupsConfig;
 import com.b3dgs.lionengine.game.feature.tile.TileRef;
 import com.b3dgs.lionengine.game.feature.tile.map.MapTileGroup;
 import com.b3dgs.lionengine.game.feature.tile.map.MapTileGroupModel;
+import com.b3dgs.lionengine.game.feature.tile.map.NameIds;
 
 /**
  * Test {@link MapTileGroupModel}.
@@ -91,6 +92,7 @@ public final class MapTileGroupModelTest
         assertEquals(MapTileGroupModel.NO_GROUP_NAME, mapGroup.getGroup(tile));
         assertEquals(MapTileGroupModel.NO_GROUP_NAME, mapGroup.getGroup(new TileRef(0, 0)));
         assertEquals(MapTileGroupModel.NO_GROUP_NAME, mapGroup.getGroup(Integer.valueOf(0), 0));
+        assertEquals(NameIds.NONE, mapGroup.getGroupId(tile));
         assertTrue(mapGroup.getGroups().containsAll(Arrays.asList(MapTileGroupModel.NO_GROUP_NAME)));
         assertNull(mapGroup.getGroupsConfig());
 
@@ -110,6 +112,7 @@ public final class MapTileGroupModelTest
         assertEquals("water", mapGroup.getGroup(tile));
         assertEquals("water", mapGroup.getGroup(new TileRef(0, 0)));
         assertEquals("water", mapGroup.getGroup(Integer.valueOf(0), 0));
+        assertEquals(NameIds.get("water"), mapGroup.getGroupId(tile));
         assertTrue(mapGroup.getGroups().containsAll(Arrays.asList("water")));
 
         mapGroup.changeGroup(tile, "tree");
@@ -118,6 +121,7 @@ public final class MapTileGroupModelTest
         assertEquals("tree", mapGroup.getGroup(tile));
         assertEquals("tree", mapGroup.getGroup(new TileRef(0, 0)));
         assertEquals("tree", mapGroup.getGroup(Integer.valueOf(0), 0));
+        assertEquals(NameIds.get("tree"), mapGroup.getGroupId(tile));
         assertTrue(mapGroup.getGroups().containsAll(Arrays.asList("water", "tree")));
 
         mapGroup.changeGroup(tile, null);
@@ -126,6 +130,7 @@ public final class MapTileGroupModelTest
         assertEquals(MapTileGroupModel.NO_GROUP_NAME, mapGroup.getGroup(tile));
         assertEquals(MapTileGroupModel.NO_GROUP_NAME, mapGroup.getGroup(new TileRef(0, 0)));
         assertEquals(MapTileGroupModel.NO_GROUP_NAME, mapGroup.getGroup(Integer.valueOf(0), 0));
+        assertEquals(NameIds.NONE, mapGroup.getGroupId(tile));
     }
 
     /**
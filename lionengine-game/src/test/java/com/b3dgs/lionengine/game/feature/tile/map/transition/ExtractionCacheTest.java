@@ -0,0 +1,360 @@
+/*
+ * Copyright (C) 2013-2018 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map.transition;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertNotEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertPrivateConstructor;
+import static com.b3dgs.lionengine.UtilAssert.assertThrows;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Medias;
+import com.b3dgs.lionengine.game.feature.tile.TileGroupsConfig;
+import com.b3dgs.lionengine.game.feature.tile.TileRef;
+import com.b3dgs.lionengine.game.feature.tile.map.TileSheetsConfig;
+
+/**
+ * Test {@link ExtractionCache}.
+ */
+public final class ExtractionCacheTest
+{
+    /** Level media. */
+    private static Media level;
+    /** Sheets media. */
+    private static Media sheets;
+    /** Groups media. */
+    private static Media groups;
+    /** Last written modification time. */
+    private static long modified = 1_000_000L;
+
+    /**
+     * Prepare test.
+     * 
+     * @throws IOException If error.
+     */
+    @BeforeAll
+    public static void setUp() throws IOException
+    {
+        Medias.setResourcesDirectory(System.getProperty("java.io.tmpdir"));
+
+        level = Medias.create("cache_level.png");
+        write(level, 1);
+        sheets = Medias.create("cache_sheets.xml");
+        TileSheetsConfig.exports(sheets, 1, 1, Arrays.asList("cache_sheet.png"));
+        groups = Medias.create("cache_groups.xml");
+        TileGroupsConfig.exports(groups, Collections.emptyList());
+    }
+
+    /**
+     * Clean up test.
+     */
+    @AfterAll
+    public static void cleanUp()
+    {
+        assertTrue(level.getFile().delete());
+        assertTrue(sheets.getFile().delete());
+        assertTrue(groups.getFile().delete());
+        Medias.setResourcesDirectory(null);
+    }
+
+    /**
+     * Clean cache.
+     */
+    @AfterEach
+    public void clean()
+    {
+        ExtractionCache.setFolder(null);
+        ExtractionCache.setCapacity(ExtractionCache.DEFAULT_CAPACITY);
+        ExtractionCache.clear();
+    }
+
+    /**
+     * Write media content. Modification time is moved forward to not depend on file system time precision.
+     * 
+     * @param media The media to write.
+     * @param value The content value.
+     * @throws IOException If error.
+     */
+    private static void write(Media media, int value) throws IOException
+    {
+        try (OutputStream output = media.getOutputStream())
+        {
+            output.write(value);
+        }
+        modified += 1000L;
+        assertTrue(media.getFile().setLastModified(modified));
+    }
+
+    /**
+     * Create transitions.
+     * 
+     * @return The created transitions.
+     */
+    private static Map<Transition, Collection<TileRef>> createTransitions()
+    {
+        final Map<Transition, Collection<TileRef>> transitions = new HashMap<>();
+        transitions.put(new Transition(TransitionType.UP, "a", "b"),
+                        new HashSet<>(Arrays.asList(new TileRef(Integer.valueOf(0), 1))));
+        return transitions;
+    }
+
+    /**
+     * Get transitions from cache.
+     * 
+     * @param count The extraction counter.
+     * @return The transitions.
+     */
+    private static Map<Transition, Collection<TileRef>> get(AtomicInteger count)
+    {
+        return get(() ->
+        {
+            count.incrementAndGet();
+            return createTransitions();
+        });
+    }
+
+    /**
+     * Get transitions from cache.
+     * 
+     * @param extractor The transitions extractor.
+     * @return The transitions.
+     */
+    private static Map<Transition, Collection<TileRef>> get(Supplier<Map<Transition, Collection<TileRef>>> extractor)
+    {
+        return get("test", extractor);
+    }
+
+    /**
+     * Get transitions from cache.
+     * 
+     * @param name The table name.
+     * @param extractor The transitions extractor.
+     * @return The transitions.
+     */
+    private static Map<Transition, Collection<TileRef>> get(String name,
+                                                            Supplier<Map<Transition, Collection<TileRef>>> extractor)
+    {
+        final List<Media> levels = Arrays.asList(level);
+        return ExtractionCache.get(name,
+                                   levels,
+                                   sheets,
+                                   groups,
+                                   TransitionsConfig::imports,
+                                   TransitionsConfig::exports,
+                                   extractor);
+    }
+
+    /**
+     * Test constructor.
+     */
+    @Test
+    public void testConstructor()
+    {
+        assertPrivateConstructor(ExtractionCache.class);
+    }
+
+    /**
+     * Test checksum follows inputs content.
+     * 
+     * @throws IOException If error.
+     */
+    @Test
+    public void testChecksum() throws IOException
+    {
+        final List<Media> levels = Arrays.asList(level);
+        final String checksum = ExtractionCache.getChecksum(levels, sheets, groups);
+
+        assertEquals(checksum, ExtractionCache.getChecksum(levels, sheets, groups));
+
+        write(level, 2);
+
+        assertNotEquals(checksum, ExtractionCache.getChecksum(levels, sheets, groups));
+
+        write(level, 1);
+
+        assertEquals(checksum, ExtractionCache.getChecksum(levels, sheets, groups));
+    }
+
+    /**
+     * Test memory cache.
+     */
+    @Test
+    public void testMemory()
+    {
+        final AtomicInteger count = new AtomicInteger();
+        final Map<Transition, Collection<TileRef>> first = get(count);
+        final Map<Transition, Collection<TileRef>> second = get(count);
+
+        assertEquals(createTransitions(), first);
+        assertEquals(first, second);
+        assertTrue(first != second);
+        assertEquals(1, count.get());
+
+        ExtractionCache.clear();
+        get(count);
+
+        assertEquals(2, count.get());
+    }
+
+    /**
+     * Test memory cache releases least recently used tables above capacity.
+     */
+    @Test
+    public void testCapacity()
+    {
+        assertEquals(ExtractionCache.DEFAULT_CAPACITY, ExtractionCache.getCapacity());
+        assertThrows(() -> ExtractionCache.setCapacity(0), "Invalid argument: 0 is not strictly superior to 0");
+
+        final AtomicInteger count = new AtomicInteger();
+        final Supplier<Map<Transition, Collection<TileRef>>> extractor = () ->
+        {
+            count.incrementAndGet();
+            return createTransitions();
+        };
+        get("a", extractor);
+        get("b", extractor);
+        ExtractionCache.setCapacity(2);
+        get("a", extractor);
+        get("c", extractor);
+
+        assertEquals(2, ExtractionCache.size());
+        assertEquals(3, count.get());
+
+        get("a", extractor);
+        get("b", extractor);
+
+        assertEquals(4, count.get());
+
+        ExtractionCache.setCapacity(1);
+
+        assertEquals(1, ExtractionCache.size());
+    }
+
+    /**
+     * Test concurrent requests extract table once.
+     * 
+     * @throws InterruptedException If error.
+     */
+    @Test
+    public void testConcurrent() throws InterruptedException
+    {
+        final AtomicInteger count = new AtomicInteger();
+        final CountDownLatch extracting = new CountDownLatch(1);
+        final CountDownLatch extracted = new CountDownLatch(1);
+        final Supplier<Map<Transition, Collection<TileRef>>> extractor = () ->
+        {
+            count.incrementAndGet();
+            extracting.countDown();
+            try
+            {
+                extracted.await();
+            }
+            catch (final InterruptedException exception)
+            {
+                Thread.currentThread().interrupt();
+            }
+            return createTransitions();
+        };
+        final AtomicReference<Map<Transition, Collection<TileRef>>> first = new AtomicReference<>();
+        final AtomicReference<Map<Transition, Collection<TileRef>>> second = new AtomicReference<>();
+        final Thread owner = new Thread(() -> first.set(get(extractor)));
+        final Thread waiter = new Thread(() -> second.set(get(extractor)));
+        owner.start();
+        extracting.await();
+        waiter.start();
+        extracted.countDown();
+        owner.join();
+        waiter.join();
+
+        assertEquals(createTransitions(), first.get());
+        assertEquals(first.get(), second.get());
+        assertEquals(1, count.get());
+    }
+
+    /**
+     * Test extraction error is not cached.
+     */
+    @Test
+    public void testErrorNotCached()
+    {
+        assertThrows(() -> get(() ->
+        {
+            throw new LionEngineException("error");
+        }), "error");
+
+        final AtomicInteger count = new AtomicInteger();
+
+        assertEquals(createTransitions(), get(count));
+        assertEquals(1, count.get());
+    }
+
+    /**
+     * Test persisted cache.
+     */
+    @Test
+    public void testPersisted()
+    {
+        ExtractionCache.setFolder(Medias.create(""));
+        final AtomicInteger count = new AtomicInteger();
+        get(count);
+        ExtractionCache.clear();
+
+        assertEquals(createTransitions(), get(count));
+        assertEquals(1, count.get());
+
+        final List<Media> levels = Arrays.asList(level);
+        final Media file = Medias.create("test_" + ExtractionCache.getChecksum(levels, sheets, groups) + ".xml");
+        assertTrue(file.getFile().delete());
+    }
+
+    /**
+     * Test extraction error.
+     */
+    @Test
+    public void testError()
+    {
+        final List<Media> levels = Arrays.asList(level);
+        assertThrows(() -> ExtractionCache.get("test", levels, sheets, groups, TransitionsConfig::imports,
+                                               TransitionsConfig::exports, () ->
+                                               {
+                                                   throw new LionEngineException("error");
+                                               }),
+                     "error");
+    }
+}
@@ -29,6 +29,11 @@ import static com.b3dgs.lionengine.game.feature.tile.map.UtilMap.TRANSITION2;
 import static com.b3dgs.lionengine.game.feature.tile.map.UtilMap.TREE;
 import static com.b3dgs.lionengine.game.feature.tile.map.UtilMap.WATER;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -38,6 +43,7 @@ import com.b3dgs.lionengine.Medias;
 import com.b3dgs.lionengine.game.feature.tile.Tile;
 import com.b3dgs.lionengine.game.feature.tile.map.MapTile;
 import com.b3dgs.lionengine.game.feature.tile.map.MapTileGroup;
+import com.b3dgs.lionengine.game.feature.tile.map.TileSetListener;
 import com.b3dgs.lionengine.game.feature.tile.map.UtilMap;
 
 /**
@@ -125,4 +131,38 @@ public final class MapTileTransitionModelTest
         testResolution(TILE_TREE, TREE, TILE_GROUND, GROUND, TRANSITION2);
         testResolution(TILE_TREE, TREE, TILE_WATER, WATER, TRANSITION);
     }
+
+    /**
+     * Test the map transition resolution of a set of tiles at once.
+     */
+    @Test
+    public void testResolutionBatch()
+    {
+        final MapTile map = UtilMap.createMap(12);
+        UtilMap.fill(map, TILE_WATER);
+        map.getFeature(MapTileTransition.class).loadTransitions(config);
+
+        final MapTileGroup mapGroup = map.getFeature(MapTileGroup.class);
+        final MapTileTransition mapTransition = map.getFeature(MapTileTransitionModel.class);
+
+        final Tile tile = map.createTile(SHEET, TILE_GROUND, 8, 8);
+        map.setTile(tile);
+
+        final Collection<Tile> updated = new ArrayList<>();
+        final TileSetListener listener = updated::add;
+        mapTransition.resolve(Arrays.asList(tile, map.createTile(SHEET, TILE_GROUND, 8, 8)), listener);
+
+        assertEquals(GROUND, mapGroup.getGroup(map.getTile(8, 8)));
+        for (final Tile neighbor : map.getNeighbors(tile))
+        {
+            assertEquals(TRANSITION, mapGroup.getGroup(neighbor));
+        }
+
+        final Collection<Tile> cells = new HashSet<>();
+        for (final Tile current : updated)
+        {
+            assertTrue(cells.add(map.getTile(current.getInTileX(), current.getInTileY())));
+        }
+        assertTrue(cells.containsAll(map.getNeighbors(tile)));
+    }
 }
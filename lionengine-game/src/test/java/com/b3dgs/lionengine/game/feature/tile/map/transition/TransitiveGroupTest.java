@@ -42,6 +42,7 @@ import com.b3dgs.lionengine.game.feature.tile.Tile;
 import com.b3dgs.lionengine.game.feature.tile.TileRef;
 import com.b3dgs.lionengine.game.feature.tile.map.MapTile;
 import com.b3dgs.lionengine.game.feature.tile.map.MapTileGroup;
+import com.b3dgs.lionengine.game.feature.tile.map.NameIds;
 import com.b3dgs.lionengine.game.feature.tile.map.UtilMap;
 
 /**
@@ -85,6 +86,9 @@ public final class TransitiveGroupTest
 
         assertEquals(Arrays.asList(new GroupTransition(WATER, GROUND), new GroupTransition(GROUND, TREE)),
                      transitive.getTransitives(WATER, TREE));
+        assertEquals(transitive.getTransitives(WATER, TREE),
+                     transitive.getTransitives(NameIds.get(WATER), NameIds.get(TREE)));
+        assertTrue(transitive.getTransitives(NameIds.NONE, NameIds.get(TREE)).isEmpty());
 
         assertEquals(WATER, mapGroup.getGroup(map.getTile(15, 15)));
 
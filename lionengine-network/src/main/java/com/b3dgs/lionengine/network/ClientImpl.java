@@ -18,7 +18,7 @@
 package com.b3dgs.lionengine.network;
 
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
 import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
@@ -26,6 +26,7 @@ import java.io.ObjectOutputStream;
 import java.net.InetAddress;
 import java.net.Socket;
 import java.net.SocketException;
+import java.util.zip.DataFormatException;
 
 import com.b3dgs.lionengine.Check;
 import com.b3dgs.lionengine.Constant;
@@ -52,8 +53,10 @@ final class ClientImpl extends NetworkModel<ConnectionListener> implements Clien
     private ObjectOutputStream out;
     /** Input stream. */
     private ObjectInputStream in;
+    /** Frame decompression. */
+    private FrameCodec codec;
     /** Client id. */
-    private byte clientId;
+    private int clientId;
     /** Client name. */
     private String clientName;
     /** Disconnect flag. */
@@ -117,9 +120,14 @@ final class ClientImpl extends NetworkModel<ConnectionListener> implements Clien
         {
             Verbose.exception(exception, "Error on closing socket");
         }
+        if (codec != null)
+        {
+            codec.end();
+            codec = null;
+        }
         for (final ConnectionListener listener : listeners)
         {
-            listener.notifyConnectionTerminated(Byte.valueOf(getId()));
+            listener.notifyConnectionTerminated(Integer.valueOf(getId()));
         }
         listeners.clear();
         connected = false;
@@ -164,6 +172,7 @@ final class ClientImpl extends NetworkModel<ConnectionListener> implements Clien
                 break;
             case NetworkMessageSystemId.PING:
                 ping = (int) pingTimer.elapsed();
+                metrics.rtt(clientId, ping);
                 break;
             case NetworkMessageSystemId.KICKED:
                 kick();
@@ -178,7 +187,10 @@ final class ClientImpl extends NetworkModel<ConnectionListener> implements Clien
                 updateOtherClientRenamed();
                 break;
             case NetworkMessageSystemId.USER_MESSAGE:
-                updateUserMessage();
+                updateUserMessage(in);
+                break;
+            case NetworkMessageSystemId.COMPRESSED_FRAME:
+                updateCompressedFrame();
                 break;
             default:
                 break;
@@ -195,13 +207,23 @@ final class ClientImpl extends NetworkModel<ConnectionListener> implements Clien
         if (clientId == -1)
         {
             // Receive id
-            clientId = in.readByte();
+            clientId = NetworkMessage.readClientId(in);
             // Send the name
             out.writeByte(NetworkMessageSystemId.CONNECTING);
-            out.writeByte(clientId);
+            NetworkMessage.writeClientId(out, clientId);
             final byte[] data = clientName.getBytes(NetworkMessage.CHARSET);
             out.writeByte(data.length);
             out.write(data);
+            // Frame compression support
+            if (codec != null)
+            {
+                out.writeByte(NetworkMessageSystemId.FLAG_COMPRESSION);
+            }
+            else
+            {
+                out.writeByte(0);
+            }
+            out.writeInt(FrameCodec.getChecksum(compressionDictionary));
             out.flush();
             Verbose.info("Client: Performing connection to the server...");
         }
@@ -214,7 +236,7 @@ final class ClientImpl extends NetworkModel<ConnectionListener> implements Clien
      */
     private void updateConnected() throws IOException
     {
-        byte cid = in.readByte();
+        int cid = NetworkMessage.readClientId(in);
         // Ensure the client id is the same
         if (cid != clientId)
         {
@@ -222,17 +244,17 @@ final class ClientImpl extends NetworkModel<ConnectionListener> implements Clien
         }
         for (final ConnectionListener listener : listeners)
         {
-            listener.notifyConnectionEstablished(Byte.valueOf(clientId), clientName);
+            listener.notifyConnectionEstablished(Integer.valueOf(clientId), clientName);
         }
-        // Read the client list
-        final int clientsNumber = in.readByte();
+        // Read the client list (count written as a client id)
+        final int clientsNumber = NetworkMessage.readClientId(in);
         for (int i = 0; i < clientsNumber; i++)
         {
-            cid = in.readByte();
+            cid = NetworkMessage.readClientId(in);
             final String cname = readString();
             for (final ConnectionListener listener : listeners)
             {
-                listener.notifyClientConnected(Byte.valueOf(cid), cname);
+                listener.notifyClientConnected(Integer.valueOf(cid), cname);
             }
         }
         // Message of the day if has
@@ -246,7 +268,7 @@ final class ClientImpl extends NetworkModel<ConnectionListener> implements Clien
         }
         // Send the last answer
         out.write(NetworkMessageSystemId.CONNECTED);
-        out.write(clientId);
+        NetworkMessage.writeClientId(out, clientId);
         out.flush();
         Verbose.info("Client: Connected to the server !");
     }
@@ -258,11 +280,11 @@ final class ClientImpl extends NetworkModel<ConnectionListener> implements Clien
      */
     private void updateOtherClientConnected() throws IOException
     {
-        final byte cid = in.readByte();
+        final int cid = NetworkMessage.readClientId(in);
         final String cname = readString();
         for (final ConnectionListener listener : listeners)
         {
-            listener.notifyClientConnected(Byte.valueOf(cid), cname);
+            listener.notifyClientConnected(Integer.valueOf(cid), cname);
         }
     }
 
@@ -273,11 +295,11 @@ final class ClientImpl extends NetworkModel<ConnectionListener> implements Clien
      */
     private void updateOtherClientDisconnected() throws IOException
     {
-        final byte cid = in.readByte();
+        final int cid = NetworkMessage.readClientId(in);
         final String cname = readString();
         for (final ConnectionListener listener : listeners)
         {
-            listener.notifyClientDisconnected(Byte.valueOf(cid), cname);
+            listener.notifyClientDisconnected(Integer.valueOf(cid), cname);
         }
     }
 
@@ -288,40 +310,73 @@ final class ClientImpl extends NetworkModel<ConnectionListener> implements Clien
      */
     private void updateOtherClientRenamed() throws IOException
     {
-        final byte cid = in.readByte();
+        final int cid = NetworkMessage.readClientId(in);
         final String cname = readString();
         for (final ConnectionListener listener : listeners)
         {
-            listener.notifyClientNameChanged(Byte.valueOf(cid), cname);
+            listener.notifyClientNameChanged(Integer.valueOf(cid), cname);
         }
     }
 
     /**
-     * Update the other client renamed case.
+     * Update the user message case.
      * 
-     * @throws IOException If error when writing data.
+     * @param source The message source.
+     * @throws IOException If error when reading data.
      */
-    private void updateUserMessage() throws IOException
+    private void updateUserMessage(DataInput source) throws IOException
     {
-        final byte from = in.readByte();
-        final byte dest = in.readByte();
-        final byte type = in.readByte();
-        final int size = in.readInt();
+        final int from = NetworkMessage.readClientId(source);
+        final int dest = NetworkMessage.readClientId(source);
+        final byte type = source.readByte();
+        final int size = source.readInt();
         if (size > 0)
         {
             final byte[] data = new byte[size];
-            if (in.read(data) != -1)
+            source.readFully(data);
+            try (DataInputStream buffer = new DataInputStream(new ByteArrayInputStream(data)))
             {
-                try (DataInputStream buffer = new DataInputStream(new ByteArrayInputStream(data)))
-                {
-                    decodeMessage(type, from, dest, buffer);
-                }
+                decodeMessage(type, from, dest, buffer);
             }
         }
         final int headerSize = 4;
         bandwidth += headerSize + size;
     }
 
+    /**
+     * Update the compressed frame case, containing user messages.
+     * 
+     * @throws IOException If error when reading data.
+     */
+    private void updateCompressedFrame() throws IOException
+    {
+        final int rawLength = in.readInt();
+        final byte[] data = new byte[in.readInt()];
+        in.readFully(data);
+        if (codec == null)
+        {
+            throw new IOException("Compressed frame received without negotiated compression !");
+        }
+        try
+        {
+            final long start = System.nanoTime();
+            final int size = codec.inflate(data, rawLength);
+            metrics.decompressed(clientId, size, data.length, System.nanoTime() - start);
+
+            try (DataInputStream frame = new DataInputStream(new ByteArrayInputStream(codec.getBuffer(), 0, size)))
+            {
+                while (frame.available() > 0 && frame.readByte() == NetworkMessageSystemId.USER_MESSAGE)
+                {
+                    updateUserMessage(frame);
+                }
+            }
+        }
+        catch (final DataFormatException exception)
+        {
+            throw new IOException(exception);
+        }
+    }
+
     /**
      * Send message over the network.
      * 
@@ -329,13 +384,13 @@ final class ClientImpl extends NetworkModel<ConnectionListener> implements Clien
      */
     private void sendMessage(NetworkMessage message)
     {
-        try (ByteArrayOutputStream encode = message.encode())
+        try
         {
-            final byte[] encoded = encode.toByteArray();
+            final byte[] encoded = encodeMessage(message);
             // Message header
             out.writeByte(NetworkMessageSystemId.USER_MESSAGE);
-            out.writeByte(message.getClientId());
-            out.writeByte(message.getClientDestId());
+            NetworkMessage.writeClientId(out, message.getClientId());
+            NetworkMessage.writeClientId(out, message.getClientDestId());
             out.writeByte(message.getType());
             // Message content
             out.writeInt(encoded.length);
@@ -344,6 +399,7 @@ final class ClientImpl extends NetworkModel<ConnectionListener> implements Clien
 
             final int headerSize = 8;
             bandwidth += headerSize + encoded.length;
+            metrics.sent(clientId, message.getType(), headerSize + encoded.length);
         }
         catch (final IOException exception)
         {
@@ -367,6 +423,10 @@ final class ClientImpl extends NetworkModel<ConnectionListener> implements Clien
             socket = new Socket(InetAddress.getByName(ip), port);
             out = new ObjectOutputStream(socket.getOutputStream());
             in = new ObjectInputStream(socket.getInputStream());
+            if (compressionThreshold >= 0)
+            {
+                codec = new FrameCodec(compressionDictionary);
+            }
             connected = true;
             clientId = -1;
             pingRequestTimer.start();
@@ -395,7 +455,7 @@ final class ClientImpl extends NetworkModel<ConnectionListener> implements Clien
         try
         {
             out.write(NetworkMessageSystemId.OTHER_CLIENT_RENAMED);
-            out.write(clientId);
+            NetworkMessage.writeClientId(out, clientId);
             final byte[] data = clientName.getBytes(NetworkMessage.CHARSET);
             out.writeByte(data.length);
             out.write(data);
@@ -426,7 +486,7 @@ final class ClientImpl extends NetworkModel<ConnectionListener> implements Clien
     }
 
     @Override
-    public byte getId()
+    public int getId()
     {
         return clientId;
     }
@@ -441,7 +501,7 @@ final class ClientImpl extends NetworkModel<ConnectionListener> implements Clien
         try
         {
             out.write(NetworkMessageSystemId.OTHER_CLIENT_DISCONNECTED);
-            out.write(clientId);
+            NetworkMessage.writeClientId(out, clientId);
             out.flush();
             kick();
         }
@@ -471,7 +531,7 @@ final class ClientImpl extends NetworkModel<ConnectionListener> implements Clien
             try
             {
                 out.writeByte(NetworkMessageSystemId.PING);
-                out.writeByte(clientId);
+                NetworkMessage.writeClientId(out, clientId);
                 out.flush();
                 pingTimer.restart();
                 pingRequestTimer.restart();
@@ -483,6 +543,7 @@ final class ClientImpl extends NetworkModel<ConnectionListener> implements Clien
             }
         }
         // Send messages
+        metrics.setQueue(clientId, messagesOut.size());
         for (final NetworkMessage message : messagesOut)
         {
             sendMessage(message);
@@ -496,6 +557,7 @@ final class ClientImpl extends NetworkModel<ConnectionListener> implements Clien
             bandwidthTimer.start();
         }
         messagesOut.clear();
+        updateMetrics();
     }
 
     @Override // CHECKSTYLE IGNORE LINE: TrailingComment|ReturnCount
@@ -37,11 +37,13 @@ final class ClientSocket
     /** Input stream. */
     private final ObjectInputStream in;
     /** Client id. */
-    private final byte clientId;
+    private final int clientId;
     /** State. */
     private StateConnection state;
     /** Name. */
     private String name;
+    /** Frame compression (<code>null</code> if not supported). */
+    private FrameCodec codec;
 
     /**
      * Internal constructor.
@@ -50,7 +52,7 @@ final class ClientSocket
      * @param socket The socket reference.
      * @throws LionEngineException If error on client socket.
      */
-    ClientSocket(final byte id, final Socket socket)
+    ClientSocket(final int id, final Socket socket)
     {
         clientId = id;
         this.socket = socket;
@@ -106,11 +108,36 @@ final class ClientSocket
         return name;
     }
 
+    /**
+     * Set the frame compression.
+     * 
+     * @param codec The frame codec (<code>null</code> if not supported).
+     */
+    public void setCodec(FrameCodec codec)
+    {
+        this.codec = codec;
+    }
+
+    /**
+     * Get the frame compression.
+     * 
+     * @return The frame codec (<code>null</code> if not supported).
+     */
+    public FrameCodec getCodec()
+    {
+        return codec;
+    }
+
     /**
      * Terminate client.
      */
     public void terminate()
     {
+        if (codec != null)
+        {
+            codec.end();
+            codec = null;
+        }
         try
         {
             in.close();
@@ -228,7 +255,7 @@ final class ClientSocket
      * 
      * @return The client id.
      */
-    public byte getId()
+    public int getId()
     {
         return clientId;
     }
@@ -0,0 +1,453 @@
+/*
+ * Copyright (C) 2013-2018 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package com.b3dgs.lionengine.network;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.util.ArrayList;
+import java.util.Collection;
+
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.Constant;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Timing;
+import com.b3dgs.lionengine.Verbose;
+import com.b3dgs.lionengine.network.message.NetworkMessage;
+import com.b3dgs.lionengine.network.message.NetworkMessageDecoder;
+
+/**
+ * Client implementation over datagram channel, with selective reliability per message type.
+ */
+// CHECKSTYLE IGNORE LINE: ClassDataAbstractionCoupling|ClassFanOutComplexity
+final class ClientUdp extends NetworkModel<ConnectionListener> implements Client
+{
+    /** Ping request timer. */
+    private final Timing pingRequestTimer;
+    /** Average bandwidth. */
+    private final Timing bandwidthTimer;
+    /** Delivered messages data buffer. */
+    private final Collection<byte[]> delivered;
+    /** Packet buffer. */
+    private final ByteBuffer buffer;
+    /** Link simulator. */
+    private final LinkSimulator simulator;
+    /** Datagram channel. */
+    private DatagramChannel channel;
+    /** Server connection. */
+    private UdpConnection connection;
+    /** Client id. */
+    private int clientId;
+    /** Client name. */
+    private String clientName;
+    /** Connected flag. */
+    private boolean connected;
+    /** Ping. */
+    private int ping;
+    /** Bandwidth size. */
+    private int bandwidth;
+    /** Bandwidth per second. */
+    private int bandwidthPerSecond;
+
+    /**
+     * Internal constructor.
+     * 
+     * @param decoder The message decoder.
+     * @param simulator The link simulator.
+     */
+    ClientUdp(NetworkMessageDecoder decoder, LinkSimulator simulator)
+    {
+        super(decoder);
+        this.simulator = simulator;
+        pingRequestTimer = new Timing();
+        bandwidthTimer = new Timing();
+        delivered = new ArrayList<>();
+        buffer = ByteBuffer.allocate(UdpConnection.MTU);
+        clientId = -1;
+    }
+
+    /**
+     * Terminate connection.
+     */
+    private void kick()
+    {
+        if (!connected)
+        {
+            return;
+        }
+        messagesIn.clear();
+        messagesOut.clear();
+        try
+        {
+            simulator.flush(Long.MAX_VALUE);
+            channel.close();
+        }
+        catch (final IOException exception)
+        {
+            Verbose.exception(exception, "Error on closing channel");
+        }
+        for (final ConnectionListener listener : listeners)
+        {
+            listener.notifyConnectionTerminated(Integer.valueOf(getId()));
+        }
+        listeners.clear();
+        connected = false;
+        Verbose.info("Disconnected from the server !");
+    }
+
+    /**
+     * Queue a reliable system message.
+     * 
+     * @param data The message data.
+     */
+    private void queue(ByteArrayOutputStream data)
+    {
+        connection.queue(data.toByteArray(), Reliability.RELIABLE_ORDERED);
+    }
+
+    /**
+     * Update the message from its id.
+     * 
+     * @param in The message input.
+     * @param messageSystemId The message system ID.
+     * @throws IOException If error when reading data.
+     */
+    private void updateMessage(DataInputStream in, byte messageSystemId) throws IOException
+    {
+        switch (messageSystemId)
+        {
+            case NetworkMessageSystemId.CONNECTED:
+                updateConnected(in);
+                break;
+            case NetworkMessageSystemId.PING:
+                ping = (int) (UdpConnection.now() - in.readLong());
+                break;
+            case NetworkMessageSystemId.KICKED:
+                kick();
+                break;
+            case NetworkMessageSystemId.OTHER_CLIENT_CONNECTED:
+                final int connectedId = NetworkMessage.readClientId(in);
+                final String connectedName = ServerUdp.readString(in);
+                for (final ConnectionListener listener : listeners)
+                {
+                    listener.notifyClientConnected(Integer.valueOf(connectedId), connectedName);
+                }
+                break;
+            case NetworkMessageSystemId.OTHER_CLIENT_DISCONNECTED:
+                final int disconnectedId = NetworkMessage.readClientId(in);
+                final String disconnectedName = ServerUdp.readString(in);
+                for (final ConnectionListener listener : listeners)
+                {
+                    listener.notifyClientDisconnected(Integer.valueOf(disconnectedId), disconnectedName);
+                }
+                break;
+            case NetworkMessageSystemId.OTHER_CLIENT_RENAMED:
+                final int renamedId = NetworkMessage.readClientId(in);
+                final String renamedName = ServerUdp.readString(in);
+                for (final ConnectionListener listener : listeners)
+                {
+                    listener.notifyClientNameChanged(Integer.valueOf(renamedId), renamedName);
+                }
+                break;
+            case NetworkMessageSystemId.USER_MESSAGE:
+                final int from = NetworkMessage.readClientId(in);
+                final int dest = NetworkMessage.readClientId(in);
+                final byte type = in.readByte();
+                decodeMessage(type, from, dest, in);
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Update the connected case.
+     * 
+     * @param in The message input.
+     * @throws IOException If error when reading data.
+     */
+    private void updateConnected(DataInputStream in) throws IOException
+    {
+        clientId = NetworkMessage.readClientId(in);
+        connection.setId(clientId);
+        for (final ConnectionListener listener : listeners)
+        {
+            listener.notifyConnectionEstablished(Integer.valueOf(clientId), clientName);
+        }
+        final int clientsNumber = NetworkMessage.readClientId(in);
+        for (int i = 0; i < clientsNumber; i++)
+        {
+            final int cid = NetworkMessage.readClientId(in);
+            final String cname = ServerUdp.readString(in);
+            for (final ConnectionListener listener : listeners)
+            {
+                listener.notifyClientConnected(Integer.valueOf(cid), cname);
+            }
+        }
+        if (in.available() > 0)
+        {
+            final String motd = ServerUdp.readString(in);
+            for (final ConnectionListener listener : listeners)
+            {
+                listener.notifyMessageOfTheDay(motd);
+            }
+        }
+        final ByteArrayOutputStream data = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(data))
+        {
+            out.writeByte(NetworkMessageSystemId.CONNECTED);
+            NetworkMessage.writeClientId(out, clientId);
+        }
+        queue(data);
+        Verbose.info("Client: Connected to the server !");
+    }
+
+    /**
+     * Flush connection and delayed packets.
+     * 
+     * @throws IOException If error on sending.
+     */
+    private void flush() throws IOException
+    {
+        final long now = UdpConnection.now();
+        bandwidth += connection.flush(channel, simulator, buffer, now);
+        simulator.flush(now);
+    }
+
+    /*
+     * Client
+     */
+
+    @Override
+    public void connect(String ip, int port)
+    {
+        Check.notNull(ip);
+        Check.superiorOrEqual(port, 0);
+        Check.inferiorOrEqual(port, Constant.MAX_PORT);
+
+        try
+        {
+            channel = DatagramChannel.open();
+            channel.configureBlocking(false);
+            connection = new UdpConnection(new InetSocketAddress(ip, port), metrics, UdpConnection.now());
+            connected = true;
+            clientId = -1;
+
+            final ByteArrayOutputStream data = new ByteArrayOutputStream();
+            try (DataOutputStream out = new DataOutputStream(data))
+            {
+                out.writeByte(NetworkMessageSystemId.CONNECTING);
+                ServerUdp.writeString(out, clientName);
+            }
+            queue(data);
+            flush();
+            pingRequestTimer.start();
+            bandwidthTimer.start();
+            Verbose.info("Client: Performing connection to the server...");
+        }
+        catch (final IOException exception)
+        {
+            throw new LionEngineException(exception, "Cannot connect to the server !");
+        }
+    }
+
+    @Override
+    public boolean isConnected()
+    {
+        return connected;
+    }
+
+    @Override
+    public void setName(String name)
+    {
+        clientName = name;
+        if (!connected || clientId < 0)
+        {
+            return;
+        }
+        try
+        {
+            final ByteArrayOutputStream data = new ByteArrayOutputStream();
+            try (DataOutputStream out = new DataOutputStream(data))
+            {
+                out.writeByte(NetworkMessageSystemId.OTHER_CLIENT_RENAMED);
+                NetworkMessage.writeClientId(out, clientId);
+                ServerUdp.writeString(out, clientName);
+            }
+            queue(data);
+        }
+        catch (final IOException exception)
+        {
+            Verbose.exception(exception, "Unable to set a new client name !");
+        }
+    }
+
+    @Override
+    public String getName()
+    {
+        return clientName;
+    }
+
+    @Override
+    public int getPing()
+    {
+        return ping;
+    }
+
+    @Override
+    public int getBandwidth()
+    {
+        return bandwidthPerSecond;
+    }
+
+    @Override
+    public int getId()
+    {
+        return clientId;
+    }
+
+    /*
+     * Network
+     */
+
+    @Override
+    public void disconnect()
+    {
+        if (!connected)
+        {
+            return;
+        }
+        try
+        {
+            final ByteArrayOutputStream data = new ByteArrayOutputStream();
+            try (DataOutputStream out = new DataOutputStream(data))
+            {
+                out.writeByte(NetworkMessageSystemId.OTHER_CLIENT_DISCONNECTED);
+                NetworkMessage.writeClientId(out, clientId);
+            }
+            queue(data);
+            flush();
+        }
+        catch (final IOException exception)
+        {
+            Verbose.exception(exception);
+        }
+        kick();
+    }
+
+    @Override
+    public void sendMessages()
+    {
+        if (!connected)
+        {
+            return;
+        }
+        try
+        {
+            final long pingMilli = 1000L;
+            if (clientId >= 0 && pingRequestTimer.elapsed(pingMilli))
+            {
+                final ByteArrayOutputStream data = new ByteArrayOutputStream();
+                try (DataOutputStream out = new DataOutputStream(data))
+                {
+                    out.writeByte(NetworkMessageSystemId.PING);
+                    NetworkMessage.writeClientId(out, clientId);
+                    out.writeLong(UdpConnection.now());
+                }
+                connection.queue(data.toByteArray(), Reliability.UNRELIABLE_SEQUENCED);
+                pingRequestTimer.restart();
+            }
+            for (final NetworkMessage message : messagesOut)
+            {
+                final ByteArrayOutputStream data = new ByteArrayOutputStream();
+                try (DataOutputStream out = new DataOutputStream(data))
+                {
+                    out.writeByte(NetworkMessageSystemId.USER_MESSAGE);
+                    NetworkMessage.writeClientId(out, message.getClientId());
+                    NetworkMessage.writeClientId(out, message.getClientDestId());
+                    out.writeByte(message.getType());
+                    out.write(encodeMessage(message));
+                }
+                connection.queue(data.toByteArray(), getReliability(message.getType()));
+                metrics.sent(clientId, message.getType(), data.size());
+            }
+            flush();
+        }
+        catch (final IOException exception)
+        {
+            Verbose.exception(exception, "Unable to send the messages for client: ", String.valueOf(clientId));
+        }
+        final long bandwidthMilli = 1000L;
+        if (bandwidthTimer.elapsed(bandwidthMilli))
+        {
+            bandwidthPerSecond = bandwidth;
+            bandwidth = 0;
+            bandwidthTimer.restart();
+        }
+        messagesOut.clear();
+        updateMetrics();
+    }
+
+    @Override
+    public void receiveMessages()
+    {
+        if (!connected)
+        {
+            return;
+        }
+        messagesIn.clear();
+        final long now = UdpConnection.now();
+        try
+        {
+            buffer.clear();
+            SocketAddress address = channel.receive(buffer);
+            while (address != null && connected)
+            {
+                buffer.flip();
+                delivered.clear();
+                if (address.equals(connection.getAddress()) && connection.receive(buffer, now, delivered))
+                {
+                    for (final byte[] data : delivered)
+                    {
+                        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data)))
+                        {
+                            updateMessage(in, in.readByte());
+                        }
+                    }
+                }
+                buffer.clear();
+                address = connected ? channel.receive(buffer) : null;
+            }
+            if (connected && connection.isTimeout(now))
+            {
+                Verbose.warning(Client.class, "receiveMessages", "Connection timeout");
+                kick();
+            }
+        }
+        catch (final IOException exception)
+        {
+            Verbose.exception(exception, "Unable to receive the messages for client: ", String.valueOf(clientId));
+        }
+    }
+}
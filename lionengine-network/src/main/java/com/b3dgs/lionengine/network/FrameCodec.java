@@ -0,0 +1,164 @@
+/*
+ * Copyright (C) 2013-2018 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package com.b3dgs.lionengine.network;
+
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Per connection frame compression context. A single deflate stream is kept for the whole connection, each frame
+ * being flushed with {@link Deflater#SYNC_FLUSH}, so later frames benefit from previous ones. An optional preset
+ * dictionary (typical frame content) improves the first frames; it is only used if both sides share the same one,
+ * which is detected with {@link #getChecksum(byte[])}.
+ */
+final class FrameCodec
+{
+    /** Output buffer grow size. */
+    private static final int CHUNK = 1024;
+
+    /**
+     * Get the dictionary checksum, used to check that both sides share the same dictionary.
+     * 
+     * @param dictionary The dictionary (can be <code>null</code>).
+     * @return The dictionary checksum, <code>0</code> if none.
+     */
+    static int getChecksum(byte[] dictionary)
+    {
+        if (dictionary == null)
+        {
+            return 0;
+        }
+        final CRC32 crc = new CRC32();
+        crc.update(dictionary);
+        return (int) crc.getValue();
+    }
+
+    /** Deflater. */
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    /** Inflater. */
+    private final Inflater inflater = new Inflater();
+    /** Dictionary (<code>null</code> if none). */
+    private final byte[] dictionary;
+    /** Reusable output buffer. */
+    private byte[] buffer = new byte[CHUNK];
+
+    /**
+     * Create codec.
+     * 
+     * @param dictionary The preset dictionary (<code>null</code> if none).
+     */
+    FrameCodec(byte[] dictionary)
+    {
+        this.dictionary = dictionary;
+        if (dictionary != null)
+        {
+            deflater.setDictionary(dictionary);
+        }
+    }
+
+    /**
+     * Compress a frame.
+     * 
+     * @param data The frame data.
+     * @param length The frame length.
+     * @return The compressed length, data available with {@link #getBuffer()}.
+     */
+    int deflate(byte[] data, int length)
+    {
+        deflater.setInput(data, 0, length);
+        int size = 0;
+        while (true)
+        {
+            size += deflater.deflate(buffer, size, buffer.length - size, Deflater.SYNC_FLUSH);
+            if (size < buffer.length)
+            {
+                return size;
+            }
+            grow(buffer.length + CHUNK);
+        }
+    }
+
+    /**
+     * Decompress a frame.
+     * 
+     * @param data The compressed data.
+     * @param rawLength The original frame length.
+     * @return The decompressed frame, data available with {@link #getBuffer()}.
+     * @throws DataFormatException If invalid data.
+     */
+    int inflate(byte[] data, int rawLength) throws DataFormatException
+    {
+        if (buffer.length < rawLength)
+        {
+            grow(rawLength);
+        }
+        inflater.setInput(data);
+        int size = 0;
+        while (size < rawLength)
+        {
+            final int read = inflater.inflate(buffer, size, rawLength - size);
+            if (read == 0 && inflater.needsDictionary())
+            {
+                if (dictionary == null)
+                {
+                    throw new DataFormatException("Missing frame dictionary");
+                }
+                inflater.setDictionary(dictionary);
+            }
+            else if (read == 0 && inflater.needsInput())
+            {
+                throw new DataFormatException("Truncated frame");
+            }
+            size += read;
+        }
+        return size;
+    }
+
+    /**
+     * Get the last output buffer.
+     * 
+     * @return The output buffer.
+     */
+    byte[] getBuffer()
+    {
+        return buffer;
+    }
+
+    /**
+     * Release native resources.
+     */
+    void end()
+    {
+        deflater.end();
+        inflater.end();
+    }
+
+    /**
+     * Grow output buffer, keeping its content.
+     * 
+     * @param size The new size.
+     */
+    private void grow(int size)
+    {
+        final byte[] grown = new byte[size];
+        System.arraycopy(buffer, 0, grown, 0, buffer.length);
+        buffer = grown;
+    }
+}
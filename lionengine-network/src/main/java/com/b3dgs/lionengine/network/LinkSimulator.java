@@ -0,0 +1,195 @@
+/*
+ * Copyright (C) 2013-2018 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package com.b3dgs.lionengine.network;
+
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.Random;
+
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.LionEngineException;
+
+/**
+ * Simulate a lossy and slow link on outgoing datagrams, in order to test datagram transport over loopback. Packets
+ * may be dropped, delayed and reordered (when jitter is used). Default simulator is a perfect link.
+ * <p>
+ * This is a test hook: it is only public to be given to the {@link NetworkedWorldModelClient} and
+ * {@link NetworkedWorldModelServer} test constructors, and must not be used on production links.
+ * </p>
+ */
+public final class LinkSimulator
+{
+    /** Packet loss ratio [0-1]. */
+    private final double loss;
+    /** Minimum latency in milli. */
+    private final int latency;
+    /** Maximum additional random latency in milli. */
+    private final int jitter;
+    /** Random source. */
+    private final Random random;
+    /** Delayed packets, sorted by due time. */
+    private final Queue<Delayed> delayed = new PriorityQueue<>();
+    /** Number of dropped packets. */
+    private int dropped;
+
+    /**
+     * Create a perfect link simulator (nothing dropped, no latency).
+     */
+    public LinkSimulator()
+    {
+        this(0.0, 0, 0, 0L);
+    }
+
+    /**
+     * Create a link simulator.
+     * 
+     * @param loss The packet loss ratio (between 0.0 and 1.0 inclusive).
+     * @param latency The minimum latency in milli (positive).
+     * @param jitter The maximum additional random latency in milli (positive).
+     * @param seed The random seed, for reproducible simulation.
+     * @throws LionEngineException If invalid arguments.
+     */
+    public LinkSimulator(double loss, int latency, int jitter, long seed)
+    {
+        super();
+
+        Check.superiorOrEqual(loss, 0.0);
+        Check.inferiorOrEqual(loss, 1.0);
+        Check.superiorOrEqual(latency, 0);
+        Check.superiorOrEqual(jitter, 0);
+
+        this.loss = loss;
+        this.latency = latency;
+        this.jitter = jitter;
+        random = new Random(seed);
+    }
+
+    /**
+     * Get the number of dropped packets since creation.
+     * 
+     * @return The number of dropped packets.
+     */
+    public int getDropped()
+    {
+        return dropped;
+    }
+
+    /**
+     * Send a datagram through the simulated link.
+     * 
+     * @param channel The channel to send with.
+     * @param buffer The data to send (from position to limit).
+     * @param address The destination address.
+     * @param now The current time in milli.
+     * @throws IOException If error on sending.
+     */
+    void send(DatagramChannel channel, ByteBuffer buffer, SocketAddress address, long now) throws IOException
+    {
+        if (loss > 0.0 && random.nextDouble() < loss)
+        {
+            dropped++;
+        }
+        else if (latency == 0 && jitter == 0)
+        {
+            channel.send(buffer, address);
+        }
+        else
+        {
+            final byte[] data = new byte[buffer.remaining()];
+            buffer.get(data);
+            final long due = now + latency + random.nextInt(jitter + 1);
+            delayed.add(new Delayed(channel, data, address, due));
+        }
+    }
+
+    /**
+     * Send all delayed datagrams that are due.
+     * 
+     * @param now The current time in milli.
+     * @throws IOException If error on sending.
+     */
+    void flush(long now) throws IOException
+    {
+        while (!delayed.isEmpty() && delayed.peek().due <= now)
+        {
+            final Delayed packet = delayed.poll();
+            packet.channel.send(ByteBuffer.wrap(packet.data), packet.address);
+        }
+    }
+
+    /**
+     * Delayed datagram.
+     */
+    private static final class Delayed implements Comparable<Delayed>
+    {
+        /** Channel to send with. */
+        private final DatagramChannel channel;
+        /** Data to send. */
+        private final byte[] data;
+        /** Destination address. */
+        private final SocketAddress address;
+        /** Due time in milli. */
+        private final long due;
+
+        /**
+         * Create delayed datagram.
+         * 
+         * @param channel The channel to send with.
+         * @param data The data to send.
+         * @param address The destination address.
+         * @param due The due time in milli.
+         */
+        Delayed(DatagramChannel channel, byte[] data, SocketAddress address, long due)
+        {
+            this.channel = channel;
+            this.data = data;
+            this.address = address;
+            this.due = due;
+        }
+
+        /*
+         * Comparable
+         */
+
+        @Override
+        public int compareTo(Delayed other)
+        {
+            return Long.compare(due, other.due);
+        }
+
+        /*
+         * Object
+         */
+
+        @Override
+        public boolean equals(Object object)
+        {
+            return this == object;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return System.identityHashCode(this);
+        }
+    }
+}
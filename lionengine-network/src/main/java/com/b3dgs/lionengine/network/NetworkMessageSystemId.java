@@ -40,6 +40,10 @@ final class NetworkMessageSystemId
     public static final byte OTHER_CLIENT_RENAMED = -70;
     /** User message. */
     public static final byte USER_MESSAGE = -60;
+    /** Compressed frame of user messages. */
+    public static final byte COMPRESSED_FRAME = -50;
+    /** Frame compression supported flag (sent with client name when connecting). */
+    public static final byte FLAG_COMPRESSION = 1;
 
     /**
      * Private constructor.
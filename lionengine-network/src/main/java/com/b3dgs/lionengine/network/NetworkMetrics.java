@@ -0,0 +1,367 @@
+/*
+ * Copyright (C) 2013-2018 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package com.b3dgs.lionengine.network;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.b3dgs.lionengine.Verbose;
+
+/**
+ * Network metrics of a networker, per client connection and per message type. Recording is thread safe, so metrics
+ * can be read with {@link #snapshot(boolean)} from another thread than the network one.
+ * <p>
+ * On client side, the server connection is recorded under the client id.
+ * </p>
+ */
+public final class NetworkMetrics
+{
+    /** Client label. */
+    private static final String CLIENT = "client ";
+    /** Type label. */
+    private static final String TYPE = "type ";
+
+    /** Stats per client id. */
+    private final Map<Integer, NetworkStat> clients;
+    /** Stats per message type. */
+    private final Map<Byte, NetworkStat> types;
+    /** Total stats. */
+    private final NetworkStat total;
+
+    /**
+     * Create empty metrics.
+     */
+    NetworkMetrics()
+    {
+        clients = new TreeMap<>();
+        types = new TreeMap<>();
+        total = new NetworkStat();
+    }
+
+    /**
+     * Create metrics copy.
+     * 
+     * @param other The metrics to copy.
+     */
+    private NetworkMetrics(NetworkMetrics other)
+    {
+        this();
+        copy(other.clients, clients);
+        copy(other.types, types);
+        total.copy(other.total);
+    }
+
+    /**
+     * Copy stats.
+     * 
+     * @param <K> The stat key type.
+     * @param source The stats to copy.
+     * @param destination The stats copy.
+     */
+    private static <K> void copy(Map<K, NetworkStat> source, Map<K, NetworkStat> destination)
+    {
+        for (final Map.Entry<K, NetworkStat> entry : source.entrySet())
+        {
+            destination.put(entry.getKey(), new NetworkStat(entry.getValue()));
+        }
+    }
+
+    /**
+     * Get or create stat.
+     * 
+     * @param <K> The stat key type.
+     * @param stats The stats.
+     * @param key The stat key.
+     * @return The stat.
+     */
+    private static <K> NetworkStat get(Map<K, NetworkStat> stats, K key)
+    {
+        return stats.computeIfAbsent(key, k -> new NetworkStat());
+    }
+
+    /**
+     * Get or create client stat.
+     * 
+     * @param client The client id.
+     * @return The stat.
+     */
+    private NetworkStat getClientStat(int client)
+    {
+        return get(clients, Integer.valueOf(client));
+    }
+
+    /**
+     * Get or create message type stat.
+     * 
+     * @param type The message type.
+     * @return The stat.
+     */
+    private NetworkStat getTypeStat(byte type)
+    {
+        return get(types, Byte.valueOf(type));
+    }
+
+    /**
+     * Record a received message.
+     * 
+     * @param client The client source.
+     * @param type The message type.
+     * @param bytes The message size.
+     * @param time The decoding time in nano.
+     */
+    synchronized void received(int client, byte type, int bytes, long time)
+    {
+        getClientStat(client).received(bytes, time);
+        getTypeStat(type).received(bytes, time);
+        total.received(bytes, time);
+    }
+
+    /**
+     * Record a sent message.
+     * 
+     * @param client The client destination.
+     * @param type The message type.
+     * @param bytes The message size.
+     */
+    synchronized void sent(int client, byte type, int bytes)
+    {
+        getClientStat(client).sent(bytes);
+        getTypeStat(type).sent(bytes);
+        total.sent(bytes);
+    }
+
+    /**
+     * Record an encoding time.
+     * 
+     * @param type The message type.
+     * @param time The encoding time in nano.
+     */
+    synchronized void encoded(byte type, long time)
+    {
+        getTypeStat(type).encoded(time);
+        total.encoded(time);
+    }
+
+    /**
+     * Record a dropped message.
+     * 
+     * @param client The client source.
+     * @param type The message type.
+     */
+    synchronized void dropped(int client, byte type)
+    {
+        getClientStat(client).dropped();
+        getTypeStat(type).dropped();
+        total.dropped();
+    }
+
+    /**
+     * Record a message dropped by the transport (type not known).
+     * 
+     * @param client The client connection.
+     */
+    synchronized void dropped(int client)
+    {
+        getClientStat(client).dropped();
+        total.dropped();
+    }
+
+    /**
+     * Record a compressed frame.
+     * 
+     * @param client The client connection.
+     * @param raw The original frame size.
+     * @param compressed The compressed frame size.
+     * @param time The compression time in nano.
+     */
+    synchronized void compressed(int client, int raw, int compressed, long time)
+    {
+        getClientStat(client).compressed(raw, compressed, time);
+        total.compressed(raw, compressed, time);
+    }
+
+    /**
+     * Record a decompressed frame.
+     * 
+     * @param client The client connection.
+     * @param raw The decompressed frame size.
+     * @param compressed The received compressed frame size.
+     * @param time The decompression time in nano.
+     */
+    synchronized void decompressed(int client, int raw, int compressed, long time)
+    {
+        getClientStat(client).decompressed(raw, compressed, time);
+        total.decompressed(raw, compressed, time);
+    }
+
+    /**
+     * Record a round trip sample.
+     * 
+     * @param client The client connection.
+     * @param sample The round trip time in milli.
+     */
+    synchronized void rtt(int client, int sample)
+    {
+        getClientStat(client).rtt(sample);
+        total.rtt(sample);
+    }
+
+    /**
+     * Record resent messages.
+     * 
+     * @param client The client connection.
+     * @param count The number of resent messages.
+     */
+    synchronized void retransmitted(int client, int count)
+    {
+        getClientStat(client).retransmitted(count);
+        total.retransmitted(count);
+    }
+
+    /**
+     * Set the current queue depth of a connection.
+     * 
+     * @param client The client connection.
+     * @param depth The number of messages waiting.
+     */
+    synchronized void setQueue(int client, int depth)
+    {
+        getClientStat(client).setQueue(depth);
+    }
+
+    /**
+     * Forget a client connection.
+     * 
+     * @param client The client id.
+     */
+    synchronized void remove(int client)
+    {
+        clients.remove(Integer.valueOf(client));
+    }
+
+    /**
+     * Get a copy of the current metrics.
+     * 
+     * @param reset <code>true</code> to reset the metrics after copy, <code>false</code> to keep accumulating.
+     * @return The metrics snapshot.
+     */
+    public synchronized NetworkMetrics snapshot(boolean reset)
+    {
+        final NetworkMetrics snapshot = new NetworkMetrics(this);
+        if (reset)
+        {
+            reset();
+        }
+        return snapshot;
+    }
+
+    /**
+     * Reset all metrics.
+     */
+    public synchronized void reset()
+    {
+        clients.clear();
+        types.clear();
+        total.copy(new NetworkStat());
+    }
+
+    /**
+     * Dump metrics through {@link Verbose#info(String...)}, one line per client and per message type.
+     * 
+     * @param name The networker name.
+     */
+    public synchronized void dump(String name)
+    {
+        Verbose.info(name, ": ", total.toString());
+        for (final Map.Entry<Integer, NetworkStat> entry : clients.entrySet())
+        {
+            Verbose.info(name, ": ", CLIENT, String.valueOf(entry.getKey()), ": ", entry.getValue().toString());
+        }
+        for (final Map.Entry<Byte, NetworkStat> entry : types.entrySet())
+        {
+            Verbose.info(name, ": ", TYPE, String.valueOf(entry.getKey()), ": ", entry.getValue().toString());
+        }
+    }
+
+    /**
+     * Get a copy of the client connection stat.
+     * 
+     * @param client The client id.
+     * @return The client stat snapshot, <code>null</code> if none.
+     */
+    public synchronized NetworkStat getClient(int client)
+    {
+        final NetworkStat stat = clients.get(Integer.valueOf(client));
+        if (stat == null)
+        {
+            return null;
+        }
+        return new NetworkStat(stat);
+    }
+
+    /**
+     * Get a copy of the message type stat.
+     * 
+     * @param type The message type.
+     * @return The message type stat snapshot, <code>null</code> if none.
+     */
+    public synchronized NetworkStat getType(byte type)
+    {
+        final NetworkStat stat = types.get(Byte.valueOf(type));
+        if (stat == null)
+        {
+            return null;
+        }
+        return new NetworkStat(stat);
+    }
+
+    /**
+     * Get a copy of the stats per client id.
+     * 
+     * @return The clients stats snapshot.
+     */
+    public synchronized Map<Integer, NetworkStat> getClients()
+    {
+        final Map<Integer, NetworkStat> copy = new TreeMap<>();
+        copy(clients, copy);
+        return Collections.unmodifiableMap(copy);
+    }
+
+    /**
+     * Get a copy of the stats per message type.
+     * 
+     * @return The message types stats snapshot.
+     */
+    public synchronized Map<Byte, NetworkStat> getTypes()
+    {
+        final Map<Byte, NetworkStat> copy = new TreeMap<>();
+        copy(types, copy);
+        return Collections.unmodifiableMap(copy);
+    }
+
+    /**
+     * Get a copy of the total stats.
+     * 
+     * @return The total stats snapshot.
+     */
+    public synchronized NetworkStat getTotal()
+    {
+        return new NetworkStat(total);
+    }
+}
@@ -17,11 +17,15 @@
  */
 package com.b3dgs.lionengine.network;
 
+import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 
+import com.b3dgs.lionengine.Timing;
 import com.b3dgs.lionengine.network.message.NetworkMessage;
 import com.b3dgs.lionengine.network.message.NetworkMessageDecoder;
 
@@ -40,6 +44,18 @@ abstract class NetworkModel<L extends ClientListener> implements Networker<L>
     protected final NetworkMessageDecoder decoder;
     /** The client connection listener. */
     protected final Collection<L> listeners;
+    /** Network metrics. */
+    protected final NetworkMetrics metrics;
+    /** Reliability per message type. */
+    private final Map<Byte, Reliability> reliabilities;
+    /** Metrics dump timer. */
+    private final Timing dumpTimer;
+    /** Metrics dump period in milli (0 if disabled). */
+    private long dumpPeriod;
+    /** Minimum frame size to compress (negative if disabled). */
+    protected int compressionThreshold = -1;
+    /** Compression dictionary (<code>null</code> if none). */
+    protected byte[] compressionDictionary;
 
     /**
      * Internal constructor.
@@ -52,6 +68,20 @@ abstract class NetworkModel<L extends ClientListener> implements Networker<L>
         messagesOut = new ArrayList<>();
         messagesIn = new ArrayList<>();
         listeners = new ArrayList<>(1);
+        reliabilities = new HashMap<>();
+        metrics = new NetworkMetrics();
+        dumpTimer = new Timing();
+    }
+
+    /**
+     * Get the reliability of a message type.
+     * 
+     * @param type The message type.
+     * @return The message reliability ({@link Reliability#RELIABLE_ORDERED} if not defined).
+     */
+    protected Reliability getReliability(byte type)
+    {
+        return reliabilities.getOrDefault(Byte.valueOf(type), Reliability.RELIABLE_ORDERED);
     }
 
     /**
@@ -63,17 +93,69 @@ abstract class NetworkModel<L extends ClientListener> implements Networker<L>
      * @param buffer The data.
      * @throws IOException Error on reading.
      */
-    protected void decodeMessage(byte type, byte from, byte dest, DataInputStream buffer) throws IOException
+    protected void decodeMessage(byte type, int from, int dest, DataInputStream buffer) throws IOException
     {
+        final int size = buffer.available();
+        final long start = System.nanoTime();
         final NetworkMessage message = decoder.getNetworkMessageFromType(type);
-        if (message != null)
+        if (message != null && skipHeader(buffer))
         {
-            final int skip = 3;
-            if (buffer.skipBytes(skip) == skip)
-            {
-                message.decode(type, from, dest, buffer);
-                messagesIn.add(message);
-            }
+            message.decode(type, from, dest, buffer);
+            messagesIn.add(message);
+            metrics.received(from, type, size, System.nanoTime() - start);
+        }
+        else
+        {
+            metrics.dropped(from, type);
+        }
+    }
+
+    /**
+     * Skip the message header (type, source and destination ids), already known from the transport header.
+     * 
+     * @param buffer The message data.
+     * @return <code>true</code> if header skipped, <code>false</code> if data too short.
+     * @throws IOException Error on reading.
+     */
+    private static boolean skipHeader(DataInputStream buffer) throws IOException
+    {
+        if (buffer.available() < Byte.BYTES * 3)
+        {
+            return false;
+        }
+        buffer.readByte();
+        NetworkMessage.readClientId(buffer);
+        NetworkMessage.readClientId(buffer);
+        return true;
+    }
+
+    /**
+     * Encode a message and record its encoding time.
+     * 
+     * @param message The message to encode.
+     * @return The encoded message data.
+     * @throws IOException Error on writing.
+     */
+    protected byte[] encodeMessage(NetworkMessage message) throws IOException
+    {
+        final long start = System.nanoTime();
+        try (ByteArrayOutputStream encode = message.encode())
+        {
+            final byte[] encoded = encode.toByteArray();
+            metrics.encoded(message.getType(), System.nanoTime() - start);
+            return encoded;
+        }
+    }
+
+    /**
+     * Dump metrics if dump period elapsed.
+     */
+    protected void updateMetrics()
+    {
+        if (dumpPeriod > 0L && dumpTimer.elapsed(dumpPeriod))
+        {
+            metrics.dump(getClass().getSimpleName());
+            dumpTimer.restart();
         }
     }
 
@@ -93,6 +175,32 @@ abstract class NetworkModel<L extends ClientListener> implements Networker<L>
         listeners.remove(listener);
     }
 
+    @Override
+    public void setReliability(byte type, Reliability reliability)
+    {
+        reliabilities.put(Byte.valueOf(type), reliability);
+    }
+
+    @Override
+    public NetworkMetrics getMetrics()
+    {
+        return metrics;
+    }
+
+    @Override
+    public void setMetricsDump(long period)
+    {
+        dumpPeriod = period;
+        dumpTimer.restart();
+    }
+
+    @Override
+    public void setCompression(int threshold, byte[] dictionary)
+    {
+        compressionThreshold = threshold;
+        compressionDictionary = dictionary;
+    }
+
     @Override
     public void addMessage(NetworkMessage message)
     {
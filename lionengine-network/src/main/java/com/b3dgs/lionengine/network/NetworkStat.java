@@ -0,0 +1,418 @@
+/*
+ * Copyright (C) 2013-2018 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package com.b3dgs.lionengine.network;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Network statistics for a connection or a message type. Round trip times are kept in a fixed size window to compute
+ * percentiles.
+ */
+public final class NetworkStat
+{
+    /** Round trip samples window size. */
+    private static final int RTT_SAMPLES = 128;
+    /** Nano to micro. */
+    private static final long NANO_TO_MICRO = 1_000L;
+    /** Percent. */
+    private static final double PERCENT = 100.0;
+
+    /** Round trip samples in milli. */
+    private final int[] rtt = new int[RTT_SAMPLES];
+    /** Number of round trip samples. */
+    private int rttCount;
+    /** Next round trip sample index. */
+    private int rttIndex;
+    /** Received messages. */
+    private long messagesIn;
+    /** Sent messages. */
+    private long messagesOut;
+    /** Received bytes. */
+    private long bytesIn;
+    /** Sent bytes. */
+    private long bytesOut;
+    /** Encoding time in nano. */
+    private long encodeTime;
+    /** Decoding time in nano. */
+    private long decodeTime;
+    /** Resent messages. */
+    private long retransmits;
+    /** Dropped messages. */
+    private long dropped;
+    /** Messages waiting to be sent or acknowledged. */
+    private int queue;
+    /** Compressed frames original bytes. */
+    private long frameRaw;
+    /** Compressed frames bytes. */
+    private long frameCompressed;
+    /** Compression time in nano. */
+    private long compressTime;
+    /** Decompressed frames bytes. */
+    private long inflatedRaw;
+    /** Received compressed frames bytes. */
+    private long inflatedCompressed;
+    /** Decompression time in nano. */
+    private long decompressTime;
+
+    /**
+     * Create empty stat.
+     */
+    NetworkStat()
+    {
+        super();
+    }
+
+    /**
+     * Create stat copy.
+     * 
+     * @param other The stat to copy.
+     */
+    NetworkStat(NetworkStat other)
+    {
+        copy(other);
+    }
+
+    /**
+     * Copy values from other stat.
+     * 
+     * @param other The stat to copy.
+     */
+    void copy(NetworkStat other)
+    {
+        System.arraycopy(other.rtt, 0, rtt, 0, RTT_SAMPLES);
+        rttCount = other.rttCount;
+        rttIndex = other.rttIndex;
+        messagesIn = other.messagesIn;
+        messagesOut = other.messagesOut;
+        bytesIn = other.bytesIn;
+        bytesOut = other.bytesOut;
+        encodeTime = other.encodeTime;
+        decodeTime = other.decodeTime;
+        retransmits = other.retransmits;
+        dropped = other.dropped;
+        queue = other.queue;
+        frameRaw = other.frameRaw;
+        frameCompressed = other.frameCompressed;
+        compressTime = other.compressTime;
+        inflatedRaw = other.inflatedRaw;
+        inflatedCompressed = other.inflatedCompressed;
+        decompressTime = other.decompressTime;
+    }
+
+    /**
+     * Record a received message.
+     * 
+     * @param bytes The message size.
+     * @param time The decoding time in nano.
+     */
+    void received(int bytes, long time)
+    {
+        messagesIn++;
+        bytesIn += bytes;
+        decodeTime += time;
+    }
+
+    /**
+     * Record a sent message.
+     * 
+     * @param bytes The message size.
+     */
+    void sent(int bytes)
+    {
+        messagesOut++;
+        bytesOut += bytes;
+    }
+
+    /**
+     * Record an encoding time.
+     * 
+     * @param time The encoding time in nano.
+     */
+    void encoded(long time)
+    {
+        encodeTime += time;
+    }
+
+    /**
+     * Record a compressed frame.
+     * 
+     * @param raw The original frame size.
+     * @param compressed The compressed frame size.
+     * @param time The compression time in nano.
+     */
+    void compressed(int raw, int compressed, long time)
+    {
+        frameRaw += raw;
+        frameCompressed += compressed;
+        compressTime += time;
+    }
+
+    /**
+     * Record a decompressed frame.
+     * 
+     * @param raw The decompressed frame size.
+     * @param compressed The received compressed frame size.
+     * @param time The decompression time in nano.
+     */
+    void decompressed(int raw, int compressed, long time)
+    {
+        inflatedRaw += raw;
+        inflatedCompressed += compressed;
+        decompressTime += time;
+    }
+
+    /**
+     * Record a round trip sample.
+     * 
+     * @param sample The round trip time in milli.
+     */
+    void rtt(int sample)
+    {
+        rtt[rttIndex] = sample;
+        rttIndex = (rttIndex + 1) % RTT_SAMPLES;
+        rttCount = Math.min(rttCount + 1, RTT_SAMPLES);
+    }
+
+    /**
+     * Record resent messages.
+     * 
+     * @param count The number of resent messages.
+     */
+    void retransmitted(int count)
+    {
+        retransmits += count;
+    }
+
+    /**
+     * Record a dropped message.
+     */
+    void dropped()
+    {
+        dropped++;
+    }
+
+    /**
+     * Set the current queue depth.
+     * 
+     * @param depth The number of messages waiting.
+     */
+    void setQueue(int depth)
+    {
+        queue = depth;
+    }
+
+    /**
+     * Get the number of received messages.
+     * 
+     * @return The received messages.
+     */
+    public long getMessagesIn()
+    {
+        return messagesIn;
+    }
+
+    /**
+     * Get the number of sent messages.
+     * 
+     * @return The sent messages.
+     */
+    public long getMessagesOut()
+    {
+        return messagesOut;
+    }
+
+    /**
+     * Get the number of received bytes.
+     * 
+     * @return The received bytes.
+     */
+    public long getBytesIn()
+    {
+        return bytesIn;
+    }
+
+    /**
+     * Get the number of sent bytes.
+     * 
+     * @return The sent bytes.
+     */
+    public long getBytesOut()
+    {
+        return bytesOut;
+    }
+
+    /**
+     * Get the total encoding time.
+     * 
+     * @return The encoding time in nano.
+     */
+    public long getEncodeTime()
+    {
+        return encodeTime;
+    }
+
+    /**
+     * Get the total decoding time.
+     * 
+     * @return The decoding time in nano.
+     */
+    public long getDecodeTime()
+    {
+        return decodeTime;
+    }
+
+    /**
+     * Get the number of resent messages (datagram transport only).
+     * 
+     * @return The resent messages.
+     */
+    public long getRetransmits()
+    {
+        return retransmits;
+    }
+
+    /**
+     * Get the number of dropped messages (unknown type, malformed or out of date).
+     * 
+     * @return The dropped messages.
+     */
+    public long getDropped()
+    {
+        return dropped;
+    }
+
+    /**
+     * Get the last queue depth.
+     * 
+     * @return The number of messages waiting to be sent or acknowledged.
+     */
+    public int getQueue()
+    {
+        return queue;
+    }
+
+    /**
+     * Get the frame compression ratio (compressed size on original size).
+     * 
+     * @return The compression ratio, <code>1.0</code> if nothing compressed.
+     */
+    public double getCompressionRatio()
+    {
+        if (frameRaw == 0L)
+        {
+            return 1.0;
+        }
+        return frameCompressed / (double) frameRaw;
+    }
+
+    /**
+     * Get the total frame compression time.
+     * 
+     * @return The compression time in nano.
+     */
+    public long getCompressTime()
+    {
+        return compressTime;
+    }
+
+    /**
+     * Get the received frames compression ratio (compressed size on decompressed size).
+     * 
+     * @return The compression ratio, <code>1.0</code> if nothing decompressed.
+     */
+    public double getDecompressionRatio()
+    {
+        if (inflatedRaw == 0L)
+        {
+            return 1.0;
+        }
+        return inflatedCompressed / (double) inflatedRaw;
+    }
+
+    /**
+     * Get the total frame decompression time.
+     * 
+     * @return The decompression time in nano.
+     */
+    public long getDecompressTime()
+    {
+        return decompressTime;
+    }
+
+    /**
+     * Get a round trip time percentile over the last samples.
+     * 
+     * @param percentile The percentile (between 0 and 100).
+     * @return The round trip time in milli, <code>0</code> if no sample.
+     */
+    public int getRtt(double percentile)
+    {
+        if (rttCount == 0)
+        {
+            return 0;
+        }
+        final int[] sorted = Arrays.copyOf(rtt, rttCount);
+        Arrays.sort(sorted);
+        final int index = (int) Math.ceil(percentile / PERCENT * rttCount) - 1;
+        return sorted[Math.max(0, Math.min(rttCount - 1, index))];
+    }
+
+    /*
+     * Object
+     */
+
+    @Override
+    public String toString()
+    {
+        final int p50 = 50;
+        final int p99 = 99;
+        return new StringBuilder().append("in=")
+                                  .append(messagesIn)
+                                  .append('/')
+                                  .append(bytesIn)
+                                  .append("B out=")
+                                  .append(messagesOut)
+                                  .append('/')
+                                  .append(bytesOut)
+                                  .append("B enc=")
+                                  .append(encodeTime / NANO_TO_MICRO)
+                                  .append("us dec=")
+                                  .append(decodeTime / NANO_TO_MICRO)
+                                  .append("us queue=")
+                                  .append(queue)
+                                  .append(" rtt50=")
+                                  .append(getRtt(p50))
+                                  .append(" rtt99=")
+                                  .append(getRtt(p99))
+                                  .append(" resent=")
+                                  .append(retransmits)
+                                  .append(" dropped=")
+                                  .append(dropped)
+                                  .append(" zip=")
+                                  .append(String.format(Locale.ENGLISH, "%.2f", Double.valueOf(getCompressionRatio())))
+                                  .append('/')
+                                  .append(compressTime / NANO_TO_MICRO)
+                                  .append("us unzip=")
+                                  .append(String.format(Locale.ENGLISH, "%.2f", Double.valueOf(getDecompressionRatio())))
+                                  .append('/')
+                                  .append(decompressTime / NANO_TO_MICRO)
+                                  .append("us")
+                                  .toString();
+    }
+}
@@ -46,6 +46,26 @@ public interface NetworkedWorld extends ClientListener
      */
     void removeNetworkable(Networkable networkable);
 
+    /**
+     * Set the delivery guarantee of a message type. Ignored by {@link Transport#TCP}, which is always
+     * {@link Reliability#RELIABLE_ORDERED}.
+     * 
+     * @param type The message type.
+     * @param reliability The message reliability.
+     */
+    void setReliability(byte type, Reliability reliability);
+
+    /**
+     * Set the outbound frame compression. Server compresses the frames of at least threshold bytes sent to the
+     * clients supporting it (negotiated when connecting). Client advertises support only if threshold is not negative,
+     * otherwise server sends uncompressed frames to it.
+     * Dictionary is only used if server and client share the same one. Ignored by {@link Transport#UDP}.
+     * 
+     * @param threshold The minimum frame size to compress in bytes (negative to disable).
+     * @param dictionary The preset dictionary, typical frame content (<code>null</code> if none).
+     */
+    void setCompression(int threshold, byte[] dictionary);
+
     /**
      * Add a network message.
      * 
@@ -76,4 +96,18 @@ public interface NetworkedWorld extends ClientListener
      * @return The number of bytes sent per second.
      */
     int getBandwidth();
+
+    /**
+     * Get the network metrics, per client connection and per message type.
+     * 
+     * @return The network metrics.
+     */
+    NetworkMetrics getMetrics();
+
+    /**
+     * Set the periodic metrics dump through {@link com.b3dgs.lionengine.Verbose}.
+     * 
+     * @param period The dump period in milli (<code>0</code> to disable).
+     */
+    void setMetricsDump(long period);
 }
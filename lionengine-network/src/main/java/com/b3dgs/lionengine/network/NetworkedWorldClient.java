@@ -59,5 +59,5 @@ public interface NetworkedWorldClient extends NetworkedWorld, ConnectionListener
      * 
      * @return The network id.
      */
-    byte getId();
+    int getId();
 }
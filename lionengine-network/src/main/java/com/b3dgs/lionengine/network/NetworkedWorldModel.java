@@ -30,7 +30,7 @@ import com.b3dgs.lionengine.network.purview.Networkable;
  * @param <L> Listener type.
  * @param <N> Network implementation.
  */
-abstract class NetworkedWorldModel<L extends ClientListener, N extends NetworkModel<L>> implements NetworkedWorld
+abstract class NetworkedWorldModel<L extends ClientListener, N extends Networker<L>> implements NetworkedWorld
 {
     /** List of networkable objects. */
     protected final Collection<Networkable> networkables;
@@ -105,6 +105,18 @@ abstract class NetworkedWorldModel<L extends ClientListener, N extends NetworkMo
         networkables.remove(networkable);
     }
 
+    @Override
+    public void setReliability(byte type, Reliability reliability)
+    {
+        network.setReliability(type, reliability);
+    }
+
+    @Override
+    public void setCompression(int threshold, byte[] dictionary)
+    {
+        network.setCompression(threshold, dictionary);
+    }
+
     @Override
     public void addMessage(NetworkMessage message)
     {
@@ -157,19 +169,31 @@ abstract class NetworkedWorldModel<L extends ClientListener, N extends NetworkMo
     }
 
     @Override
-    public void notifyClientConnected(Byte id, String name)
+    public NetworkMetrics getMetrics()
+    {
+        return network.getMetrics();
+    }
+
+    @Override
+    public void setMetricsDump(long period)
+    {
+        network.setMetricsDump(period);
+    }
+
+    @Override
+    public void notifyClientConnected(Integer id, String name)
     {
         // Nothing to do
     }
 
     @Override
-    public void notifyClientDisconnected(Byte id, String name)
+    public void notifyClientDisconnected(Integer id, String name)
     {
         // Nothing to do
     }
 
     @Override
-    public void notifyClientNameChanged(Byte id, String name)
+    public void notifyClientNameChanged(Integer id, String name)
     {
         // Nothing to do
     }
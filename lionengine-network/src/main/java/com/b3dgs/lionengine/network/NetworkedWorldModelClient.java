@@ -22,7 +22,7 @@ import com.b3dgs.lionengine.network.message.NetworkMessageDecoder;
 /**
  * Networkable world implementation client side.
  */
-public class NetworkedWorldModelClient extends NetworkedWorldModel<ConnectionListener, ClientImpl>
+public class NetworkedWorldModelClient extends NetworkedWorldModel<ConnectionListener, Client>
                                        implements NetworkedWorldClient
 {
     /**
@@ -32,7 +32,29 @@ public class NetworkedWorldModelClient extends NetworkedWorldModel<ConnectionLis
      */
     public NetworkedWorldModelClient(NetworkMessageDecoder decoder)
     {
-        super(new ClientImpl(decoder));
+        this(decoder, Transport.TCP);
+    }
+
+    /**
+     * Constructor.
+     * 
+     * @param decoder The decoder reference.
+     * @param transport The transport used.
+     */
+    public NetworkedWorldModelClient(NetworkMessageDecoder decoder, Transport transport)
+    {
+        super(Transport.UDP == transport ? new ClientUdp(decoder, new LinkSimulator()) : new ClientImpl(decoder));
+    }
+
+    /**
+     * Constructor using {@link Transport#UDP} over a simulated link (testing purpose).
+     * 
+     * @param decoder The decoder reference.
+     * @param simulator The link simulator.
+     */
+    public NetworkedWorldModelClient(NetworkMessageDecoder decoder, LinkSimulator simulator)
+    {
+        super(new ClientUdp(decoder, simulator));
     }
 
     /*
@@ -76,7 +98,7 @@ public class NetworkedWorldModelClient extends NetworkedWorldModel<ConnectionLis
     }
 
     @Override
-    public byte getId()
+    public int getId()
     {
         return network.getId();
     }
@@ -86,7 +108,7 @@ public class NetworkedWorldModelClient extends NetworkedWorldModel<ConnectionLis
      */
 
     @Override
-    public void notifyConnectionEstablished(Byte id, String name)
+    public void notifyConnectionEstablished(Integer id, String name)
     {
         // Nothing to do
     }
@@ -98,7 +120,7 @@ public class NetworkedWorldModelClient extends NetworkedWorldModel<ConnectionLis
     }
 
     @Override
-    public void notifyConnectionTerminated(Byte id)
+    public void notifyConnectionTerminated(Integer id)
     {
         // Nothing to do
     }
@@ -22,7 +22,7 @@ import com.b3dgs.lionengine.network.message.NetworkMessageDecoder;
 /**
  * Networkable world implementation server side.
  */
-public class NetworkedWorldModelServer extends NetworkedWorldModel<ClientListener, ServerImpl>
+public class NetworkedWorldModelServer extends NetworkedWorldModel<ClientListener, Server>
                                        implements NetworkedWorldServer
 {
     /**
@@ -32,7 +32,29 @@ public class NetworkedWorldModelServer extends NetworkedWorldModel<ClientListene
      */
     public NetworkedWorldModelServer(NetworkMessageDecoder decoder)
     {
-        super(new ServerImpl(decoder));
+        this(decoder, Transport.TCP);
+    }
+
+    /**
+     * Constructor.
+     * 
+     * @param decoder The decoder reference.
+     * @param transport The transport used.
+     */
+    public NetworkedWorldModelServer(NetworkMessageDecoder decoder, Transport transport)
+    {
+        super(Transport.UDP == transport ? new ServerUdp(decoder, new LinkSimulator()) : new ServerImpl(decoder));
+    }
+
+    /**
+     * Constructor using {@link Transport#UDP} over a simulated link (testing purpose).
+     * 
+     * @param decoder The decoder reference.
+     * @param simulator The link simulator.
+     */
+    public NetworkedWorldModelServer(NetworkMessageDecoder decoder, LinkSimulator simulator)
+    {
+        super(new ServerUdp(decoder, simulator));
     }
 
     /*
@@ -51,6 +73,12 @@ public class NetworkedWorldModelServer extends NetworkedWorldModel<ClientListene
         network.start(name, port);
     }
 
+    @Override
+    public int getNumberOfClients()
+    {
+        return network.getNumberOfClients();
+    }
+
     @Override
     public void disconnect()
     {
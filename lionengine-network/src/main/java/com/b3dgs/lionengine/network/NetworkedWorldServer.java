@@ -33,4 +33,11 @@ public interface NetworkedWorldServer extends NetworkedWorld
      * @throws LionEngineException If unable to start server.
      */
     void startServer(String name, int port, String messageOfTheDay);
+
+    /**
+     * Get the number of connected clients.
+     * 
+     * @return The number of clients.
+     */
+    int getNumberOfClients();
 }
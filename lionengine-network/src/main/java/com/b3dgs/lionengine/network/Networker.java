@@ -47,6 +47,26 @@ interface Networker<L extends ClientListener>
      */
     void removeListener(L listener);
 
+    /**
+     * Set the delivery guarantee of a message type. Ignored by stream transport, which is always
+     * {@link Reliability#RELIABLE_ORDERED}.
+     * 
+     * @param type The message type.
+     * @param reliability The message reliability.
+     */
+    void setReliability(byte type, Reliability reliability);
+
+    /**
+     * Set the outbound frame compression. Server compresses the frames of at least threshold bytes sent to the
+     * clients supporting it (negotiated when connecting). Client advertises support only if threshold is not negative,
+     * otherwise server sends uncompressed frames to it.
+     * Dictionary is only used if server and client share the same one. Ignored by datagram transport.
+     * 
+     * @param threshold The minimum frame size to compress in bytes (negative to disable).
+     * @param dictionary The preset dictionary, typical frame content (<code>null</code> if none).
+     */
+    void setCompression(int threshold, byte[] dictionary);
+
     /**
      * Add a message to the send list.
      * 
@@ -84,4 +104,18 @@ interface Networker<L extends ClientListener>
      * @return The number of bytes sent per second.
      */
     int getBandwidth();
+
+    /**
+     * Get the network metrics, per client connection and per message type.
+     * 
+     * @return The network metrics.
+     */
+    NetworkMetrics getMetrics();
+
+    /**
+     * Set the periodic metrics dump through {@link com.b3dgs.lionengine.Verbose}.
+     * 
+     * @param period The dump period in milli (<code>0</code> to disable).
+     */
+    void setMetricsDump(long period);
 }
@@ -0,0 +1,32 @@
+/*
+ * Copyright (C) 2013-2018 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package com.b3dgs.lionengine.network;
+
+/**
+ * List of message delivery guarantees, selectable per message type. Stream based transport always delivers as
+ * {@link #RELIABLE_ORDERED}.
+ */
+public enum Reliability
+{
+    /** Message is resent until acknowledged, and delivered in sending order. */
+    RELIABLE_ORDERED,
+    /** Message is resent until acknowledged, and delivered as soon as received. */
+    RELIABLE_UNORDERED,
+    /** Message is never resent, and dropped if older than the last received one. */
+    UNRELIABLE_SEQUENCED;
+}
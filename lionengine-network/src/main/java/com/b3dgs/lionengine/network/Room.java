@@ -0,0 +1,254 @@
+/*
+ * Copyright (C) 2013-2018 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package com.b3dgs.lionengine.network;
+
+import com.b3dgs.lionengine.Constant;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Verbose;
+
+/**
+ * Independent match hosted by a {@link RoomServer}. A room owns its networked world (and so its own client set, on
+ * its own port), and runs on its own thread at a fixed rate.
+ * <p>
+ * Client ids go up to {@link com.b3dgs.lionengine.network.message.NetworkMessage#MAX_CLIENT_ID} per room, still
+ * written as a single byte on the wire while lower than 128 (as for single server games). Client and entity ids are
+ * made unique across the process with {@link #getClientGlobalId(int)} and {@link #getEntityGlobalId(short)}.
+ * </p>
+ */
+public final class Room
+{
+    /** Client and entity id bits. */
+    private static final int ID_BITS = 16;
+    /** Unsigned short mask. */
+    private static final int SHORT_MASK = 0xFFFF;
+    /** Nano to milli. */
+    private static final long NANO_TO_MILLI = 1_000_000L;
+
+    /** Room index in server. */
+    private final int index;
+    /** Room name. */
+    private final String name;
+    /** Room port. */
+    private final int port;
+    /** Tick period in nano. */
+    private final long period;
+    /** Networked world. */
+    private final NetworkedWorldServer world;
+    /** Room updater. */
+    private final RoomUpdater updater;
+    /** Room thread. */
+    private final Thread thread;
+    /** Running flag. */
+    private volatile boolean running;
+    /** Current tick. */
+    private volatile long tick;
+    /** Number of clients, published by room thread. */
+    private volatile int clients;
+
+    /**
+     * Create room.
+     * 
+     * @param index The room index in server.
+     * @param name The room name.
+     * @param port The room port.
+     * @param rate The tick rate per second.
+     * @param world The networked world.
+     * @param updater The room updater.
+     */
+    Room(int index, String name, int port, int rate, NetworkedWorldServer world, RoomUpdater updater)
+    {
+        this.index = index;
+        this.name = name;
+        this.port = port;
+        this.world = world;
+        this.updater = updater;
+        period = Constant.ONE_SECOND_IN_NANO / rate;
+        thread = new Thread(this::run, "Room " + name);
+        thread.setDaemon(true);
+    }
+
+    /**
+     * Start the room server and its thread.
+     * 
+     * @param messageOfTheDay The message of the day.
+     * @throws LionEngineException If unable to start server.
+     */
+    void start(String messageOfTheDay)
+    {
+        world.startServer(name, port, messageOfTheDay);
+        running = true;
+        thread.start();
+    }
+
+    /**
+     * Stop the room thread, and disconnect its clients. Blocks until room thread terminated.
+     */
+    public void stop()
+    {
+        running = false;
+        if (Thread.currentThread() != thread)
+        {
+            try
+            {
+                thread.join();
+            }
+            catch (final InterruptedException exception)
+            {
+                Verbose.exception(exception);
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Get the process wide client id.
+     * 
+     * @param clientId The client id in room.
+     * @return The unique client id across rooms.
+     */
+    public int getClientGlobalId(int clientId)
+    {
+        return index << ID_BITS | clientId & SHORT_MASK;
+    }
+
+    /**
+     * Get the process wide entity id.
+     * 
+     * @param entityId The entity id in room.
+     * @return The unique entity id across rooms.
+     */
+    public long getEntityGlobalId(short entityId)
+    {
+        return (long) index << ID_BITS | entityId & SHORT_MASK;
+    }
+
+    /**
+     * Get the room index in server.
+     * 
+     * @return The room index.
+     */
+    public int getIndex()
+    {
+        return index;
+    }
+
+    /**
+     * Get the room name.
+     * 
+     * @return The room name.
+     */
+    public String getName()
+    {
+        return name;
+    }
+
+    /**
+     * Get the room port.
+     * 
+     * @return The room port.
+     */
+    public int getPort()
+    {
+        return port;
+    }
+
+    /**
+     * Get the room networked world. Must only be accessed from the room thread (inside {@link RoomUpdater}).
+     * 
+     * @return The networked world.
+     */
+    public NetworkedWorldServer getWorld()
+    {
+        return world;
+    }
+
+    /**
+     * Get the current tick.
+     * 
+     * @return The number of ticks performed.
+     */
+    public long getTick()
+    {
+        return tick;
+    }
+
+    /**
+     * Get the number of connected clients. Safe from any thread, as published by the room thread after each tick.
+     * 
+     * @return The number of clients.
+     */
+    public int getNumberOfClients()
+    {
+        return clients;
+    }
+
+    /**
+     * Check if room is running.
+     * 
+     * @return <code>true</code> if running, <code>false</code> else.
+     */
+    public boolean isRunning()
+    {
+        return running;
+    }
+
+    /**
+     * Room loop, at fixed rate. Late ticks are performed without waiting.
+     */
+    private void run()
+    {
+        long next = System.nanoTime();
+        while (running)
+        {
+            try
+            {
+                world.receiveMessages();
+                updater.update(this, Constant.EXTRP);
+                world.sendMessages();
+                clients = world.getNumberOfClients();
+            }
+            catch (final RuntimeException exception)
+            {
+                Verbose.exception(exception, "Error in room: ", name);
+            }
+            tick++;
+
+            next += period;
+            final long remaining = next - System.nanoTime();
+            if (remaining > 0)
+            {
+                try
+                {
+                    Thread.sleep(remaining / NANO_TO_MILLI, (int) (remaining % NANO_TO_MILLI));
+                }
+                catch (final InterruptedException exception)
+                {
+                    Verbose.exception(exception);
+                    Thread.currentThread().interrupt();
+                    running = false;
+                }
+            }
+            else
+            {
+                next = System.nanoTime();
+            }
+        }
+        world.disconnect();
+        clients = 0;
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (C) 2013-2018 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package com.b3dgs.lionengine.network;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.network.message.NetworkMessageDecoder;
+
+/**
+ * Host many independent {@link Room} in the same process. Each room has its own networked world, client set and port,
+ * and is updated on its own thread, so many small matches can be consolidated on one machine.
+ * <p>
+ * Clients connect to a room as to a single server, the wire format is unchanged.
+ * </p>
+ */
+public final class RoomServer
+{
+    /** Room already exists error. */
+    static final String ERROR_ROOM = "Room already exists: ";
+
+    /** Rooms by name. */
+    private final Map<String, Room> rooms = new LinkedHashMap<>();
+    /** Message decoder. */
+    private final NetworkMessageDecoder decoder;
+    /** Transport used by rooms. */
+    private final Transport transport;
+    /** Next room index. */
+    private int nextIndex;
+
+    /**
+     * Create room server.
+     * 
+     * @param decoder The message decoder shared by rooms (must not be <code>null</code>).
+     * @param transport The transport used by rooms (must not be <code>null</code>).
+     * @throws LionEngineException If invalid arguments.
+     */
+    public RoomServer(NetworkMessageDecoder decoder, Transport transport)
+    {
+        Check.notNull(decoder);
+        Check.notNull(transport);
+
+        this.decoder = decoder;
+        this.transport = transport;
+    }
+
+    /**
+     * Open a new room, start its server and its thread.
+     * 
+     * @param name The room name (must not be <code>null</code>).
+     * @param port The room port.
+     * @param rate The room tick rate per second (strictly positive).
+     * @param messageOfTheDay The message of the day (can be <code>null</code>).
+     * @param updater The room updater, called on room thread (must not be <code>null</code>).
+     * @return The opened room.
+     * @throws LionEngineException If invalid arguments, room already exists or unable to start server.
+     */
+    public synchronized Room open(String name, int port, int rate, String messageOfTheDay, RoomUpdater updater)
+    {
+        Check.notNull(name);
+        Check.superiorStrict(rate, 0);
+        Check.notNull(updater);
+
+        if (rooms.containsKey(name))
+        {
+            throw new LionEngineException(ERROR_ROOM + name);
+        }
+        final Room room = new Room(nextIndex,
+                                   name,
+                                   port,
+                                   rate,
+                                   new NetworkedWorldModelServer(decoder, transport),
+                                   updater);
+        room.start(messageOfTheDay);
+        rooms.put(name, room);
+        nextIndex++;
+
+        return room;
+    }
+
+    /**
+     * Stop and remove a room. Does nothing if room does not exist.
+     * 
+     * @param name The room name.
+     */
+    public synchronized void close(String name)
+    {
+        final Room room = rooms.remove(name);
+        if (room != null)
+        {
+            room.stop();
+        }
+    }
+
+    /**
+     * Stop and remove all rooms.
+     */
+    public synchronized void shutdown()
+    {
+        for (final Room room : rooms.values())
+        {
+            room.stop();
+        }
+        rooms.clear();
+    }
+
+    /**
+     * Get a room by name.
+     * 
+     * @param name The room name.
+     * @return The room, <code>null</code> if none.
+     */
+    public synchronized Room getRoom(String name)
+    {
+        return rooms.get(name);
+    }
+
+    /**
+     * Get the opened rooms.
+     * 
+     * @return The rooms copy.
+     */
+    public synchronized Collection<Room> getRooms()
+    {
+        return new ArrayList<>(rooms.values());
+    }
+
+    /**
+     * Get the total number of clients connected to all rooms, as last published by each room thread.
+     * 
+     * @return The number of clients.
+     */
+    public synchronized int getNumberOfClients()
+    {
+        int count = 0;
+        for (final Room room : rooms.values())
+        {
+            count += room.getNumberOfClients();
+        }
+        return count;
+    }
+}
@@ -45,7 +45,7 @@ interface Server extends Networker<ClientListener>
      * 
      * @param clientId The client id.
      */
-    void removeClient(Byte clientId);
+    void removeClient(Integer clientId);
 
     /**
      * Get the number of client.
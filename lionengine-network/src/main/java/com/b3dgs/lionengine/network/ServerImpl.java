@@ -20,14 +20,17 @@ package com.b3dgs.lionengine.network;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
 import java.net.ServerSocket;
 import java.net.Socket;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.b3dgs.lionengine.LionEngineException;
 import com.b3dgs.lionengine.Timing;
@@ -43,6 +46,8 @@ final class ServerImpl extends NetworkModel<ClientListener> implements Server
 {
     /** Server name log. */
     private static final String SERVER = "Server: ";
+    /** Maximum number of clients (ids are positive, -1 is reserved for all). */
+    static final int MAX_CLIENTS = NetworkMessage.MAX_CLIENT_ID + 1;
 
     /**
      * Send the id and the name to the client.
@@ -55,7 +60,7 @@ final class ServerImpl extends NetworkModel<ClientListener> implements Server
     private static void writeIdAndName(ClientSocket client, int id, String name) throws IOException
     {
         // New client id
-        client.getOut().writeByte(id);
+        NetworkMessage.writeClientId(client.getOut(), id);
         // New client name
         final byte[] data = name.getBytes(NetworkMessage.CHARSET);
         client.getOut().writeByte(data.length);
@@ -70,17 +75,21 @@ final class ServerImpl extends NetworkModel<ClientListener> implements Server
      * @param expected The expected client state.
      * @return <code>true</code> if valid, <code>false</code> else.
      */
-    private static boolean checkValidity(ClientSocket client, byte from, StateConnection expected)
+    private static boolean checkValidity(ClientSocket client, int from, StateConnection expected)
     {
         return from >= 0 && client.getState() == expected;
     }
 
     /** Client list. */
-    private final Map<Byte, ClientSocket> clients;
+    private final Map<Integer, ClientSocket> clients;
     /** Remove list. */
     private final Collection<ClientSocket> toRemove;
     /** Average bandwidth. */
     private final Timing bandwidthTimer;
+    /** Frame buffer. */
+    private final ByteArrayOutputStream frame;
+    /** Number of clients, updated from accept and network threads. */
+    private final AtomicInteger clientsNumber;
     /** Connection listener. */
     private ClientConnecter clientConnectionListener;
     /** Server socket. */
@@ -89,12 +98,10 @@ final class ServerImpl extends NetworkModel<ClientListener> implements Server
     private int port;
     /** Message of the day. */
     private String messageOfTheDay;
-    /** Number of clients. */
-    private int clientsNumber;
     /** Started flag. */
     private boolean started;
-    /** Last id. */
-    private byte lastId;
+    /** Last id (guarded by this, only used to accept clients). */
+    private int lastId;
     /** Will remove a client. */
     private boolean willRemove;
     /** Bandwidth size. */
@@ -110,11 +117,12 @@ final class ServerImpl extends NetworkModel<ClientListener> implements Server
     ServerImpl(NetworkMessageDecoder decoder)
     {
         super(decoder);
-        clients = new HashMap<>(1);
+        clients = new ConcurrentHashMap<>(1);
         toRemove = new HashSet<>(1);
         bandwidthTimer = new Timing();
+        frame = new ByteArrayOutputStream();
+        clientsNumber = new AtomicInteger();
         willRemove = false;
-        clientsNumber = 0;
         messageOfTheDay = null;
         port = -1;
         started = false;
@@ -123,44 +131,59 @@ final class ServerImpl extends NetworkModel<ClientListener> implements Server
     }
 
     /**
-     * Add a client.
+     * Add a client. Called from the accept thread.
      * 
      * @param socket The socket to add.
      */
-    void notifyNewClientConnected(Socket socket)
+    synchronized void notifyNewClientConnected(Socket socket)
     {
+        final int id = nextFreeId();
         try
         {
-            int secure = 0;
-            while (clients.containsKey(Byte.valueOf(lastId)))
+            if (id < 0)
             {
-                lastId++;
-                secure++;
-                final int max = 127;
-                if (secure > max)
-                {
-                    break;
-                }
+                Verbose.warning(Server.class, "addClient", "Server full, rejected: ", socket.toString());
+                socket.close();
+                return;
             }
             // Prepare first data
-            final ClientSocket client = new ClientSocket(lastId, socket);
+            final ClientSocket client = new ClientSocket(id, socket);
             client.setState(StateConnection.CONNECTING);
             client.getOut().writeByte(NetworkMessageSystemId.CONNECTING);
-            client.getOut().writeByte(client.getId());
+            NetworkMessage.writeClientId(client.getOut(), client.getId());
             client.getOut().flush();
 
             // Update list
-            clients.put(Byte.valueOf(client.getId()), client);
-            clientsNumber++;
+            clients.put(Integer.valueOf(client.getId()), client);
+            clientsNumber.incrementAndGet();
         }
         catch (final IOException exception)
         {
-            errorNewClientConnected(exception);
+            errorNewClientConnected(exception, id);
         }
         catch (final LionEngineException exception)
         {
-            errorNewClientConnected(exception);
+            errorNewClientConnected(exception, id);
+        }
+    }
+
+    /**
+     * Find the next free client id, starting from last one.
+     * 
+     * @return The free id, stored as last id, <code>-1</code> if server is full.
+     */
+    private int nextFreeId()
+    {
+        for (int i = 0; i < MAX_CLIENTS; i++)
+        {
+            final int id = (lastId + i) % MAX_CLIENTS;
+            if (!clients.containsKey(Integer.valueOf(id)))
+            {
+                lastId = id;
+                return id;
+            }
         }
+        return -1;
     }
 
     /**
@@ -173,8 +196,9 @@ final class ServerImpl extends NetworkModel<ClientListener> implements Server
         if (client != null)
         {
             toRemove.add(client);
+            metrics.remove(client.getId());
             client.terminate();
-            clientsNumber--;
+            clientsNumber.decrementAndGet();
             willRemove = true;
             Verbose.info(SERVER, client.getName(), " disconnected");
         }
@@ -184,13 +208,14 @@ final class ServerImpl extends NetworkModel<ClientListener> implements Server
      * Error on new client connection.
      * 
      * @param exception The associated exception.
+     * @param id The client id being added.
      */
-    private void errorNewClientConnected(Exception exception)
+    private void errorNewClientConnected(Exception exception, int id)
     {
         Verbose.warning(Server.class, "addClient", "Error on adding client: ", exception.getMessage());
-        if (clients.remove(Byte.valueOf(lastId)) != null)
+        if (clients.remove(Integer.valueOf(id)) != null)
         {
-            clientsNumber--;
+            clientsNumber.decrementAndGet();
         }
     }
 
@@ -203,7 +228,7 @@ final class ServerImpl extends NetworkModel<ClientListener> implements Server
      * @param expected The expected client state.
      * @throws IOException If error.
      */
-    private void receiveConnecting(ClientSocket client, DataInputStream buffer, byte from, StateConnection expected)
+    private void receiveConnecting(ClientSocket client, DataInputStream buffer, int from, StateConnection expected)
             throws IOException
     {
         if (ServerImpl.checkValidity(client, from, expected))
@@ -216,19 +241,31 @@ final class ServerImpl extends NetworkModel<ClientListener> implements Server
             }
             client.setName(new String(name, NetworkMessage.CHARSET));
 
+            // Negotiate frame compression
+            final int capabilitySize = 5;
+            if (buffer.available() >= capabilitySize)
+            {
+                final byte flags = buffer.readByte();
+                final int checksum = buffer.readInt();
+                if ((flags & NetworkMessageSystemId.FLAG_COMPRESSION) != 0 && compressionThreshold >= 0)
+                {
+                    final boolean shared = checksum == FrameCodec.getChecksum(compressionDictionary);
+                    client.setCodec(new FrameCodec(shared ? compressionDictionary : null));
+                }
+            }
+
             // Send new state
             client.setState(StateConnection.CONNECTED);
             client.getOut().writeByte(NetworkMessageSystemId.CONNECTED);
-            client.getOut().writeByte(client.getId());
-            client.getOut().writeByte(clientsNumber - 1);
+            NetworkMessage.writeClientId(client.getOut(), client.getId());
 
-            // Send the list of other clients
-            for (final ClientSocket other : clients.values())
+            // Send the list of other clients (count written as a client id)
+            final List<ClientSocket> others = new ArrayList<>(clients.values());
+            others.remove(client);
+            NetworkMessage.writeClientId(client.getOut(), others.size());
+            for (final ClientSocket other : others)
             {
-                if (other.getId() != from)
-                {
-                    ServerImpl.writeIdAndName(client, other.getId(), other.getName());
-                }
+                ServerImpl.writeIdAndName(client, other.getId(), other.getName());
             }
             // Send message of the day if has
             if (messageOfTheDay != null)
@@ -250,7 +287,7 @@ final class ServerImpl extends NetworkModel<ClientListener> implements Server
      * @param expected The expected client state.
      * @throws IOException If error.
      */
-    private void receiveConnected(ClientSocket client, byte from, StateConnection expected) throws IOException
+    private void receiveConnected(ClientSocket client, int from, StateConnection expected) throws IOException
     {
         if (ServerImpl.checkValidity(client, from, expected))
         {
@@ -258,7 +295,7 @@ final class ServerImpl extends NetworkModel<ClientListener> implements Server
             Verbose.info(SERVER, client.getName(), " connected");
             for (final ClientListener listener : listeners)
             {
-                listener.notifyClientConnected(Byte.valueOf(client.getId()), client.getName());
+                listener.notifyClientConnected(Integer.valueOf(client.getId()), client.getName());
             }
 
             // Notify other clients
@@ -284,7 +321,7 @@ final class ServerImpl extends NetworkModel<ClientListener> implements Server
      * @param expected The expected client state.
      * @throws IOException If error.
      */
-    private void receiveDisconnected(ClientSocket client, byte from, StateConnection expected) throws IOException
+    private void receiveDisconnected(ClientSocket client, int from, StateConnection expected) throws IOException
     {
         if (ServerImpl.checkValidity(client, from, expected))
         {
@@ -292,7 +329,7 @@ final class ServerImpl extends NetworkModel<ClientListener> implements Server
             client.setState(StateConnection.DISCONNECTED);
             for (final ClientListener listener : listeners)
             {
-                listener.notifyClientDisconnected(Byte.valueOf(client.getId()), client.getName());
+                listener.notifyClientDisconnected(Integer.valueOf(client.getId()), client.getName());
             }
             for (final ClientSocket other : clients.values())
             {
@@ -305,7 +342,7 @@ final class ServerImpl extends NetworkModel<ClientListener> implements Server
                 // Send
                 other.getOut().flush();
             }
-            removeClient(Byte.valueOf(from));
+            removeClient(Integer.valueOf(from));
         }
     }
 
@@ -318,7 +355,7 @@ final class ServerImpl extends NetworkModel<ClientListener> implements Server
      * @param expected The expected client state.
      * @throws IOException If error.
      */
-    private void receiveRenamed(ClientSocket client, DataInputStream buffer, byte from, StateConnection expected)
+    private void receiveRenamed(ClientSocket client, DataInputStream buffer, int from, StateConnection expected)
             throws IOException
     {
         if (ServerImpl.checkValidity(client, from, expected))
@@ -335,7 +372,7 @@ final class ServerImpl extends NetworkModel<ClientListener> implements Server
 
             for (final ClientListener listener : listeners)
             {
-                listener.notifyClientNameChanged(Byte.valueOf(client.getId()), client.getName());
+                listener.notifyClientNameChanged(Integer.valueOf(client.getId()), client.getName());
             }
 
             // Notify all clients
@@ -357,12 +394,12 @@ final class ServerImpl extends NetworkModel<ClientListener> implements Server
      * @param expected The expected client state.
      * @throws IOException If error.
      */
-    private void receiveMessage(ClientSocket client, DataInputStream buffer, byte from, StateConnection expected)
+    private void receiveMessage(ClientSocket client, DataInputStream buffer, int from, StateConnection expected)
             throws IOException
     {
         if (ServerImpl.checkValidity(client, from, expected))
         {
-            final byte dest = buffer.readByte();
+            final int dest = NetworkMessage.readClientId(buffer);
             final byte type = buffer.readByte();
             final int size = buffer.readInt();
             if (size > 0)
@@ -388,7 +425,7 @@ final class ServerImpl extends NetworkModel<ClientListener> implements Server
      * @param from The source ID.
      * @throws IOException If error when reading.
      */
-    private void updateMessage(ClientSocket client, DataInputStream buffer, byte messageSystemId, byte from)
+    private void updateMessage(ClientSocket client, DataInputStream buffer, byte messageSystemId, int from)
             throws IOException
     {
         switch (messageSystemId)
@@ -418,6 +455,64 @@ final class ServerImpl extends NetworkModel<ClientListener> implements Server
         }
     }
 
+    /**
+     * Send the messages frame to a client, compressed if supported by client and large enough.
+     * 
+     * @param client The client destination.
+     * @param encoded The encoded messages, in send order (<code>null</code> if not encoded).
+     * @throws IOException If error when writing.
+     */
+    private void sendFrame(ClientSocket client, List<byte[]> encoded) throws IOException
+    {
+        frame.reset();
+        final DataOutputStream out = new DataOutputStream(frame);
+        int count = 0;
+        int i = 0;
+        for (final NetworkMessage message : messagesOut)
+        {
+            final byte[] data = encoded.get(i++);
+            if (data != null && (message.getClientDestId() == client.getId() || message.getClientDestId() == -1))
+            {
+                // Message header
+                out.writeByte(NetworkMessageSystemId.USER_MESSAGE);
+                NetworkMessage.writeClientId(out, message.getClientId());
+                NetworkMessage.writeClientId(out, message.getClientDestId());
+                out.writeByte(message.getType());
+                // Message content
+                out.writeInt(data.length);
+                out.write(data);
+
+                final int headerSize = 4;
+                bandwidth += headerSize + data.length;
+                metrics.sent(client.getId(), message.getType(), headerSize + data.length);
+                count++;
+            }
+        }
+        metrics.setQueue(client.getId(), count);
+        if (count == 0)
+        {
+            return;
+        }
+        final byte[] raw = frame.toByteArray();
+        final FrameCodec codec = client.getCodec();
+        if (codec != null && raw.length >= compressionThreshold)
+        {
+            final long start = System.nanoTime();
+            final int size = codec.deflate(raw, raw.length);
+            metrics.compressed(client.getId(), raw.length, size, System.nanoTime() - start);
+
+            client.getOut().writeByte(NetworkMessageSystemId.COMPRESSED_FRAME);
+            client.getOut().writeInt(raw.length);
+            client.getOut().writeInt(size);
+            client.getOut().write(codec.getBuffer(), 0, size);
+        }
+        else
+        {
+            client.getOut().write(raw);
+        }
+        client.getOut().flush();
+    }
+
     /*
      * Server
      */
@@ -450,7 +545,7 @@ final class ServerImpl extends NetworkModel<ClientListener> implements Server
     }
 
     @Override
-    public void removeClient(Byte clientId)
+    public void removeClient(Integer clientId)
     {
         removeClient(clients.get(clientId));
     }
@@ -458,7 +553,7 @@ final class ServerImpl extends NetworkModel<ClientListener> implements Server
     @Override
     public int getNumberOfClients()
     {
-        return clientsNumber;
+        return clientsNumber.get();
     }
 
     @Override
@@ -536,10 +631,14 @@ final class ServerImpl extends NetworkModel<ClientListener> implements Server
         {
             // Get client data from socket
             final byte[] data = client.receiveMessages();
+            if (data == null)
+            {
+                continue;
+            }
             try (DataInputStream buffer = new DataInputStream(new ByteArrayInputStream(data)))
             {
                 final byte messageSystemId = buffer.readByte();
-                final byte from = buffer.readByte();
+                final int from = NetworkMessage.readClientId(buffer);
 
                 // Check id
                 if (from != client.getId())
@@ -559,7 +658,7 @@ final class ServerImpl extends NetworkModel<ClientListener> implements Server
         {
             for (final ClientSocket client : toRemove)
             {
-                clients.remove(Byte.valueOf(client.getId()));
+                clients.remove(Integer.valueOf(client.getId()));
             }
             toRemove.clear();
             willRemove = false;
@@ -569,40 +668,36 @@ final class ServerImpl extends NetworkModel<ClientListener> implements Server
     @Override
     public void sendMessages()
     {
-        // Send messages
+        // Encode messages once
         messagesOut.addAll(messagesIn);
+        final List<byte[]> encoded = new ArrayList<>(messagesOut.size());
         for (final NetworkMessage message : messagesOut)
         {
-            for (final ClientSocket client : clients.values())
+            try
             {
-                if (!(message.getClientDestId() == client.getId() || message.getClientDestId() == -1))
-                {
-                    continue;
-                }
-                try (ByteArrayOutputStream encode = message.encode())
-                {
-                    final byte[] encoded = encode.toByteArray();
-                    // Message header
-                    client.getOut().writeByte(NetworkMessageSystemId.USER_MESSAGE);
-                    client.getOut().writeByte(message.getClientId());
-                    client.getOut().writeByte(message.getClientDestId());
-                    client.getOut().writeByte(message.getType());
-                    // Message content
-                    client.getOut().writeInt(encoded.length);
-                    client.getOut().write(encoded);
-                    client.getOut().flush();
-
-                    final int headerSize = 4;
-                    bandwidth += headerSize + encoded.length;
-                }
-                catch (final IOException exception)
-                {
-                    Verbose.exception(exception,
-                                      "Unable to send the messages for client: ",
-                                      String.valueOf(client.getId()));
-                }
+                encoded.add(encodeMessage(message));
+            }
+            catch (final IOException exception)
+            {
+                Verbose.exception(exception, "Unable to encode the message: ", String.valueOf(message.getType()));
+                encoded.add(null);
+            }
+        }
+        // Send a frame per client
+        for (final ClientSocket client : clients.values())
+        {
+            try
+            {
+                sendFrame(client, encoded);
+            }
+            catch (final IOException exception)
+            {
+                Verbose.exception(exception,
+                                  "Unable to send the messages for client: ",
+                                  String.valueOf(client.getId()));
             }
         }
+        updateMetrics();
         final long bandwidthMilli = 1000L;
         if (bandwidthTimer.elapsed(bandwidthMilli))
         {
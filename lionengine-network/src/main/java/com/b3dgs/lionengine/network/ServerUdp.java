@@ -0,0 +1,625 @@
+/*
+ * Copyright (C) 2013-2018 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package com.b3dgs.lionengine.network;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Timing;
+import com.b3dgs.lionengine.Verbose;
+import com.b3dgs.lionengine.network.message.NetworkMessage;
+import com.b3dgs.lionengine.network.message.NetworkMessageDecoder;
+
+/**
+ * Server implementation over datagram channel, with selective reliability per message type.
+ */
+// CHECKSTYLE IGNORE LINE: ClassDataAbstractionCoupling|ClassFanOutComplexity
+final class ServerUdp extends NetworkModel<ClientListener> implements Server
+{
+    /** Server name log. */
+    private static final String SERVER = "Server: ";
+    /** Maximum number of connections with a handshake not yet confirmed. */
+    static final int MAX_PENDING = 16;
+
+    /**
+     * Write a string (length as byte, then data).
+     * 
+     * @param out The output.
+     * @param value The string value.
+     * @throws IOException In case of error.
+     */
+    static void writeString(DataOutputStream out, String value) throws IOException
+    {
+        final byte[] data = value.getBytes(NetworkMessage.CHARSET);
+        out.writeByte(data.length);
+        out.write(data);
+    }
+
+    /**
+     * Read a string (length as byte, then data).
+     * 
+     * @param in The input.
+     * @return The string value.
+     * @throws IOException In case of error.
+     */
+    static String readString(DataInputStream in) throws IOException
+    {
+        final byte[] data = new byte[in.readByte()];
+        in.readFully(data);
+        return new String(data, NetworkMessage.CHARSET);
+    }
+
+    /** Connections by remote address. */
+    private final Map<SocketAddress, UdpConnection> connections;
+    /** Confirmed clients by id. */
+    private final Map<Integer, UdpConnection> clients;
+    /** Delivered messages data buffer. */
+    private final Collection<byte[]> delivered;
+    /** Packet buffer. */
+    private final ByteBuffer buffer;
+    /** Average bandwidth. */
+    private final Timing bandwidthTimer;
+    /** Link simulator. */
+    private final LinkSimulator simulator;
+    /** Maximum number of clients. */
+    private final int maxClients;
+    /** Datagram channel. */
+    private DatagramChannel channel;
+    /** Current port. */
+    private int port;
+    /** Message of the day. */
+    private String messageOfTheDay;
+    /** Started flag. */
+    private boolean started;
+    /** Bandwidth size. */
+    private int bandwidth;
+    /** Bandwidth per second. */
+    private int bandwidthPerSecond;
+
+    /**
+     * Internal constructor.
+     * 
+     * @param decoder The message decoder.
+     * @param simulator The link simulator.
+     */
+    ServerUdp(NetworkMessageDecoder decoder, LinkSimulator simulator)
+    {
+        this(decoder, simulator, ServerImpl.MAX_CLIENTS);
+    }
+
+    /**
+     * Internal constructor.
+     * 
+     * @param decoder The message decoder.
+     * @param simulator The link simulator.
+     * @param maxClients The maximum number of clients (up to {@link ServerImpl#MAX_CLIENTS}).
+     */
+    ServerUdp(NetworkMessageDecoder decoder, LinkSimulator simulator, int maxClients)
+    {
+        super(decoder);
+        this.simulator = simulator;
+        this.maxClients = maxClients;
+        connections = new HashMap<>();
+        clients = new HashMap<>();
+        delivered = new ArrayList<>();
+        buffer = ByteBuffer.allocate(UdpConnection.MTU);
+        bandwidthTimer = new Timing();
+        port = -1;
+    }
+
+    /**
+     * Get the next free client id, not used by a confirmed client or offered to a pending connection.
+     * 
+     * @return The free client id, <code>-1</code> if none.
+     */
+    private int getFreeId()
+    {
+        final Set<Integer> used = new HashSet<>();
+        for (final UdpConnection connection : connections.values())
+        {
+            used.add(Integer.valueOf(connection.getId()));
+        }
+        for (int id = 0; id < maxClients; id++)
+        {
+            if (!used.contains(Integer.valueOf(id)))
+            {
+                return id;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Queue a system message to a client.
+     * 
+     * @param connection The client connection.
+     * @param data The message data.
+     */
+    private void queue(UdpConnection connection, ByteArrayOutputStream data)
+    {
+        connection.queue(data.toByteArray(), Reliability.RELIABLE_ORDERED);
+    }
+
+    /**
+     * Queue a client notification (id and name) to all other connected clients.
+     * 
+     * @param client The client source.
+     * @param messageSystemId The message system id.
+     * @throws IOException In case of error.
+     */
+    private void queueOthers(UdpConnection client, byte messageSystemId) throws IOException
+    {
+        final ByteArrayOutputStream data = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(data))
+        {
+            out.writeByte(messageSystemId);
+            NetworkMessage.writeClientId(out, client.getId());
+            writeString(out, client.getName());
+        }
+        for (final UdpConnection other : clients.values())
+        {
+            if (other != client && other.getState() == StateConnection.CONNECTED)
+            {
+                queue(other, data);
+            }
+        }
+    }
+
+    /**
+     * Handle a received packet. Unknown peers are only accepted on a connection request, up to {@link #MAX_PENDING}
+     * connections with a handshake not yet confirmed.
+     * 
+     * @param address The remote address.
+     * @param now The current time in milli.
+     * @throws IOException If error.
+     */
+    private void receivePacket(SocketAddress address, long now) throws IOException
+    {
+        UdpConnection connection = connections.get(address);
+        final boolean created = connection == null;
+        if (created)
+        {
+            if (!UdpConnection.isConnecting(buffer) || connections.size() - clients.size() >= MAX_PENDING)
+            {
+                return;
+            }
+            connection = new UdpConnection(address, metrics, now);
+        }
+        delivered.clear();
+        if (!connection.receive(buffer, now, delivered))
+        {
+            return;
+        }
+        if (created)
+        {
+            connections.put(address, connection);
+        }
+        for (final byte[] data : delivered)
+        {
+            bandwidth += data.length;
+            try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data)))
+            {
+                updateMessage(connection, in, in.readByte());
+            }
+        }
+    }
+
+    /**
+     * Update the message depending of its ID.
+     * 
+     * @param connection The client connection.
+     * @param in The message input.
+     * @param messageSystemId The message system ID.
+     * @throws IOException If error when reading.
+     */
+    private void updateMessage(UdpConnection connection, DataInputStream in, byte messageSystemId)
+            throws IOException
+    {
+        if (messageSystemId == NetworkMessageSystemId.CONNECTING)
+        {
+            receiveConnecting(connection, in);
+            return;
+        }
+        final int from = NetworkMessage.readClientId(in);
+        if (from < 0 || from != connection.getId())
+        {
+            return;
+        }
+        switch (messageSystemId)
+        {
+            case NetworkMessageSystemId.CONNECTED:
+                receiveConnected(connection);
+                break;
+            case NetworkMessageSystemId.PING:
+                final ByteArrayOutputStream data = new ByteArrayOutputStream();
+                try (DataOutputStream out = new DataOutputStream(data))
+                {
+                    out.writeByte(NetworkMessageSystemId.PING);
+                    out.writeLong(in.readLong());
+                }
+                connection.queue(data.toByteArray(), Reliability.UNRELIABLE_SEQUENCED);
+                break;
+            case NetworkMessageSystemId.OTHER_CLIENT_DISCONNECTED:
+                receiveDisconnected(connection);
+                break;
+            case NetworkMessageSystemId.OTHER_CLIENT_RENAMED:
+                receiveRenamed(connection, in);
+                break;
+            case NetworkMessageSystemId.USER_MESSAGE:
+                if (connection.getState() == StateConnection.CONNECTED)
+                {
+                    final int dest = NetworkMessage.readClientId(in);
+                    final byte type = in.readByte();
+                    decodeMessage(type, from, dest, in);
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Update the receive connecting state. A free id is offered to the connection, which is only registered as client
+     * once it confirms the handshake.
+     * 
+     * @param connection The client connection.
+     * @param in The message input.
+     * @throws IOException If error.
+     */
+    private void receiveConnecting(UdpConnection connection, DataInputStream in) throws IOException
+    {
+        if (connection.getId() >= 0)
+        {
+            return;
+        }
+        final String name = readString(in);
+        final int id = getFreeId();
+        final ByteArrayOutputStream data = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(data))
+        {
+            if (id < 0)
+            {
+                out.writeByte(NetworkMessageSystemId.KICKED);
+                queue(connection, data);
+                connection.flush(channel, simulator, buffer, UdpConnection.now());
+                connection.setState(StateConnection.DISCONNECTED);
+                connections.remove(connection.getAddress());
+                Verbose.warning(Server.class, "receiveConnecting", "Server full, rejected: ", name);
+                return;
+            }
+            connection.setId(id);
+            connection.setName(name);
+
+            out.writeByte(NetworkMessageSystemId.CONNECTED);
+            NetworkMessage.writeClientId(out, id);
+            NetworkMessage.writeClientId(out, clients.size());
+            for (final UdpConnection other : clients.values())
+            {
+                NetworkMessage.writeClientId(out, other.getId());
+                writeString(out, other.getName());
+            }
+            if (messageOfTheDay != null)
+            {
+                writeString(out, messageOfTheDay);
+            }
+        }
+        queue(connection, data);
+    }
+
+    /**
+     * Update the receive connected state. Handshake is confirmed, connection is registered as client.
+     * 
+     * @param connection The client connection.
+     * @throws IOException If error.
+     */
+    private void receiveConnected(UdpConnection connection) throws IOException
+    {
+        if (connection.getState() == StateConnection.CONNECTING)
+        {
+            connection.setState(StateConnection.CONNECTED);
+            clients.put(Integer.valueOf(connection.getId()), connection);
+            Verbose.info(SERVER, connection.getName(), " connected");
+            for (final ClientListener listener : listeners)
+            {
+                listener.notifyClientConnected(Integer.valueOf(connection.getId()), connection.getName());
+            }
+            queueOthers(connection, NetworkMessageSystemId.OTHER_CLIENT_CONNECTED);
+        }
+    }
+
+    /**
+     * Update the receive disconnected state.
+     * 
+     * @param connection The client connection.
+     * @throws IOException If error.
+     */
+    private void receiveDisconnected(UdpConnection connection) throws IOException
+    {
+        if (connection.getState() == StateConnection.CONNECTED)
+        {
+            removeClient(connection);
+        }
+    }
+
+    /**
+     * Update the receive renamed state.
+     * 
+     * @param connection The client connection.
+     * @param in The message input.
+     * @throws IOException If error.
+     */
+    private void receiveRenamed(UdpConnection connection, DataInputStream in) throws IOException
+    {
+        if (connection.getState() == StateConnection.CONNECTED)
+        {
+            final String newName = readString(in);
+            Verbose.info(SERVER, connection.getName(), " rennamed to ", newName);
+            connection.setName(newName);
+            for (final ClientListener listener : listeners)
+            {
+                listener.notifyClientNameChanged(Integer.valueOf(connection.getId()), newName);
+            }
+            queueOthers(connection, NetworkMessageSystemId.OTHER_CLIENT_RENAMED);
+        }
+    }
+
+    /**
+     * Remove a client, and notify listeners and other clients.
+     * 
+     * @param connection The client connection.
+     * @throws IOException If error.
+     */
+    private void removeClient(UdpConnection connection) throws IOException
+    {
+        connection.setState(StateConnection.DISCONNECTED);
+        connections.remove(connection.getAddress());
+        if (clients.remove(Integer.valueOf(connection.getId())) != null)
+        {
+            metrics.remove(connection.getId());
+            for (final ClientListener listener : listeners)
+            {
+                listener.notifyClientDisconnected(Integer.valueOf(connection.getId()), connection.getName());
+            }
+            queueOthers(connection, NetworkMessageSystemId.OTHER_CLIENT_DISCONNECTED);
+            Verbose.info(SERVER, connection.getName(), " disconnected");
+        }
+    }
+
+    /**
+     * Remove timed out connections.
+     * 
+     * @param now The current time in milli.
+     * @throws IOException If error.
+     */
+    private void removeTimeout(long now) throws IOException
+    {
+        for (final UdpConnection connection : new ArrayList<>(connections.values()))
+        {
+            if (connection.isTimeout(now))
+            {
+                removeClient(connection);
+            }
+        }
+    }
+
+    /*
+     * Server
+     */
+
+    @Override
+    public void setMessageOfTheDay(String message)
+    {
+        messageOfTheDay = message;
+    }
+
+    @Override
+    public void start(String name, int port)
+    {
+        if (!started)
+        {
+            try
+            {
+                channel = DatagramChannel.open();
+                channel.configureBlocking(false);
+                channel.bind(new InetSocketAddress(port));
+                this.port = port;
+                bandwidthTimer.start();
+                started = true;
+            }
+            catch (final IOException exception)
+            {
+                throw new LionEngineException(exception, "Cannot create the server !");
+            }
+        }
+    }
+
+    @Override
+    public void removeClient(Integer clientId)
+    {
+        final UdpConnection connection = clients.get(clientId);
+        if (connection != null)
+        {
+            try
+            {
+                final ByteArrayOutputStream data = new ByteArrayOutputStream();
+                data.write(NetworkMessageSystemId.KICKED);
+                queue(connection, data);
+                connection.flush(channel, simulator, buffer, UdpConnection.now());
+                removeClient(connection);
+            }
+            catch (final IOException exception)
+            {
+                Verbose.exception(exception, "Error on removing client");
+            }
+        }
+    }
+
+    @Override
+    public int getNumberOfClients()
+    {
+        return clients.size();
+    }
+
+    @Override
+    public int getBandwidth()
+    {
+        return bandwidthPerSecond;
+    }
+
+    @Override
+    public int getPort()
+    {
+        return port;
+    }
+
+    /*
+     * Networker
+     */
+
+    @Override
+    public void disconnect()
+    {
+        if (!started)
+        {
+            return;
+        }
+        for (final Integer id : new ArrayList<>(clients.keySet()))
+        {
+            removeClient(id);
+        }
+        connections.clear();
+        try
+        {
+            simulator.flush(Long.MAX_VALUE);
+            channel.close();
+        }
+        catch (final IOException exception)
+        {
+            Verbose.exception(exception, "Error on closing server");
+        }
+        started = false;
+    }
+
+    @Override
+    public void receiveMessages()
+    {
+        messagesIn.clear();
+        if (!started)
+        {
+            return;
+        }
+        final long now = UdpConnection.now();
+        try
+        {
+            buffer.clear();
+            SocketAddress address = channel.receive(buffer);
+            while (address != null)
+            {
+                buffer.flip();
+                receivePacket(address, now);
+                buffer.clear();
+                address = channel.receive(buffer);
+            }
+            removeTimeout(now);
+        }
+        catch (final IOException exception)
+        {
+            Verbose.exception(exception, "Error on updating server");
+        }
+    }
+
+    @Override
+    public void sendMessages()
+    {
+        if (!started)
+        {
+            messagesOut.clear();
+            return;
+        }
+        messagesOut.addAll(messagesIn);
+        for (final NetworkMessage message : messagesOut)
+        {
+            try
+            {
+                final ByteArrayOutputStream data = new ByteArrayOutputStream();
+                try (DataOutputStream out = new DataOutputStream(data))
+                {
+                    out.writeByte(NetworkMessageSystemId.USER_MESSAGE);
+                    NetworkMessage.writeClientId(out, message.getClientId());
+                    NetworkMessage.writeClientId(out, message.getClientDestId());
+                    out.writeByte(message.getType());
+                    out.write(encodeMessage(message));
+                }
+                final byte[] encoded = data.toByteArray();
+                final Reliability reliability = getReliability(message.getType());
+
+                for (final UdpConnection client : clients.values())
+                {
+                    if (client.getState() == StateConnection.CONNECTED
+                        && (message.getClientDestId() == client.getId() || message.getClientDestId() == -1))
+                    {
+                        client.queue(encoded, reliability);
+                        metrics.sent(client.getId(), message.getType(), encoded.length);
+                    }
+                }
+            }
+            catch (final IOException exception)
+            {
+                Verbose.exception(exception, "Unable to send the message: ", String.valueOf(message.getType()));
+            }
+        }
+        messagesOut.clear();
+
+        final long now = UdpConnection.now();
+        try
+        {
+            for (final UdpConnection connection : connections.values())
+            {
+                bandwidth += connection.flush(channel, simulator, buffer, now);
+            }
+            simulator.flush(now);
+        }
+        catch (final IOException exception)
+        {
+            Verbose.exception(exception, "Unable to send the messages");
+        }
+
+        final long bandwidthMilli = 1000L;
+        if (bandwidthTimer.elapsed(bandwidthMilli))
+        {
+            bandwidthPerSecond = bandwidth;
+            bandwidth = 0;
+            bandwidthTimer.restart();
+        }
+        updateMetrics();
+    }
+}
@@ -0,0 +1,656 @@
+/*
+ * Copyright (C) 2013-2018 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package com.b3dgs.lionengine.network;
+
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.b3dgs.lionengine.LionEngineException;
+
+/**
+ * Datagram connection with a remote peer. Handles packet sequence numbers and acknowledges, resending of reliable
+ * messages, ordering and sequencing of received messages, and coalescing of messages into packets up to {@link #MTU}.
+ * <p>
+ * Packet layout: protocol (short), sequence (short), acknowledge flag (byte), last remote sequence (short), previous 32
+ * remote sequences received (int), then messages: channel (byte), channel sequence (short), length (short), data.
+ * Acknowledge fields are ignored while flag is not set, as long as nothing has been received from remote.
+ * </p>
+ */
+final class UdpConnection
+{
+    /** Message size error. */
+    static final String ERROR_SIZE = "Message too large for datagram: ";
+    /** Maximum packet size (safe payload under common path MTU). */
+    static final int MTU = 1200;
+    /** Packet header size. */
+    static final int HEADER_SIZE = 11;
+    /** Message header size. */
+    static final int MESSAGE_HEADER_SIZE = 5;
+    /** Maximum message data size. */
+    static final int MESSAGE_MAX = MTU - HEADER_SIZE - MESSAGE_HEADER_SIZE;
+    /** Connection timeout in milli. */
+    static final long TIMEOUT_MILLI = 10_000L;
+    /** Protocol identifier, used to reject foreign datagrams. */
+    private static final short PROTOCOL = 0x4C45;
+    /** Acknowledge fields valid flag. */
+    private static final byte FLAG_ACK = 1;
+    /** Delay without sending before an empty packet is sent in milli. */
+    private static final long KEEP_ALIVE_MILLI = 250L;
+    /** Minimum resend delay in milli. */
+    private static final long RESEND_MIN_MILLI = 100L;
+    /** Sequence modulo mask. */
+    private static final int SEQUENCE_MASK = 0xFFFF;
+    /** Half sequence range. */
+    private static final int SEQUENCE_HALF = 32_768;
+    /** Number of acknowledge bits. */
+    private static final int ACK_BITS = 32;
+    /** Sent packets history size. */
+    private static final int HISTORY = 256;
+    /** Round trip smoothing factor. */
+    private static final double RTT_SMOOTH = 0.125;
+    /** Nano to milli. */
+    private static final long NANO_TO_MILLI = 1_000_000L;
+
+    /**
+     * Get the current time.
+     * 
+     * @return The current time in milli.
+     */
+    static long now()
+    {
+        return System.nanoTime() / NANO_TO_MILLI;
+    }
+
+    /**
+     * Check if packet first message is a connection request, without consuming the buffer.
+     * 
+     * @param buffer The packet buffer.
+     * @return <code>true</code> if connection request, <code>false</code> else.
+     */
+    static boolean isConnecting(ByteBuffer buffer)
+    {
+        final int start = buffer.position();
+        return buffer.remaining() > HEADER_SIZE + MESSAGE_HEADER_SIZE
+               && buffer.getShort(start) == PROTOCOL
+               && buffer.getShort(start + HEADER_SIZE + Byte.BYTES + Short.BYTES) > 0
+               && buffer.get(start + HEADER_SIZE + MESSAGE_HEADER_SIZE) == NetworkMessageSystemId.CONNECTING;
+    }
+
+    /**
+     * Check if sequence is more recent than other sequence, handling wrap around.
+     * 
+     * @param sequence The sequence to check.
+     * @param other The other sequence.
+     * @return <code>true</code> if more recent, <code>false</code> else.
+     */
+    static boolean isNewer(int sequence, int other)
+    {
+        final int diff = sequence - other & SEQUENCE_MASK;
+        return diff > 0 && diff < SEQUENCE_HALF;
+    }
+
+    /** Remote address. */
+    private final SocketAddress address;
+    /** Network metrics. */
+    private final NetworkMetrics metrics;
+    /** Messages waiting to be sent. */
+    private final Deque<Outgoing> queue = new ArrayDeque<>();
+    /** Reliable messages sent and not yet acknowledged. */
+    private final List<Outgoing> pending = new ArrayList<>();
+    /** Sent packets history, indexed by sequence. */
+    private final SentPacket[] history = new SentPacket[HISTORY];
+    /** Out of order reliable ordered messages, waiting for missing ones. */
+    private final Map<Integer, byte[]> ordered = new HashMap<>();
+    /** Received reliable unordered messages window. */
+    private final boolean[] unordered = new boolean[SEQUENCE_MASK + 1];
+    /** Next channel sequence for each reliability. */
+    private final int[] channelSequence = new int[Reliability.values().length];
+    /** Local packet sequence. */
+    private int localSequence;
+    /** Last remote packet sequence (-1 if none). */
+    private int remoteSequence = -1;
+    /** Previous remote packet sequences received. */
+    private int remoteBits;
+    /** Next expected reliable ordered sequence. */
+    private int orderedExpected;
+    /** Last received unreliable sequenced sequence (-1 if none). */
+    private int sequencedLast = -1;
+    /** Acknowledge has to be sent. */
+    private boolean ackPending;
+    /** Last receive time in milli. */
+    private long lastReceived;
+    /** Last send time in milli. */
+    private long lastSent;
+    /** Smoothed round trip time in milli. */
+    private double rtt;
+    /** Number of resent messages. */
+    private int retransmits;
+    /** Client id (-1 if none). */
+    private int id = -1;
+    /** Client name. */
+    private String name;
+    /** Client state. */
+    private StateConnection state = StateConnection.CONNECTING;
+
+    /**
+     * Create connection.
+     * 
+     * @param address The remote address.
+     * @param metrics The network metrics.
+     * @param now The current time in milli.
+     */
+    UdpConnection(SocketAddress address, NetworkMetrics metrics, long now)
+    {
+        this.address = address;
+        this.metrics = metrics;
+        lastReceived = now;
+        lastSent = now;
+        for (int i = 0; i < HISTORY; i++)
+        {
+            history[i] = new SentPacket();
+        }
+    }
+
+    /**
+     * Queue a message.
+     * 
+     * @param data The message data.
+     * @param reliability The message reliability.
+     * @throws LionEngineException If message is too large.
+     */
+    void queue(byte[] data, Reliability reliability)
+    {
+        if (data.length > MESSAGE_MAX)
+        {
+            throw new LionEngineException(ERROR_SIZE + data.length);
+        }
+        final int index = reliability.ordinal();
+        final Outgoing message = new Outgoing(reliability, channelSequence[index], data);
+        channelSequence[index] = channelSequence[index] + 1 & SEQUENCE_MASK;
+        if (reliability != Reliability.UNRELIABLE_SEQUENCED)
+        {
+            pending.add(message);
+        }
+        queue.add(message);
+    }
+
+    /**
+     * Send queued messages, coalesced in as few packets as possible. Reliable messages not acknowledged in time are
+     * queued again. An empty packet is sent if remote must be acknowledged or connection kept alive.
+     * 
+     * @param channel The channel to send with.
+     * @param simulator The link simulator.
+     * @param buffer The packet buffer (capacity of at least {@link #MTU}).
+     * @param now The current time in milli.
+     * @return The number of bytes sent.
+     * @throws IOException If error on sending.
+     */
+    int flush(DatagramChannel channel, LinkSimulator simulator, ByteBuffer buffer, long now) throws IOException
+    {
+        requeueExpired(now);
+
+        int sent = 0;
+        while (peek() != null || ackPending || now - lastSent >= KEEP_ALIVE_MILLI)
+        {
+            buffer.clear();
+            buffer.putShort(PROTOCOL);
+            buffer.putShort((short) localSequence);
+            buffer.put(remoteSequence < 0 ? 0 : FLAG_ACK);
+            buffer.putShort((short) remoteSequence);
+            buffer.putInt(remoteBits);
+
+            final SentPacket packet = history[localSequence % HISTORY];
+            packet.reset(localSequence, now);
+            while (peek() != null && buffer.remaining() >= MESSAGE_HEADER_SIZE + queue.peek().data.length)
+            {
+                final Outgoing message = queue.poll();
+                message.queued = false;
+                buffer.put((byte) message.reliability.ordinal());
+                buffer.putShort((short) message.sequence);
+                buffer.putShort((short) message.data.length);
+                buffer.put(message.data);
+                if (message.reliability != Reliability.UNRELIABLE_SEQUENCED)
+                {
+                    message.sent = now;
+                    packet.messages.add(message);
+                }
+            }
+            buffer.flip();
+            sent += buffer.remaining();
+            simulator.send(channel, buffer, address, now);
+
+            localSequence = localSequence + 1 & SEQUENCE_MASK;
+            lastSent = now;
+            ackPending = false;
+        }
+        metrics.setQueue(id, queue.size() + pending.size());
+        return sent;
+    }
+
+    /**
+     * Receive a packet, and store delivered messages data.
+     * 
+     * @param buffer The packet buffer (from position to limit).
+     * @param now The current time in milli.
+     * @param delivered The delivered messages data.
+     * @return <code>true</code> if valid packet, <code>false</code> if rejected.
+     */
+    boolean receive(ByteBuffer buffer, long now, Collection<byte[]> delivered)
+    {
+        if (buffer.remaining() < HEADER_SIZE || buffer.getShort() != PROTOCOL)
+        {
+            return false;
+        }
+        final int sequence = buffer.getShort() & SEQUENCE_MASK;
+        final boolean ackValid = (buffer.get() & FLAG_ACK) != 0;
+        final int ack = buffer.getShort() & SEQUENCE_MASK;
+        final int ackBits = buffer.getInt();
+
+        acknowledgeRemote(sequence);
+        if (ackValid)
+        {
+            acknowledgeLocal(ack, ackBits, now);
+        }
+        lastReceived = now;
+
+        while (buffer.remaining() >= MESSAGE_HEADER_SIZE)
+        {
+            final int index = buffer.get();
+            final int channelSequence = buffer.getShort() & SEQUENCE_MASK;
+            final int length = buffer.getShort();
+            if (index < 0 || index >= Reliability.values().length || length < 0 || length > buffer.remaining())
+            {
+                metrics.dropped(id);
+                return false;
+            }
+            final byte[] data = new byte[length];
+            buffer.get(data);
+            deliver(Reliability.values()[index], channelSequence, data, delivered);
+            ackPending = true;
+        }
+        return true;
+    }
+
+    /**
+     * Check if connection timed out.
+     * 
+     * @param now The current time in milli.
+     * @return <code>true</code> if nothing received for too long, <code>false</code> else.
+     */
+    boolean isTimeout(long now)
+    {
+        return now - lastReceived > TIMEOUT_MILLI;
+    }
+
+    /**
+     * Get the remote address.
+     * 
+     * @return The remote address.
+     */
+    SocketAddress getAddress()
+    {
+        return address;
+    }
+
+    /**
+     * Get the smoothed round trip time.
+     * 
+     * @return The round trip time in milli.
+     */
+    int getRtt()
+    {
+        return (int) Math.round(rtt);
+    }
+
+    /**
+     * Get the number of resent messages.
+     * 
+     * @return The number of resent messages.
+     */
+    int getRetransmits()
+    {
+        return retransmits;
+    }
+
+    /**
+     * Set the client id.
+     * 
+     * @param id The client id.
+     */
+    void setId(int id)
+    {
+        this.id = id;
+    }
+
+    /**
+     * Get the client id.
+     * 
+     * @return The client id (-1 if none).
+     */
+    int getId()
+    {
+        return id;
+    }
+
+    /**
+     * Set the client name.
+     * 
+     * @param name The client name.
+     */
+    void setName(String name)
+    {
+        this.name = name;
+    }
+
+    /**
+     * Get the client name.
+     * 
+     * @return The client name.
+     */
+    String getName()
+    {
+        return name;
+    }
+
+    /**
+     * Set the connection state.
+     * 
+     * @param state The connection state.
+     */
+    void setState(StateConnection state)
+    {
+        this.state = state;
+    }
+
+    /**
+     * Get the connection state.
+     * 
+     * @return The connection state.
+     */
+    StateConnection getState()
+    {
+        return state;
+    }
+
+    /**
+     * Get the next message to send, discarding messages acknowledged since they have been queued again.
+     * 
+     * @return The next message to send, <code>null</code> if none.
+     */
+    private Outgoing peek()
+    {
+        Outgoing message = queue.peek();
+        while (message != null && message.acked)
+        {
+            queue.poll().queued = false;
+            message = queue.peek();
+        }
+        return message;
+    }
+
+    /**
+     * Queue again reliable messages not acknowledged in time.
+     * 
+     * @param now The current time in milli.
+     */
+    private void requeueExpired(long now)
+    {
+        final long resend = Math.max(RESEND_MIN_MILLI, (long) (rtt * 2.0));
+        final int n = pending.size();
+        int resent = 0;
+        for (int i = 0; i < n; i++)
+        {
+            final Outgoing message = pending.get(i);
+            if (!message.queued && now - message.sent > resend)
+            {
+                message.queued = true;
+                queue.add(message);
+                resent++;
+            }
+        }
+        if (resent > 0)
+        {
+            retransmits += resent;
+            metrics.retransmitted(id, resent);
+        }
+    }
+
+    /**
+     * Store remote packet sequence to be acknowledged.
+     * 
+     * @param sequence The remote packet sequence.
+     */
+    private void acknowledgeRemote(int sequence)
+    {
+        if (remoteSequence < 0)
+        {
+            remoteSequence = sequence;
+            remoteBits = 0;
+        }
+        else if (isNewer(sequence, remoteSequence))
+        {
+            final int diff = sequence - remoteSequence & SEQUENCE_MASK;
+            if (diff > ACK_BITS)
+            {
+                remoteBits = 0;
+            }
+            else
+            {
+                remoteBits = (int) ((long) remoteBits << diff | 1L << diff - 1);
+            }
+            remoteSequence = sequence;
+        }
+        else
+        {
+            final int diff = remoteSequence - sequence & SEQUENCE_MASK;
+            if (diff > 0 && diff <= ACK_BITS)
+            {
+                remoteBits |= 1 << diff - 1;
+            }
+        }
+    }
+
+    /**
+     * Mark local packets acknowledged by remote, and their reliable messages as delivered.
+     * 
+     * @param ack The last packet sequence received by remote.
+     * @param ackBits The previous packet sequences received by remote.
+     * @param now The current time in milli.
+     */
+    private void acknowledgeLocal(int ack, int ackBits, long now)
+    {
+        boolean acked = acknowledge(ack, now);
+        for (int i = 0; i < ACK_BITS; i++)
+        {
+            if ((ackBits & 1 << i) != 0)
+            {
+                acked |= acknowledge(ack - 1 - i & SEQUENCE_MASK, now);
+            }
+        }
+        if (acked)
+        {
+            pending.removeIf(message -> message.acked);
+        }
+    }
+
+    /**
+     * Acknowledge a local packet.
+     * 
+     * @param sequence The packet sequence.
+     * @param now The current time in milli.
+     * @return <code>true</code> if reliable messages have been acknowledged, <code>false</code> else.
+     */
+    private boolean acknowledge(int sequence, long now)
+    {
+        final SentPacket packet = history[sequence % HISTORY];
+        if (packet.sequence != sequence || packet.acked)
+        {
+            return false;
+        }
+        packet.acked = true;
+        final long sample = now - packet.time;
+        metrics.rtt(id, (int) sample);
+        if (rtt <= 0.0)
+        {
+            rtt = sample;
+        }
+        else
+        {
+            rtt += (sample - rtt) * RTT_SMOOTH;
+        }
+        final int n = packet.messages.size();
+        for (int i = 0; i < n; i++)
+        {
+            packet.messages.get(i).acked = true;
+        }
+        return n > 0;
+    }
+
+    /**
+     * Deliver received message depending of its reliability.
+     * 
+     * @param reliability The message reliability.
+     * @param sequence The message channel sequence.
+     * @param data The message data.
+     * @param delivered The delivered messages data.
+     */
+    private void deliver(Reliability reliability, int sequence, byte[] data, Collection<byte[]> delivered)
+    {
+        switch (reliability)
+        {
+            case RELIABLE_ORDERED:
+                if (sequence == orderedExpected)
+                {
+                    delivered.add(data);
+                    orderedExpected = orderedExpected + 1 & SEQUENCE_MASK;
+                    byte[] next = ordered.remove(Integer.valueOf(orderedExpected));
+                    while (next != null)
+                    {
+                        delivered.add(next);
+                        orderedExpected = orderedExpected + 1 & SEQUENCE_MASK;
+                        next = ordered.remove(Integer.valueOf(orderedExpected));
+                    }
+                }
+                else if (isNewer(sequence, orderedExpected))
+                {
+                    ordered.putIfAbsent(Integer.valueOf(sequence), data);
+                }
+                break;
+            case RELIABLE_UNORDERED:
+                if (!unordered[sequence])
+                {
+                    delivered.add(data);
+                    unordered[sequence] = true;
+                    unordered[sequence + SEQUENCE_HALF & SEQUENCE_MASK] = false;
+                }
+                break;
+            case UNRELIABLE_SEQUENCED:
+                if (sequencedLast < 0 || isNewer(sequence, sequencedLast))
+                {
+                    delivered.add(data);
+                    sequencedLast = sequence;
+                }
+                else
+                {
+                    metrics.dropped(id);
+                }
+                break;
+            default:
+                throw new LionEngineException(reliability);
+        }
+    }
+
+    /**
+     * Outgoing message.
+     */
+    private static final class Outgoing
+    {
+        /** Message reliability. */
+        private final Reliability reliability;
+        /** Channel sequence. */
+        private final int sequence;
+        /** Message data. */
+        private final byte[] data;
+        /** Last send time in milli. */
+        private long sent;
+        /** Queued flag. */
+        private boolean queued = true;
+        /** Acknowledged flag. */
+        private boolean acked;
+
+        /**
+         * Create outgoing message.
+         * 
+         * @param reliability The message reliability.
+         * @param sequence The channel sequence.
+         * @param data The message data.
+         */
+        Outgoing(Reliability reliability, int sequence, byte[] data)
+        {
+            this.reliability = reliability;
+            this.sequence = sequence;
+            this.data = data;
+        }
+    }
+
+    /**
+     * Sent packet record, used to acknowledge reliable messages.
+     */
+    private static final class SentPacket
+    {
+        /** Reliable messages contained. */
+        private final List<Outgoing> messages = new ArrayList<>();
+        /** Packet sequence (-1 if unused). */
+        private int sequence = -1;
+        /** Send time in milli. */
+        private long time;
+        /** Acknowledged flag. */
+        private boolean acked;
+
+        /**
+         * Create record.
+         */
+        SentPacket()
+        {
+            super();
+        }
+
+        /**
+         * Reuse record for a new packet.
+         * 
+         * @param sequence The packet sequence.
+         * @param time The send time in milli.
+         */
+        void reset(int sequence, long time)
+        {
+            this.sequence = sequence;
+            this.time = time;
+            acked = false;
+            messages.clear();
+        }
+    }
+}
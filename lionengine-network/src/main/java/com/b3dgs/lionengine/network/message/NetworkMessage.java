@@ -18,7 +18,10 @@
 package com.b3dgs.lionengine.network.message;
 
 import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
 import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
 import java.io.IOException;
 import java.nio.charset.Charset;
 import java.nio.charset.UnsupportedCharsetException;
@@ -32,6 +35,48 @@ public abstract class NetworkMessage
 {
     /** Charset. */
     public static final Charset CHARSET = NetworkMessage.getCharset("UTF-8");
+    /** Maximum client id (ids are positive, -1 is reserved for all). */
+    public static final int MAX_CLIENT_ID = Short.MAX_VALUE;
+    /** Wide client id marker, followed by the id as short. */
+    private static final byte CLIENT_ID_WIDE = -2;
+
+    /**
+     * Write a client id. Ids from -1 to {@link Byte#MAX_VALUE} are written as a single byte, as in single byte id
+     * format, others as a marker byte followed by a short.
+     * 
+     * @param out The output.
+     * @param id The client id (between -1 and {@link #MAX_CLIENT_ID}).
+     * @throws IOException If error on writing.
+     */
+    public static void writeClientId(DataOutput out, int id) throws IOException
+    {
+        if (id <= Byte.MAX_VALUE)
+        {
+            out.writeByte(id);
+        }
+        else
+        {
+            out.writeByte(CLIENT_ID_WIDE);
+            out.writeShort(id);
+        }
+    }
+
+    /**
+     * Read a client id written with {@link #writeClientId(DataOutput, int)}.
+     * 
+     * @param in The input.
+     * @return The client id.
+     * @throws IOException If error on reading.
+     */
+    public static int readClientId(DataInput in) throws IOException
+    {
+        final byte id = in.readByte();
+        if (id == CLIENT_ID_WIDE)
+        {
+            return in.readShort();
+        }
+        return id;
+    }
 
     /**
      * Get the charset.
@@ -55,9 +100,9 @@ public abstract class NetworkMessage
     /** The message type (should be an enum ordinal to make the id clean). */
     private byte type;
     /** Id of the client who sent this message. */
-    private byte clientId;
+    private int clientId;
     /** Id of the client to sent this message. */
-    private byte clientDestId;
+    private int clientDestId;
 
     /**
      * Constructor base.
@@ -73,9 +118,9 @@ public abstract class NetworkMessage
      * @param type The message type.
      * @param clientId The client id.
      */
-    public NetworkMessage(byte type, byte clientId)
+    public NetworkMessage(byte type, int clientId)
     {
-        this(type, clientId, (byte) -1);
+        this(type, clientId, -1);
     }
 
     /**
@@ -85,7 +130,7 @@ public abstract class NetworkMessage
      * @param clientId The client id.
      * @param clientDestId The client destination id (-1 if all).
      */
-    public NetworkMessage(byte type, byte clientId, byte clientDestId)
+    public NetworkMessage(byte type, int clientId, int clientDestId)
     {
         this.type = type;
         this.clientId = clientId;
@@ -123,7 +168,7 @@ public abstract class NetworkMessage
      * 
      * @return The owner id of this message.
      */
-    public final byte getClientId()
+    public final int getClientId()
     {
         return clientId;
     }
@@ -133,7 +178,7 @@ public abstract class NetworkMessage
      * 
      * @return The destination of this message.
      */
-    public final byte getClientDestId()
+    public final int getClientDestId()
     {
         return clientDestId;
     }
@@ -147,10 +192,11 @@ public abstract class NetworkMessage
     public final ByteArrayOutputStream encode() throws IOException
     {
         final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        final DataOutputStream header = new DataOutputStream(buffer);
 
-        buffer.write(type);
-        buffer.write(clientId);
-        buffer.write(clientDestId);
+        header.writeByte(type);
+        writeClientId(header, clientId);
+        writeClientId(header, clientDestId);
         encode(buffer);
 
         return buffer;
@@ -165,7 +211,7 @@ public abstract class NetworkMessage
      * @param buffer The data reference.
      * @throws IOException Error on reading.
      */
-    public final void decode(byte type, byte from, byte dest, DataInputStream buffer) throws IOException
+    public final void decode(byte type, int from, int dest, DataInputStream buffer) throws IOException
     {
         this.type = type;
         clientId = from;
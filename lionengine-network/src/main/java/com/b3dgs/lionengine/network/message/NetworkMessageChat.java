@@ -44,9 +44,9 @@ public class NetworkMessageChat extends NetworkMessage
      * @param clientId The client id.
      * @param message The message content.
      */
-    public NetworkMessageChat(byte type, byte clientId, String message)
+    public NetworkMessageChat(byte type, int clientId, String message)
     {
-        this(type, clientId, (byte) -1, message);
+        this(type, clientId, -1, message);
     }
 
     /**
@@ -57,7 +57,7 @@ public class NetworkMessageChat extends NetworkMessage
      * @param clientDestId The client destination.
      * @param message The message content.
      */
-    public NetworkMessageChat(byte type, byte clientId, byte clientDestId, String message)
+    public NetworkMessageChat(byte type, int clientId, int clientDestId, String message)
     {
         super(type, clientId, clientDestId);
         this.message = message;
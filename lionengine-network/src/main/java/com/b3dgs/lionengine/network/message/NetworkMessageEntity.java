@@ -53,7 +53,7 @@ public abstract class NetworkMessageEntity<M extends Enum<M>> extends NetworkMes
      * @param type The message type.
      * @param clientId The client id.
      */
-    public NetworkMessageEntity(byte type, byte clientId)
+    public NetworkMessageEntity(byte type, int clientId)
     {
         super(type, clientId);
         this.entityId = -1;
@@ -67,7 +67,7 @@ public abstract class NetworkMessageEntity<M extends Enum<M>> extends NetworkMes
      */
     public NetworkMessageEntity(byte type, short entityId)
     {
-        super(type, (byte) -1);
+        super(type, -1);
         this.entityId = entityId;
     }
 
@@ -78,9 +78,9 @@ public abstract class NetworkMessageEntity<M extends Enum<M>> extends NetworkMes
      * @param entityId The entity id.
      * @param destId The client destination.
      */
-    public NetworkMessageEntity(byte type, short entityId, byte destId)
+    public NetworkMessageEntity(byte type, short entityId, int destId)
     {
-        super(type, (byte) -1, destId);
+        super(type, -1, destId);
         this.entityId = entityId;
     }
 
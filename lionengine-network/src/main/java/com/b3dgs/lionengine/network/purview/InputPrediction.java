@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) 2013-2018 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package com.b3dgs.lionengine.network.purview;
+
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.LionEngineException;
+
+/**
+ * Client side prediction. Local inputs are recorded for each tick and applied immediately, then sent to the server
+ * with their tick number. When server state is received, authoritative state is applied by the caller, and
+ * {@link #reconcile(int)} replays the inputs not yet processed by the server.
+ * <p>
+ * Usage:
+ * </p>
+ * <ul>
+ * <li>each update: <code>tick = prediction.record(input, extrp)</code>, then send input with tick</li>
+ * <li>on server state: apply position, then <code>prediction.reconcile(lastProcessedTick)</code></li>
+ * </ul>
+ * 
+ * @param <I> The input type.
+ */
+public class InputPrediction<I>
+{
+    /** Local simulation. */
+    private final Predictable<I> predictable;
+    /** Recorded inputs. */
+    private final Object[] inputs;
+    /** Recorded extrapolation values. */
+    private final double[] extrps;
+    /** Recorded ticks. */
+    private final int[] ticks;
+    /** First recorded index. */
+    private int first;
+    /** Number of recorded inputs. */
+    private int size;
+    /** Next tick. */
+    private int tick;
+
+    /**
+     * Create prediction.
+     * 
+     * @param predictable The local simulation (must not be <code>null</code>).
+     * @param capacity The maximum number of inputs kept while not acknowledged (strictly positive).
+     * @throws LionEngineException If invalid arguments.
+     */
+    public InputPrediction(Predictable<I> predictable, int capacity)
+    {
+        Check.notNull(predictable);
+        Check.superiorStrict(capacity, 0);
+
+        this.predictable = predictable;
+        inputs = new Object[capacity];
+        extrps = new double[capacity];
+        ticks = new int[capacity];
+    }
+
+    /**
+     * Record and apply a local input. Oldest input is forgotten if capacity is reached.
+     * 
+     * @param input The input to apply.
+     * @param extrp The extrapolation value.
+     * @return The input tick, to be sent with the input.
+     */
+    public int record(I input, double extrp)
+    {
+        if (size == inputs.length)
+        {
+            inputs[first] = null;
+            first = (first + 1) % inputs.length;
+            size--;
+        }
+        final int index = (first + size) % inputs.length;
+        inputs[index] = input;
+        extrps[index] = extrp;
+        ticks[index] = tick;
+        size++;
+
+        predictable.applyInput(input, extrp);
+        return tick++;
+    }
+
+    /**
+     * Forget inputs processed by the server, and replay the others over the authoritative state previously applied.
+     * 
+     * @param acknowledged The last input tick processed by the server.
+     */
+    @SuppressWarnings("unchecked")
+    public void reconcile(int acknowledged)
+    {
+        while (size > 0 && ticks[first] - acknowledged <= 0)
+        {
+            inputs[first] = null;
+            first = (first + 1) % inputs.length;
+            size--;
+        }
+        for (int i = 0; i < size; i++)
+        {
+            final int index = (first + i) % inputs.length;
+            predictable.applyInput((I) inputs[index], extrps[index]);
+        }
+    }
+
+    /**
+     * Get the number of inputs not yet acknowledged.
+     * 
+     * @return The number of pending inputs.
+     */
+    public int getPending()
+    {
+        return size;
+    }
+
+    /**
+     * Get the next input tick.
+     * 
+     * @return The next tick.
+     */
+    public int getTick()
+    {
+        return tick;
+    }
+}
@@ -175,7 +175,7 @@ public abstract class NetworkChat implements Networkable, InputDeviceKeyListener
         final String msg = message.toString();
         if (canSendMessage(msg))
         {
-            addNetworkMessage(new NetworkMessageChat(type, getClientId().byteValue(), msg));
+            addNetworkMessage(new NetworkMessageChat(type, getClientId().intValue(), msg));
         }
         message.delete(0, message.length());
     }
@@ -214,13 +214,13 @@ public abstract class NetworkChat implements Networkable, InputDeviceKeyListener
     }
 
     @Override
-    public void setClientId(Byte id)
+    public void setClientId(Integer id)
     {
         networkable.setClientId(id);
     }
 
     @Override
-    public Byte getClientId()
+    public Integer getClientId()
     {
         return networkable.getClientId();
     }
@@ -30,7 +30,7 @@ public class NetworkableModel implements Networkable
     /** List of messages. */
     private final Collection<NetworkMessage> messages;
     /** The client id. */
-    private Byte clientId;
+    private Integer clientId;
 
     /**
      * Constructor.
@@ -38,7 +38,7 @@ public class NetworkableModel implements Networkable
     public NetworkableModel()
     {
         messages = new ArrayList<>();
-        clientId = Byte.valueOf((byte) -1);
+        clientId = Integer.valueOf(-1);
     }
 
     @Override
@@ -66,13 +66,13 @@ public class NetworkableModel implements Networkable
     }
 
     @Override
-    public void setClientId(Byte id)
+    public void setClientId(Integer id)
     {
         clientId = id;
     }
 
     @Override
-    public Byte getClientId()
+    public Integer getClientId()
     {
         return clientId;
     }
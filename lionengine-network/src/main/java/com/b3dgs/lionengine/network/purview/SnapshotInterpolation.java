@@ -0,0 +1,212 @@
+/*
+ * Copyright (C) 2013-2018 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package com.b3dgs.lionengine.network.purview;
+
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Updatable;
+import com.b3dgs.lionengine.game.feature.Transformable;
+
+/**
+ * Jitter buffer for a remote {@link Transformable}. Received server snapshots are stored with their server tick, and
+ * the transformable is rendered a fixed delay in the past, interpolating between the surrounding snapshots. When no
+ * newer snapshot is available, location is extrapolated from the last velocity, up to a maximum.
+ * <p>
+ * Render time is advanced by the loop extrapolation value on each {@link #update(double)}, so snapshots can be sent at
+ * a lower rate than the display rate.
+ * </p>
+ */
+public class SnapshotInterpolation implements Updatable
+{
+    /** Render time correction factor when drifting from target. */
+    private static final double DRIFT_CORRECTION = 0.05;
+
+    /** Transformable reference. */
+    private final Transformable transformable;
+    /** Render delay in ticks. */
+    private final double delay;
+    /** Maximum extrapolation in ticks. */
+    private final double extrapolationMax;
+    /** Snapshots tick. */
+    private final int[] ticks;
+    /** Snapshots horizontal location. */
+    private final double[] xs;
+    /** Snapshots vertical location. */
+    private final double[] ys;
+    /** Index of oldest snapshot. */
+    private int first;
+    /** Number of snapshots. */
+    private int size;
+    /** Current render time in ticks. */
+    private double renderTick;
+    /** Extrapolating flag. */
+    private boolean extrapolating;
+
+    /**
+     * Create interpolation.
+     * 
+     * @param transformable The remote transformable (must not be <code>null</code>).
+     * @param delay The render delay in ticks, should cover at least two snapshots intervals (positive).
+     * @param extrapolationMax The maximum extrapolation in ticks when snapshots are late (positive).
+     * @param capacity The maximum number of snapshots (superior or equal to 2).
+     * @throws LionEngineException If invalid arguments.
+     */
+    public SnapshotInterpolation(Transformable transformable, double delay, double extrapolationMax, int capacity)
+    {
+        Check.notNull(transformable);
+        Check.superiorOrEqual(delay, 0.0);
+        Check.superiorOrEqual(extrapolationMax, 0.0);
+        Check.superiorOrEqual(capacity, 2);
+
+        this.transformable = transformable;
+        this.delay = delay;
+        this.extrapolationMax = extrapolationMax;
+        ticks = new int[capacity];
+        xs = new double[capacity];
+        ys = new double[capacity];
+    }
+
+    /**
+     * Add a server snapshot. Snapshots older than the last one are ignored.
+     * 
+     * @param tick The server tick.
+     * @param x The horizontal location.
+     * @param y The vertical location.
+     */
+    public void addSnapshot(int tick, double x, double y)
+    {
+        if (size > 0 && tick - ticks[index(size - 1)] <= 0)
+        {
+            return;
+        }
+        if (size == 0)
+        {
+            renderTick = tick - delay;
+            transformable.teleport(x, y);
+        }
+        if (size == ticks.length)
+        {
+            first = (first + 1) % ticks.length;
+            size--;
+        }
+        final int index = index(size);
+        ticks[index] = tick;
+        xs[index] = x;
+        ys[index] = y;
+        size++;
+        correctDrift();
+    }
+
+    /**
+     * Check if location is currently extrapolated (snapshots are late).
+     * 
+     * @return <code>true</code> if extrapolating, <code>false</code> if interpolating.
+     */
+    public boolean isExtrapolating()
+    {
+        return extrapolating;
+    }
+
+    /**
+     * Get the current render time.
+     * 
+     * @return The render time in ticks.
+     */
+    public double getRenderTick()
+    {
+        return renderTick;
+    }
+
+    /**
+     * Get the buffer index from snapshot number.
+     * 
+     * @param n The snapshot number (0 is oldest).
+     * @return The buffer index.
+     */
+    private int index(int n)
+    {
+        return (first + n) % ticks.length;
+    }
+
+    /**
+     * Keep render time close to the newest snapshot minus delay, handling clock drift and lag spikes. Only performed on
+     * snapshot reception, so render time keeps advancing while extrapolating.
+     */
+    private void correctDrift()
+    {
+        final double target = ticks[index(size - 1)] - delay;
+        final double drift = target - renderTick;
+        if (Math.abs(drift) > delay + extrapolationMax)
+        {
+            renderTick = target;
+        }
+        else
+        {
+            renderTick += drift * DRIFT_CORRECTION;
+        }
+    }
+
+    /**
+     * Forget snapshots that will not be used anymore (keep one before render time).
+     */
+    private void removeOld()
+    {
+        while (size > 2 && ticks[index(1)] <= renderTick)
+        {
+            first = (first + 1) % ticks.length;
+            size--;
+        }
+    }
+
+    /*
+     * Updatable
+     */
+
+    @Override
+    public void update(double extrp)
+    {
+        if (size == 0)
+        {
+            return;
+        }
+        renderTick += extrp;
+        removeOld();
+
+        final int a = index(0);
+        if (size == 1 || renderTick <= ticks[a])
+        {
+            extrapolating = false;
+            transformable.setLocation(xs[a], ys[a]);
+            return;
+        }
+        final int b = index(1);
+        final double t;
+        if (renderTick <= ticks[b])
+        {
+            extrapolating = false;
+            t = (renderTick - ticks[a]) / (ticks[b] - ticks[a]);
+        }
+        else
+        {
+            extrapolating = true;
+            final double ahead = Math.min(renderTick - ticks[b], extrapolationMax);
+            t = 1.0 + ahead / (ticks[b] - ticks[a]);
+        }
+        transformable.setLocation(xs[a] + (xs[b] - xs[a]) * t, ys[a] + (ys[b] - ys[a]) * t);
+    }
+}
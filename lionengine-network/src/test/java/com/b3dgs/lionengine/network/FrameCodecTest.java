@@ -0,0 +1,156 @@
+/*
+ * Copyright (C) 2013-2018 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package com.b3dgs.lionengine.network;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertNotEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertThrows;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test {@link FrameCodec}.
+ */
+public final class FrameCodecTest
+{
+    /** Typical frame content. */
+    private static final byte[] DICTIONARY = "position speed animation state".getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * Create a frame.
+     * 
+     * @param index The frame index.
+     * @param length The frame length.
+     * @return The frame data.
+     */
+    private static byte[] createFrame(int index, int length)
+    {
+        final byte[] frame = new byte[length];
+        for (int i = 0; i < length; i++)
+        {
+            frame[i] = DICTIONARY[(i + index) % DICTIONARY.length];
+        }
+        return frame;
+    }
+
+    /**
+     * Compress frames with sender and decompress them with receiver, in order.
+     * 
+     * @param sender The sender codec.
+     * @param receiver The receiver codec.
+     * @throws DataFormatException If error.
+     */
+    private static void roundTrip(FrameCodec sender, FrameCodec receiver) throws DataFormatException
+    {
+        final int[] lengths =
+        {
+            16, 1, 512, 4096, 3
+        };
+        for (int i = 0; i < lengths.length; i++)
+        {
+            final byte[] frame = createFrame(i, lengths[i]);
+            final int compressed = sender.deflate(frame, frame.length);
+            final byte[] data = Arrays.copyOf(sender.getBuffer(), compressed);
+
+            assertEquals(frame.length, receiver.inflate(data, frame.length));
+            assertTrue(Arrays.equals(frame, Arrays.copyOf(receiver.getBuffer(), frame.length)));
+        }
+    }
+
+    /**
+     * Test compressed frames round trip without dictionary.
+     * 
+     * @throws DataFormatException If error.
+     */
+    @Test
+    public void testRoundTrip() throws DataFormatException
+    {
+        final FrameCodec sender = new FrameCodec(null);
+        final FrameCodec receiver = new FrameCodec(null);
+        try
+        {
+            roundTrip(sender, receiver);
+        }
+        finally
+        {
+            sender.end();
+            receiver.end();
+        }
+    }
+
+    /**
+     * Test compressed frames round trip with shared dictionary.
+     * 
+     * @throws DataFormatException If error.
+     */
+    @Test
+    public void testRoundTripDictionary() throws DataFormatException
+    {
+        final FrameCodec sender = new FrameCodec(DICTIONARY);
+        final FrameCodec receiver = new FrameCodec(DICTIONARY.clone());
+        try
+        {
+            roundTrip(sender, receiver);
+        }
+        finally
+        {
+            sender.end();
+            receiver.end();
+        }
+    }
+
+    /**
+     * Test frame compressed with dictionary cannot be decompressed without it.
+     */
+    @Test
+    public void testMissingDictionary()
+    {
+        final FrameCodec sender = new FrameCodec(DICTIONARY);
+        final FrameCodec receiver = new FrameCodec(null);
+        try
+        {
+            final byte[] frame = createFrame(0, 64);
+            final byte[] data = Arrays.copyOf(sender.getBuffer(), sender.deflate(frame, frame.length));
+
+            assertThrows(DataFormatException.class,
+                         () -> receiver.inflate(data, frame.length),
+                         "Missing frame dictionary");
+        }
+        finally
+        {
+            sender.end();
+            receiver.end();
+        }
+    }
+
+    /**
+     * Test dictionary checksum.
+     */
+    @Test
+    public void testChecksum()
+    {
+        assertEquals(0, FrameCodec.getChecksum(null));
+        assertEquals(FrameCodec.getChecksum(DICTIONARY), FrameCodec.getChecksum(DICTIONARY.clone()));
+        assertNotEquals(FrameCodec.getChecksum(DICTIONARY), FrameCodec.getChecksum(new byte[1]));
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2013-2018 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package com.b3dgs.lionengine.network;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test {@link NetworkMetrics}.
+ */
+public final class NetworkMetricsTest
+{
+    /**
+     * Test stats getters return snapshots, not updated by further recording.
+     */
+    @Test
+    public void testSnapshot()
+    {
+        final NetworkMetrics metrics = new NetworkMetrics();
+        metrics.sent((byte) 1, (byte) 2, 10);
+
+        final NetworkStat client = metrics.getClient((byte) 1);
+        final NetworkStat type = metrics.getType((byte) 2);
+        final NetworkStat total = metrics.getTotal();
+        final NetworkStat clients = metrics.getClients().get(Integer.valueOf(1));
+
+        metrics.sent((byte) 1, (byte) 2, 20);
+
+        assertEquals(10L, client.getBytesOut(), "client");
+        assertEquals(10L, type.getBytesOut(), "type");
+        assertEquals(10L, total.getBytesOut(), "total");
+        assertEquals(10L, clients.getBytesOut(), "clients");
+        assertEquals(30L, metrics.getTotal().getBytesOut(), "current");
+        assertNull(metrics.getClient((byte) 3));
+        assertNull(metrics.getType((byte) 3));
+    }
+
+    /**
+     * Test compression and decompression are recorded separately.
+     */
+    @Test
+    public void testCompression()
+    {
+        final NetworkMetrics metrics = new NetworkMetrics();
+        metrics.compressed(1, 100, 25, 10L);
+        metrics.decompressed(1, 100, 50, 20L);
+
+        final NetworkStat client = metrics.getClient(1);
+
+        assertEquals(0.25, client.getCompressionRatio());
+        assertEquals(10L, client.getCompressTime(), "compress");
+        assertEquals(0.5, client.getDecompressionRatio());
+        assertEquals(20L, client.getDecompressTime(), "decompress");
+        assertEquals(1.0, new NetworkStat().getDecompressionRatio());
+    }
+}
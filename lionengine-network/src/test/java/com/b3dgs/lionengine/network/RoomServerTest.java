@@ -0,0 +1,150 @@
+/*
+ * Copyright (C) 2013-2018 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package com.b3dgs.lionengine.network;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertFalse;
+import static com.b3dgs.lionengine.UtilAssert.assertNull;
+import static com.b3dgs.lionengine.UtilAssert.assertThrows;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.b3dgs.lionengine.UtilTests;
+import com.b3dgs.lionengine.network.message.NetworkMessageDecoder;
+
+/**
+ * Test {@link RoomServer}.
+ */
+public final class RoomServerTest
+{
+    /** Loopback address. */
+    private static final String LOCALHOST = "127.0.0.1";
+    /** Decoder without message. */
+    private static final NetworkMessageDecoder DECODER = type -> null;
+    /** Maximum wait time in milli. */
+    private static final long TIMEOUT = 5_000L;
+    /** Updater without simulation. */
+    private static final RoomUpdater UPDATER = (room, extrp) ->
+    {
+        // Mock
+    };
+
+    /** Room server instance. */
+    private RoomServer server;
+
+    /**
+     * Prepare server.
+     */
+    @BeforeEach
+    public void prepare()
+    {
+        server = new RoomServer(DECODER, Transport.UDP);
+    }
+
+    /**
+     * Clean server.
+     */
+    @AfterEach
+    public void clean()
+    {
+        server.shutdown();
+    }
+
+    /**
+     * Test open and close rooms.
+     * 
+     * @throws IOException If error.
+     */
+    @Test
+    public void testOpenClose() throws IOException
+    {
+        final Room first = server.open("first", RoomTest.getFreePort(), 100, null, UPDATER);
+        final Room second = server.open("second", RoomTest.getFreePort(), 100, "motd", UPDATER);
+
+        assertEquals(0, first.getIndex());
+        assertEquals(1, second.getIndex());
+        assertEquals("first", first.getName());
+        assertEquals(first, server.getRoom("first"));
+        assertEquals(2, server.getRooms().size());
+        assertTrue(first.isRunning());
+
+        assertThrows(() -> server.open("first", 0, 100, null, UPDATER), RoomServer.ERROR_ROOM + "first");
+
+        server.close("first");
+
+        assertFalse(first.isRunning());
+        assertNull(server.getRoom("first"));
+        assertEquals(1, server.getRooms().size());
+
+        server.close("first");
+        server.shutdown();
+
+        assertFalse(second.isRunning());
+        assertTrue(server.getRooms().isEmpty());
+    }
+
+    /**
+     * Test invalid arguments.
+     */
+    @Test
+    public void testInvalid()
+    {
+        assertThrows(() -> new RoomServer(null, Transport.UDP), "Unexpected null argument !");
+        assertThrows(() -> new RoomServer(DECODER, null), "Unexpected null argument !");
+        assertThrows(() -> server.open(null, 0, 100, null, UPDATER), "Unexpected null argument !");
+        assertThrows(() -> server.open("room", 0, 0, null, UPDATER),
+                     "Invalid argument: 0 is not strictly superior to 0");
+        assertThrows(() -> server.open("room", 0, 100, null, null), "Unexpected null argument !");
+    }
+
+    /**
+     * Test clients count published by room threads.
+     * 
+     * @throws IOException If error.
+     */
+    @Test
+    public void testNumberOfClients() throws IOException
+    {
+        final int port = RoomTest.getFreePort();
+        final Room room = server.open("room", port, 100, null, UPDATER);
+        server.open("other", RoomTest.getFreePort(), 100, null, UPDATER);
+
+        final ClientUdp client = new ClientUdp(DECODER, new LinkSimulator());
+        client.setName("client");
+        client.connect(LOCALHOST, port);
+
+        final long start = System.currentTimeMillis();
+        while (server.getNumberOfClients() < 1 && System.currentTimeMillis() - start < TIMEOUT)
+        {
+            client.receiveMessages();
+            client.sendMessages();
+            UtilTests.pause(1L);
+        }
+
+        assertEquals(1, room.getNumberOfClients());
+        assertEquals(1, server.getNumberOfClients());
+        assertEquals(0, client.getId());
+
+        client.disconnect();
+    }
+}
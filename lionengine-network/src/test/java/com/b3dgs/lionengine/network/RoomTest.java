@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) 2013-2018 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package com.b3dgs.lionengine.network;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertFalse;
+import static com.b3dgs.lionengine.UtilAssert.assertNotEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import java.io.IOException;
+import java.net.DatagramSocket;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import com.b3dgs.lionengine.UtilTests;
+import com.b3dgs.lionengine.network.message.NetworkMessageDecoder;
+
+/**
+ * Test {@link Room}.
+ */
+public final class RoomTest
+{
+    /** Decoder without message. */
+    private static final NetworkMessageDecoder DECODER = type -> null;
+    /** Maximum wait time in milli. */
+    private static final long TIMEOUT = 5_000L;
+    /** Updater without simulation. */
+    private static final RoomUpdater UPDATER = (room, extrp) ->
+    {
+        // Mock
+    };
+
+    /**
+     * Get a free local port.
+     * 
+     * @return The free port.
+     * @throws IOException If error.
+     */
+    static int getFreePort() throws IOException
+    {
+        try (DatagramSocket socket = new DatagramSocket(0))
+        {
+            return socket.getLocalPort();
+        }
+    }
+
+    /**
+     * Create a room.
+     * 
+     * @param index The room index.
+     * @param port The room port.
+     * @param updater The room updater.
+     * @return The created room.
+     */
+    private static Room createRoom(int index, int port, RoomUpdater updater)
+    {
+        return new Room(index, "room", port, 1000, new NetworkedWorldModelServer(DECODER, Transport.UDP), updater);
+    }
+
+    /**
+     * Test global ids are unique across rooms, including client ids wider than a byte.
+     */
+    @Test
+    public void testGlobalIds()
+    {
+        final Room first = createRoom(1, 0, UPDATER);
+        final Room second = createRoom(2, 0, UPDATER);
+
+        assertEquals(1 << 16 | 200, first.getClientGlobalId(200));
+        assertNotEquals(first.getClientGlobalId(200), second.getClientGlobalId(200));
+        assertNotEquals(first.getClientGlobalId(200), first.getClientGlobalId(201));
+        assertEquals(1L << 16 | 0xFFFF, first.getEntityGlobalId((short) -1));
+        assertNotEquals(first.getEntityGlobalId((short) 3), second.getEntityGlobalId((short) 3));
+    }
+
+    /**
+     * Test room ticks on its own thread until stopped, even if updater fails.
+     * 
+     * @throws IOException If error.
+     */
+    @Test
+    public void testRunStop() throws IOException
+    {
+        final AtomicInteger updates = new AtomicInteger();
+        final AtomicReference<Thread> thread = new AtomicReference<>();
+        final Room room = createRoom(0, getFreePort(), (r, extrp) ->
+        {
+            thread.set(Thread.currentThread());
+            if (updates.incrementAndGet() == 1)
+            {
+                throw new IllegalStateException();
+            }
+        });
+        room.start(null);
+
+        final long start = System.currentTimeMillis();
+        while (updates.get() < 3 && System.currentTimeMillis() - start < TIMEOUT)
+        {
+            UtilTests.pause(1L);
+        }
+
+        assertTrue(room.isRunning());
+        assertTrue(updates.get() >= 3);
+        assertNotEquals(Thread.currentThread(), thread.get());
+
+        room.stop();
+
+        assertFalse(room.isRunning());
+        assertFalse(thread.get().isAlive());
+        assertTrue(room.getTick() >= 3L);
+        assertEquals(0, room.getNumberOfClients());
+    }
+}
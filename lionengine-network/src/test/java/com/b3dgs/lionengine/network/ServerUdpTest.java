@@ -0,0 +1,307 @@
+/*
+ * Copyright (C) 2013-2018 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package com.b3dgs.lionengine.network;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.DatagramSocket;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.b3dgs.lionengine.UtilReflection;
+import com.b3dgs.lionengine.UtilTests;
+import com.b3dgs.lionengine.network.message.NetworkMessage;
+import com.b3dgs.lionengine.network.message.NetworkMessageDecoder;
+
+/**
+ * Test {@link ServerUdp} over loopback, with {@link LinkSimulator}.
+ */
+public final class ServerUdpTest
+{
+    /** Loopback address. */
+    private static final String LOCALHOST = "127.0.0.1";
+    /** Maximum connection time in milli. */
+    private static final long TIMEOUT = 5_000L;
+    /** Decoder without message. */
+    private static final NetworkMessageDecoder DECODER = type -> null;
+
+    /**
+     * Get a free local port.
+     * 
+     * @return The free port.
+     * @throws IOException If error.
+     */
+    private static int getFreePort() throws IOException
+    {
+        try (DatagramSocket socket = new DatagramSocket(0))
+        {
+            return socket.getLocalPort();
+        }
+    }
+
+    /**
+     * Send a system message from a raw connection.
+     * 
+     * @param channel The sender channel.
+     * @param port The server port.
+     * @param messageSystemId The message system id.
+     * @throws IOException If error.
+     */
+    private static void send(DatagramChannel channel, int port, byte messageSystemId) throws IOException
+    {
+        final long now = UdpConnection.now();
+        final UdpConnection connection = new UdpConnection(new InetSocketAddress(LOCALHOST, port),
+                                                           new NetworkMetrics(),
+                                                           now);
+        final ByteArrayOutputStream data = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(data))
+        {
+            out.writeByte(messageSystemId);
+            ServerUdp.writeString(out, "raw");
+        }
+        connection.queue(data.toByteArray(), Reliability.RELIABLE_ORDERED);
+        connection.flush(channel, new LinkSimulator(), ByteBuffer.allocate(UdpConnection.MTU), now);
+    }
+
+    /**
+     * Perform a connection handshake from a raw connection.
+     * 
+     * @param channel The sender channel.
+     * @param port The server port.
+     * @param server The server to update.
+     * @return The confirmed client id, <code>-1</code> if rejected.
+     * @throws IOException If error.
+     */
+    private static int handshake(DatagramChannel channel, int port, ServerUdp server) throws IOException
+    {
+        final ByteBuffer buffer = ByteBuffer.allocate(UdpConnection.MTU);
+        final UdpConnection connection = new UdpConnection(new InetSocketAddress(LOCALHOST, port),
+                                                           new NetworkMetrics(),
+                                                           UdpConnection.now());
+        final ByteArrayOutputStream data = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(data))
+        {
+            out.writeByte(NetworkMessageSystemId.CONNECTING);
+            ServerUdp.writeString(out, "raw");
+        }
+        connection.queue(data.toByteArray(), Reliability.RELIABLE_ORDERED);
+        connection.flush(channel, new LinkSimulator(), buffer, UdpConnection.now());
+        UtilTests.pause(5L);
+        server.receiveMessages();
+        server.sendMessages();
+
+        buffer.clear();
+        channel.receive(buffer);
+        buffer.flip();
+        final Collection<byte[]> delivered = new ArrayList<>();
+        connection.receive(buffer, UdpConnection.now(), delivered);
+        final int id;
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(delivered.iterator().next())))
+        {
+            if (in.readByte() != NetworkMessageSystemId.CONNECTED)
+            {
+                return -1;
+            }
+            id = NetworkMessage.readClientId(in);
+        }
+        data.reset();
+        try (DataOutputStream out = new DataOutputStream(data))
+        {
+            out.writeByte(NetworkMessageSystemId.CONNECTED);
+            NetworkMessage.writeClientId(out, id);
+        }
+        connection.queue(data.toByteArray(), Reliability.RELIABLE_ORDERED);
+        connection.flush(channel, new LinkSimulator(), buffer, UdpConnection.now());
+        UtilTests.pause(5L);
+        server.receiveMessages();
+
+        return id;
+    }
+
+    /** Server port. */
+    private int port;
+    /** Server simulator. */
+    private LinkSimulator simulator;
+    /** Server instance. */
+    private ServerUdp server;
+
+    /**
+     * Prepare server.
+     * 
+     * @throws IOException If error.
+     */
+    @BeforeEach
+    public void prepare() throws IOException
+    {
+        port = getFreePort();
+        simulator = new LinkSimulator(0.25, 5, 10, 42L);
+        server = new ServerUdp(DECODER, simulator);
+        server.start("server", port);
+    }
+
+    /**
+     * Clean server.
+     */
+    @AfterEach
+    public void clean()
+    {
+        server.disconnect();
+    }
+
+    /**
+     * Test connection over a lossy and delayed link.
+     */
+    @Test
+    public void testConnect()
+    {
+        final LinkSimulator link = new LinkSimulator(0.25, 5, 10, 7L);
+        final ClientUdp client = new ClientUdp(DECODER, link);
+        client.setName("client");
+        client.connect(LOCALHOST, port);
+
+        final long start = UdpConnection.now();
+        while ((client.getId() < 0 || server.getNumberOfClients() < 1) && UdpConnection.now() - start < TIMEOUT)
+        {
+            server.receiveMessages();
+            server.sendMessages();
+            client.receiveMessages();
+            client.sendMessages();
+            UtilTests.pause(1L);
+        }
+
+        assertEquals(0, client.getId());
+        assertEquals(1, server.getNumberOfClients());
+        assertTrue(client.isConnected());
+
+        client.disconnect();
+    }
+
+    /**
+     * Test that only connection requests create a connection, registered as client once handshake is confirmed.
+     * 
+     * @throws IOException If error.
+     */
+    @Test
+    public void testConnectingOnly() throws IOException
+    {
+        final Map<?, ?> connections = UtilReflection.getField(server, "connections");
+        try (DatagramChannel channel = DatagramChannel.open())
+        {
+            send(channel, port, NetworkMessageSystemId.PING);
+            UtilTests.pause(50L);
+            server.receiveMessages();
+
+            assertTrue(connections.isEmpty());
+
+            send(channel, port, NetworkMessageSystemId.CONNECTING);
+            UtilTests.pause(50L);
+            server.receiveMessages();
+
+            assertEquals(1, connections.size());
+            assertEquals(0, server.getNumberOfClients());
+        }
+    }
+
+    /**
+     * Test that unconfirmed handshakes are limited.
+     * 
+     * @throws IOException If error.
+     */
+    @Test
+    public void testPendingLimit() throws IOException
+    {
+        final Map<?, ?> connections = UtilReflection.getField(server, "connections");
+        final List<DatagramChannel> channels = new ArrayList<>();
+        try
+        {
+            for (int i = 0; i <= ServerUdp.MAX_PENDING; i++)
+            {
+                final DatagramChannel channel = DatagramChannel.open();
+                channels.add(channel);
+                send(channel, port, NetworkMessageSystemId.CONNECTING);
+                UtilTests.pause(5L);
+                server.receiveMessages();
+            }
+
+            assertEquals(ServerUdp.MAX_PENDING, connections.size());
+            assertEquals(0, server.getNumberOfClients());
+        }
+        finally
+        {
+            for (final DatagramChannel channel : channels)
+            {
+                channel.close();
+            }
+        }
+    }
+
+    /**
+     * Test that rejected peers are dropped when server is full, with client ids wider than a byte.
+     * 
+     * @throws IOException If error.
+     */
+    @Test
+    public void testServerFull() throws IOException
+    {
+        final int max = Byte.MAX_VALUE + 3;
+        server.disconnect();
+        server = new ServerUdp(DECODER, new LinkSimulator(), max);
+        server.start("server", port);
+
+        final Map<?, ?> connections = UtilReflection.getField(server, "connections");
+        final List<DatagramChannel> channels = new ArrayList<>();
+        try
+        {
+            for (int i = 0; i < max; i++)
+            {
+                final DatagramChannel channel = DatagramChannel.open();
+                channels.add(channel);
+                assertEquals(i, handshake(channel, port, server));
+            }
+            final DatagramChannel channel = DatagramChannel.open();
+            channels.add(channel);
+
+            assertEquals(-1, handshake(channel, port, server));
+
+            assertEquals(max, server.getNumberOfClients());
+            assertEquals(max, connections.size());
+        }
+        finally
+        {
+            for (final DatagramChannel channel : channels)
+            {
+                channel.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) 2013-2018 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package com.b3dgs.lionengine.network;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.b3dgs.lionengine.UtilReflection;
+
+/**
+ * Test {@link UdpConnection} over loopback.
+ */
+public final class UdpConnectionTest
+{
+    /** Loopback address. */
+    private static final String LOCALHOST = "127.0.0.1";
+    /** Perfect link. */
+    private static final LinkSimulator LINK = new LinkSimulator();
+
+    /**
+     * Receive next packet on channel.
+     * 
+     * @param channel The channel to receive with.
+     * @param connection The receiving connection.
+     * @param now The current time in milli.
+     * @return The delivered messages.
+     * @throws IOException If error.
+     */
+    private static List<byte[]> receive(DatagramChannel channel, UdpConnection connection, long now)
+            throws IOException
+    {
+        final ByteBuffer buffer = ByteBuffer.allocate(UdpConnection.MTU);
+        channel.receive(buffer);
+        buffer.flip();
+
+        final List<byte[]> delivered = new ArrayList<>();
+        assertTrue(connection.receive(buffer, now, delivered));
+        return delivered;
+    }
+
+    /** First peer channel. */
+    private DatagramChannel channelA;
+    /** Second peer channel. */
+    private DatagramChannel channelB;
+    /** First peer connection to second peer. */
+    private UdpConnection peerA;
+    /** Second peer connection to first peer. */
+    private UdpConnection peerB;
+
+    /**
+     * Prepare peers.
+     * 
+     * @throws IOException If error.
+     */
+    @BeforeEach
+    public void prepare() throws IOException
+    {
+        channelA = DatagramChannel.open().bind(new InetSocketAddress(LOCALHOST, 0));
+        channelB = DatagramChannel.open().bind(new InetSocketAddress(LOCALHOST, 0));
+        peerA = new UdpConnection(channelB.getLocalAddress(), new NetworkMetrics(), 0L);
+        peerB = new UdpConnection(channelA.getLocalAddress(), new NetworkMetrics(), 0L);
+    }
+
+    /**
+     * Clean peers.
+     * 
+     * @throws IOException If error.
+     */
+    @AfterEach
+    public void clean() throws IOException
+    {
+        channelA.close();
+        channelB.close();
+    }
+
+    /**
+     * Test that a peer which received nothing yet does not acknowledge anything, even a packet with the last sequence.
+     * 
+     * @throws Exception If error.
+     */
+    @Test
+    public void testNoAcknowledgeBeforeReceive() throws Exception
+    {
+        final Field sequence = UdpConnection.class.getDeclaredField("localSequence");
+        UtilReflection.setAccessible(sequence, true);
+        sequence.setInt(peerA, 0xFFFF);
+
+        final List<?> pending = UtilReflection.getField(peerA, "pending");
+        peerA.queue(new byte[]
+        {
+            1
+        }, Reliability.RELIABLE_ORDERED);
+        peerA.flush(channelA, LINK, ByteBuffer.allocate(UdpConnection.MTU), 0L);
+
+        final long keepAlive = 1_000L;
+        peerB.flush(channelB, LINK, ByteBuffer.allocate(UdpConnection.MTU), keepAlive);
+        assertTrue(receive(channelA, peerA, keepAlive).isEmpty());
+
+        assertEquals(1, pending.size());
+
+        assertEquals(1, receive(channelB, peerB, keepAlive).size());
+        peerB.flush(channelB, LINK, ByteBuffer.allocate(UdpConnection.MTU), keepAlive);
+        receive(channelA, peerA, keepAlive);
+
+        assertTrue(pending.isEmpty());
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) 2013-2018 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package com.b3dgs.lionengine.network.purview;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test {@link InputPrediction}.
+ */
+public final class InputPredictionTest
+{
+    /** Local state. */
+    private double x;
+    /** Local simulation. */
+    private final Predictable<Integer> predictable = (input, extrp) -> x += input.intValue() * extrp;
+
+    /**
+     * Test constructor with invalid arguments.
+     */
+    @Test
+    public void testConstructorInvalid()
+    {
+        assertThrows(() -> new InputPrediction<>(null, 1), "Unexpected null argument !");
+        assertThrows(() -> new InputPrediction<>(predictable, 0), "Invalid argument: 0 is not strictly superior to 0");
+    }
+
+    /**
+     * Test record applies input and returns increasing ticks.
+     */
+    @Test
+    public void testRecord()
+    {
+        final InputPrediction<Integer> prediction = new InputPrediction<>(predictable, 4);
+
+        assertEquals(0, prediction.record(Integer.valueOf(1), 1.0));
+        assertEquals(1, prediction.record(Integer.valueOf(2), 0.5));
+        assertEquals(2, prediction.getTick());
+        assertEquals(2, prediction.getPending());
+        assertEquals(2.0, x);
+    }
+
+    /**
+     * Test reconciliation after a server correction.
+     */
+    @Test
+    public void testReconcile()
+    {
+        final InputPrediction<Integer> prediction = new InputPrediction<>(predictable, 4);
+        prediction.record(Integer.valueOf(1), 1.0);
+        prediction.record(Integer.valueOf(2), 1.0);
+        prediction.record(Integer.valueOf(3), 1.0);
+
+        assertEquals(6.0, x);
+
+        // Server processed tick 0 but disagrees with local result
+        x = 10.0;
+        prediction.reconcile(0);
+
+        assertEquals(15.0, x);
+        assertEquals(2, prediction.getPending());
+
+        // Server caught up, nothing to replay
+        x = 20.0;
+        prediction.reconcile(2);
+
+        assertEquals(20.0, x);
+        assertEquals(0, prediction.getPending());
+
+        prediction.record(Integer.valueOf(4), 1.0);
+
+        assertEquals(24.0, x);
+        assertEquals(1, prediction.getPending());
+    }
+
+    /**
+     * Test reconciliation with an already acknowledged tick.
+     */
+    @Test
+    public void testReconcileOld()
+    {
+        final InputPrediction<Integer> prediction = new InputPrediction<>(predictable, 4);
+        prediction.record(Integer.valueOf(1), 1.0);
+        prediction.record(Integer.valueOf(2), 1.0);
+        prediction.reconcile(0);
+
+        x = 0.0;
+        prediction.reconcile(-1);
+
+        assertEquals(2.0, x);
+        assertEquals(1, prediction.getPending());
+    }
+
+    /**
+     * Test oldest input is forgotten when capacity is reached.
+     */
+    @Test
+    public void testCapacity()
+    {
+        final InputPrediction<Integer> prediction = new InputPrediction<>(predictable, 2);
+        prediction.record(Integer.valueOf(1), 1.0);
+        prediction.record(Integer.valueOf(2), 1.0);
+        prediction.record(Integer.valueOf(3), 1.0);
+
+        assertEquals(2, prediction.getPending());
+
+        x = 0.0;
+        prediction.reconcile(-1);
+
+        assertEquals(5.0, x);
+        assertEquals(3, prediction.getTick());
+    }
+}
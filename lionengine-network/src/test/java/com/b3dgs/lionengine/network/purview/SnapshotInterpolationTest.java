@@ -0,0 +1,183 @@
+/*
+ * Copyright (C) 2013-2018 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package com.b3dgs.lionengine.network.purview;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertFalse;
+import static com.b3dgs.lionengine.UtilAssert.assertThrows;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import com.b3dgs.lionengine.game.feature.Transformable;
+import com.b3dgs.lionengine.game.feature.TransformableModel;
+
+/**
+ * Test {@link SnapshotInterpolation}.
+ */
+public final class SnapshotInterpolationTest
+{
+    /** Remote transformable. */
+    private final Transformable transformable = new TransformableModel();
+    /** Interpolation with 2 ticks delay and 2 ticks extrapolation. */
+    private final SnapshotInterpolation interpolation = new SnapshotInterpolation(transformable, 2.0, 2.0, 4);
+
+    /**
+     * Test constructor with invalid arguments.
+     */
+    @Test
+    public void testConstructorInvalid()
+    {
+        assertThrows(() -> new SnapshotInterpolation(null, 0.0, 0.0, 2), "Unexpected null argument !");
+        assertThrows(() -> new SnapshotInterpolation(transformable, -1.0, 0.0, 2),
+                     "Invalid argument: -1.0 is not superior or equal to 0.0");
+        assertThrows(() -> new SnapshotInterpolation(transformable, 0.0, -1.0, 2),
+                     "Invalid argument: -1.0 is not superior or equal to 0.0");
+        assertThrows(() -> new SnapshotInterpolation(transformable, 0.0, 0.0, 1),
+                     "Invalid argument: 1 is not superior or equal to 2");
+    }
+
+    /**
+     * Test update without snapshot.
+     */
+    @Test
+    public void testEmpty()
+    {
+        transformable.teleport(1.0, 2.0);
+        interpolation.update(1.0);
+
+        assertEquals(1.0, transformable.getX());
+        assertEquals(2.0, transformable.getY());
+        assertFalse(interpolation.isExtrapolating());
+    }
+
+    /**
+     * Test first snapshot teleports and render time starts delayed.
+     */
+    @Test
+    public void testFirst()
+    {
+        interpolation.addSnapshot(10, 4.0, 6.0);
+
+        assertEquals(8.0, interpolation.getRenderTick());
+        assertEquals(4.0, transformable.getX());
+        assertEquals(6.0, transformable.getY());
+        assertEquals(4.0, transformable.getOldX());
+        assertEquals(6.0, transformable.getOldY());
+
+        interpolation.update(1.0);
+
+        assertEquals(9.0, interpolation.getRenderTick());
+        assertEquals(4.0, transformable.getX());
+        assertFalse(interpolation.isExtrapolating());
+    }
+
+    /**
+     * Test interpolation between snapshots, up to the newest one.
+     */
+    @Test
+    public void testInterpolate()
+    {
+        interpolation.addSnapshot(10, 0.0, 0.0);
+        interpolation.update(2.0);
+        interpolation.addSnapshot(12, 20.0, 10.0);
+
+        assertEquals(10.0, interpolation.getRenderTick());
+
+        interpolation.update(0.5);
+
+        assertEquals(5.0, transformable.getX());
+        assertEquals(2.5, transformable.getY());
+        assertFalse(interpolation.isExtrapolating());
+
+        interpolation.update(1.5);
+
+        assertEquals(20.0, transformable.getX());
+        assertEquals(10.0, transformable.getY());
+        assertFalse(interpolation.isExtrapolating());
+    }
+
+    /**
+     * Test extrapolation past the newest snapshot, limited to the maximum.
+     */
+    @Test
+    public void testExtrapolate()
+    {
+        interpolation.addSnapshot(10, 0.0, 0.0);
+        interpolation.update(2.0);
+        interpolation.addSnapshot(12, 20.0, 10.0);
+        interpolation.update(3.0);
+
+        assertEquals(30.0, transformable.getX());
+        assertEquals(15.0, transformable.getY());
+        assertTrue(interpolation.isExtrapolating());
+
+        interpolation.update(2.0);
+
+        assertEquals(40.0, transformable.getX());
+        assertEquals(20.0, transformable.getY());
+        assertTrue(interpolation.isExtrapolating());
+    }
+
+    /**
+     * Test older and duplicated snapshots are ignored.
+     */
+    @Test
+    public void testOldSnapshot()
+    {
+        interpolation.addSnapshot(10, 0.0, 0.0);
+        interpolation.update(2.0);
+        interpolation.addSnapshot(12, 20.0, 10.0);
+        interpolation.addSnapshot(12, 100.0, 100.0);
+        interpolation.addSnapshot(11, 100.0, 100.0);
+        interpolation.update(2.0);
+
+        assertEquals(20.0, transformable.getX());
+        assertEquals(10.0, transformable.getY());
+    }
+
+    /**
+     * Test oldest snapshots are forgotten once render time passed them.
+     */
+    @Test
+    public void testRemoveOld()
+    {
+        interpolation.addSnapshot(10, 0.0, 0.0);
+        interpolation.update(2.0);
+        interpolation.addSnapshot(12, 20.0, 10.0);
+        interpolation.update(2.0);
+        interpolation.addSnapshot(14, 40.0, 10.0);
+        interpolation.update(1.0);
+
+        assertEquals(30.0, transformable.getX());
+        assertEquals(10.0, transformable.getY());
+        assertFalse(interpolation.isExtrapolating());
+    }
+
+    /**
+     * Test render time is snapped when drifting too far from newest snapshot.
+     */
+    @Test
+    public void testDrift()
+    {
+        interpolation.addSnapshot(10, 0.0, 0.0);
+        interpolation.addSnapshot(100, 10.0, 0.0);
+
+        assertEquals(98.0, interpolation.getRenderTick());
+    }
+}